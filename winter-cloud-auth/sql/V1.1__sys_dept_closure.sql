@@ -0,0 +1,36 @@
+-- ============================================================
+-- 部门闭包表（PostgreSQL）
+-- 每个部门与其每个祖先（包括自身）之间各有一行，depth 为层级距离（自身为 0）
+-- 查询某部门的全部后代：SELECT descendant FROM sys_dept_closure WHERE ancestor = ?
+-- 新增 / 移动 / 删除部门时由 AuthDeptRepositoryImpl 在同一事务内维护
+-- ============================================================
+CREATE TABLE IF NOT EXISTS sys_dept_closure
+(
+    ancestor   BIGINT  NOT NULL,
+    descendant BIGINT  NOT NULL,
+    depth      INTEGER NOT NULL,
+    PRIMARY KEY (ancestor, descendant)
+);
+
+-- 主键覆盖“按祖先查后代”，这里补充“按后代查祖先”
+CREATE INDEX IF NOT EXISTS idx_sys_dept_closure_descendant ON sys_dept_closure (descendant, ancestor);
+
+COMMENT ON TABLE sys_dept_closure IS '部门闭包表';
+COMMENT ON COLUMN sys_dept_closure.ancestor IS '祖先部门id';
+COMMENT ON COLUMN sys_dept_closure.descendant IS '后代部门id';
+COMMENT ON COLUMN sys_dept_closure.depth IS '祖先到后代的层级距离（自身为0）';
+
+-- 根据现有 parent_id 回填（可重复执行）
+TRUNCATE TABLE sys_dept_closure;
+
+WITH RECURSIVE dept_path (ancestor, descendant, depth) AS (
+    SELECT id, id, 0
+    FROM sys_dept
+    UNION ALL
+    SELECT dp.ancestor, d.id, dp.depth + 1
+    FROM dept_path dp
+             INNER JOIN sys_dept d ON d.parent_id = dp.descendant
+)
+INSERT INTO sys_dept_closure (ancestor, descendant, depth)
+SELECT ancestor, descendant, depth
+FROM dept_path;
@@ -0,0 +1,10 @@
+-- ============================================================
+-- 图标集内容摘要（PostgreSQL）
+-- 图标同步任务比对摘要，未变化的图标集跳过写库
+-- ============================================================
+ALTER TABLE sys_icon_type ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+COMMENT ON COLUMN sys_icon_type.content_hash IS '图标集内容摘要（SHA-256）';
+
+-- 同步任务按图标类型读取已有图标
+CREATE INDEX IF NOT EXISTS idx_sys_icon_value_icon_type_id ON sys_icon_value (icon_type_id);
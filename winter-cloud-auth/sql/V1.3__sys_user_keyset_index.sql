@@ -0,0 +1,5 @@
+-- ============================================================
+-- 用户列表键集分页索引（PostgreSQL）
+-- 对应 AuthUserMapper.selectUserListBefore：ORDER BY create_time DESC, id DESC
+-- ============================================================
+CREATE INDEX IF NOT EXISTS idx_sys_user_create_time_id ON sys_user (create_time DESC, id DESC);
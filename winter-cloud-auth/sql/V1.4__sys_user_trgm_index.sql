@@ -0,0 +1,16 @@
+-- ============================================================
+-- 用户搜索三元组索引（PostgreSQL）
+-- user_name / nick_name 的 LIKE '%x%' 包含匹配改走 GIN(gin_trgm_ops) 索引，不再顺序扫描全表；
+-- phone / email 为精确匹配，使用普通 B-Tree 索引
+-- 关键字少于 3 个字符时无法提取三元组，规划器会自行退回顺序扫描
+--
+-- 验证执行计划（应出现 Bitmap Index Scan on idx_sys_user_user_name_trgm）：
+--   EXPLAIN SELECT * FROM sys_user u WHERE u.user_name LIKE '%admin%';
+-- ============================================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_sys_user_user_name_trgm ON sys_user USING gin (user_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sys_user_nick_name_trgm ON sys_user USING gin (nick_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_sys_user_phone ON sys_user (phone);
+CREATE INDEX IF NOT EXISTS idx_sys_user_email ON sys_user (email);
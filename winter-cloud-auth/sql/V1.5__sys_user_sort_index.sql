@@ -0,0 +1,16 @@
+-- ============================================================
+-- 用户分页排序与角色/部门过滤索引（PostgreSQL）
+-- 对应 AuthUserMapper.selectUserPage：
+--   排序字段白名单 sex / status / create_time，末尾追加 id 决胜列，
+--   单字段排序时按 (列, id) 索引有序扫描，取满一页即可结束，无需对全表排序；
+--   create_time 使用 V1.3 的 idx_sys_user_create_time_id（B-tree 可双向扫描，升降序均可用）
+-- 角色/部门过滤改为 EXISTS 半连接，按 (user_id, role_id) / (user_id, dept_id) 逐行探测；
+-- 规划器选择从关联表驱动时使用 (role_id, user_id) / (dept_id, user_id)
+-- ============================================================
+CREATE INDEX IF NOT EXISTS idx_sys_user_sex_id ON sys_user (sex, id);
+CREATE INDEX IF NOT EXISTS idx_sys_user_status_id ON sys_user (status, id);
+
+CREATE INDEX IF NOT EXISTS idx_sys_user_role_user_role ON sys_user_role (user_id, role_id);
+CREATE INDEX IF NOT EXISTS idx_sys_user_role_role_user ON sys_user_role (role_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_sys_user_dept_user_dept ON sys_user_dept (user_id, dept_id);
+CREATE INDEX IF NOT EXISTS idx_sys_user_dept_dept_user ON sys_user_dept (dept_id, user_id);
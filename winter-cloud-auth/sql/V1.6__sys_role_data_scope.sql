@@ -0,0 +1,21 @@
+-- ============================================================
+-- 角色数据权限（PostgreSQL）
+-- sys_role.data_scope：1全部 2自定义部门 3本部门 4本部门及以下 5仅本人（见 DataScopeEnum）
+-- 已有角色默认为全部数据，升级后行为不变
+-- sys_role_dept：自定义数据权限的角色-部门关联
+-- 数据权限按 sys_user_dept 归属部门过滤，本部门及以下通过 sys_dept_closure（V1.1）展开
+-- ============================================================
+ALTER TABLE sys_role ADD COLUMN IF NOT EXISTS data_scope VARCHAR(1) NOT NULL DEFAULT '1';
+
+COMMENT ON COLUMN sys_role.data_scope IS '数据范围（1全部 2自定义部门 3本部门 4本部门及以下 5仅本人）';
+
+CREATE TABLE IF NOT EXISTS sys_role_dept
+(
+    role_id BIGINT NOT NULL,
+    dept_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, dept_id)
+);
+
+COMMENT ON TABLE sys_role_dept IS '角色自定义数据权限部门关联表';
+COMMENT ON COLUMN sys_role_dept.role_id IS '角色id';
+COMMENT ON COLUMN sys_role_dept.dept_id IS '部门id';
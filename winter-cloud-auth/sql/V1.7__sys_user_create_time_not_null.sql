@@ -0,0 +1,9 @@
+-- ============================================================
+-- sys_user.create_time 非空（PostgreSQL）
+-- 键集分页按 (create_time, id) 倒序比较，create_time 为 NULL 的行在 DESC 下排在最前且不满足行比较条件，
+-- 翻页时会被跳过，游标也无法解析；历史空值用更新时间（仍为空时用当前时间）回填后加非空约束
+-- ============================================================
+UPDATE sys_user SET create_time = COALESCE(update_time, CURRENT_TIMESTAMP) WHERE create_time IS NULL;
+
+ALTER TABLE sys_user ALTER COLUMN create_time SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE sys_user ALTER COLUMN create_time SET NOT NULL;
@@ -6,6 +6,7 @@ import org.hibernate.validator.constraints.Length;
 
 import javax.validation.constraints.*;
 import java.io.Serializable;
+import java.util.List;
 
 @Data
 public class UpsertRoleCommand implements Serializable {
@@ -38,6 +39,17 @@ public class UpsertRoleCommand implements Serializable {
     @Size(max = 200, message = "{UpsertRoleCommand.remark.length}",groups ={UpsertRoleCommand.Save.class, UpsertRoleCommand.Update.class})
     private String remark;
 
+    /**
+     * 数据范围（1全部 2自定义部门 3本部门 4本部门及以下 5仅本人），为空时不修改
+     */
+    @Pattern(regexp = "^[1-5]$", message = "{UpsertRoleCommand.dataScope.illegal}", groups ={UpsertRoleCommand.Save.class, UpsertRoleCommand.Update.class})
+    private String dataScope;
+
+    /**
+     * 自定义数据范围的部门ID（仅 dataScope 为 2 时生效），为空时不修改
+     */
+    private List<Long> deptIds;
+
     public interface Save {}
     public interface Update {}
 }
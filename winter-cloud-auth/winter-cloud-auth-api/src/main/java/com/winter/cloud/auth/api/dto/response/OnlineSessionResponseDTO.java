@@ -0,0 +1,21 @@
+package com.winter.cloud.auth.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OnlineSessionResponseDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private Long userId;
+    private String userName;
+    private LocalDateTime lastActiveTime;
+    private Long tokenCount;
+}
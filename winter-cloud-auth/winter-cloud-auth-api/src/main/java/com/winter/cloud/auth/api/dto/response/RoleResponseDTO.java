@@ -20,5 +20,6 @@ public class RoleResponseDTO implements Serializable {
     private Integer roleSort;
     private String status;
     private String remark;
+    private String dataScope;
     private LocalDateTime createTime;
 }
@@ -43,6 +43,16 @@ public class ValidateTokenDTO implements Serializable {
      * 权限列表
      */
     private List<String> permissions;
+
+    /**
+     * 权限位图（Base64），下标由权限索引注册表分配，下游服务据此按位校验权限
+     */
+    private String permissionBits;
+
+    /**
+     * 生成权限位图时的权限索引版本号
+     */
+    private Long permissionIndexVersion;
     
     /**
      * 消息
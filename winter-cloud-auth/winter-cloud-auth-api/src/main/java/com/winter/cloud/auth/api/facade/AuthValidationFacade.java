@@ -2,6 +2,8 @@ package com.winter.cloud.auth.api.facade;
 
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 
+import java.util.List;
+
 /**
  * 认证验证服务 - Dubbo RPC 接口
  * 供网关等其他服务调用，用于验证 token 和获取用户信息
@@ -13,4 +15,16 @@ public interface AuthValidationFacade {
      * @param token JWT token
      */
     ValidateTokenDTO validateToken(String token);
+
+    /**
+     * 批量验证 token
+     * <p>
+     * 服务端一次 MGET 读取会话，未命中的用户批量查询数据库；
+     * 客户端可通过 {@link com.winter.cloud.auth.api.support.TokenValidationBatcher} 将并发的单个校验请求合并为一次调用。
+     * </p>
+     *
+     * @param tokens JWT token 列表
+     * @return 验证结果列表，与 tokens 按下标一一对应
+     */
+    List<ValidateTokenDTO> validateTokens(List<String> tokens);
 }
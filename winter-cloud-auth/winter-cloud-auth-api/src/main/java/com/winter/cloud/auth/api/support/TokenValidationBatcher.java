@@ -0,0 +1,187 @@
+package com.winter.cloud.auth.api.support;
+
+import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
+import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token 校验请求合并器（客户端）
+ * <p>
+ * 在一个很短的时间窗口（默认 1 毫秒）内收集并发的单个 token 校验请求，合并为一次
+ * {@link AuthValidationFacade#validateTokens(List)} 调用；窗口内相同 token 只校验一次，
+ * 攒满 maxBatchSize 时立即发送。适用于服务发布后大量冷 token 同时回源的场景。
+ * </p>
+ * <pre>
+ * TokenValidationBatcher batcher = new TokenValidationBatcher(authValidationFacade);
+ * ValidateTokenDTO result = batcher.validate(token);
+ * </pre>
+ */
+@Slf4j
+public class TokenValidationBatcher implements AutoCloseable {
+    private static final long DEFAULT_WINDOW_MICROS = 1000L;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 200;
+    private static final int DEFAULT_CALL_THREADS = 4;
+
+    private final AuthValidationFacade authValidationFacade;
+    private final long windowMicros;
+    private final int maxBatchSize;
+
+    /**
+     * 负责按窗口触发发送
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 负责执行远程调用，避免一次慢调用阻塞后续批次的发送
+     */
+    private final ExecutorService callExecutor;
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前窗口内待发送的请求：token -> 结果
+     */
+    private Map<String, CompletableFuture<ValidateTokenDTO>> pendingMap = new HashMap<>();
+
+    public TokenValidationBatcher(AuthValidationFacade authValidationFacade) {
+        this(authValidationFacade, DEFAULT_WINDOW_MICROS, DEFAULT_MAX_BATCH_SIZE, DEFAULT_CALL_THREADS);
+    }
+
+    /**
+     * @param authValidationFacade 认证服务接口
+     * @param windowMicros         合并窗口（微秒），建议 1000~2000
+     * @param maxBatchSize         单批最大 token 数
+     * @param callThreads          执行远程调用的线程数
+     */
+    public TokenValidationBatcher(AuthValidationFacade authValidationFacade, long windowMicros, int maxBatchSize, int callThreads) {
+        this.authValidationFacade = authValidationFacade;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("token-batch-scheduler-"));
+        this.callExecutor = Executors.newFixedThreadPool(callThreads, daemonThreadFactory("token-batch-call-"));
+    }
+
+    /**
+     * 同步校验 token（阻塞直到所在批次返回）
+     *
+     * @param token JWT token
+     * @return 校验结果，远程调用失败时返回 null
+     */
+    public ValidateTokenDTO validate(String token) {
+        try {
+            return validateAsync(token).join();
+        } catch (CompletionException e) {
+            log.error("批量 Token 校验调用失败", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * 异步校验 token
+     *
+     * @param token JWT token
+     * @return 校验结果
+     */
+    public CompletableFuture<ValidateTokenDTO> validateAsync(String token) {
+        CompletableFuture<ValidateTokenDTO> future;
+        Map<String, CompletableFuture<ValidateTokenDTO>> fullBatch = null;
+        boolean firstInWindow;
+        synchronized (lock) {
+            future = pendingMap.get(token);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pendingMap.put(token, future);
+            firstInWindow = pendingMap.size() == 1;
+            if (pendingMap.size() >= maxBatchSize) {
+                fullBatch = pendingMap;
+                pendingMap = new HashMap<>();
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        } else if (firstInWindow) {
+            try {
+                scheduler.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // 已关闭，不再等待窗口
+                flush();
+            }
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<ValidateTokenDTO>> batch;
+        synchronized (lock) {
+            if (pendingMap.isEmpty()) {
+                return;
+            }
+            batch = pendingMap;
+            pendingMap = new HashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<String, CompletableFuture<ValidateTokenDTO>> batch) {
+        try {
+            callExecutor.execute(() -> call(batch));
+        } catch (Exception e) {
+            // 线程池已关闭
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void call(Map<String, CompletableFuture<ValidateTokenDTO>> batch) {
+        List<String> tokenList = new ArrayList<>(batch.keySet());
+        try {
+            List<ValidateTokenDTO> resultList = authValidationFacade.validateTokens(tokenList);
+            for (int i = 0; i < tokenList.size(); i++) {
+                ValidateTokenDTO result = resultList != null && i < resultList.size() ? resultList.get(i) : null;
+                batch.get(tokenList.get(i)).complete(result);
+            }
+            log.debug("批量 Token 校验完成，数量: {}", tokenList.size());
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+        callExecutor.shutdown();
+        try {
+            if (!callExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                callExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            callExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.winter.cloud.auth.api.support;
+
+import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
+import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Token 校验请求合并：认证服务替换为记录每次批量调用的桩
+ */
+class TokenValidationBatcherTest {
+
+    private final StubFacade facade = new StubFacade();
+    private TokenValidationBatcher batcher;
+
+    @AfterEach
+    void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void callsInOneWindowBecomeOneBatch() throws Exception {
+        batcher = new TokenValidationBatcher(facade, TimeUnit.MILLISECONDS.toMicros(50), 100, 2);
+
+        List<CompletableFuture<ValidateTokenDTO>> futureList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futureList.add(batcher.validateAsync("token-" + i));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(futureList.get(i).get(2, TimeUnit.SECONDS).getUserName()).isEqualTo("token-" + i);
+        }
+        assertThat(facade.batchList).hasSize(1);
+        assertThat(facade.batchList.get(0)).containsExactlyInAnyOrder("token-0", "token-1", "token-2", "token-3", "token-4");
+    }
+
+    /**
+     * 多个线程同时发起校验，窗口内的请求仍只产生一次远程调用
+     */
+    @Test
+    void concurrentCallersShareOneBatch() throws Exception {
+        batcher = new TokenValidationBatcher(facade, TimeUnit.MILLISECONDS.toMicros(200), 100, 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<ValidateTokenDTO>> futureList = new CopyOnWriteArrayList<>();
+        List<Thread> threadList = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String token = "token-" + i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    futureList.add(batcher.validateAsync(token));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threadList.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+
+        CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0])).get(2, TimeUnit.SECONDS);
+        assertThat(facade.batchList).hasSize(1);
+        assertThat(facade.batchList.get(0)).hasSize(8);
+    }
+
+    @Test
+    void duplicateTokensAreMerged() throws Exception {
+        batcher = new TokenValidationBatcher(facade, TimeUnit.MILLISECONDS.toMicros(50), 100, 2);
+
+        CompletableFuture<ValidateTokenDTO> first = batcher.validateAsync("same");
+        CompletableFuture<ValidateTokenDTO> second = batcher.validateAsync("same");
+        CompletableFuture<ValidateTokenDTO> other = batcher.validateAsync("other");
+        CompletableFuture<ValidateTokenDTO> third = batcher.validateAsync("same");
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThat(first.get(2, TimeUnit.SECONDS).getUserName()).isEqualTo("same");
+        assertThat(other.get(2, TimeUnit.SECONDS).getUserName()).isEqualTo("other");
+        assertThat(facade.batchList).hasSize(1);
+        assertThat(facade.batchList.get(0)).containsExactlyInAnyOrder("same", "other");
+    }
+
+    /**
+     * 窗口设为 10 秒，攒满 maxBatchSize 的批次不等窗口立即发送，余下的请求继续等待
+     */
+    @Test
+    void reachingMaxBatchFlushesEarly() throws Exception {
+        batcher = new TokenValidationBatcher(facade, TimeUnit.SECONDS.toMicros(10), 3, 2);
+
+        CompletableFuture<ValidateTokenDTO> a = batcher.validateAsync("a");
+        CompletableFuture<ValidateTokenDTO> b = batcher.validateAsync("b");
+        CompletableFuture<ValidateTokenDTO> c = batcher.validateAsync("c");
+        CompletableFuture<ValidateTokenDTO> d = batcher.validateAsync("d");
+
+        CompletableFuture.allOf(a, b, c).get(2, TimeUnit.SECONDS);
+        assertThat(facade.batchList).hasSize(1);
+        assertThat(facade.batchList.get(0)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(d).isNotDone();
+
+        // 关闭时发送未满的批次
+        batcher.close();
+        assertThat(d.get(2, TimeUnit.SECONDS).getUserName()).isEqualTo("d");
+        assertThat(facade.batchList).hasSize(2);
+        assertThat(facade.batchList.get(1)).containsExactly("d");
+    }
+
+    @Test
+    void facadeExceptionFailsEveryWaitingFuture() {
+        facade.failure = new IllegalStateException("auth service unavailable");
+        batcher = new TokenValidationBatcher(facade, TimeUnit.MILLISECONDS.toMicros(50), 100, 2);
+
+        List<CompletableFuture<ValidateTokenDTO>> futureList = List.of(
+                batcher.validateAsync("a"), batcher.validateAsync("b"), batcher.validateAsync("a"));
+
+        for (CompletableFuture<ValidateTokenDTO> future : futureList) {
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseReference(facade.failure);
+        }
+        assertThat(facade.batchList).hasSize(1);
+        // 同步接口吞掉异常返回 null
+        assertThat(batcher.validate("c")).isNull();
+    }
+
+    /**
+     * 记录每次批量调用的 token 列表，按 token 返回结果（userName 即 token）
+     */
+    private static class StubFacade implements AuthValidationFacade {
+        private final List<List<String>> batchList = new CopyOnWriteArrayList<>();
+        private volatile RuntimeException failure;
+
+        @Override
+        public ValidateTokenDTO validateToken(String token) {
+            throw new UnsupportedOperationException("合并器只应调用批量接口");
+        }
+
+        @Override
+        public List<ValidateTokenDTO> validateTokens(List<String> tokens) {
+            batchList.add(List.copyOf(tokens));
+            if (failure != null) {
+                throw failure;
+            }
+            return tokens.stream()
+                    .map(token -> ValidateTokenDTO.builder().valid(true).userName(token).build())
+                    .collect(Collectors.toList());
+        }
+    }
+}
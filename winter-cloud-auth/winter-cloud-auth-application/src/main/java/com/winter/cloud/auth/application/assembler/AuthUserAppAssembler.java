@@ -3,8 +3,10 @@ package com.winter.cloud.auth.application.assembler;
 import com.winter.cloud.auth.api.dto.command.UpsertUserCommand;
 import com.winter.cloud.auth.api.dto.command.UserRegisterCommand;
 import com.winter.cloud.auth.api.dto.response.LoginResponseDTO;
+import com.winter.cloud.auth.api.dto.response.OnlineSessionResponseDTO;
 import com.winter.cloud.auth.api.dto.response.UserResponseDTO;
 import com.winter.cloud.auth.domain.model.entity.AuthUserDO;
+import com.winter.cloud.auth.domain.model.entity.OnlineSessionDO;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 
@@ -21,4 +23,5 @@ public interface AuthUserAppAssembler {
     AuthUserDO toDO(UpsertUserCommand command);
     LoginResponseDTO toResponseDTO(AuthUserDO authUserDO);
     List<UserResponseDTO> toUserResponseDTOList(List<AuthUserDO> authUserDOList);
+    List<OnlineSessionResponseDTO> toOnlineSessionResponseDTOList(List<OnlineSessionDO> onlineSessionDOList);
 }
@@ -7,8 +7,10 @@ import com.winter.cloud.auth.api.dto.command.UserLoginCommand;
 import com.winter.cloud.auth.api.dto.command.UserRegisterCommand;
 import com.winter.cloud.auth.api.dto.query.UserQuery;
 import com.winter.cloud.auth.api.dto.response.LoginResponseDTO;
+import com.winter.cloud.auth.api.dto.response.OnlineSessionResponseDTO;
 import com.winter.cloud.auth.api.dto.response.UserResponseDTO;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
+import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 认证应用服务接口
@@ -34,16 +37,63 @@ public interface AuthUserAppService {
     /**
      * 用户登录
      *
-     * @param command 登录命令参数（包含用户名、密码）
+     * @param command  登录命令参数（包含用户名、密码）
+     * @param clientIp 客户端 IP，用于登录失败限流，可为空
      * @return 登录成功后的响应对象（包含Token、用户信息等）
      */
-    LoginResponseDTO login(UserLoginCommand command) throws JsonProcessingException;
+    LoginResponseDTO login(UserLoginCommand command, String clientIp) throws JsonProcessingException;
 
 
     ValidateTokenDTO generateUserInfo(Long userID, String userName);
 
+    /**
+     * 写入登录会话（会话内容 + 用户 token 索引）
+     *
+     * @param token   token
+     * @param session 会话内容
+     */
+    void cacheSession(String token, ValidateTokenDTO session);
+
+    /**
+     * token 是否仍有效（在用户的 token 索引中，未被踢出）
+     *
+     * @param userId 用户ID
+     * @param token  token
+     * @return 是否有效
+     */
+    boolean isTokenActive(Long userId, String token);
+
+    /**
+     * 批量获取会话（批量 token 校验）
+     * <p>
+     * 先一次 MGET 读取已有会话，未命中的用户批量查询角色和权限，并在一次管道中回填会话；
+     * 未命中的用户只有 token 仍在 token 索引中时才会重建会话，已踢出的 token 不会复活。
+     * </p>
+     *
+     * @param tokenUserIdMap token -> 用户ID
+     * @param userNameMap    用户ID -> 用户名
+     * @return 用户ID -> 会话内容
+     */
+    Map<Long, ValidateTokenDTO> getSessionBatch(Map<String, Long> tokenUserIdMap, Map<Long, String> userNameMap);
+
     PageDTO<UserResponseDTO> userPage(UserQuery userQuery);
 
+    /**
+     * 在线用户分页，按最近活跃时间倒序
+     *
+     * @param pageQuery 分页参数
+     * @return 在线会话分页
+     */
+    PageDTO<OnlineSessionResponseDTO> onlinePage(PageAndOrderDTO pageQuery);
+
+    /**
+     * 批量踢出用户，用户的全部 token 立即失效
+     *
+     * @param userIdList 用户ID列表
+     * @return 是否成功
+     */
+    Boolean kickOut(List<Long> userIdList);
+
     Boolean userSave(UpsertUserCommand upsertUserCommand);
 
     Boolean userUpdate(UpsertUserCommand upsertUserCommand);
@@ -52,7 +102,7 @@ public interface AuthUserAppService {
 
     Response<Boolean> updatePasswordBySuperMan(Long id, String password);
 
-    void userExportExcel(HttpServletResponse response, UserQuery userQuery);
+    void userExportExcel(HttpServletResponse response, UserQuery userQuery) throws IOException;
 
     void userExportExcelTemplate(HttpServletResponse response);
 
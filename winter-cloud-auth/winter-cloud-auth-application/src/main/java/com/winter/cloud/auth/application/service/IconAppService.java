@@ -2,11 +2,36 @@ package com.winter.cloud.auth.application.service;
 
 
 import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
+import com.winter.cloud.common.response.PageDTO;
 
 import java.util.List;
 
 public interface IconAppService {
-    void insert(String name);
+
+    /**
+     * 同步图标集
+     * <p>
+     * 并发拉取（有界线程池），内容摘要未变化的图标集直接跳过，变化的图标集只写入差异。
+     * </p>
+     *
+     * @param prefixList 图标前缀列表
+     */
+    void syncIconCollections(List<String> prefixList);
 
     List<IconResponseDTO> getIconList(String name);
+
+    /**
+     * 分页检索图标（内存索引，含模糊匹配）
+     *
+     * @param keyword  关键字
+     * @param pageNum  页码，默认 1
+     * @param pageSize 每页条数，默认 50
+     */
+    PageDTO<IconValue> searchIcon(String keyword, Integer pageNum, Integer pageSize);
+
+    /**
+     * 从数据库重建图标检索索引
+     */
+    void rebuildIconIndex();
 }
@@ -7,8 +7,11 @@ import com.winter.cloud.auth.api.dto.query.DeptQuery;
 import com.winter.cloud.auth.api.dto.response.DeptResponseDTO;
 import com.winter.cloud.auth.application.assembler.AuthDeptAppAssembler;
 import com.winter.cloud.auth.application.service.AuthDeptAppService;
+import com.winter.cloud.auth.domain.event.DeptChangedEvent;
 import com.winter.cloud.auth.domain.model.entity.AuthDeptDO;
 import com.winter.cloud.auth.domain.repository.AuthDeptRepository;
+import com.winter.cloud.common.datasource.ReadReplica;
+import com.winter.cloud.common.event.DomainEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,7 +25,9 @@ import java.util.stream.Collectors;
 public class AuthDeptAppServiceImpl implements AuthDeptAppService {
     private final AuthDeptRepository authDeptRepository;
     private final AuthDeptAppAssembler authDeptAppAssembler;
+    private final DomainEventPublisher domainEventPublisher;
 
+    @ReadReplica
     @Override
     public List<DeptResponseDTO> selectAllRecursionDept(DeptQuery deptQuery) {
         // 1. 获取全量数据 (不传 name 过滤，只传 status，保证能构建完整树结构)
@@ -57,6 +62,7 @@ public class AuthDeptAppServiceImpl implements AuthDeptAppService {
         }
     }
 
+    @ReadReplica
     @Override
     public List<DeptResponseDTO> deptTree(DeptQuery menuQuery) {
         List<AuthDeptDO> authDeptDOList = authDeptRepository.deptTree(menuQuery);
@@ -66,17 +72,24 @@ public class AuthDeptAppServiceImpl implements AuthDeptAppService {
     @Override
     public Boolean deptSave(UpsertDeptCommand command) {
         AuthDeptDO authDeptDO = authDeptAppAssembler.toDO(command);
-        return authDeptRepository.deptSave(authDeptDO);
+        Boolean saved = authDeptRepository.deptSave(authDeptDO);
+        // 部门树变化，各实例失效数据权限使用的部门后代集合（新部门ID由仓储回填到 PO，这里不携带）
+        domainEventPublisher.publish(new DeptChangedEvent(Collections.emptyList()));
+        return saved;
     }
 
     @Override
     public Boolean deptUpdate(UpsertDeptCommand command) {
         AuthDeptDO authDeptDO = authDeptAppAssembler.toDO(command);
-        return authDeptRepository.deptUpdate(authDeptDO);
+        Boolean updated = authDeptRepository.deptUpdate(authDeptDO);
+        domainEventPublisher.publish(new DeptChangedEvent(List.of(authDeptDO.getId())));
+        return updated;
     }
 
     @Override
     public Boolean deptDelete(Long id) {
-        return authDeptRepository.deptDelete(id);
+        Boolean deleted = authDeptRepository.deptDelete(id);
+        domainEventPublisher.publish(new DeptChangedEvent(List.of(id)));
+        return deleted;
     }
 }
\ No newline at end of file
@@ -3,20 +3,35 @@ package com.winter.cloud.auth.application.service.impl;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.winter.cloud.auth.api.dto.command.UpsertMenuCommand;
 import com.winter.cloud.auth.api.dto.query.MenuQuery;
 import com.winter.cloud.auth.api.dto.response.MenuResponseDTO;
 import com.winter.cloud.auth.application.assembler.AuthMenuAppAssembler;
 import com.winter.cloud.auth.application.service.AuthMenuAppService;
 import com.winter.cloud.auth.domain.model.entity.AuthMenuDO;
+import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
+import com.winter.cloud.auth.domain.model.entity.AuthRolePermissionDO;
 import com.winter.cloud.auth.domain.repository.AuthMenuRepository;
+import com.winter.cloud.auth.domain.repository.AuthRolePermissionRepository;
+import com.winter.cloud.auth.domain.repository.AuthRoleRepository;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.datasource.ReadReplica;
+import com.winter.cloud.common.enums.MenuTypeEnum;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.MenuChangedEvent;
+import com.winter.cloud.common.event.type.RolePermissionChangedEvent;
+import com.winter.cloud.common.util.TreeUtil;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,12 +40,37 @@ import java.util.stream.Collectors;
 public class AuthMenuAppServiceImpl implements AuthMenuAppService {
     private final AuthMenuAppAssembler authMenuAppAssembler;
     private final AuthMenuRepository authMenuRepository;
+    private final AuthRolePermissionRepository authRolePermissionRepository;
+    private final AuthRoleRepository authRoleRepository;
+    private final DomainEventPublisher domainEventPublisher;
+
+    /**
+     * 菜单树缓存的最大角色集合数
+     */
+    private static final long MENU_TREE_CACHE_MAXIMUM_SIZE = 1_000L;
+
+    /**
+     * 菜单树缓存的访问过期时间（分钟），长期无人使用的角色集合自动释放
+     */
+    private static final long MENU_TREE_CACHE_EXPIRE_MINUTES = 30L;
+
+    /**
+     * 菜单树缓存：角色集合（排序后的角色ID拼接）-> 菜单树
+     * <p>
+     * 角色集合的组合数没有上限，容量有上限，按 W-TinyLFU 淘汰。
+     * </p>
+     */
+    private final Cache<String, CachedMenuTree> menuTreeCache = Caffeine.newBuilder()
+            .maximumSize(MENU_TREE_CACHE_MAXIMUM_SIZE)
+            .expireAfterAccess(MENU_TREE_CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
 
     /**
      * 获取用户菜单树形结构
      * <p>
-     * 根据用户ID查询该用户拥有权限的所有菜单，并构建成树形结构返回。
-     * 菜单树的根节点为parentId=0的菜单项，每个节点递归包含其所有子菜单。
+     * 菜单树只取决于用户的角色集合，因此按角色集合缓存构建好的树，同一角色集合的用户共享同一次构建结果；
+     * 缓存的树不直接返回，每次返回一份深拷贝，调用方修改节点不会影响其他请求。
+     * 缓存以各角色权限快照的版本号作为签名，角色分配菜单、菜单编辑/删除都会递增版本号，签名不一致时重新构建。
      * </p>
      *
      * @param userId 用户ID，用于查询该用户有权限访问的菜单列表
@@ -38,17 +78,43 @@ public class AuthMenuAppServiceImpl implements AuthMenuAppService {
      */
     @Override
     public List<MenuResponseDTO> getMenu(Long userId) {
-        // 从repository查询用户的所有菜单权限，使用distinct去重后转换为List
-        List<MenuResponseDTO> menu = authMenuRepository.getMenu(userId).stream().distinct().collect(Collectors.toList());
-        // 将扁平化的菜单列表构建成树形结构
-        return builderMenuTree(menu);
+        List<Long> roleIdList = authRoleRepository.selectRoleListByUserId(userId, "").stream()
+                .map(AuthRoleDO::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (roleIdList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String roleSetKey = roleIdList.stream().map(String::valueOf).collect(Collectors.joining(CommonConstants.Delimiter.ENGLISH_COMMA));
+        String versionSignature = authRolePermissionRepository.getRolePermissionList(roleIdList).stream()
+                .sorted(Comparator.comparing(AuthRolePermissionDO::getRoleId))
+                .map(snapshot -> snapshot.getRoleId() + "@" + snapshot.getVersion())
+                .collect(Collectors.joining(CommonConstants.Delimiter.ENGLISH_COMMA));
+
+        CachedMenuTree cached = menuTreeCache.getIfPresent(roleSetKey);
+        if (cached != null && cached.getVersionSignature().equals(versionSignature)) {
+            return copyMenuTree(cached.getTree());
+        }
+
+        // 未命中：按角色查询目录和菜单（按 id 去重），构建树后缓存
+        Set<String> menuTypeSet = Set.of(MenuTypeEnum.MENU.getCode(), MenuTypeEnum.DIR.getCode());
+        List<MenuResponseDTO> menu = authMenuRepository.selectMenuListByRoleIdList(roleIdList, "").stream()
+                .filter(item -> menuTypeSet.contains(item.getMenuType()))
+                .collect(Collectors.toList());
+        List<MenuResponseDTO> tree = builderMenuTree(menu);
+        menuTreeCache.put(roleSetKey, new CachedMenuTree(versionSignature, tree));
+        return copyMenuTree(tree);
     }
 
+    @ReadReplica
     @Override
     public List<MenuResponseDTO> getDynamicRouting(Long id) {
         return authMenuRepository.getDynamicRouting(id).stream().distinct().collect(Collectors.toList());
     }
 
+    @ReadReplica
     @Override
     public List<MenuResponseDTO> menuTree(MenuQuery menuQuery) {
         // 1. 根据查询条件查询符合要求的菜单列表 (例如：名称模糊搜索)
@@ -98,9 +164,12 @@ public class AuthMenuAppServiceImpl implements AuthMenuAppService {
     @Override
     public boolean menuSave(UpsertMenuCommand command) {
         AuthMenuDO authMenuDO = authMenuAppAssembler.toDO(command);
-        return authMenuRepository.menuSave(authMenuDO);
+        boolean saved = authMenuRepository.menuSave(authMenuDO);
+        domainEventPublisher.publish(new MenuChangedEvent(Collections.singletonList(authMenuDO.getId())));
+        return saved;
     }
 
+    @ReadReplica
     @Override
     public List<Long> resourcesOwnedList(Long roleId) {
         return authMenuRepository.getResourcesListByRoleId(roleId);
@@ -109,144 +178,110 @@ public class AuthMenuAppServiceImpl implements AuthMenuAppService {
     @Override
     public boolean menuUpdate(UpsertMenuCommand command) {
         AuthMenuDO authMenuDO = authMenuAppAssembler.toDO(command);
-        return authMenuRepository.menuUpdate(authMenuDO);
+        boolean updated = authMenuRepository.menuUpdate(authMenuDO);
+        // 菜单的权限标识或状态可能变化，失效拥有该菜单的角色的权限快照
+        List<Long> roleIdList = authRolePermissionRepository.selectRoleIdListByMenuId(authMenuDO.getId());
+        authRolePermissionRepository.evictRolePermission(roleIdList);
+        domainEventPublisher.publish(new MenuChangedEvent(List.of(authMenuDO.getId())));
+        if (!roleIdList.isEmpty()) {
+            domainEventPublisher.publish(new RolePermissionChangedEvent(roleIdList));
+        }
+        return updated;
     }
 
     @Override
     public boolean menuDelete(Long id) {
-        return authMenuRepository.menuDelete(id);
+        // 删除时会同时删除角色菜单关联，需先查出受影响的角色
+        List<Long> roleIdList = authRolePermissionRepository.selectRoleIdListByMenuId(id);
+        boolean deleted = authMenuRepository.menuDelete(id);
+        authRolePermissionRepository.evictRolePermission(roleIdList);
+        domainEventPublisher.publish(new MenuChangedEvent(List.of(id)));
+        if (!roleIdList.isEmpty()) {
+            domainEventPublisher.publish(new RolePermissionChangedEvent(roleIdList));
+        }
+        return deleted;
     }
 
     /**
-     * 构建菜单树形结构
+     * 菜单或角色权限变更时清空本实例的菜单树缓存
      * <p>
-     * 将扁平化的菜单列表转换为树形结构。筛选出所有顶级菜单（parentId=0），
-     * 然后为每个顶级菜单递归查找并设置其子菜单。
+     * 版本签名已能发现角色权限变化，这里提前释放旧树占用的内存，
+     * 同时覆盖菜单名称、路径等不影响权限版本号的变更。
      * </p>
-     *
-     * @param menuList 扁平化的菜单列表，包含所有菜单项
-     * @return 树形结构的菜单列表，只包含顶级菜单，子菜单通过children字段关联
      */
-    private List<MenuResponseDTO> builderMenuTree(List<MenuResponseDTO> menuList) {
-        return menuList.stream()
-                // 筛选出顶级菜单：parentId为0的菜单项作为树的根节点
-                .filter(menu -> menu.getParentId().equals(0L))
-                // 为每个顶级菜单递归设置其所有子菜单，构建完整的树形结构
-                .map(menu -> menu.setChildren(getChildren(menu, menuList)))
-                // 收集处理后的顶级菜单列表并返回
-                .collect(Collectors.toList());
+    @DomainEventListener
+    public void onMenuChanged(MenuChangedEvent event) {
+        menuTreeCache.invalidateAll();
+    }
+
+    @DomainEventListener
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        menuTreeCache.invalidateAll();
     }
 
     /**
-     * 递归获取指定菜单的所有子菜单
+     * 构建菜单树形结构
      * <p>
-     * 从菜单列表中筛选出parentId等于当前菜单ID的所有子菜单，
-     * 并递归地为每个子菜单查找其下级子菜单，形成完整的子树结构。
+     * 基于 parentId 索引一次构建（O(n)），只保留顶级菜单（parentId=0）为根节点，
+     * 父菜单无权限的子菜单不会出现在树中。
      * </p>
      *
-     * @param menu       当前菜单节点，需要为其查找子菜单
-     * @param menuVoList 完整的菜单列表，用于查找子菜单
-     * @return 当前菜单的所有子菜单列表，每个子菜单也包含其children字段
+     * @param menuList 扁平化的菜单列表，包含所有菜单项
+     * @return 树形结构的菜单列表，只包含顶级菜单，子菜单通过children字段关联
      */
-    private List<MenuResponseDTO> getChildren(MenuResponseDTO menu, List<MenuResponseDTO> menuVoList) {
-        return menuVoList.stream()
-                // 筛选出所有parentId等于当前菜单ID的菜单项，即当前菜单的直接子菜单
-                .filter(m -> m.getParentId().equals(menu.getId()))
-                // 递归为每个子菜单查找并设置其下级子菜单，构建完整的子树
-                .map(m -> m.setChildren(getChildren(m, menuVoList)))
-                // 收集所有子菜单并返回
+    private List<MenuResponseDTO> builderMenuTree(List<MenuResponseDTO> menuList) {
+        return buildTreeUseMap(menuList).stream()
+                .filter(menu -> Long.valueOf(0L).equals(menu.getParentId()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * 基于 Map 构建菜单树结构（推荐做法）
-     *
+     * 基于 Map 构建菜单树结构
      * <p>
-     * 将一个“扁平化”的菜单节点列表（每个节点只包含 id / parentId）
-     * 转换为真正的树形结构（父节点包含 children 子节点列表）。
+     * 找不到父节点或 parentId = 0 的节点视为根节点，同级节点按 orderNum 升序（null 排在最后）。
      * </p>
      *
-     * <h3>核心思路</h3>
-     * <ol>
-     *   <li>先将所有节点放入 Map（id -> node），实现 O(1) 父节点查找</li>
-     *   <li>再次遍历节点，根据 parentId 将节点挂载到父节点的 children 中</li>
-     *   <li>找不到父节点或 parentId = 0 的节点，视为根节点</li>
-     * </ol>
-     *
-     * <h3>使用场景</h3>
-     * <ul>
-     *   <li>菜单树（后台管理系统菜单）</li>
-     *   <li>权限树 / 资源树</li>
-     *   <li>组织架构树</li>
-     *   <li>分类树（商品分类、文章分类）</li>
-     * </ul>
-     *
-     * <h3>特点</h3>
-     * <ul>
-     *   <li>时间复杂度 O(n)，性能优于递归 + 多次遍历</li>
-     *   <li>支持节点乱序输入</li>
-     *   <li>可容忍“孤儿节点”（父节点不存在）</li>
-     * </ul>
-     *
      * @param allNodes 所有菜单节点的扁平列表（无层级关系）
      * @return 构建完成的树形结构根节点列表
      */
     private List<MenuResponseDTO> buildTreeUseMap(List<MenuResponseDTO> allNodes) {
-        // 1. 将 List 转换为 Map<id, node>
-        // key：节点 id
-        // value：节点对象本身
-        // 如果存在重复 id，只保留第一次出现的节点，后面的直接丢弃，避免 Duplicate key 异常
-        // 这样做的目的是：后续可以通过 parentId O(1) 找到父节点
-        Map<Long, MenuResponseDTO> nodeMap = allNodes.stream()
-                .collect(Collectors.toMap(
-                        MenuResponseDTO::getId,          // Map 的 key：节点 id
-                        Function.identity(),             // Map 的 value：节点对象本身
-                        (oldVal, newVal) -> oldVal       // key 冲突时保留旧值
-                ));
-        // 用于存放最终返回的“根节点”列表
-        List<MenuResponseDTO> rootNodes = new ArrayList<>();
-        // 2. 再次遍历所有节点，构建父子关系
-        for (MenuResponseDTO node : allNodes) {
-            // 当前节点的父节点 ID
-            Long parentId = node.getParentId();
-            // 以下几种情况，将当前节点视为“根节点”：
-            // 1) parentId == null
-            // 2) parentId == 0（约定 0 为顶级节点）
-            // 3) parentId 在 Map 中不存在（孤儿节点 / 数据不完整）
-            if (parentId == null || parentId == 0L || !nodeMap.containsKey(parentId)) {
-                rootNodes.add(node);
-            } else {
-                // 通过 parentId 从 Map 中快速找到父节点
-                MenuResponseDTO parent = nodeMap.get(parentId);
-                // 如果父节点的 children 为空，先进行初始化
-                if (parent.getChildren() == null) {
-                    parent.setChildren(new ArrayList<>());
-                }
-                // 将当前节点加入父节点的 children 列表
-                // 注意：parent 是 Map 中的引用对象，
-                // 所以所有子节点都会正确挂载到同一个父节点实例上
-                parent.getChildren().add(node);
-            }
+        return TreeUtil.buildTree(allNodes,
+                MenuResponseDTO::getId,
+                MenuResponseDTO::getParentId,
+                MenuResponseDTO::setChildren,
+                Comparator.comparing(MenuResponseDTO::getOrderNum, Comparator.nullsLast(Integer::compareTo)));
+    }
+
+    /**
+     * 逐层复制菜单节点和 children 列表，缓存中的节点不会被返回给调用方
+     *
+     * @param nodes 菜单节点
+     * @return 新的节点列表
+     */
+    private List<MenuResponseDTO> copyMenuTree(List<MenuResponseDTO> nodes) {
+        if (nodes == null) {
+            return new ArrayList<>();
         }
-        // 3. 对根节点进行排序（按 orderNum 升序，null 排在最后）
-        rootNodes.sort(
-                Comparator.comparing(
-                        MenuResponseDTO::getOrderNum,
-                        Comparator.nullsLast(Integer::compareTo)
-                )
-        );
-        // 4. 对每个节点的 children 进行排序（如果存在子节点）
-        allNodes.forEach(node -> {
-            if (CollUtil.isNotEmpty(node.getChildren())) {
-                node.getChildren().sort(
-                        Comparator.comparing(
-                                MenuResponseDTO::getOrderNum,
-                                Comparator.nullsLast(Integer::compareTo)
-                        )
-                );
-            }
-        });
-        // 返回最终构建好的树形结构
-        return rootNodes;
+        List<MenuResponseDTO> copyList = new ArrayList<>(nodes.size());
+        for (MenuResponseDTO node : nodes) {
+            copyList.add(node.toBuilder().children(copyMenuTree(node.getChildren())).build());
+        }
+        return copyList;
+    }
+
+    /**
+     * 按角色集合缓存的菜单树
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedMenuTree {
+        /**
+         * 构建时各角色权限快照的版本签名
+         */
+        private final String versionSignature;
+        /**
+         * 构建好的菜单树，只在缓存内部持有
+         */
+        private final List<MenuResponseDTO> tree;
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.winter.cloud.auth.application.service.AuthPostAppService;
 import com.winter.cloud.auth.domain.model.entity.AuthPostDO;
 import com.winter.cloud.auth.domain.repository.AuthPostRepository;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.datasource.ReadReplica;
 import com.winter.cloud.common.enums.ResultCodeEnum;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageAndOrderDTO;
@@ -52,6 +53,7 @@ public class AuthPostAppServiceImpl implements AuthPostAppService {
      * @param postQuery 查询条件，包含职位名称和状态
      * @return 职位信息列表
      */
+    @ReadReplica
     @Override
     public List<PostResponseDTO> postDynamicQueryList(PostQuery postQuery) {
         log.info("根据职位名和状态查询职位信息，postName={}, status={}", postQuery.getPostName(), postQuery.getStatus());
@@ -65,6 +67,7 @@ public class AuthPostAppServiceImpl implements AuthPostAppService {
      * @param postQuery 查询条件，包含分页参数和排序参数
      * @return 分页后的职位信息
      */
+    @ReadReplica
     @Override
     public PageDTO<PostResponseDTO> postPage(PostQuery postQuery) {
         if (ObjectUtils.isEmpty(postQuery) || ObjectUtils.isEmpty(postQuery.getOrders())) {
@@ -142,6 +145,7 @@ public class AuthPostAppServiceImpl implements AuthPostAppService {
      * @param response  HTTP响应对象，用于输出Excel文件
      * @param postQuery 查询条件，用于筛选导出的数据
      */
+    @ReadReplica
     @Override
     public void postExportExcel(HttpServletResponse response, PostQuery postQuery) {
         Boolean exportAll = postQuery.getExportAll();
@@ -7,9 +7,13 @@ import com.winter.cloud.auth.api.dto.response.RoleResponseDTO;
 import com.winter.cloud.auth.application.assembler.AuthRoleAppAssembler;
 import com.winter.cloud.auth.application.service.AuthRoleAppService;
 import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
+import com.winter.cloud.auth.domain.repository.AuthRolePermissionRepository;
 import com.winter.cloud.auth.domain.repository.AuthRoleRepository;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.datasource.ReadReplica;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.RolePermissionChangedEvent;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
@@ -35,8 +39,10 @@ import java.util.stream.Collectors;
 public class AuthRoleAppServiceImpl implements AuthRoleAppService {
 
     private final AuthRoleRepository authRoleRepository;
+    private final AuthRolePermissionRepository authRolePermissionRepository;
     private final AuthRoleAppAssembler authRoleAppAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Override
     public Boolean roleSave(UpsertRoleCommand command) {
@@ -49,15 +55,22 @@ public class AuthRoleAppServiceImpl implements AuthRoleAppService {
     public Boolean roleUpdate(UpsertRoleCommand command) {
         log.info("更新角色信息，command={}", command);
         AuthRoleDO aDo = authRoleAppAssembler.toDO(command);
-        return authRoleRepository.roleUpdate(aDo);
+        Boolean updated = authRoleRepository.roleUpdate(aDo);
+        // 数据范围、自定义部门和角色状态都会影响用户数据范围，任何更新都通知各实例失效缓存
+        domainEventPublisher.publish(new RolePermissionChangedEvent(List.of(aDo.getId())));
+        return updated;
     }
 
     @Override
     public Boolean roleDelete(List<Long> roleIds) {
         log.info("删除角色信息，roleIds={}", roleIds);
-        return authRoleRepository.roleDelete(roleIds);
+        Boolean deleted = authRoleRepository.roleDelete(roleIds);
+        authRolePermissionRepository.evictRolePermission(roleIds);
+        domainEventPublisher.publish(new RolePermissionChangedEvent(roleIds));
+        return deleted;
     }
 
+    @ReadReplica
     @Override
     public PageDTO<RoleResponseDTO> rolePage(RoleQuery roleQuery) {
         if (ObjectUtils.isEmpty(roleQuery) || ObjectUtils.isEmpty(roleQuery.getOrders())) {
@@ -72,6 +85,7 @@ public class AuthRoleAppServiceImpl implements AuthRoleAppService {
         return new PageDTO<>(dtoList, doPage.getTotal());
     }
 
+    @ReadReplica
     @Override
     public List<RoleResponseDTO> roleDynamicQueryList(RoleQuery roleQuery) {
         log.info("根据角色名和状态查询角色信息，roleName={}, status={}", roleQuery.getRoleName(), roleQuery.getStatus());
@@ -81,9 +95,16 @@ public class AuthRoleAppServiceImpl implements AuthRoleAppService {
 
     @Override
     public void assignMenuPermissions(Long roleId, List<Long> menuIds) {
-        authRoleRepository.assignMenuPermissions(roleId, menuIds);
+        if (!authRoleRepository.assignMenuPermissions(roleId, menuIds)) {
+            // 菜单未变化，权限快照仍然有效
+            return;
+        }
+        // 角色菜单已在事务中提交，失效该角色的权限快照
+        authRolePermissionRepository.evictRolePermission(List.of(roleId));
+        domainEventPublisher.publish(new RolePermissionChangedEvent(List.of(roleId)));
     }
 
+    @ReadReplica
     @Override
     public void roleExportExcel(HttpServletResponse response, RoleQuery roleQuery) {
         Boolean exportAll = roleQuery.getExportAll();
@@ -9,7 +9,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.command.UpsertUserCommand;
 import com.winter.cloud.auth.api.dto.command.UserLoginCommand;
 import com.winter.cloud.auth.api.dto.command.UserRegisterCommand;
-import com.winter.cloud.auth.api.dto.query.PostQuery;
 import com.winter.cloud.auth.api.dto.query.UserQuery;
 import com.winter.cloud.auth.api.dto.response.*;
 import com.winter.cloud.auth.application.assembler.AuthDeptAppAssembler;
@@ -18,21 +17,29 @@ import com.winter.cloud.auth.application.assembler.AuthRoleAppAssembler;
 import com.winter.cloud.auth.application.assembler.AuthUserAppAssembler;
 import com.winter.cloud.auth.application.service.AuthMenuAppService;
 import com.winter.cloud.auth.application.service.AuthUserAppService;
+import com.winter.cloud.auth.domain.event.UserLoginEvent;
 import com.winter.cloud.auth.domain.model.entity.AuthDeptDO;
 import com.winter.cloud.auth.domain.model.entity.AuthPostDO;
 import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
+import com.winter.cloud.auth.domain.model.entity.AuthRolePermissionDO;
 import com.winter.cloud.auth.domain.model.entity.AuthUserDO;
+import com.winter.cloud.auth.domain.model.entity.OnlineSessionDO;
 import com.winter.cloud.auth.domain.repository.*;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.datasource.ReadReplica;
 import com.winter.cloud.common.enums.ResultCodeEnum;
 import com.winter.cloud.common.enums.StatusEnum;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.UserChangedEvent;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.permission.PermissionBitmap;
+import com.winter.cloud.common.permission.PermissionIndexRegistry;
 import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
 import com.winter.cloud.common.util.JwtUtil;
 import com.zsq.winter.encrypt.util.CryptoUtil;
-import com.zsq.winter.redis.ddc.service.WinterRedisTemplate; // 使用你的 Redis 工具
+import com.zsq.winter.security.context.WinterSecurityContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -46,7 +53,12 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.winter.cloud.common.enums.ResultCodeEnum.*;
@@ -61,13 +73,17 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
     private final AuthPostRepository authPostRepository;
     private final AuthMenuAppService authMenuAppService;
     private final AuthRoleRepository authRoleRepository;
-    private final AuthMenuRepository authMenuRepository;
+    private final AuthRolePermissionRepository authRolePermissionRepository;
     private final AuthUserAppAssembler authUserAppAssembler;
-    private final WinterRedisTemplate winterRedisTemplate;
+    private final AuthSessionRepository authSessionRepository;
+    private final Executor authPoolExecutor;
     private final ObjectMapper objectMapper;
     private final AuthRoleAppAssembler authRoleAppAssembler;
     private final AuthDeptAppAssembler authDeptAppAssembler;
     private final AuthPostAppAssembler authPostAppAssembler;
+    private final DomainEventPublisher domainEventPublisher;
+    private final PermissionIndexRegistry permissionIndexRegistry;
+    private final LoginAttemptRepository loginAttemptRepository;
 
     @Transactional(rollbackFor = Exception.class)
     @Override
@@ -87,31 +103,38 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
     }
 
     @Override
-    public LoginResponseDTO login(UserLoginCommand command) throws JsonProcessingException {
+    public LoginResponseDTO login(UserLoginCommand command, String clientIp) throws JsonProcessingException {
+        // 账号或 IP 处于失败退避期时直接拒绝，不查库、不校验密码
+        loginAttemptRepository.checkAllowed(command.getEmail(), clientIp);
         AuthUserDO authUserDO = authUserRepository.findByEmail(command.getEmail());
         // 查询邮箱是否存在，不存在抛出异常，存在进行密码校验
         if (ObjectUtils.isEmpty(authUserDO)) {
+            loginAttemptRepository.recordFailure(command.getEmail(), clientIp);
             throw new BusinessException(NOT_FOUND);
         }
         // 密码校验
         if (!authUserDO.verifyPassword(command.getPassword(), authUserDO.getPassword())) {
+            loginAttemptRepository.recordFailure(command.getEmail(), clientIp);
             throw new BusinessException(LOGIN_FAILED);
         }
+        loginAttemptRepository.recordSuccess(command.getEmail());
         // 账号状态校验
         if (!StatusEnum.ENABLE.getCode().equals(authUserDO.getStatus())) {
             throw new BusinessException(DISABLED.getCode(), "用户已停用");
         }
+        // 角色权限与菜单树互不依赖，并行查询
+        Long userId = authUserDO.getId();
+        CompletableFuture<ValidateTokenDTO> userInfoFuture = CompletableFuture.supplyAsync(() -> generateUserInfo(userId, authUserDO.getUserName()), authPoolExecutor);
+        CompletableFuture<List<MenuResponseDTO>> menuFuture = CompletableFuture.supplyAsync(() -> authMenuAppService.getMenu(userId), authPoolExecutor);
         // 生成token
         HashMap<String, Object> claim = new HashMap<>();
         claim.put(CommonConstants.Claim.NAME, authUserDO.getUserName());
-        String token = JwtUtil.generateToken(String.valueOf(authUserDO.getId()), claim, CommonConstants.Redis.EXPIRATION_TIME);
-        ValidateTokenDTO validateTokenDTO = generateUserInfo(authUserDO.getId(), authUserDO.getUserName());
-        // 序列化
-        String value = objectMapper.writeValueAsString(validateTokenDTO);
-        // 缓存用户信息可以设置过期时间也可以不设置，网关先校验token有没有过期，没过期才会去用用户id去缓存查找
-        winterRedisTemplate.set(CommonConstants.buildUserCacheKey(authUserDO.getId().toString()), value, CommonConstants.Redis.EXPIRATION_TIME, TimeUnit.MICROSECONDS);
+        String token = JwtUtil.generateToken(String.valueOf(userId), claim, CommonConstants.Redis.EXPIRATION_TIME);
+        ValidateTokenDTO validateTokenDTO = joinQuietly(userInfoFuture);
+        List<MenuResponseDTO> menu = joinQuietly(menuFuture);
+        // 写入会话（会话内容 + 用户 token 索引一次管道写入），网关先校验token有没有过期，没过期才会去用用户id去缓存查找
+        authSessionRepository.save(token, validateTokenDTO);
         // 登录成功返回用户有哪些菜单、权限配置（递归父子级别）
-        List<MenuResponseDTO> menu = authMenuAppService.getMenu(authUserDO.getId());
         List<String> permissions = validateTokenDTO.getPermissions();
         MenuAndButtonResponseDTO menuAndButtonResponseDTO = MenuAndButtonResponseDTO.builder()
                 .menuList(menu)
@@ -121,11 +144,122 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
         LoginResponseDTO responseDTO = authUserAppAssembler.toResponseDTO(authUserDO);
         responseDTO.setToken(token);
         responseDTO.setMenuAndButton(menuAndButtonResponseDTO);
+        domainEventPublisher.publish(new UserLoginEvent(userId, authUserDO.getUserName()));
         return responseDTO;
 
     }
 
 
+    /**
+     * 等待异步任务完成，业务异常原样抛出，其余异常包装为 BusinessException
+     *
+     * @param future 异步任务
+     * @return 任务结果
+     */
+    private <T> T joinQuietly(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BusinessException) {
+                throw (BusinessException) e.getCause();
+            }
+            log.error("登录信息组装失败", e.getCause());
+            throw new BusinessException(FAIL.getCode(), "登录信息组装失败");
+        }
+    }
+
+    @Override
+    public void cacheSession(String token, ValidateTokenDTO session) {
+        authSessionRepository.save(token, session);
+    }
+
+    @Override
+    public boolean isTokenActive(Long userId, String token) {
+        return authSessionRepository.isTokenActive(userId, token);
+    }
+
+    @Override
+    public Map<Long, ValidateTokenDTO> getSessionBatch(Map<String, Long> tokenUserIdMap, Map<Long, String> userNameMap) {
+        if (tokenUserIdMap.isEmpty()) {
+            return Map.of();
+        }
+        // 1. 一次 MGET 读取已有会话
+        Map<Long, ValidateTokenDTO> sessionMap = new HashMap<>(authSessionRepository.getBatch(userNameMap.keySet()));
+        Map<String, Long> missTokenUserIdMap = tokenUserIdMap.entrySet().stream()
+                .filter(entry -> !sessionMap.containsKey(entry.getValue()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (missTokenUserIdMap.isEmpty()) {
+            return sessionMap;
+        }
+        // 2. 会话缺失时只为仍在 token 索引中的 token 重建会话（一次管道 SISMEMBER），已踢出的 token 直接判为无效
+        Set<String> activeTokenSet = authSessionRepository.filterActiveTokens(missTokenUserIdMap);
+        Map<String, Long> activeTokenUserIdMap = missTokenUserIdMap.entrySet().stream()
+                .filter(entry -> activeTokenSet.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        List<Long> missUserIdList = activeTokenUserIdMap.values().stream().distinct().collect(Collectors.toList());
+        if (missUserIdList.isEmpty()) {
+            return sessionMap;
+        }
+        // 3. 未命中的用户批量查询角色（一次 IN 查询）和角色权限快照
+        Map<Long, ValidateTokenDTO> generatedMap = generateUserInfoBatch(missUserIdList, userNameMap);
+        sessionMap.putAll(generatedMap);
+        // 4. 一次管道回填会话，后续请求直接命中缓存
+        Map<String, ValidateTokenDTO> cacheMap = new HashMap<>(generatedMap.size() * 2);
+        activeTokenUserIdMap.forEach((token, userId) -> {
+            ValidateTokenDTO session = generatedMap.get(userId);
+            if (session != null) {
+                cacheMap.put(token, session);
+            }
+        });
+        authSessionRepository.saveBatch(cacheMap);
+        return sessionMap;
+    }
+
+    /**
+     * 批量组装用户会话内容，与 {@link #generateUserInfo(Long, String)} 结果一致
+     *
+     * @param userIdList  用户ID列表
+     * @param userNameMap 用户ID -> 用户名
+     * @return 用户ID -> 会话内容
+     */
+    private Map<Long, ValidateTokenDTO> generateUserInfoBatch(List<Long> userIdList, Map<Long, String> userNameMap) {
+        Map<Long, List<AuthRoleDO>> roleMap = authRoleRepository.selectRoleMapByUserIdList(userIdList, StatusEnum.ENABLE.getCode());
+        List<Long> allRoleIdList = roleMap.values().stream()
+                .flatMap(List::stream)
+                .map(AuthRoleDO::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, AuthRolePermissionDO> snapshotMap = authRolePermissionRepository.getRolePermissionList(allRoleIdList).stream()
+                .collect(Collectors.toMap(AuthRolePermissionDO::getRoleId, Function.identity(), (left, right) -> left));
+
+        Map<Long, ValidateTokenDTO> resultMap = new HashMap<>(userIdList.size() * 2);
+        for (Long userId : userIdList) {
+            List<AuthRoleDO> roleList = roleMap.getOrDefault(userId, List.of());
+            List<String> roleKeyList = roleList.stream().map(AuthRoleDO::getRoleKey).filter(ObjectUtil::isNotEmpty).distinct().collect(Collectors.toList());
+            List<String> permissionsList = roleList.stream()
+                    .map(AuthRoleDO::getId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(snapshotMap::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(snapshot -> snapshot.getPermsSet().stream())
+                    .distinct()
+                    .collect(Collectors.toList());
+            PermissionBitmap permissionBitmap = permissionIndexRegistry.toBitmap(permissionsList);
+            resultMap.put(userId, ValidateTokenDTO.builder()
+                    .valid(true)
+                    .userId(userId)
+                    .userName(userNameMap.get(userId))
+                    .roles(roleKeyList)
+                    .permissions(permissionsList)
+                    .permissionBits(permissionBitmap.encode())
+                    .permissionIndexVersion(permissionBitmap.getVersion())
+                    .build());
+        }
+        return resultMap;
+    }
+
     @Override
     public ValidateTokenDTO generateUserInfo(Long userID, String userName) {
         // 数据库获取用户的角色和权限信息
@@ -135,22 +269,63 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
         List<String> roleKeyList = roleResponseDOList.stream().map(AuthRoleDO::getRoleKey).filter(ObjectUtil::isNotEmpty).distinct().collect(Collectors.toList());
         // 获取角色正常的角色id
         List<Long> roleIdList = roleResponseDOList.stream().map(AuthRoleDO::getId).filter(ObjectUtil::isNotEmpty).distinct().collect(Collectors.toList());
-        // 根据角色id查询状态正常的权限并去重复
-        List<MenuResponseDTO> menuResponseDTOList = authMenuRepository.selectMenuListByRoleIdList(roleIdList, StatusEnum.ENABLE.getCode());
-        // 获取权限标识并去重复
-        List<String> permissionsList = menuResponseDTOList.stream().map(MenuResponseDTO::getPerms).filter(ObjectUtil::isNotEmpty).distinct().collect(Collectors.toList());
+        // 用户权限 = 各角色权限快照的并集（快照按角色缓存，只在角色分配菜单或菜单编辑时失效）
+        List<String> permissionsList = authRolePermissionRepository.getRolePermissionList(roleIdList).stream()
+                .flatMap(snapshot -> snapshot.getPermsSet().stream())
+                .distinct()
+                .collect(Collectors.toList());
+        // 权限位图随会话缓存下发，下游服务按位校验权限
+        PermissionBitmap permissionBitmap = permissionIndexRegistry.toBitmap(permissionsList);
 
         return ValidateTokenDTO.builder()
                 .valid(true)
                 .userId(userID)
                 .userName(userName)
                 .roles(roleKeyList)
-                .permissions(permissionsList).build();
+                .permissions(permissionsList)
+                .permissionBits(permissionBitmap.encode())
+                .permissionIndexVersion(permissionBitmap.getVersion()).build();
     }
 
+    @Override
+    public PageDTO<OnlineSessionResponseDTO> onlinePage(PageAndOrderDTO pageQuery) {
+        int pageNum = pageQuery.getPageNum() == null ? 1 : pageQuery.getPageNum();
+        int pageSize = pageQuery.getPageSize() == null ? 10 : pageQuery.getPageSize();
+        PageDTO<OnlineSessionDO> doPage = authSessionRepository.onlinePage(pageNum, pageSize);
+        return doPage.withRecords(authUserAppAssembler.toOnlineSessionResponseDTOList(doPage.getRecords()));
+    }
+
+    @Override
+    public Boolean kickOut(List<Long> userIdList) {
+        authSessionRepository.kickOut(userIdList);
+        log.info("批量踢出用户，数量: {}, 操作人: {}", userIdList.size(), WinterSecurityContextHolder.getUserId());
+        return true;
+    }
+
+    @ReadReplica
     @Override
     public PageDTO<UserResponseDTO> userPage(UserQuery userQuery) {
-        List<PageAndOrderDTO.OrderDTO> orderDTOList = userQuery.getOrders();
+        userQuery.setOrders(normalizeOrders(userQuery.getOrders()));
+
+        PageDTO<AuthUserDO> doPage = authUserRepository.userPage(userQuery);
+        List<UserResponseDTO> userResponseDTOList = authUserAppAssembler.toUserResponseDTOList(doPage.getRecords());
+
+        // 2. 批量填充关联的角色、部门和岗位信息
+        fillUserAssociations(userResponseDTOList);
+
+        return doPage.withRecords(userResponseDTOList);
+    }
+
+    /**
+     * 校验并标准化用户查询的排序参数（白名单校验 + 按 sequence 排序 + ascend/descend 转 asc/desc）
+     * <p>
+     * 字段到列的映射在 AuthUserMapper.xml 的 userPageOrderBy 中完成，不拼接前端传入的字段名
+     * </p>
+     *
+     * @param orderDTOList 前端传入的排序参数
+     * @return 标准化后的排序参数
+     */
+    private List<PageAndOrderDTO.OrderDTO> normalizeOrders(List<PageAndOrderDTO.OrderDTO> orderDTOList) {
         List<String> allowSortColumnList = List.of("sex", "status", "create_time");
         List<String> allowSortValue = List.of("ascend", "asc", "descend", "desc", "ASCEND", "ASC", "DESCEND", "DESC");
         // 判断排序字段是否在允许的字段列表中，只要有一个不在，就抛出异常
@@ -163,16 +338,14 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
             }
         });
         // 对排序字段进行排序
-        List<PageAndOrderDTO.OrderDTO> collect = orderDTOList.stream().sorted((o1, o2) -> o1.getSequence().compareTo(o2.getSequence()))
+        return orderDTOList.stream().sorted((o1, o2) -> o1.getSequence().compareTo(o2.getSequence()))
                 .map(dto -> {
-                    String newOrder = dto.getOrder();
-                    if (newOrder != null) {
-                        String lower = newOrder.toLowerCase();
-                        if ("ascend".equals(lower)) {
-                            newOrder = "asc";
-                        } else if ("descend".equals(lower)) {
-                            newOrder = "desc";
-                        }
+                    // 统一为小写 asc/desc，Mapper 中按该值映射排序方向
+                    String newOrder = dto.getOrder().toLowerCase();
+                    if ("ascend".equals(newOrder)) {
+                        newOrder = "asc";
+                    } else if ("descend".equals(newOrder)) {
+                        newOrder = "desc";
                     }
                     PageAndOrderDTO.OrderDTO orderDTO = new PageAndOrderDTO.OrderDTO();
                     orderDTO.setField(dto.getField());
@@ -180,41 +353,38 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
                     orderDTO.setSequence(dto.getSequence());
                     return orderDTO;
                 }).collect(Collectors.toList());
+    }
 
-        userQuery.setOrders(collect);
-
-        PageDTO<AuthUserDO> doPage = authUserRepository.userPage(userQuery);
-        List<UserResponseDTO> userResponseDTOList = authUserAppAssembler.toUserResponseDTOList(doPage.getRecords());
+    /**
+     * 批量填充用户的角色、部门和岗位信息
+     * <p>
+     * 整页用户只执行三次 IN 查询（角色、部门、岗位），再在内存中按用户ID组装，
+     * 避免逐个用户查询带来的 N+1 问题。
+     * </p>
+     *
+     * @param userDTOList 当前页的用户列表
+     */
+    private void fillUserAssociations(List<UserResponseDTO> userDTOList) {
+        if (ObjectUtil.isEmpty(userDTOList)) {
+            return;
+        }
+        List<Long> userIdList = userDTOList.stream().map(UserResponseDTO::getId).distinct().collect(Collectors.toList());
+        Set<Long> postIdSet = userDTOList.stream().map(UserResponseDTO::getPostId).filter(Objects::nonNull).collect(Collectors.toSet());
 
-        // 2. 遍历用户，填充关联的角色和部门信息
-        List<UserResponseDTO> dtoList = userResponseDTOList.stream().map(userDTO -> {
-            // 2.2 填充角色信息
-            // 注意：AuthRoleRepository 现有的实现是直接返回 DTO List，所以不需要 Assembler 转换
-            List<AuthRoleDO> authRoleDOList = authRoleRepository.selectRoleListByUserId(userDTO.getId(), "");
-            // DO->DTO
-            List<RoleResponseDTO> roleDTOList = authRoleAppAssembler.toDTOList(authRoleDOList);
-            userDTO.setRoleListDTO(roleDTOList);
-
-
-            // 2.3 填充部门信息(要求部门新增时，入库时，所有的部门都需要入库。100-200-300，100-200-301)
-            // 步骤 A: 从仓储获取 DO List (这是纯净的领域对象)
-            List<AuthDeptDO> deptDOs = authDeptRepository.selectDeptListByUserId(userDTO.getId(), "");
-            // 步骤 B: 使用 MapStruct 将 DO List 转换为 DTO List
-            List<DeptResponseDTO> deptDTOList = authDeptAppAssembler.toDTOList(deptDOs);
-            userDTO.setDeptListDTO(deptDTOList);
-
-            //2.4 填充岗位信息
-            if(ObjectUtil.isEmpty(userDTO.getPostId())){
-                userDTO.setPostDTO(null);
-            }else{
-                AuthPostDO authPostDO = authPostRepository.postDynamicQuery(PostQuery.builder().id(userDTO.getPostId()).build());
-                PostResponseDTO postResponseDTO = authPostAppAssembler.toDTO(authPostDO);
-                userDTO.setPostDTO(postResponseDTO);
-            }
-            return userDTO;
-        }).collect(Collectors.toList());
+        // 2.1 角色：注意 status 传空串表示不过滤状态
+        Map<Long, List<AuthRoleDO>> roleMap = authRoleRepository.selectRoleMapByUserIdList(userIdList, "");
+        // 2.2 部门(要求部门新增时，入库时，所有的部门都需要入库。100-200-300，100-200-301)
+        Map<Long, List<AuthDeptDO>> deptMap = authDeptRepository.selectDeptMapByUserIdList(userIdList, "");
+        // 2.3 岗位
+        Map<Long, AuthPostDO> postMap = authPostRepository.listByIds(postIdSet).stream()
+                .collect(Collectors.toMap(AuthPostDO::getId, Function.identity(), (oldVal, newVal) -> oldVal));
 
-        return new PageDTO<>(dtoList, doPage.getTotal());
+        userDTOList.forEach(userDTO -> {
+            userDTO.setRoleListDTO(authRoleAppAssembler.toDTOList(roleMap.getOrDefault(userDTO.getId(), List.of())));
+            userDTO.setDeptListDTO(authDeptAppAssembler.toDTOList(deptMap.getOrDefault(userDTO.getId(), List.of())));
+            AuthPostDO authPostDO = ObjectUtil.isEmpty(userDTO.getPostId()) ? null : postMap.get(userDTO.getPostId());
+            userDTO.setPostDTO(authPostDO == null ? null : authPostAppAssembler.toDTO(authPostDO));
+        });
     }
 
     @Override
@@ -226,12 +396,18 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
     @Override
     public Boolean userUpdate(UpsertUserCommand upsertUserCommand) {
         AuthUserDO aDo = authUserAppAssembler.toDO(upsertUserCommand);
-        return authUserRepository.userUpdate(aDo);
+        Boolean updated = authUserRepository.userUpdate(aDo);
+        domainEventPublisher.publish(new UserChangedEvent(List.of(aDo.getId())));
+        return updated;
     }
 
     @Override
     public Boolean userDelete(List<Long> idList) {
-        return authUserRepository.userDelete(idList);
+        Boolean deleted = authUserRepository.userDelete(idList);
+        // 已删除的用户立即下线
+        authSessionRepository.kickOut(idList);
+        domainEventPublisher.publish(new UserChangedEvent(idList));
+        return deleted;
     }
 
     @Override
@@ -239,14 +415,16 @@ public class AuthUserAppServiceImpl implements AuthUserAppService {
         return authUserRepository.updatePasswordBySuperMan(id, password);
     }
 
+    @ReadReplica
     @Override
-    public void userExportExcel(HttpServletResponse response, UserQuery userQuery) {
-        Boolean exportAll = userQuery.getExportAll();
-        if (exportAll) {
-            userQuery.setPageSize(1000000);
-        }
-        List<UserResponseDTO> records = this.userPage(userQuery).getRecords();
-        authUserRepository.userExportExcel(response,records);
+    public void userExportExcel(HttpServletResponse response, UserQuery userQuery) throws IOException {
+        userQuery.setOrders(normalizeOrders(userQuery.getOrders()));
+        // 仓储分批读取用户，每批在这里批量填充关联信息后立即写出，不在内存中累积全表数据
+        authUserRepository.userExportExcel(response, userQuery, doList -> {
+            List<UserResponseDTO> dtoList = authUserAppAssembler.toUserResponseDTOList(doList);
+            fillUserAssociations(dtoList);
+            return dtoList;
+        });
     }
 
     @Override
@@ -1,21 +1,30 @@
 package com.winter.cloud.auth.application.service.impl;
 
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.http.HttpUtil;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
 import com.winter.cloud.auth.application.service.IconAppService;
+import com.winter.cloud.auth.application.support.IconSearchIndex;
+import com.winter.cloud.auth.domain.event.IconChangedEvent;
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
 import com.winter.cloud.auth.domain.model.entity.IconTypeDO;
-import com.winter.cloud.auth.domain.model.entity.IconValueDO;
 import com.winter.cloud.auth.domain.repository.IconRepository;
-import com.winter.cloud.common.enums.StatusEnum;
+import com.winter.cloud.auth.domain.repository.IconSourceRepository;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.response.PageDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,61 +32,126 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class IconAppServiceImpl implements IconAppService {
 
-    private final ObjectMapper objectMapper;
     private final IconRepository iconRepository;
+    private final IconSourceRepository iconSourceRepository;
+    private final DomainEventPublisher domainEventPublisher;
 
+    /**
+     * 同时拉取的图标集数量上限
+     */
+    private static final int FETCH_CONCURRENCY = 4;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    /**
+     * 页码上限，超出的页码按最后一页之后处理（返回空页）
+     */
+    private static final int MAX_PAGE_NUM = 10_000;
+
+    /**
+     * 图标检索索引，首次查询时加载，图标同步写入差异后整体重建并替换引用
+     */
+    private volatile IconSearchIndex iconSearchIndex;
 
     @Override
-    public void insert(String name) {
-        try {
-            String template = "https://icones.js.org/collections/{}-meta.json";
-            String str = StrUtil.format(template, name.trim());
-            String result = HttpUtil.get(str);
-            // JSON -> Map
-            Map<String, Object> info = objectMapper.readValue(
-                    result,
-                    new TypeReference<Map<String, Object>>() {}
-            );
-            // 图标名称
-            String iconName = (String) info.get("name");
-            // 图标前缀
-            String prefix = (String) info.get("id");
-            Map<String, Object> author = objectMapper.readValue(
-                    objectMapper.writeValueAsString(info.get("author")),
-                    new TypeReference<Map<String, Object>>() {}
-            );
-            // 项目地址
-            String url = (String) author.get("url");
-            // 图标信息
-            List<String> iconList = objectMapper.readValue( objectMapper.writeValueAsString(info.get("icons")), new TypeReference<List<String>>() {
-            });
+    public void syncIconCollections(List<String> prefixList) {
+        List<String> prefixes = prefixList.stream()
+                .filter(StrUtil::isNotBlank)
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toList());
+        if (prefixes.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        // 1. 一次查询取回已有图标类型的内容摘要
+        Map<String, IconTypeDO> iconTypeMap = iconRepository.selectIconTypeMapByPrefix(prefixes);
 
-            // 图标种类信息
-            IconTypeDO iconTypeDO = IconTypeDO.builder()
-                    .url(url)
-                    .prefix(prefix)
-                    .name(iconName)
-                    .build();
-            // 保存图标种类信息，无这个类型就新增，并返回种类编号，有也返回种类编号
-            Long iconTypeId = iconRepository.saveIconType(iconTypeDO);
+        // 2. 有界线程池并发拉取，单个图标集失败不影响其它图标集
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService fetchExecutor = Executors.newFixedThreadPool(Math.min(FETCH_CONCURRENCY, prefixes.size()),
+                runnable -> new Thread(runnable, "icon-fetch-" + threadIndex.incrementAndGet()));
+        Map<String, CompletableFuture<IconCollectionDO>> futureMap = new LinkedHashMap<>();
+        try {
+            prefixes.forEach(prefix -> futureMap.put(prefix, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return iconSourceRepository.fetchCollection(prefix);
+                } catch (Exception e) {
+                    log.error("拉取图标集失败，prefix: {}", prefix, e);
+                    return null;
+                }
+            }, fetchExecutor)));
 
-            // 图标信息
-            List<IconValueDO> iconValueDOList = iconList.stream().map(icon -> {
-                        return IconValueDO.builder()
-                                .iconTypeId(iconTypeId)
-                                .value(prefix + ":" + icon)
-                                .status(StatusEnum.ENABLE.getCode()).build();
-                    }
-            ).collect(Collectors.toList());
-            // 保存图标信息
-            iconRepository.saveIconValue(iconValueDOList);
-        } catch (Exception e) {
-            log.error("读取 icon meta 失败", e);
+            // 3. 按摘要跳过未变化的图标集，变化的图标集逐个写入差异
+            int skipped = 0;
+            int failed = 0;
+            int changedIcons = 0;
+            List<String> changedPrefixList = new ArrayList<>();
+            for (Map.Entry<String, CompletableFuture<IconCollectionDO>> entry : futureMap.entrySet()) {
+                IconCollectionDO collection = entry.getValue().join();
+                if (collection == null || StrUtil.isBlank(collection.getPrefix())) {
+                    failed++;
+                    continue;
+                }
+                String contentHash = collection.contentHash();
+                IconTypeDO iconTypeDO = iconTypeMap.get(collection.getPrefix());
+                if (iconTypeDO != null && contentHash.equals(iconTypeDO.getContentHash())) {
+                    skipped++;
+                    continue;
+                }
+                try {
+                    changedIcons += iconRepository.syncIconCollection(collection, contentHash);
+                    changedPrefixList.add(collection.getPrefix());
+                } catch (Exception e) {
+                    failed++;
+                    log.error("同步图标集失败，prefix: {}", collection.getPrefix(), e);
+                }
+            }
+            log.info("图标集同步完成，总数: {}，跳过: {}，失败: {}，变更图标数: {}，耗时: {}ms",
+                    prefixes.size(), skipped, failed, changedIcons, System.currentTimeMillis() - startTime);
+            if (!changedPrefixList.isEmpty()) {
+                // 广播给所有实例（含本实例）重建检索索引
+                domainEventPublisher.publish(new IconChangedEvent(changedPrefixList));
+            }
+        } finally {
+            fetchExecutor.shutdownNow();
         }
     }
 
     @Override
     public List<IconResponseDTO> getIconList(String name) {
-        return iconRepository.getIconList(name);
+        return getIconSearchIndex().filter(name);
+    }
+
+    @Override
+    public PageDTO<IconValue> searchIcon(String keyword, Integer pageNum, Integer pageSize) {
+        int size = pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        int page = pageNum == null || pageNum <= 0 ? 1 : Math.min(pageNum, MAX_PAGE_NUM);
+        return getIconSearchIndex().search(keyword, page, size);
+    }
+
+    @Override
+    public synchronized void rebuildIconIndex() {
+        long startTime = System.currentTimeMillis();
+        IconSearchIndex index = IconSearchIndex.build(iconRepository.getIconList(null));
+        iconSearchIndex = index;
+        log.info("图标检索索引已重建，图标数: {}，耗时: {}ms", index.size(), System.currentTimeMillis() - startTime);
+    }
+
+    @DomainEventListener
+    public void onIconChanged(IconChangedEvent event) {
+        rebuildIconIndex();
+    }
+
+    private IconSearchIndex getIconSearchIndex() {
+        IconSearchIndex index = iconSearchIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (iconSearchIndex == null) {
+                    rebuildIconIndex();
+                }
+                index = iconSearchIndex;
+            }
+        }
+        return index;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,425 @@
+package com.winter.cloud.auth.application.support;
+
+import cn.hutool.core.util.StrUtil;
+import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
+import com.winter.cloud.common.enums.StatusEnum;
+import com.winter.cloud.common.response.PageDTO;
+
+import java.util.*;
+
+/**
+ * 图标内存检索索引（不可变）
+ * <p>
+ * 构建后只读，可被多个线程并发查询；数据变化时整体重建后替换引用，查询方不会看到半成品。
+ * <ul>
+ *   <li>前缀：图标全名（mdi:home）和短名（home）排序后存入数组，二分定位后顺序扫描；</li>
+ *   <li>子串：按图标全名的二元组、三元组（trigram）建立倒排表，求交集后再校验 contains；
+ *       单个字符的关键字直接线性扫描；</li>
+ *   <li>模糊：与关键字共享至少一半三元组的图标按 Jaccard 相似度排序，排在子串匹配之后。</li>
+ * </ul>
+ * {@link #filter(String)} 与原 SQL（PostgreSQL like）一致，区分大小写；{@link #search(String, int, int)} 不区分大小写。
+ * 倒排表按小写建立，区分大小写的子串匹配先用小写关键字取候选，再按原值校验。
+ * </p>
+ */
+public final class IconSearchIndex {
+    private static final int GRAM = 3;
+    private static final double FUZZY_MIN_SHARE = 0.5D;
+
+    /**
+     * 参与检索的关键字最大长度，保证模糊匹配计数不超过 byte 范围
+     */
+    private static final int MAX_KEYWORD_LENGTH = 64;
+
+    /**
+     * 图标类型（不含 children），按加载顺序
+     */
+    private final List<IconResponseDTO> typeList;
+
+    /**
+     * 以下数组按图标序号（下标）对齐
+     */
+    private final IconValue[] icons;
+    private final int[] iconTypeIndex;
+    private final String[] lowerValues;
+    private final int[] iconGramCount;
+
+    /**
+     * 前缀检索：排序后的键与对应的图标序号
+     */
+    private final String[] prefixKeys;
+    private final int[] prefixIconIds;
+
+    /**
+     * 二元组/三元组 -> 升序图标序号
+     */
+    private final Map<String, int[]> postings;
+
+    private IconSearchIndex(List<IconResponseDTO> typeList, IconValue[] icons, int[] iconTypeIndex, String[] lowerValues,
+                            int[] iconGramCount, String[] prefixKeys, int[] prefixIconIds, Map<String, int[]> postings) {
+        this.typeList = typeList;
+        this.icons = icons;
+        this.iconTypeIndex = iconTypeIndex;
+        this.lowerValues = lowerValues;
+        this.iconGramCount = iconGramCount;
+        this.prefixKeys = prefixKeys;
+        this.prefixIconIds = prefixIconIds;
+        this.postings = postings;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param iconTypeList 图标类型及其图标（与 {@code IconRepository#getIconList(null)} 的结构一致），只收录启用的图标
+     */
+    public static IconSearchIndex build(List<IconResponseDTO> iconTypeList) {
+        List<IconResponseDTO> typeList = new ArrayList<>(iconTypeList.size());
+        List<IconValue> iconList = new ArrayList<>();
+        List<Integer> typeIndexList = new ArrayList<>();
+        for (IconResponseDTO type : iconTypeList) {
+            int typeIndex = typeList.size();
+            typeList.add(new IconResponseDTO(type.getId(), type.getName(), type.getUrl(), type.getPrefix(), null));
+            if (type.getChildren() == null) {
+                continue;
+            }
+            for (IconValue icon : type.getChildren()) {
+                // left join 无图标时 children 中会有一个全空的元素；禁用的图标不参与检索
+                if (icon != null && icon.getValue() != null && StatusEnum.ENABLE.getCode().equals(icon.getStatus())) {
+                    iconList.add(icon);
+                    typeIndexList.add(typeIndex);
+                }
+            }
+        }
+
+        int size = iconList.size();
+        IconValue[] icons = iconList.toArray(new IconValue[0]);
+        int[] iconTypeIndex = new int[size];
+        String[] lowerValues = new String[size];
+        int[] iconGramCount = new int[size];
+        Map<String, IntBuffer> postingBuffer = new HashMap<>();
+        List<PrefixEntry> prefixEntryList = new ArrayList<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            iconTypeIndex[i] = typeIndexList.get(i);
+            String lower = icons[i].getValue().toLowerCase(Locale.ROOT);
+            lowerValues[i] = lower;
+            prefixEntryList.add(new PrefixEntry(lower, i));
+            int colon = lower.indexOf(':');
+            if (colon >= 0 && colon < lower.length() - 1) {
+                prefixEntryList.add(new PrefixEntry(lower.substring(colon + 1), i));
+            }
+            Set<String> grams = grams(lower, GRAM);
+            iconGramCount[i] = grams.size();
+            grams.addAll(grams(lower, GRAM - 1));
+            // 按序号递增追加，倒排表天然有序
+            for (String gram : grams) {
+                postingBuffer.computeIfAbsent(gram, key -> new IntBuffer()).add(i);
+            }
+        }
+        prefixEntryList.sort(Comparator.comparing((PrefixEntry entry) -> entry.key).thenComparingInt(entry -> entry.iconId));
+        String[] prefixKeys = new String[prefixEntryList.size()];
+        int[] prefixIconIds = new int[prefixEntryList.size()];
+        for (int i = 0; i < prefixKeys.length; i++) {
+            prefixKeys[i] = prefixEntryList.get(i).key;
+            prefixIconIds[i] = prefixEntryList.get(i).iconId;
+        }
+        Map<String, int[]> postings = new HashMap<>(postingBuffer.size() * 4 / 3 + 1);
+        postingBuffer.forEach((gram, buffer) -> postings.put(gram, buffer.toArray()));
+        return new IconSearchIndex(Collections.unmodifiableList(typeList), icons, iconTypeIndex, lowerValues,
+                iconGramCount, prefixKeys, prefixIconIds, postings);
+    }
+
+    /**
+     * 图标数量
+     */
+    public int size() {
+        return icons.length;
+    }
+
+    /**
+     * 按子串过滤并按图标类型分组（与原 SQL 的 like '%name%' 语义一致：区分大小写、不去除空白、不含模糊匹配）
+     *
+     * @param keyword 关键字，为 null 或空串时返回全部图标类型
+     */
+    public List<IconResponseDTO> filter(String keyword) {
+        if (StrUtil.isEmpty(keyword)) {
+            List<IconResponseDTO> result = new ArrayList<>(typeList.size());
+            Map<Integer, List<IconValue>> childrenMap = new HashMap<>();
+            for (int i = 0; i < icons.length; i++) {
+                childrenMap.computeIfAbsent(iconTypeIndex[i], key -> new ArrayList<>()).add(icons[i]);
+            }
+            for (int i = 0; i < typeList.size(); i++) {
+                result.add(copyType(typeList.get(i), childrenMap.getOrDefault(i, new ArrayList<>())));
+            }
+            return result;
+        }
+        String lower = keyword.toLowerCase(Locale.ROOT);
+        if (lower.length() > MAX_KEYWORD_LENGTH) {
+            lower = lower.substring(0, MAX_KEYWORD_LENGTH);
+        }
+        IntBuffer buffer = new IntBuffer();
+        for (int iconId : substringMatches(lower)) {
+            if (icons[iconId].getValue().contains(keyword)) {
+                buffer.add(iconId);
+            }
+        }
+        return group(buffer.toArray());
+    }
+
+    /**
+     * 分页检索：精确匹配、前缀匹配、子串匹配、模糊匹配依次排列
+     *
+     * @param keyword  关键字，为空时按加载顺序返回全部图标
+     * @param pageNum  页码，从 1 开始
+     * @param pageSize 每页条数
+     */
+    public PageDTO<IconValue> search(String keyword, int pageNum, int pageSize) {
+        // 页码很大时 int 乘积会溢出成负数
+        long offset = (long) (Math.max(pageNum, 1) - 1) * Math.max(pageSize, 0);
+        if (StrUtil.isBlank(keyword)) {
+            return page(identity(icons.length), offset, pageSize);
+        }
+        String lower = normalize(keyword);
+        BitSet seen = new BitSet(icons.length);
+        IntBuffer ordered = new IntBuffer();
+        // 1. 精确匹配与前缀匹配（前缀区间内按键排序，精确匹配的键最短，天然排在最前）
+        for (int i = lowerBound(lower); i < prefixKeys.length && prefixKeys[i].startsWith(lower); i++) {
+            appendIfAbsent(prefixIconIds[i], seen, ordered);
+        }
+        // 2. 子串匹配
+        for (int iconId : substringMatches(lower)) {
+            appendIfAbsent(iconId, seen, ordered);
+        }
+        // 3. 模糊匹配
+        for (int iconId : fuzzyMatches(lower, seen)) {
+            ordered.add(iconId);
+        }
+        return page(ordered.toArray(), offset, pageSize);
+    }
+
+    private int[] substringMatches(String lower) {
+        if (lower.length() < GRAM - 1) {
+            IntBuffer buffer = new IntBuffer();
+            for (int i = 0; i < lowerValues.length; i++) {
+                if (lowerValues[i].contains(lower)) {
+                    buffer.add(i);
+                }
+            }
+            return buffer.toArray();
+        }
+        // 从最短的倒排表开始求交集
+        List<int[]> postingList = new ArrayList<>();
+        for (String gram : grams(lower, Math.min(lower.length(), GRAM))) {
+            int[] posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            postingList.add(posting);
+        }
+        postingList.sort(Comparator.comparingInt(posting -> posting.length));
+        int[] candidates = postingList.get(0);
+        for (int i = 1; i < postingList.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, postingList.get(i));
+        }
+        // 关键字本身就是一个 n 元组时倒排表即精确结果；否则各 n 元组都命中不代表连续出现，需要再校验一次
+        if (postingList.size() == 1 && lower.length() <= GRAM) {
+            return candidates;
+        }
+        IntBuffer buffer = new IntBuffer();
+        for (int iconId : candidates) {
+            if (lowerValues[iconId].contains(lower)) {
+                buffer.add(iconId);
+            }
+        }
+        return buffer.toArray();
+    }
+
+    private int[] fuzzyMatches(String lower, BitSet excluded) {
+        Set<String> queryGrams = grams(lower, GRAM);
+        if (queryGrams.isEmpty()) {
+            return new int[0];
+        }
+        int minShared = (int) Math.ceil(queryGrams.size() * FUZZY_MIN_SHARE);
+        List<int[]> postingList = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            postingList.add(postings.getOrDefault(gram, new int[0]));
+        }
+        postingList.sort(Comparator.comparingInt(posting -> posting.length));
+        // 至少共享 minShared 个三元组的图标必然出现在最短的 (n - minShared + 1) 个倒排表中，
+        // 只用这些倒排表产生候选，其余（通常是 "set"、"ico" 这类高频三元组）对候选二分查找计数
+        int candidateLists = postingList.size() - minShared + 1;
+        byte[] shared = new byte[icons.length];
+        IntBuffer touched = new IntBuffer();
+        for (int i = 0; i < candidateLists; i++) {
+            for (int iconId : postingList.get(i)) {
+                if (shared[iconId]++ == 0) {
+                    touched.add(iconId);
+                }
+            }
+        }
+        int[] candidates = touched.toArray();
+        Arrays.sort(candidates);
+        for (int i = candidateLists; i < postingList.size(); i++) {
+            countMembers(candidates, postingList.get(i), shared);
+        }
+        // 高 32 位为（1 - 相似度）的定点数，低 32 位为图标序号，升序排列即相似度降序、序号升序
+        long[] scored = new long[candidates.length];
+        int size = 0;
+        for (int iconId : candidates) {
+            int count = shared[iconId];
+            if (count < minShared || excluded.get(iconId)) {
+                continue;
+            }
+            double jaccard = (double) count / (queryGrams.size() + iconGramCount[iconId] - count);
+            scored[size++] = ((long) ((1D - jaccard) * Integer.MAX_VALUE) << 32) | iconId;
+        }
+        Arrays.sort(scored, 0, size);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) scored[i];
+        }
+        return result;
+    }
+
+    private List<IconResponseDTO> group(int[] iconIds) {
+        Map<Integer, List<IconValue>> childrenMap = new LinkedHashMap<>();
+        for (int iconId : iconIds) {
+            childrenMap.computeIfAbsent(iconTypeIndex[iconId], key -> new ArrayList<>()).add(icons[iconId]);
+        }
+        List<IconResponseDTO> result = new ArrayList<>(childrenMap.size());
+        childrenMap.forEach((typeIndex, children) -> result.add(copyType(typeList.get(typeIndex), children)));
+        return result;
+    }
+
+    private PageDTO<IconValue> page(int[] iconIds, long offset, int pageSize) {
+        if (offset >= iconIds.length || pageSize <= 0) {
+            return new PageDTO<>(new ArrayList<>(), (long) iconIds.length);
+        }
+        int from = (int) offset;
+        int to = (int) Math.min(iconIds.length, offset + pageSize);
+        List<IconValue> records = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            records.add(icons[iconIds[i]]);
+        }
+        return new PageDTO<>(records, (long) iconIds.length);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = prefixKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixKeys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void appendIfAbsent(int iconId, BitSet seen, IntBuffer ordered) {
+        if (!seen.get(iconId)) {
+            seen.set(iconId);
+            ordered.add(iconId);
+        }
+    }
+
+    private static String normalize(String keyword) {
+        String lower = keyword.trim().toLowerCase(Locale.ROOT);
+        return lower.length() > MAX_KEYWORD_LENGTH ? lower.substring(0, MAX_KEYWORD_LENGTH) : lower;
+    }
+
+    private static IconResponseDTO copyType(IconResponseDTO type, List<IconValue> children) {
+        return new IconResponseDTO(type.getId(), type.getName(), type.getUrl(), type.getPrefix(), children);
+    }
+
+    private static Set<String> grams(String lower, int gram) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + gram <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + gram));
+        }
+        return grams;
+    }
+
+    /**
+     * 有序候选在有序倒排表中的命中计数，倒排表很长时用倍增查找跳过，代价与候选数量成正比
+     */
+    private static void countMembers(int[] candidates, int[] posting, byte[] shared) {
+        int position = 0;
+        for (int iconId : candidates) {
+            int step = 1;
+            int high = position;
+            while (high < posting.length && posting[high] < iconId) {
+                position = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(posting, position, Math.min(high + 1, posting.length), iconId);
+            if (index >= 0) {
+                shared[iconId]++;
+                position = index + 1;
+            } else {
+                position = -index - 1;
+            }
+            if (position >= posting.length) {
+                return;
+            }
+        }
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                result[size++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] identity(int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static final class PrefixEntry {
+        private final String key;
+        private final int iconId;
+
+        private PrefixEntry(String key, int iconId) {
+            this.key = key;
+            this.iconId = iconId;
+        }
+    }
+
+    /**
+     * 可增长的 int 数组，避免倒排表装箱
+     */
+    private static final class IntBuffer {
+        private int[] data = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.winter.cloud.auth.application.service.impl;
+
+import com.winter.cloud.auth.api.dto.response.MenuResponseDTO;
+import com.winter.cloud.auth.application.assembler.AuthMenuAppAssembler;
+import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
+import com.winter.cloud.auth.domain.model.entity.AuthRolePermissionDO;
+import com.winter.cloud.auth.domain.repository.AuthMenuRepository;
+import com.winter.cloud.auth.domain.repository.AuthRolePermissionRepository;
+import com.winter.cloud.auth.domain.repository.AuthRoleRepository;
+import com.winter.cloud.common.enums.MenuTypeEnum;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.MenuChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 菜单树缓存：同一角色集合只构建一次（以菜单查询次数断言），版本变化或变更事件后重建，返回给调用方的是副本
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuthMenuAppServiceImplTest {
+
+    @Mock
+    private AuthMenuAppAssembler authMenuAppAssembler;
+    @Mock
+    private AuthMenuRepository authMenuRepository;
+    @Mock
+    private AuthRolePermissionRepository authRolePermissionRepository;
+    @Mock
+    private AuthRoleRepository authRoleRepository;
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    private AuthMenuAppServiceImpl authMenuAppService;
+
+    @BeforeEach
+    void setUp() {
+        authMenuAppService = new AuthMenuAppServiceImpl(authMenuAppAssembler, authMenuRepository,
+                authRolePermissionRepository, authRoleRepository, domainEventPublisher);
+        when(authRoleRepository.selectRoleListByUserId(eq(1L), anyString()))
+                .thenReturn(List.of(AuthRoleDO.builder().id(20L).build(), AuthRoleDO.builder().id(10L).build()));
+        when(authRoleRepository.selectRoleListByUserId(eq(2L), anyString()))
+                .thenReturn(List.of(AuthRoleDO.builder().id(10L).build(), AuthRoleDO.builder().id(20L).build()));
+        versions(1L, 1L);
+        // 每次查询返回新的节点，与数据库查询一致
+        when(authMenuRepository.selectMenuListByRoleIdList(anyList(), anyString())).thenAnswer(invocation -> List.of(
+                menu(1L, 0L, MenuTypeEnum.DIR.getCode(), 1),
+                menu(2L, 1L, MenuTypeEnum.MENU.getCode(), 2),
+                menu(3L, 1L, MenuTypeEnum.MENU.getCode(), 1)));
+    }
+
+    @Test
+    void sameRoleSetBuildsTreeOnce() {
+        List<MenuResponseDTO> first = authMenuAppService.getMenu(1L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(authMenuAppService.getMenu(i % 2 == 0 ? 1L : 2L)).isEqualTo(first);
+        }
+
+        verify(authMenuRepository, times(1)).selectMenuListByRoleIdList(List.of(10L, 20L), "");
+        assertThat(first).extracting(MenuResponseDTO::getId).containsExactly(1L);
+        assertThat(first.get(0).getChildren()).extracting(MenuResponseDTO::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void versionChangeOrMenuEventRebuildsTree() {
+        authMenuAppService.getMenu(1L);
+
+        versions(1L, 2L);
+        authMenuAppService.getMenu(1L);
+        authMenuAppService.getMenu(1L);
+        verify(authMenuRepository, times(2)).selectMenuListByRoleIdList(anyList(), anyString());
+
+        authMenuAppService.onMenuChanged(new MenuChangedEvent(List.of(3L)));
+        authMenuAppService.getMenu(1L);
+        verify(authMenuRepository, times(3)).selectMenuListByRoleIdList(anyList(), anyString());
+    }
+
+    /**
+     * 调用方修改返回的节点和 children 列表，不影响缓存和其他请求
+     */
+    @Test
+    void callersReceiveIndependentCopies() {
+        List<MenuResponseDTO> first = authMenuAppService.getMenu(1L);
+        first.get(0).setMenuName("changed");
+        first.get(0).getChildren().clear();
+        first.add(menu(9L, 0L, MenuTypeEnum.DIR.getCode(), 9));
+
+        List<MenuResponseDTO> second = authMenuAppService.getMenu(2L);
+
+        verify(authMenuRepository, times(1)).selectMenuListByRoleIdList(anyList(), anyString());
+        assertThat(second).extracting(MenuResponseDTO::getId).containsExactly(1L);
+        assertThat(second.get(0).getMenuName()).isEqualTo("menu1");
+        assertThat(second.get(0).getChildren()).extracting(MenuResponseDTO::getId).containsExactly(3L, 2L);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+    }
+
+    private void versions(long role10Version, long role20Version) {
+        when(authRolePermissionRepository.getRolePermissionList(anyCollection())).thenReturn(List.of(
+                AuthRolePermissionDO.builder().roleId(20L).version(role20Version).build(),
+                AuthRolePermissionDO.builder().roleId(10L).version(role10Version).build()));
+    }
+
+    private static MenuResponseDTO menu(Long id, Long parentId, String menuType, int orderNum) {
+        return MenuResponseDTO.builder()
+                .id(id)
+                .parentId(parentId)
+                .menuName("menu" + id)
+                .menuType(menuType)
+                .orderNum(orderNum)
+                .build();
+    }
+}
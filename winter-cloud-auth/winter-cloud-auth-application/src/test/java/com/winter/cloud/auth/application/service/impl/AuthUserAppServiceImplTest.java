@@ -0,0 +1,195 @@
+package com.winter.cloud.auth.application.service.impl;
+
+import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.auth.api.dto.response.UserResponseDTO;
+import com.winter.cloud.auth.application.assembler.AuthDeptAppAssembler;
+import com.winter.cloud.auth.application.assembler.AuthPostAppAssembler;
+import com.winter.cloud.auth.application.assembler.AuthRoleAppAssembler;
+import com.winter.cloud.auth.application.assembler.AuthUserAppAssembler;
+import com.winter.cloud.auth.domain.model.entity.AuthDeptDO;
+import com.winter.cloud.auth.domain.model.entity.AuthPostDO;
+import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
+import com.winter.cloud.auth.domain.model.entity.AuthUserDO;
+import com.winter.cloud.auth.domain.repository.AuthDeptRepository;
+import com.winter.cloud.auth.domain.repository.AuthPostRepository;
+import com.winter.cloud.auth.domain.repository.AuthRoleRepository;
+import com.winter.cloud.auth.domain.repository.AuthUserRepository;
+import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageAndOrderDTO;
+import com.winter.cloud.common.response.PageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户分页：关联信息批量填充（每页的查询次数固定为 1 + 3，与页大小无关）与排序参数白名单
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuthUserAppServiceImplTest {
+
+    @Mock
+    private AuthUserRepository authUserRepository;
+    @Mock
+    private AuthRoleRepository authRoleRepository;
+    @Mock
+    private AuthDeptRepository authDeptRepository;
+    @Mock
+    private AuthPostRepository authPostRepository;
+    @Mock
+    private AuthUserAppAssembler authUserAppAssembler;
+    @Mock
+    private AuthRoleAppAssembler authRoleAppAssembler;
+    @Mock
+    private AuthDeptAppAssembler authDeptAppAssembler;
+    @Mock
+    private AuthPostAppAssembler authPostAppAssembler;
+
+    @InjectMocks
+    private AuthUserAppServiceImpl authUserAppService;
+
+    @BeforeEach
+    void setUp() {
+        when(authUserAppAssembler.toUserResponseDTOList(anyList())).thenAnswer(invocation -> {
+            List<AuthUserDO> doList = invocation.getArgument(0);
+            return doList.stream()
+                    .map(userDO -> UserResponseDTO.builder().id(userDO.getId()).postId(userDO.getPostId()).build())
+                    .collect(Collectors.toList());
+        });
+        when(authRoleRepository.selectRoleMapByUserIdList(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> userIdList = invocation.getArgument(0);
+            return userIdList.stream().collect(Collectors.toMap(id -> id, id -> List.of(AuthRoleDO.builder().id(id).build())));
+        });
+        when(authDeptRepository.selectDeptMapByUserIdList(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> userIdList = invocation.getArgument(0);
+            return userIdList.stream().collect(Collectors.toMap(id -> id, id -> List.of(AuthDeptDO.builder().id(id).build())));
+        });
+        when(authPostRepository.listByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> postIdList = invocation.getArgument(0);
+            return postIdList.stream().map(id -> AuthPostDO.builder().id(id).build()).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void userPageQueriesAssociationsOncePerPage() {
+        for (int pageSize : new int[]{1, 10, 200}) {
+            List<AuthUserDO> userDOList = userList(pageSize);
+            when(authUserRepository.userPage(any(UserQuery.class))).thenReturn(new PageDTO<>(userDOList, (long) pageSize));
+
+            PageDTO<UserResponseDTO> page = authUserAppService.userPage(UserQuery.builder().build());
+
+            assertThat(page.getRecords()).hasSize(pageSize);
+            verify(authUserRepository, times(1)).userPage(any(UserQuery.class));
+            verify(authRoleRepository, times(1)).selectRoleMapByUserIdList(anyList(), anyString());
+            verify(authDeptRepository, times(1)).selectDeptMapByUserIdList(anyList(), anyString());
+            verify(authPostRepository, times(1)).listByIds(anyCollection());
+            verifyNoMoreInteractions(authUserRepository, authRoleRepository, authDeptRepository, authPostRepository);
+            clearInvocations(authUserRepository, authRoleRepository, authDeptRepository, authPostRepository);
+        }
+    }
+
+    @Test
+    void userPageSkipsAssociationQueriesForEmptyPage() {
+        when(authUserRepository.userPage(any(UserQuery.class))).thenReturn(new PageDTO<>(List.of(), 0L));
+
+        PageDTO<UserResponseDTO> page = authUserAppService.userPage(UserQuery.builder().build());
+
+        assertThat(page.getRecords()).isEmpty();
+        verifyNoMoreInteractions(authRoleRepository, authDeptRepository, authPostRepository);
+    }
+
+    @Test
+    void userPageAssemblesAssociationsByUserId() {
+        when(authUserRepository.userPage(any(UserQuery.class))).thenReturn(new PageDTO<>(userList(3), 3L));
+        when(authRoleAppAssembler.toDTOList(anyList())).thenReturn(new ArrayList<>());
+        when(authDeptAppAssembler.toDTOList(anyList())).thenReturn(new ArrayList<>());
+
+        PageDTO<UserResponseDTO> page = authUserAppService.userPage(UserQuery.builder().build());
+
+        assertThat(page.getRecords()).allSatisfy(userDTO -> {
+            assertThat(userDTO.getRoleListDTO()).isNotNull();
+            assertThat(userDTO.getDeptListDTO()).isNotNull();
+        });
+        verify(authRoleAppAssembler, times(3)).toDTOList(anyList());
+        verify(authPostAppAssembler, times(3)).toDTO(any(AuthPostDO.class));
+    }
+
+    @Test
+    void userPageRejectsSortFieldOutsideWhitelist() {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>(List.of(order("password", "asc", 1))));
+
+        assertThatThrownBy(() -> authUserAppService.userPage(userQuery)).isInstanceOf(BusinessException.class);
+        verifyNoMoreInteractions(authUserRepository);
+    }
+
+    @Test
+    void userPageRejectsSortDirectionOutsideWhitelist() {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>(List.of(order("sex", "desc; drop table sys_user", 1))));
+
+        assertThatThrownBy(() -> authUserAppService.userPage(userQuery)).isInstanceOf(BusinessException.class);
+        verifyNoMoreInteractions(authUserRepository);
+    }
+
+    @Test
+    void userPageNormalizesOrdersBySequenceAndDirection() {
+        when(authUserRepository.userPage(any(UserQuery.class))).thenReturn(new PageDTO<>(List.of(), 0L));
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>(List.of(
+                order("create_time", "DESCEND", 3),
+                order("sex", "ascend", 1),
+                order("status", "DESC", 2))));
+
+        authUserAppService.userPage(userQuery);
+
+        ArgumentCaptor<UserQuery> captor = ArgumentCaptor.forClass(UserQuery.class);
+        verify(authUserRepository).userPage(captor.capture());
+        assertThat(captor.getValue().getOrders())
+                .extracting(PageAndOrderDTO.OrderDTO::getField, PageAndOrderDTO.OrderDTO::getOrder)
+                .containsExactly(tuple("sex", "asc"), tuple("status", "desc"), tuple("create_time", "desc"));
+    }
+
+    private static PageAndOrderDTO.OrderDTO order(String field, String order, int sequence) {
+        PageAndOrderDTO.OrderDTO orderDTO = new PageAndOrderDTO.OrderDTO();
+        orderDTO.setField(field);
+        orderDTO.setOrder(order);
+        orderDTO.setSequence(sequence);
+        return orderDTO;
+    }
+
+    private List<AuthUserDO> userList(int size) {
+        return LongStream.rangeClosed(1, size).mapToObj(id -> {
+            AuthUserDO userDO = new AuthUserDO();
+            userDO.setId(id);
+            // 多个用户共用同一岗位，岗位仍只查一次
+            userDO.setPostId(id % 5 + 1);
+            return userDO;
+        }).collect(Collectors.toList());
+    }
+}
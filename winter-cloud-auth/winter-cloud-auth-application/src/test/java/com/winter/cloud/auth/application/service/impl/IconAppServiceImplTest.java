@@ -0,0 +1,228 @@
+package com.winter.cloud.auth.application.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
+import com.winter.cloud.auth.domain.event.IconChangedEvent;
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
+import com.winter.cloud.auth.domain.repository.IconRepository;
+import com.winter.cloud.auth.domain.repository.IconSourceRepository;
+import com.winter.cloud.auth.infrastructure.assembler.IconInfraAssembler;
+import com.winter.cloud.auth.infrastructure.mapper.IconTypeMapper;
+import com.winter.cloud.auth.infrastructure.mapper.IconValueMapper;
+import com.winter.cloud.auth.infrastructure.repository.IconRepositoryImpl;
+import com.winter.cloud.auth.infrastructure.service.impl.IconTypeMPServiceImpl;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 图标集同步：图标源替换为内存桩，图标仓储使用真实实现（在 PostgreSQL 上执行 on conflict upsert 与批量禁用）
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IconAppServiceImplTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static PGSimpleDataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private final Map<String, IconCollectionDO> sourceMap = new ConcurrentHashMap<>();
+    private final IconSourceRepository iconSourceRepository = prefix -> {
+        IconCollectionDO collection = sourceMap.get(prefix);
+        if (collection == null) {
+            throw new IOException("图标集不存在: " + prefix);
+        }
+        return collection;
+    };
+    private final DomainEventPublisher domainEventPublisher = mock(DomainEventPublisher.class);
+
+    private SqlSession sqlSession;
+    private IconRepository iconRepository;
+    private IconAppServiceImpl iconAppService;
+
+    @BeforeAll
+    static void setUpFactory() throws Exception {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setURL(POSTGRES.getJdbcUrl());
+        dataSource.setUser(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_icon_type (id BIGSERIAL PRIMARY KEY, name VARCHAR(64), url VARCHAR(255), " +
+                              "prefix VARCHAR(64), content_hash VARCHAR(64))");
+            statement.execute("CREATE TABLE sys_icon_value (id BIGSERIAL PRIMARY KEY, value VARCHAR(128) UNIQUE, " +
+                              "icon_type_id BIGINT, status VARCHAR(1))");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        String resource = "mapper/IconValueMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        configuration.addMapper(IconTypeMapper.class);
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE sys_icon_type, sys_icon_value RESTART IDENTITY");
+        }
+        sqlSession = sqlSessionFactory.openSession(true);
+        IconTypeMPServiceImpl iconTypeService = new IconTypeMPServiceImpl();
+        ReflectionTestUtils.setField(iconTypeService, "baseMapper", sqlSession.getMapper(IconTypeMapper.class));
+        iconRepository = spy(new IconRepositoryImpl(iconTypeService, sqlSession.getMapper(IconValueMapper.class),
+                Mappers.getMapper(IconInfraAssembler.class)));
+        iconAppService = new IconAppServiceImpl(iconRepository, iconSourceRepository, domainEventPublisher);
+    }
+
+    @AfterEach
+    void closeSession() {
+        sqlSession.close();
+    }
+
+    @Test
+    void newCollectionsAreInsertedAndChangeIsPublished() {
+        source("mdi", "home", "account");
+        source("tabler", "house");
+
+        iconAppService.syncIconCollections(List.of("mdi", " tabler ", "mdi", ""));
+
+        assertThat(statusMap()).containsOnly(entry("mdi:home", "1"), entry("mdi:account", "1"), entry("tabler:house", "1"));
+        assertThat(publishedPrefixes()).containsExactlyInAnyOrder("mdi", "tabler");
+    }
+
+    @Test
+    void unchangedCollectionIsSkippedByContentHash() {
+        source("mdi", "home", "account");
+        iconAppService.syncIconCollections(List.of("mdi"));
+        clearInvocations(iconRepository, domainEventPublisher);
+
+        // 源站调整顺序不视为变更
+        source("mdi", "account", "home");
+        iconAppService.syncIconCollections(List.of("mdi"));
+
+        verify(iconRepository, never()).syncIconCollection(any(), anyString());
+        verify(domainEventPublisher, never()).publish(any());
+        assertThat(statusMap()).containsOnly(entry("mdi:home", "1"), entry("mdi:account", "1"));
+    }
+
+    @Test
+    void removedIconsAreDisabledAndReturningIconsReEnabled() {
+        source("mdi", "home", "account");
+        iconAppService.syncIconCollections(List.of("mdi"));
+
+        source("mdi", "home", "car");
+        iconAppService.syncIconCollections(List.of("mdi"));
+        assertThat(statusMap()).containsOnly(entry("mdi:home", "1"), entry("mdi:account", "0"), entry("mdi:car", "1"));
+
+        source("mdi", "home", "account", "car");
+        iconAppService.syncIconCollections(List.of("mdi"));
+        assertThat(statusMap()).containsOnly(entry("mdi:home", "1"), entry("mdi:account", "1"), entry("mdi:car", "1"));
+        verify(iconRepository, times(3)).syncIconCollection(argThat(collection -> "mdi".equals(collection.getPrefix())), anyString());
+    }
+
+    /**
+     * 禁用的图标不出现在列表和检索结果中
+     */
+    @Test
+    void disabledIconsAreHiddenFromListAndSearch() {
+        source("mdi", "home", "home-outline");
+        source("tabler", "house");
+        iconAppService.syncIconCollections(List.of("mdi", "tabler"));
+        source("mdi", "home");
+        source("tabler");
+        iconAppService.syncIconCollections(List.of("mdi", "tabler"));
+
+        iconAppService.rebuildIconIndex();
+
+        List<IconResponseDTO> iconList = iconAppService.getIconList(null);
+        assertThat(iconList).extracting(IconResponseDTO::getPrefix).containsExactlyInAnyOrder("mdi", "tabler");
+        assertThat(iconList.stream().flatMap(type -> type.getChildren().stream()).map(IconValue::getValue))
+                .containsExactly("mdi:home");
+        assertThat(iconAppService.searchIcon("home", 1, 10).getRecords()).extracting(IconValue::getValue)
+                .containsExactly("mdi:home");
+        assertThat(iconRepository.getIconList("house")).isEmpty();
+    }
+
+    @Test
+    void failedFetchDoesNotBlockOtherCollections() {
+        source("mdi", "home");
+
+        iconAppService.syncIconCollections(List.of("missing", "mdi"));
+
+        assertThat(statusMap()).containsOnly(entry("mdi:home", "1"));
+        verify(iconRepository, times(1)).syncIconCollection(any(), anyString());
+        assertThat(publishedPrefixes()).containsExactly("mdi");
+    }
+
+    private void source(String prefix, String... icons) {
+        sourceMap.put(prefix, IconCollectionDO.builder()
+                .prefix(prefix)
+                .name(prefix + " icons")
+                .url("https://icones.js.org/collection/" + prefix)
+                .iconList(List.of(icons))
+                .build());
+    }
+
+    private List<String> publishedPrefixes() {
+        ArgumentCaptor<IconChangedEvent> captor = ArgumentCaptor.forClass(IconChangedEvent.class);
+        verify(domainEventPublisher).publish(captor.capture());
+        return captor.getValue().getPrefixList();
+    }
+
+    private static Map<String, String> statusMap() {
+        Map<String, String> statusMap = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT value, status FROM sys_icon_value")) {
+            while (resultSet.next()) {
+                statusMap.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return statusMap;
+    }
+}
@@ -0,0 +1,148 @@
+package com.winter.cloud.auth.application.support;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
+import com.winter.cloud.auth.infrastructure.mapper.IconValueMapper;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 图标索引与数据库对照：在真实的 PostgreSQL 上写入 20 万个图标，
+ * 用 IconValueMapper.getIconList 的 like '%name%' 结果逐一校验 {@link IconSearchIndex#filter(String)}
+ * <p>
+ * mapper 未转义 % 和 _，关键字中不含这两个字符。
+ * </p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IconSearchIndexDatabaseTest {
+
+    private static final int TYPE_COUNT = 100;
+    private static final int ICON_COUNT = 200_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static SqlSessionFactory sqlSessionFactory;
+    private static IconSearchIndex index;
+    private static List<String> valueList;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(POSTGRES.getJdbcUrl());
+        dataSource.setUser(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_icon_type (id BIGSERIAL PRIMARY KEY, name VARCHAR(64), url VARCHAR(255), " +
+                              "prefix VARCHAR(64), content_hash VARCHAR(64))");
+            statement.execute("CREATE TABLE sys_icon_value (id BIGSERIAL PRIMARY KEY, value VARCHAR(128) UNIQUE, " +
+                              "icon_type_id BIGINT, status VARCHAR(1))");
+            // 最后一个图标类型没有图标，覆盖 left join 的空行
+            statement.execute("INSERT INTO sys_icon_type (name, prefix) " +
+                              "SELECT 'type' || t, 'p' || t FROM generate_series(1, " + (TYPE_COUNT + 1) + ") AS t");
+            // 每十个图标有一个大写，覆盖区分大小写；每八个图标有一个禁用
+            statement.execute("INSERT INTO sys_icon_value (value, icon_type_id, status) " +
+                              "SELECT 'p' || (i % " + TYPE_COUNT + " + 1) || ':' || " +
+                              "CASE WHEN i % 10 = 0 THEN upper(left(md5(i::text), 12)) ELSE left(md5(i::text), 12) END || '-' || i, " +
+                              "i % " + TYPE_COUNT + " + 1, CASE WHEN i % 8 = 0 THEN '0' ELSE '1' END " +
+                              "FROM generate_series(1, " + ICON_COUNT + ") AS i");
+            statement.execute("ANALYZE");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        String resource = "mapper/IconValueMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+
+        List<IconResponseDTO> typeList = getIconList(null);
+        index = IconSearchIndex.build(typeList);
+        valueList = values(typeList);
+    }
+
+    @Test
+    void indexContainsEveryEnabledIcon() {
+        assertThat(valueList).hasSize(ICON_COUNT - ICON_COUNT / 8);
+        assertThat(index.size()).isEqualTo(valueList.size());
+        assertThat(index.filter(null)).hasSize(TYPE_COUNT + 1);
+    }
+
+    @Test
+    void fixedKeywordsAgreeWithLike() {
+        for (String keyword : List.of("a", "A", "0", "ab", "AB", "f0", "p1:", "p100:", "-1999", "abc", "ABC", ":0", "zz", "-")) {
+            assertAgree(keyword);
+        }
+    }
+
+    /**
+     * 从已有图标中随机截取子串作为关键字，长度覆盖单字符到整个图标名
+     */
+    @Test
+    void randomSubstringsAgreeWithLike() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100; i++) {
+            String value = valueList.get(random.nextInt(valueList.size()));
+            int begin = random.nextInt(value.length());
+            int end = begin + 1 + random.nextInt(value.length() - begin);
+            assertAgree(value.substring(begin, end));
+        }
+    }
+
+    private static void assertAgree(String keyword) {
+        List<IconResponseDTO> expected = getIconList(keyword);
+        List<IconResponseDTO> actual = index.filter(keyword);
+
+        assertThat(typeIds(actual)).as(keyword).isEqualTo(typeIds(expected));
+        assertThat(sorted(values(actual))).as(keyword).isEqualTo(sorted(values(expected)));
+    }
+
+    private static List<IconResponseDTO> getIconList(String name) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(IconValueMapper.class).getIconList(name);
+        }
+    }
+
+    private static List<Long> typeIds(List<IconResponseDTO> typeList) {
+        return typeList.stream().map(IconResponseDTO::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> values(List<IconResponseDTO> typeList) {
+        List<String> result = new ArrayList<>();
+        for (IconResponseDTO type : typeList) {
+            for (IconValue icon : type.getChildren()) {
+                if (icon != null && icon.getValue() != null) {
+                    result.add(icon.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> sorted(List<String> list) {
+        return list.stream().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.winter.cloud.auth.application.support;
+
+import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
+import com.winter.cloud.common.response.PageDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IconSearchIndexTest {
+
+    private final IconSearchIndex index = IconSearchIndex.build(List.of(
+            type(1L, "mdi", "mdi:home", "mdi:home-outline", "mdi:account-home", "mdi:Home-Variant"),
+            type(2L, "tabler", "tabler:house", "tabler:homes"),
+            // left join 无图标时 children 中只有一个全空的元素
+            new IconResponseDTO(3L, "empty", null, "empty", new ArrayList<>(Arrays.asList(new IconValue())))));
+
+    @Test
+    void filterMatchesSubstringCaseSensitively() {
+        assertThat(values(index.filter("home")))
+                .containsExactly("mdi:home", "mdi:home-outline", "mdi:account-home", "tabler:homes");
+        assertThat(values(index.filter("Home"))).containsExactly("mdi:Home-Variant");
+        assertThat(values(index.filter("h")))
+                .containsExactly("mdi:home", "mdi:home-outline", "mdi:account-home", "tabler:house", "tabler:homes");
+        assertThat(index.filter("HOME")).isEmpty();
+    }
+
+    @Test
+    void disabledIconsAreNotIndexed() {
+        IconResponseDTO type = type(1L, "mdi", "mdi:home", "mdi:home-outline");
+        type.getChildren().get(1).setStatus("0");
+        type.getChildren().add(new IconValue(10002L, "mdi:home-legacy", 1L, null));
+        IconSearchIndex statusIndex = IconSearchIndex.build(List.of(type));
+
+        assertThat(statusIndex.size()).isEqualTo(1);
+        assertThat(values(statusIndex.filter("home"))).containsExactly("mdi:home");
+        assertThat(statusIndex.search("home", 1, 10).getRecords()).extracting(IconValue::getValue).containsExactly("mdi:home");
+    }
+
+    @Test
+    void filterGroupsByTypeAndReturnsAllTypesForEmptyKeyword() {
+        List<IconResponseDTO> grouped = index.filter("house");
+        assertThat(grouped).extracting(IconResponseDTO::getId).containsExactly(2L);
+
+        List<IconResponseDTO> all = index.filter("");
+        assertThat(all).extracting(IconResponseDTO::getId).containsExactly(1L, 2L, 3L);
+        assertThat(all.get(2).getChildren()).isEmpty();
+        assertThat(index.filter(null)).hasSize(3);
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    /**
+     * 随机数据上与逐个 contains 的结果逐一对照（覆盖单字符、二元组、三元组及更长的关键字）
+     */
+    @Test
+    void filterAgreesWithContainsScan() {
+        Random random = new Random(7);
+        String alphabet = "abAB-";
+        List<String> valueList = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            valueList.add("x:" + randomString(random, alphabet, 3 + random.nextInt(10)));
+        }
+        IconSearchIndex randomIndex = IconSearchIndex.build(List.of(type(1L, "x", valueList.toArray(new String[0]))));
+        for (int i = 0; i < 300; i++) {
+            String keyword = randomString(random, alphabet, 1 + random.nextInt(6));
+            List<String> expected = valueList.stream().filter(value -> value.contains(keyword)).collect(Collectors.toList());
+            assertThat(values(randomIndex.filter(keyword))).as(keyword).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void searchRanksExactPrefixSubstringThenFuzzy() {
+        PageDTO<IconValue> page = index.search("HOME", 1, 10);
+
+        assertThat(page.getRecords()).extracting(IconValue::getValue)
+                .containsExactly("mdi:home", "mdi:home-outline", "mdi:Home-Variant", "tabler:homes", "mdi:account-home");
+        assertThat(page.getTotal()).isEqualTo(5L);
+
+        PageDTO<IconValue> fuzzy = index.search("hom-outlin", 1, 10);
+        assertThat(fuzzy.getRecords()).extracting(IconValue::getValue).containsExactly("mdi:home-outline");
+    }
+
+    @Test
+    void searchPagesAllIconsForBlankKeyword() {
+        PageDTO<IconValue> page = index.search(" ", 2, 2);
+
+        assertThat(page.getTotal()).isEqualTo(6L);
+        assertThat(page.getRecords()).extracting(IconValue::getValue).containsExactly("mdi:account-home", "mdi:Home-Variant");
+        assertThat(index.search("", 4, 2).getRecords()).isEmpty();
+    }
+
+    @Test
+    void pageBeyondLastReturnsEmptyPageWithoutOverflow() {
+        PageDTO<IconValue> page = index.search("", Integer.MAX_VALUE, 500);
+
+        assertThat(page.getRecords()).isEmpty();
+        assertThat(page.getTotal()).isEqualTo(6L);
+        assertThat(index.search("home", Integer.MAX_VALUE, Integer.MAX_VALUE).getRecords()).isEmpty();
+        assertThat(index.search("", 1, Integer.MAX_VALUE).getRecords()).hasSize(6);
+        assertThat(index.search("", 0, 0).getRecords()).isEmpty();
+    }
+
+    private static IconResponseDTO type(Long id, String prefix, String... values) {
+        List<IconValue> children = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            children.add(new IconValue(id * 10000 + i, values[i], id, "1"));
+        }
+        return new IconResponseDTO(id, prefix, null, prefix, children);
+    }
+
+    private static List<String> values(List<IconResponseDTO> typeList) {
+        return typeList.stream()
+                .flatMap(type -> type.getChildren().stream())
+                .map(IconValue::getValue)
+                .collect(Collectors.toList());
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.winter.cloud.auth.domain.event;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 部门变更事件（新增、修改、删除部门）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeptChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更的部门ID列表（新增部门时为空）
+     */
+    private List<Long> deptIdList;
+}
@@ -0,0 +1,25 @@
+package com.winter.cloud.auth.domain.event;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 图标数据变更事件（图标同步任务写入了差异）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class IconChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发生变化的图标前缀
+     */
+    private List<String> prefixList;
+}
@@ -1,4 +1,28 @@
 package com.winter.cloud.auth.domain.event;
 
-public class UserLoginEvent {
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户登录成功事件
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLoginEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String userName;
 }
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 @Builder
 @Data
 public class AuthRoleDO {
@@ -13,6 +14,11 @@ public class AuthRoleDO {
     private Integer roleSort;
     private String status;
     private String remark;
+    private String dataScope;
+    /**
+     * 自定义数据范围的部门ID
+     */
+    private List<Long> deptIds;
 
     private Long createBy;
     private LocalDateTime createTime;
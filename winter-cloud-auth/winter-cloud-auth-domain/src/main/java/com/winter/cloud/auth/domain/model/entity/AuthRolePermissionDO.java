@@ -0,0 +1,40 @@
+package com.winter.cloud.auth.domain.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * 角色权限快照
+ * <p>
+ * 某个角色在某个版本下拥有的（状态正常的）菜单ID集合与权限标识集合。
+ * 角色分配菜单或菜单被编辑时版本号递增，旧版本快照随即失效。
+ * </p>
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthRolePermissionDO implements Serializable {
+    private static final long serialVersionUID = 1L;
+    /**
+     * 角色ID
+     */
+    private Long roleId;
+    /**
+     * 快照版本号
+     */
+    private Long version;
+    /**
+     * 菜单ID集合
+     */
+    private Set<Long> menuIdSet;
+    /**
+     * 权限标识集合
+     */
+    private Set<String> permsSet;
+}
@@ -0,0 +1,65 @@
+package com.winter.cloud.auth.domain.model.entity;
+
+import cn.hutool.core.util.HexUtil;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 图标集（从图标源拉取的一个完整集合）
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IconCollectionDO implements Serializable {
+    private static final long serialVersionUID = 1L;
+    /**
+     * 图标前缀（集合标识）
+     */
+    private String prefix;
+    /**
+     * 图标集名称
+     */
+    private String name;
+    /**
+     * 项目地址
+     */
+    private String url;
+    /**
+     * 图标名称列表（不含前缀）
+     */
+    private List<String> iconList;
+
+    /**
+     * 计算内容摘要（SHA-256）
+     * <p>
+     * 图标名称排序去重后参与计算，源站调整顺序不会被视为变更。
+     * </p>
+     *
+     * @return 十六进制摘要
+     */
+    public String contentHash() {
+        StringBuilder content = new StringBuilder()
+                .append(prefix).append('\n')
+                .append(name).append('\n')
+                .append(url).append('\n');
+        if (iconList != null) {
+            new TreeSet<>(iconList).forEach(icon -> content.append(icon).append('\n'));
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexUtil.encodeHexStr(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -16,4 +16,8 @@ public class IconTypeDO implements Serializable {
     private String name;
     private String url;
     private String prefix;
+    /**
+     * 图标集内容摘要，未变化时同步任务跳过该集合
+     */
+    private String contentHash;
 }
@@ -0,0 +1,30 @@
+package com.winter.cloud.auth.domain.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 在线会话（按用户聚合）
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OnlineSessionDO implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private Long userId;
+    private String userName;
+    /**
+     * 最近活跃时间（网关按周期批量写入，精度为一个写入周期）
+     */
+    private LocalDateTime lastActiveTime;
+    /**
+     * 在线 token 数（多端登录时大于 1）
+     */
+    private Long tokenCount;
+}
@@ -4,6 +4,7 @@ import com.winter.cloud.auth.api.dto.query.DeptQuery;
 import com.winter.cloud.auth.domain.model.entity.AuthDeptDO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface AuthDeptRepository {
 
@@ -11,11 +12,28 @@ public interface AuthDeptRepository {
 
     List<AuthDeptDO> selectDeptListByUserId(Long userId, String status);
 
+    /**
+     * 按用户ID批量查询部门（单条 IN 查询）
+     *
+     * @param userIdList 用户ID列表
+     * @param status     部门状态，为空时不过滤
+     * @return 用户ID -> 部门列表，没有部门的用户不会出现在 Map 中
+     */
+    Map<Long, List<AuthDeptDO>> selectDeptMapByUserIdList(List<Long> userIdList, String status);
+
     Boolean deptSave(AuthDeptDO authDeptDO);
 
     Boolean deptUpdate(AuthDeptDO authDeptDO);
 
     Boolean deptDelete(Long id);
 
+    /**
+     * 查询部门的所有后代部门 ID（包含自身），基于闭包表单次索引查询
+     *
+     * @param deptId 部门 ID
+     * @return 后代部门 ID 列表
+     */
+    List<Long> selectDescendantIdList(Long deptId);
+
     List<AuthDeptDO> deptTree(DeptQuery menuQuery);
 }
@@ -8,6 +8,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +18,11 @@ public interface AuthPostRepository {
 
     List<AuthPostDO> postDynamicQueryList(PostQuery postQuery);
     AuthPostDO postDynamicQuery(PostQuery postQuery);
+
+    /**
+     * 根据ID集合批量查询职位（单条 IN 查询）
+     */
+    List<AuthPostDO> listByIds(Collection<Long> postIds);
     Boolean hasDuplicatePost(AuthPostDO aDo);
 
     PageDTO<AuthPostDO> postPage(PostQuery postQuery);
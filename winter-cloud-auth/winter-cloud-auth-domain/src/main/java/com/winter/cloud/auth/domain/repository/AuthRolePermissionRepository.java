@@ -0,0 +1,35 @@
+package com.winter.cloud.auth.domain.repository;
+
+import com.winter.cloud.auth.domain.model.entity.AuthRolePermissionDO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 角色权限快照仓储接口 (面向领域)
+ */
+public interface AuthRolePermissionRepository {
+
+    /**
+     * 批量获取角色权限快照（优先本地缓存，其次 Redis，最后回源数据库）
+     *
+     * @param roleIdList 角色 ID 列表
+     * @return 角色权限快照列表
+     */
+    List<AuthRolePermissionDO> getRolePermissionList(Collection<Long> roleIdList);
+
+    /**
+     * 查询拥有指定菜单的角色 ID 列表（菜单编辑时用于精确失效快照）
+     *
+     * @param menuId 菜单 ID
+     * @return 角色 ID 列表
+     */
+    List<Long> selectRoleIdListByMenuId(Long menuId);
+
+    /**
+     * 失效角色权限快照（递增版本号，所有实例的本地缓存随之失效）
+     *
+     * @param roleIdList 角色 ID 列表
+     */
+    void evictRolePermission(Collection<Long> roleIdList);
+}
@@ -9,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色仓储接口 (面向领域)
@@ -27,9 +28,25 @@ public interface AuthRoleRepository {
 
     List<AuthRoleDO> selectRoleListByUserId(Long userId, String status);
 
+    /**
+     * 按用户ID批量查询角色（单条 IN 查询）
+     *
+     * @param userIdList 用户ID列表
+     * @param status     角色状态，为空时不过滤
+     * @return 用户ID -> 角色列表，没有角色的用户不会出现在 Map 中
+     */
+    Map<Long, List<AuthRoleDO>> selectRoleMapByUserIdList(List<Long> userIdList, String status);
+
     List<AuthRoleDO> roleDynamicQueryList(RoleQuery roleQuery);
 
-    void assignMenuPermissions(Long roleId, List<Long> menuIds);
+    /**
+     * 按差异维护角色菜单关联（只删除取消的菜单、只插入新增的菜单）
+     *
+     * @param roleId  角色ID
+     * @param menuIds 目标菜单ID列表
+     * @return 关联是否发生变化
+     */
+    boolean assignMenuPermissions(Long roleId, List<Long> menuIds);
 
     void roleExportExcel(HttpServletResponse response, List<AuthRoleDO> records);
 
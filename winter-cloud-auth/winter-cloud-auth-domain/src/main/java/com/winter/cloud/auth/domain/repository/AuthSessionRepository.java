@@ -0,0 +1,99 @@
+package com.winter.cloud.auth.domain.repository;
+
+import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
+import com.winter.cloud.auth.domain.model.entity.OnlineSessionDO;
+import com.winter.cloud.common.response.PageDTO;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 登录会话仓储接口 (面向领域)
+ * <p>
+ * 会话以用户为粒度保存（网关和各服务按用户ID读取），同时维护用户 -> token 的索引，
+ * 便于按用户查询和踢出在线 token。
+ * 另有按最近活跃时间排序的在线索引（ZSET），用于在线用户列表，活跃时间由网关批量写入。
+ * </p>
+ */
+public interface AuthSessionRepository {
+
+    /**
+     * 保存会话：会话内容、用户 token 索引与在线索引在一次管道中写入，过期时间一致
+     *
+     * @param token   登录生成的 token
+     * @param session 会话内容（用户信息、角色、权限）
+     */
+    void save(String token, ValidateTokenDTO session);
+
+    /**
+     * 获取用户会话
+     *
+     * @param userId 用户 ID
+     * @return 会话内容，不存在或已过期返回 null
+     */
+    ValidateTokenDTO get(Long userId);
+
+    /**
+     * 批量获取用户会话（一次 MGET）
+     *
+     * @param userIdList 用户 ID 集合
+     * @return 用户ID -> 会话内容，不存在或已过期的用户不会出现在 Map 中
+     */
+    Map<Long, ValidateTokenDTO> getBatch(Collection<Long> userIdList);
+
+    /**
+     * 批量保存会话（所有写命令在一次管道中完成）
+     *
+     * @param sessionMap token -> 会话内容
+     */
+    void saveBatch(Map<String, ValidateTokenDTO> sessionMap);
+
+    /**
+     * 滑动续期：将会话及 token 索引的过期时间重置为完整有效期
+     * （同一用户在续期间隔内只会真正续期一次）
+     *
+     * @param userId 用户 ID
+     */
+    void renew(Long userId);
+
+    /**
+     * 删除用户会话及其 token 索引
+     *
+     * @param userId 用户 ID
+     */
+    void remove(Long userId);
+
+    /**
+     * token 是否仍在用户的 token 索引中（未被踢出且未过期）
+     *
+     * @param userId 用户 ID
+     * @param token  token
+     * @return 是否有效
+     */
+    boolean isTokenActive(Long userId, String token);
+
+    /**
+     * 批量过滤仍有效的 token（一次管道 SISMEMBER）
+     *
+     * @param tokenUserIdMap token -> 用户ID
+     * @return 仍在 token 索引中的 token
+     */
+    Set<String> filterActiveTokens(Map<String, Long> tokenUserIdMap);
+
+    /**
+     * 在线用户分页，按最近活跃时间倒序
+     *
+     * @param pageNum  页码，小于 1 时按第 1 页处理
+     * @param pageSize 每页条数，超出 1 ~ 100 时取边界值
+     * @return 在线会话分页
+     */
+    PageDTO<OnlineSessionDO> onlinePage(int pageNum, int pageSize);
+
+    /**
+     * 批量踢出：在一次管道中删除会话、token 索引及在线索引，用户全部 token 立即失效
+     *
+     * @param userIdList 用户 ID 集合
+     */
+    void kickOut(Collection<Long> userIdList);
+}
@@ -13,6 +13,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 用户仓储接口 (面向领域)
@@ -62,5 +63,16 @@ public interface AuthUserRepository {
 
     void userImportExcel(HttpServletResponse response, MultipartFile file) throws IOException;
 
-    void userExportExcel(HttpServletResponse response, List<UserResponseDTO> records);
+    /**
+     * 流式导出用户信息
+     * <p>
+     * 按固定大小分批读取用户（exportAll 时使用键集分页，否则只导出当前页），
+     * 每批交给 enricher 批量填充角色/部门/岗位后立即写入响应流，内存占用与总行数无关。
+     * </p>
+     *
+     * @param response  响应
+     * @param userQuery 查询条件
+     * @param enricher  每批用户的关联信息填充逻辑
+     */
+    void userExportExcel(HttpServletResponse response, UserQuery userQuery, Function<List<AuthUserDO>, List<UserResponseDTO>> enricher) throws IOException;
 }
\ No newline at end of file
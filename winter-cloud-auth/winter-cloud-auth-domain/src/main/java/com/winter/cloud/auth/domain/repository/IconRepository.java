@@ -1,15 +1,37 @@
 package com.winter.cloud.auth.domain.repository;
 
 import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
 import com.winter.cloud.auth.domain.model.entity.IconTypeDO;
-import com.winter.cloud.auth.domain.model.entity.IconValueDO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 public interface IconRepository {
-    Long saveIconType(IconTypeDO iconTypeDO);
-    void saveIconValue(List<IconValueDO> iconValueDOList);
+
+    /**
+     * 按图标前缀批量查询图标类型（单条 IN 查询）
+     *
+     * @param prefixList 图标前缀集合
+     * @return 图标前缀 -> 图标类型，不存在的前缀不会出现在 Map 中
+     */
+    Map<String, IconTypeDO> selectIconTypeMapByPrefix(Collection<String> prefixList);
+
+    /**
+     * 同步一个图标集（同一事务内完成）
+     * <ol>
+     *   <li>新增或更新图标类型（名称、地址、内容摘要）</li>
+     *   <li>与库中已有图标比对，只对新增或需要重新启用的图标执行多行 upsert</li>
+     *   <li>源中已不存在的图标置为禁用</li>
+     * </ol>
+     *
+     * @param collection  图标集
+     * @param contentHash 图标集内容摘要
+     * @return 发生变化的图标数量
+     */
+    int syncIconCollection(IconCollectionDO collection, String contentHash);
 
     List<IconResponseDTO> getIconList(String name);
 }
@@ -0,0 +1,21 @@
+package com.winter.cloud.auth.domain.repository;
+
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
+
+/**
+ * 图标源仓储接口
+ * <p>
+ * 屏蔽图标集的获取方式（默认从 icones.js.org 拉取），测试或内网环境可替换为本地文件或 HTTP 桩。
+ * </p>
+ */
+public interface IconSourceRepository {
+
+    /**
+     * 拉取一个图标集
+     *
+     * @param prefix 图标前缀（集合标识），如 mdi
+     * @return 图标集
+     * @throws Exception 拉取或解析失败
+     */
+    IconCollectionDO fetchCollection(String prefix) throws Exception;
+}
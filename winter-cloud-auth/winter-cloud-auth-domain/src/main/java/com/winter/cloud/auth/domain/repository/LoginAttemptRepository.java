@@ -0,0 +1,34 @@
+package com.winter.cloud.auth.domain.repository;
+
+/**
+ * 登录失败记录仓储接口 (面向领域)
+ * <p>
+ * 按账号和客户端 IP 两个维度记录窗口内的登录失败次数，失败次数超过免费次数后按指数退避拒绝后续尝试。
+ * </p>
+ */
+public interface LoginAttemptRepository {
+
+    /**
+     * 校验是否允许本次登录尝试
+     *
+     * @param userName 登录账号
+     * @param clientIp 客户端 IP，可为空
+     * @throws com.winter.cloud.common.exception.BusinessException 账号或 IP 处于等待期时抛出
+     */
+    void checkAllowed(String userName, String clientIp);
+
+    /**
+     * 记录一次登录失败（账号不存在或密码错误）
+     *
+     * @param userName 登录账号
+     * @param clientIp 客户端 IP，可为空
+     */
+    void recordFailure(String userName, String clientIp);
+
+    /**
+     * 登录成功后清除账号的失败记录
+     *
+     * @param userName 登录账号
+     */
+    void recordSuccess(String userName);
+}
@@ -18,6 +18,7 @@ import java.util.List;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface IconInfraAssembler {
     IconTypePO toPO(IconTypeDO iconTypeDO);
+    IconTypeDO toDO(IconTypePO iconTypePO);
     IconValuePO toPO(IconValueDO iconValueDO);
     List<IconValuePO> toPOList(List<IconValueDO> iconValueDOList);
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.winter.cloud.auth.infrastructure.datascope.DataScopeInnerInterceptor;
+import com.winter.cloud.auth.infrastructure.datascope.DataScopeResolver;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,8 +19,10 @@ public class MybatisPlusConfig {
      * 分页插件
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(ObjectProvider<DataScopeResolver> dataScopeResolverProvider) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        // 数据权限插件（必须在分页插件之前，分页 COUNT 语句才会带上数据权限条件）
+        interceptor.addInnerInterceptor(new DataScopeInnerInterceptor(dataScopeResolverProvider));
         // 添加分页插件（为空表示设置为自动识别数据库类型）PaginationInnerInterceptor 内部会尝试从 DataSource 的 URL 自动推断 DbType（通过 JdbcUtils.getDbType()）。因此，只要你的数据源 Bean 是标准的 javax.sql.DataSource，且 URL 格式规范（如 jdbc:mysql://...），就可以自动识别。
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor());
         // 防全表更新与删除插件
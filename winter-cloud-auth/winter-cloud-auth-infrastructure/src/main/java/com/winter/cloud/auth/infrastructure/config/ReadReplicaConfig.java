@@ -0,0 +1,58 @@
+package com.winter.cloud.auth.infrastructure.config;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.winter.cloud.auth.infrastructure.config.properties.ReadReplicaProperties;
+import com.winter.cloud.auth.infrastructure.datasource.ReadReplicaInterceptor;
+import com.winter.cloud.auth.infrastructure.datasource.ReplicaLagMonitor;
+import com.winter.cloud.auth.infrastructure.datasource.WriteMarkInterceptor;
+import com.winter.cloud.common.datasource.ReadReplica;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离配置
+ * <p>
+ * 开启后 {@link ReadReplica} 标注的只读方法路由到从库；写操作、事务内查询和写后粘滞期内的查询仍走主库。
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "winter.datasource.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * 写操作标记插件（MyBatis-Plus 自动注册容器中的 Interceptor）
+     */
+    @Bean
+    public WriteMarkInterceptor writeMarkInterceptor() {
+        return new WriteMarkInterceptor();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor((DynamicRoutingDataSource) dataSource, properties);
+    }
+
+    /**
+     * 只读方法切面：与 dynamic-datasource 的 @DS 一样使用基础设施级 Advisor，不依赖 AspectJ；
+     * 优先级最高，保证在事务切面之外先完成数据源选择
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor readReplicaAdvisor(ReplicaLagMonitor replicaLagMonitor, ReadReplicaProperties properties) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadReplica.class, true))
+                .union(new AnnotationMatchingPointcut(null, ReadReplica.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReadReplicaInterceptor(replicaLagMonitor, properties));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
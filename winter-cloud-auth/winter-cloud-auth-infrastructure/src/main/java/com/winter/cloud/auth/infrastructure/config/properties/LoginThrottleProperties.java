@@ -0,0 +1,55 @@
+package com.winter.cloud.auth.infrastructure.config.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录失败限流配置
+ * <p>
+ * 在统计窗口内失败次数超过免费次数后，每多失败一次，下次允许尝试前的等待时间翻倍，直至上限（即锁定）。
+ * 账号与 IP 分别计数，任一方处于等待期内的登录请求直接拒绝。
+ * </p>
+ */
+@Data
+@Configuration
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "winter.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * 是否开启登录失败限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 失败次数统计窗口（毫秒）
+     */
+    private long windowMillis = 15 * 60 * 1000L;
+
+    /**
+     * 同一账号在窗口内不受限制的失败次数
+     */
+    private int userFreeAttempts = 5;
+
+    /**
+     * 同一 IP 在窗口内不受限制的失败次数
+     */
+    private int ipFreeAttempts = 20;
+
+    /**
+     * 首次退避等待时间（毫秒），此后每次失败翻倍
+     */
+    private long baseDelayMillis = 1000L;
+
+    /**
+     * 最长等待时间（毫秒），即锁定时长上限
+     */
+    private long maxDelayMillis = 15 * 60 * 1000L;
+
+    /**
+     * 本地失败记录同步到 Redis 的间隔（毫秒）
+     */
+    private long syncIntervalMillis = 1000L;
+}
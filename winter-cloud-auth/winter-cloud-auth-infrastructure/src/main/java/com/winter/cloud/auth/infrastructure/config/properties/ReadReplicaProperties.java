@@ -0,0 +1,52 @@
+package com.winter.cloud.auth.infrastructure.config.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 读写分离配置
+ * <p>
+ * 从库在 spring.datasource.dynamic.datasource 下按 “分组名_序号” 命名（例如 replica_1、replica_2），
+ * dynamic-datasource 会把它们归入同名分组并在组内负载均衡。
+ * </p>
+ */
+@Data
+@Configuration
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "winter.datasource.read-replica")
+public class ReadReplicaProperties {
+
+    /**
+     * 是否开启读写分离，关闭时所有查询仍走主库
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库分组名
+     */
+    private String group = "replica";
+
+    /**
+     * 写操作后继续读主库的时间（毫秒），保证同一请求/线程内读到自己刚写入的数据
+     */
+    private long stickyMillis = 5000L;
+
+    /**
+     * 允许的最大复制延迟（秒），超过后该从库暂停接收读请求
+     */
+    private double maxLagSeconds = 1.0D;
+
+    /**
+     * 复制延迟检测间隔（毫秒）
+     */
+    private long lagCheckInterval = 2000L;
+
+    /**
+     * 查询复制延迟（秒）的 SQL，返回单个数值；默认适用于 PostgreSQL 流复制备库，
+     * 已回放到最新 WAL 时返回 0，避免主库空闲时 pg_last_xact_replay_timestamp 持续变旧造成误判
+     */
+    private String lagSql = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
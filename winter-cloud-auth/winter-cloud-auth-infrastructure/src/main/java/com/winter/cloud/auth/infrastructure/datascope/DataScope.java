@@ -0,0 +1,31 @@
+package com.winter.cloud.auth.infrastructure.datascope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 数据权限标记：标注在 Mapper 查询方法上，由 {@link DataScopeInnerInterceptor} 按当前用户角色的数据范围追加过滤条件
+ * <p>
+ * 列名直接拼入 SQL，需与 XML 中的表别名一致，例如 {@code @DataScope(userColumn = "u.id")}。
+ * 只有 deptColumn 时按部门列过滤；只有 userColumn 时通过 sys_user_dept 确定用户所属部门。
+ * 没有登录用户（系统任务、异步线程）时不返回任何数据。
+ * </p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataScope {
+
+    /**
+     * 数据所属用户ID列，用于“仅本人”以及按用户所属部门过滤
+     */
+    String userColumn() default "";
+
+    /**
+     * 数据所属部门ID列，设置后部门范围直接作用于该列
+     */
+    String deptColumn() default "";
+}
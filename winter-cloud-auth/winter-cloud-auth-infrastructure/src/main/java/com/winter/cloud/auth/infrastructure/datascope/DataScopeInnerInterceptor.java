@@ -0,0 +1,97 @@
+package com.winter.cloud.auth.infrastructure.datascope;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据权限插件
+ * <p>
+ * 对标注了 {@link DataScope} 的 Mapper 查询，在 WHERE 中追加 {@link DataScopeResolver} 生成的条件。
+ * 改写放在 willDoQuery 中完成，并且插件注册在分页插件之前，分页插件生成的 COUNT 语句同样带有数据权限条件。
+ * </p>
+ */
+@Slf4j
+public class DataScopeInnerInterceptor implements InnerInterceptor {
+    /**
+     * 解析器依赖 Mapper，而 Mapper 依赖本插件所在的 SqlSessionFactory，延迟获取以避免循环依赖
+     */
+    private final ObjectProvider<DataScopeResolver> dataScopeResolverProvider;
+
+    /**
+     * MappedStatement ID -> 数据权限标记
+     */
+    private final Map<String, Optional<DataScope>> dataScopeCache = new ConcurrentHashMap<>();
+
+    public DataScopeInnerInterceptor(ObjectProvider<DataScopeResolver> dataScopeResolverProvider) {
+        this.dataScopeResolverProvider = dataScopeResolverProvider;
+    }
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) {
+        Optional<DataScope> dataScope = dataScopeCache.computeIfAbsent(ms.getId(), this::findDataScope);
+        if (dataScope.isEmpty()) {
+            return true;
+        }
+        String condition = dataScopeResolverProvider.getObject().buildCondition(dataScope.get());
+        if (condition == null) {
+            return true;
+        }
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        mpBoundSql.sql(appendCondition(ms.getId(), mpBoundSql.sql(), condition));
+        return true;
+    }
+
+    /**
+     * 将条件与原有 WHERE 以 AND 连接，原条件整体加括号，避免与其中的 OR 混合
+     */
+    private String appendCondition(String msId, String sql, String condition) {
+        try {
+            Statement statement = CCJSqlParserUtil.parse(sql);
+            if (!(statement instanceof PlainSelect)) {
+                throw ExceptionUtils.mpe("@DataScope 只支持单个 SELECT 语句: %s", msId);
+            }
+            PlainSelect plainSelect = (PlainSelect) statement;
+            String where = plainSelect.getWhere() == null ? condition : "(" + plainSelect.getWhere() + ") AND " + condition;
+            plainSelect.setWhere(CCJSqlParserUtil.parseCondExpression(where));
+            return plainSelect.toString();
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("数据权限条件追加失败: %s", e, msId);
+        }
+    }
+
+    private Optional<DataScope> findDataScope(String msId) {
+        int index = msId.lastIndexOf('.');
+        String className = msId.substring(0, index);
+        String methodName = msId.substring(index + 1);
+        try {
+            for (Method method : ClassUtils.forName(className, null).getMethods()) {
+                if (method.getName().equals(methodName) && method.isAnnotationPresent(DataScope.class)) {
+                    return Optional.of(method.getAnnotation(DataScope.class));
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            // selectKey、分页 COUNT 等由框架生成的语句没有对应的 Mapper 类
+            log.debug("未找到 Mapper 类，跳过数据权限: {}", msId);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,238 @@
+package com.winter.cloud.auth.infrastructure.datascope;
+
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.winter.cloud.auth.domain.event.DeptChangedEvent;
+import com.winter.cloud.auth.infrastructure.entity.AuthRoleDeptPO;
+import com.winter.cloud.auth.infrastructure.entity.AuthRolePO;
+import com.winter.cloud.auth.infrastructure.entity.AuthUserDeptPO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthRoleDeptMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthRoleMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserDeptMapper;
+import com.winter.cloud.common.enums.DataScopeEnum;
+import com.winter.cloud.common.enums.StatusEnum;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.type.RolePermissionChangedEvent;
+import com.winter.cloud.common.event.type.UserChangedEvent;
+import com.zsq.winter.security.context.WinterSecurityContextHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 当前用户数据范围解析
+ * <p>
+ * 用户的数据范围 = 各启用角色数据范围的并集：任一角色为全部数据则不过滤；
+ * 其余范围合并为“可见部门集合 + 是否可见本人数据”。部门集合在内存中展开（见 {@link DeptDescendantCache}），
+ * 按用户缓存，部门、角色权限或用户变更事件到达时失效。
+ * 没有登录用户时不返回任何数据，避免上下文丢失（如异步线程）时越权读取全部数据。
+ * 解析结果会写入缓存，调用方即使处于 {@link com.winter.cloud.common.datasource.ReadReplica} 方法中，也固定查询主库。
+ * </p>
+ * <p>
+ * 部门集合较小时直接内联为 IN 列表；超过 {@link #INLINE_LIMIT} 时改为与 sys_dept_closure、sys_role_dept 做半连接，
+ * 由数据库按主键展开，SQL 长度只与用户自身的部门数、角色数有关。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class DataScopeResolver {
+    /**
+     * 内联为 IN 列表的部门数上限
+     */
+    private static final int INLINE_LIMIT = 200;
+
+    private static final String DENY_ALL = "1 = 0";
+
+    private final AuthRoleMapper authRoleMapper;
+    private final AuthUserDeptMapper authUserDeptMapper;
+    private final AuthRoleDeptMapper authRoleDeptMapper;
+    private final DeptDescendantCache deptDescendantCache;
+    private final DynamicDataSourceProperties dynamicDataSourceProperties;
+
+    /**
+     * 用户ID -> 数据范围
+     */
+    private final Map<Long, UserDataScope> scopeCache = new ConcurrentHashMap<>();
+
+    /**
+     * 构建当前用户的过滤条件
+     *
+     * @param dataScope Mapper 方法上的数据权限标记
+     * @return SQL 条件，不需要过滤时返回 null；没有登录用户时返回恒假条件
+     */
+    public String buildCondition(DataScope dataScope) {
+        String currentUserId = currentUserId();
+        if (!StringUtils.hasText(currentUserId)) {
+            return DENY_ALL;
+        }
+        Long userId = Long.valueOf(currentUserId);
+        UserDataScope scope = scopeCache.computeIfAbsent(userId, this::resolve);
+        if (scope.all) {
+            return null;
+        }
+        List<String> conditionList = new ArrayList<>(2);
+        if (!scope.deptIdSet.isEmpty()) {
+            if (StringUtils.hasText(dataScope.deptColumn())) {
+                conditionList.add(deptCondition(scope, dataScope.deptColumn()));
+            } else if (StringUtils.hasText(dataScope.userColumn())) {
+                conditionList.add("EXISTS (SELECT 1 FROM sys_user_dept ds_ud WHERE ds_ud.user_id = " + dataScope.userColumn()
+                        + " AND " + deptCondition(scope, "ds_ud.dept_id") + ")");
+            }
+        }
+        if (scope.self && StringUtils.hasText(dataScope.userColumn())) {
+            conditionList.add(dataScope.userColumn() + " = " + userId);
+        }
+        if (conditionList.isEmpty()) {
+            return DENY_ALL;
+        }
+        return conditionList.size() == 1 ? conditionList.get(0) : "(" + String.join(" OR ", conditionList) + ")";
+    }
+
+    /**
+     * 当前登录用户ID
+     */
+    protected String currentUserId() {
+        return WinterSecurityContextHolder.getUserId();
+    }
+
+    @DomainEventListener
+    public void onDeptChanged(DeptChangedEvent event) {
+        deptDescendantCache.clear();
+        scopeCache.clear();
+    }
+
+    @DomainEventListener
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        scopeCache.clear();
+    }
+
+    @DomainEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUserIdList() == null) {
+            scopeCache.clear();
+            return;
+        }
+        event.getUserIdList().forEach(scopeCache::remove);
+    }
+
+    /**
+     * 部门范围条件：部门集合较小时内联，否则半连接关系表
+     */
+    private String deptCondition(UserDataScope scope, String column) {
+        if (scope.deptIdSet.size() <= INLINE_LIMIT) {
+            return column + " IN (" + join(scope.deptIdSet) + ")";
+        }
+        List<String> partList = new ArrayList<>(3);
+        if (!scope.ancestorDeptIdSet.isEmpty()) {
+            partList.add(column + " IN (SELECT ds_dc.descendant FROM sys_dept_closure ds_dc WHERE ds_dc.ancestor IN ("
+                    + join(scope.ancestorDeptIdSet) + "))");
+        }
+        if (!scope.ownDeptIdSet.isEmpty()) {
+            partList.add(column + " IN (" + join(scope.ownDeptIdSet) + ")");
+        }
+        if (!scope.customRoleIdSet.isEmpty()) {
+            partList.add(column + " IN (SELECT ds_rd.dept_id FROM sys_role_dept ds_rd WHERE ds_rd.role_id IN ("
+                    + join(scope.customRoleIdSet) + "))");
+        }
+        return "(" + String.join(" OR ", partList) + ")";
+    }
+
+    private UserDataScope resolve(Long userId) {
+        // 从库可能尚未复制最新的角色、部门变更，旧结果会一直留在缓存中，因此强制读主库
+        DynamicDataSourceContextHolder.push(dynamicDataSourceProperties.getPrimary());
+        try {
+            return doResolve(userId);
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+
+    private UserDataScope doResolve(Long userId) {
+        List<AuthRolePO> roleList = authRoleMapper.selectRoleIdListByUserId(userId, StatusEnum.ENABLE.getCode());
+        Set<DataScopeEnum> scopeSet = EnumSet.noneOf(DataScopeEnum.class);
+        Set<Long> customRoleIdSet = new HashSet<>();
+        for (AuthRolePO role : roleList) {
+            // 未配置或无法识别的数据范围按全部数据处理，与升级前的行为一致
+            DataScopeEnum scope = DataScopeEnum.of(role.getDataScope());
+            scopeSet.add(scope == null ? DataScopeEnum.ALL : scope);
+            if (scope == DataScopeEnum.CUSTOM) {
+                customRoleIdSet.add(role.getId());
+            }
+        }
+        if (scopeSet.contains(DataScopeEnum.ALL)) {
+            return UserDataScope.ALL;
+        }
+        Set<Long> userDeptIdSet = Set.of();
+        if (scopeSet.contains(DataScopeEnum.DEPT) || scopeSet.contains(DataScopeEnum.DEPT_AND_CHILD)) {
+            userDeptIdSet = authUserDeptMapper.selectList(new LambdaQueryWrapper<AuthUserDeptPO>()
+                            .select(AuthUserDeptPO::getDeptId)
+                            .eq(AuthUserDeptPO::getUserId, userId))
+                    .stream().map(AuthUserDeptPO::getDeptId).collect(Collectors.toSet());
+        }
+        Set<Long> ancestorDeptIdSet = scopeSet.contains(DataScopeEnum.DEPT_AND_CHILD) ? userDeptIdSet : Set.of();
+        Set<Long> ownDeptIdSet = scopeSet.contains(DataScopeEnum.DEPT) ? userDeptIdSet : Set.of();
+
+        Set<Long> deptIdSet = new HashSet<>(ownDeptIdSet);
+        deptIdSet.addAll(deptDescendantCache.getDescendantIdSet(ancestorDeptIdSet));
+        if (!customRoleIdSet.isEmpty()) {
+            authRoleDeptMapper.selectList(new LambdaQueryWrapper<AuthRoleDeptPO>()
+                            .select(AuthRoleDeptPO::getDeptId)
+                            .in(AuthRoleDeptPO::getRoleId, customRoleIdSet))
+                    .forEach(roleDept -> deptIdSet.add(roleDept.getDeptId()));
+        }
+        // 没有任何角色时只能看到本人数据
+        boolean self = roleList.isEmpty() || scopeSet.contains(DataScopeEnum.SELF);
+        return new UserDataScope(false, self, deptIdSet, ancestorDeptIdSet, ownDeptIdSet, customRoleIdSet);
+    }
+
+    private static String join(Collection<Long> idList) {
+        return idList.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * 用户数据范围
+     */
+    private static final class UserDataScope {
+        private static final UserDataScope ALL = new UserDataScope(true, false, Set.of(), Set.of(), Set.of(), Set.of());
+
+        private final boolean all;
+        private final boolean self;
+        /**
+         * 展开后的可见部门
+         */
+        private final Set<Long> deptIdSet;
+        /**
+         * 本部门及以下：用户所属部门
+         */
+        private final Set<Long> ancestorDeptIdSet;
+        /**
+         * 本部门：用户所属部门
+         */
+        private final Set<Long> ownDeptIdSet;
+        /**
+         * 自定义数据范围的角色
+         */
+        private final Set<Long> customRoleIdSet;
+
+        private UserDataScope(boolean all, boolean self, Set<Long> deptIdSet, Set<Long> ancestorDeptIdSet,
+                              Set<Long> ownDeptIdSet, Set<Long> customRoleIdSet) {
+            this.all = all;
+            this.self = self;
+            this.deptIdSet = deptIdSet;
+            this.ancestorDeptIdSet = ancestorDeptIdSet;
+            this.ownDeptIdSet = ownDeptIdSet;
+            this.customRoleIdSet = customRoleIdSet;
+        }
+    }
+}
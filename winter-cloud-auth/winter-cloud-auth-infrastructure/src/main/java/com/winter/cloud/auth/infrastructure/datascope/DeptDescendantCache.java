@@ -0,0 +1,93 @@
+package com.winter.cloud.auth.infrastructure.datascope;
+
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.winter.cloud.auth.infrastructure.entity.AuthDeptClosurePO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthDeptClosureMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 部门后代集合缓存
+ * <p>
+ * 首次使用时读取整张 sys_dept_closure，在内存中保存 祖先 -> 全部后代（包括自身），
+ * “本部门及以下”数据范围直接查表得到部门集合，不再对每次查询做递归。
+ * 部门新增、移动、删除后由 {@link DataScopeResolver} 收到事件清空，下次使用时重新加载。
+ * 加载结果会长期缓存，始终从主库读取，不受调用方读写分离路由的影响。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeptDescendantCache {
+    private final AuthDeptClosureMapper authDeptClosureMapper;
+    private final DynamicDataSourceProperties dynamicDataSourceProperties;
+
+    private volatile Map<Long, Set<Long>> descendantMap;
+
+    /**
+     * 缓存代数，加载期间被清空时丢弃本次加载结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 查询多个部门的后代集合（包括自身）的并集
+     *
+     * @param deptIds 部门ID
+     * @return 部门ID集合
+     */
+    public Set<Long> getDescendantIdSet(Collection<Long> deptIds) {
+        Map<Long, Set<Long>> current = descendantMap;
+        if (current == null) {
+            current = load();
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long deptId : deptIds) {
+            result.addAll(current.getOrDefault(deptId, Set.of(deptId)));
+        }
+        return result;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        descendantMap = null;
+    }
+
+    private synchronized Map<Long, Set<Long>> load() {
+        if (descendantMap != null) {
+            return descendantMap;
+        }
+        long loadGeneration = generation.get();
+        List<AuthDeptClosurePO> closureList;
+        DynamicDataSourceContextHolder.push(dynamicDataSourceProperties.getPrimary());
+        try {
+            closureList = authDeptClosureMapper.selectList(new LambdaQueryWrapper<AuthDeptClosurePO>()
+                    .select(AuthDeptClosurePO::getAncestor, AuthDeptClosurePO::getDescendant));
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
+        Map<Long, Set<Long>> map = new HashMap<>();
+        for (AuthDeptClosurePO closure : closureList) {
+            map.computeIfAbsent(closure.getAncestor(), key -> new HashSet<>()).add(closure.getDescendant());
+        }
+        map.replaceAll((ancestor, descendants) -> Set.copyOf(descendants));
+        if (loadGeneration == generation.get()) {
+            descendantMap = map;
+        }
+        log.info("部门后代集合已加载，部门数: {}, 关系数: {}", map.size(), closureList.size());
+        return map;
+    }
+}
@@ -0,0 +1,69 @@
+package com.winter.cloud.auth.infrastructure.datasource;
+
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.winter.cloud.auth.infrastructure.config.properties.ReadReplicaProperties;
+import com.winter.cloud.common.datasource.ReadReplica;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReadReplica} 方法的数据源路由
+ * <p>
+ * 所有从库都可用时切换到从库分组，由 dynamic-datasource 在组内负载均衡；
+ * 部分从库延迟超限时只在可用从库间轮询；已在事务中、写后粘滞期内或没有可用从库时不切换，继续使用主库。
+ * </p>
+ */
+@Slf4j
+public class ReadReplicaInterceptor implements MethodInterceptor {
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReadReplicaInterceptor(ReplicaLagMonitor replicaLagMonitor, ReadReplicaProperties properties) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String dataSourceKey = route();
+        if (dataSourceKey == null) {
+            return invocation.proceed();
+        }
+        DynamicDataSourceContextHolder.push(dataSourceKey);
+        try {
+            return invocation.proceed();
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+
+    /**
+     * 选择数据源
+     *
+     * @return 从库分组名或从库名称，返回 null 表示使用主库
+     */
+    private String route() {
+        // 事务已绑定连接，中途切换数据源不会生效
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        if (ReadWriteRoutingContext.isPinnedToPrimary(properties.getStickyMillis())) {
+            log.debug("当前线程刚执行过写操作，继续读主库");
+            return null;
+        }
+        List<String> healthyList = replicaLagMonitor.getHealthyReplicaList();
+        if (healthyList.isEmpty()) {
+            return null;
+        }
+        if (healthyList.size() == replicaLagMonitor.getReplicaCount()) {
+            return properties.getGroup();
+        }
+        return healthyList.get(Math.floorMod(counter.getAndIncrement(), healthyList.size()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.winter.cloud.auth.infrastructure.datasource;
+
+import com.winter.cloud.common.datasource.ReadReplica;
+
+/**
+ * 读写路由上下文
+ * <p>
+ * 记录当前线程最后一次写库的时间。写入后的 stickyMillis 内，即使进入 {@link ReadReplica} 方法也继续读主库，
+ * 避免“写完立即读”读到尚未复制的旧数据。Web 请求结束时由拦截器清理；
+ * Dubbo、定时任务等非 Web 线程依靠时间窗口自然失效。
+ * </p>
+ */
+public final class ReadWriteRoutingContext {
+    private static final ThreadLocal<Long> LAST_WRITE_TIME = new ThreadLocal<>();
+
+    private ReadWriteRoutingContext() {
+    }
+
+    /**
+     * 标记当前线程执行了写操作
+     */
+    public static void markWrite() {
+        LAST_WRITE_TIME.set(System.currentTimeMillis());
+    }
+
+    /**
+     * 当前线程是否需要继续读主库
+     *
+     * @param stickyMillis 写后粘滞时间（毫秒）
+     */
+    public static boolean isPinnedToPrimary(long stickyMillis) {
+        Long lastWriteTime = LAST_WRITE_TIME.get();
+        if (lastWriteTime == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWriteTime < stickyMillis) {
+            return true;
+        }
+        LAST_WRITE_TIME.remove();
+        return false;
+    }
+
+    /**
+     * 清理当前线程的路由状态（请求结束时调用）
+     */
+    public static void clear() {
+        LAST_WRITE_TIME.remove();
+    }
+}
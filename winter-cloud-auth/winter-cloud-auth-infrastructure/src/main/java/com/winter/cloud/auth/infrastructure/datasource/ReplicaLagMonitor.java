@@ -0,0 +1,120 @@
+package com.winter.cloud.auth.infrastructure.datasource;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.winter.cloud.auth.infrastructure.config.properties.ReadReplicaProperties;
+import com.winter.cloud.common.lifecycle.AbstractPeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 从库复制延迟检测
+ * <p>
+ * 定期在每个从库上执行 lagSql，延迟不超过 maxLagSeconds 且可连接的从库才参与读路由；
+ * 首次检测完成前以及所有从库都不可用时，读请求回到主库。
+ * </p>
+ */
+@Slf4j
+public class ReplicaLagMonitor extends AbstractPeriodicTask {
+    private final DynamicRoutingDataSource dynamicRoutingDataSource;
+    private final ReadReplicaProperties properties;
+
+    /**
+     * 当前可用的从库名称
+     */
+    private volatile List<String> healthyReplicaList = List.of();
+
+    /**
+     * 已配置的从库数量
+     */
+    private volatile int replicaCount = 0;
+
+    public ReplicaLagMonitor(DynamicRoutingDataSource dynamicRoutingDataSource, ReadReplicaProperties properties) {
+        super("replica-lag-monitor");
+        this.dynamicRoutingDataSource = dynamicRoutingDataSource;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        log.info("从库复制延迟检测已启动，group: {}, maxLagSeconds: {}", properties.getGroup(), properties.getMaxLagSeconds());
+    }
+
+    @Override
+    protected void runPeriodically() {
+        check();
+    }
+
+    @Override
+    protected long intervalMillis() {
+        return properties.getLagCheckInterval();
+    }
+
+    @Override
+    protected long initialDelayMillis() {
+        return 0L;
+    }
+
+    /**
+     * 可用的从库名称列表
+     */
+    public List<String> getHealthyReplicaList() {
+        return healthyReplicaList;
+    }
+
+    /**
+     * 已配置的从库数量
+     */
+    public int getReplicaCount() {
+        return replicaCount;
+    }
+
+    void check() {
+        String prefix = properties.getGroup() + "_";
+        List<String> healthyList = new ArrayList<>();
+        int count = 0;
+        for (Map.Entry<String, DataSource> entry : dynamicRoutingDataSource.getDataSources().entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            count++;
+            Double lagSeconds = queryLagSeconds(entry.getKey(), entry.getValue());
+            if (lagSeconds != null && lagSeconds <= properties.getMaxLagSeconds()) {
+                healthyList.add(entry.getKey());
+            } else if (lagSeconds != null) {
+                log.warn("从库复制延迟超限，暂停读路由，replica: {}, lag: {}s", entry.getKey(), lagSeconds);
+            }
+        }
+        healthyList.sort(null);
+        if (!healthyList.equals(healthyReplicaList)) {
+            log.info("可用从库变化: {} -> {}", healthyReplicaList, healthyList);
+        }
+        replicaCount = count;
+        healthyReplicaList = List.copyOf(healthyList);
+    }
+
+    /**
+     * 查询单个从库的复制延迟
+     *
+     * @return 延迟秒数，连接或查询失败时返回 null
+     */
+    private Double queryLagSeconds(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet resultSet = statement.executeQuery(properties.getLagSql())) {
+                return resultSet.next() ? resultSet.getDouble(1) : 0D;
+            }
+        } catch (Exception e) {
+            log.warn("从库复制延迟检测失败，暂停读路由，replica: {}", name, e);
+            return null;
+        }
+    }
+}
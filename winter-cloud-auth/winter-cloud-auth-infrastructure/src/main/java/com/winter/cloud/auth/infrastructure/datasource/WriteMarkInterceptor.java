@@ -0,0 +1,25 @@
+package com.winter.cloud.auth.infrastructure.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * 写操作标记插件
+ * <p>
+ * MyBatis 所有 INSERT / UPDATE / DELETE 都经过 Executor#update，执行前标记当前线程已写库，
+ * 供 {@link ReadReplicaInterceptor} 判断是否需要继续读主库。
+ * </p>
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class WriteMarkInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        ReadWriteRoutingContext.markWrite();
+        return invocation.proceed();
+    }
+}
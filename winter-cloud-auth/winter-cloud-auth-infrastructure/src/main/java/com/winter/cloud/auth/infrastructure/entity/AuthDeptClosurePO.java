@@ -0,0 +1,42 @@
+package com.winter.cloud.auth.infrastructure.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * 部门闭包表（每个部门与其所有祖先、包括自身之间各有一行）
+ */
+@Data
+@Builder
+@TableName(value = "sys_dept_closure")
+@Accessors(chain = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthDeptClosurePO implements Serializable {
+    /**
+     * 祖先部门id
+     */
+    @TableField(value = "ancestor")
+    private Long ancestor;
+
+    /**
+     * 后代部门id
+     */
+    @TableField(value = "descendant")
+    private Long descendant;
+
+    /**
+     * 祖先到后代的层级距离（自身为 0）
+     */
+    @TableField(value = "depth")
+    private Integer depth;
+
+    private static final long serialVersionUID = 1L;
+}
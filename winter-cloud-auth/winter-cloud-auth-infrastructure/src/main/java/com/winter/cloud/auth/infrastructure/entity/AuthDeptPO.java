@@ -59,4 +59,10 @@ public class AuthDeptPO implements Serializable {
     @TableField("remark")
     private String remark;
 
+    /**
+     * 关联用户ID（仅按用户批量查询部门时回填，非表字段）
+     */
+    @TableField(exist = false)
+    private Long userId;
+
 }
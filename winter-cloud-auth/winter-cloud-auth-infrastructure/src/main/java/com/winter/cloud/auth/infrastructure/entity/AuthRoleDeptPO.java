@@ -0,0 +1,36 @@
+package com.winter.cloud.auth.infrastructure.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * 角色自定义数据权限部门关联表
+ */
+@Data
+@Builder
+@TableName(value = "sys_role_dept")
+@Accessors(chain = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthRoleDeptPO implements Serializable {
+    /**
+     * 角色id
+     */
+    @TableField(value = "role_id")
+    private Long roleId;
+
+    /**
+     * 部门id
+     */
+    @TableField(value = "dept_id")
+    private Long deptId;
+
+    private static final long serialVersionUID = 1L;
+}
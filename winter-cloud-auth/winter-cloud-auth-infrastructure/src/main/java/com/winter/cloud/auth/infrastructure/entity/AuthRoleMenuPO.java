@@ -40,5 +40,11 @@ public class AuthRoleMenuPO implements Serializable {
     @TableField(value = "menu_id")
     private Long menuId;
 
+    /**
+     * 菜单权限标识（仅按角色批量查询权限快照时回填，非表字段）
+     */
+    @TableField(exist = false)
+    private String perms;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
@@ -113,6 +113,20 @@ public class AuthRolePO implements Serializable {
     @Size(max = 200, message = "{UpsertRoleCommand.remark.length}",groups ={AuthRolePO.Import.class})
     private String remark;
 
+    /**
+     * 数据范围（1全部 2自定义部门 3本部门 4本部门及以下 5仅本人）
+     */
+    @ExcelIgnore
+    @TableField(value = "data_scope")
+    private String dataScope;
+
+    /**
+     * 关联用户ID（仅按用户批量查询角色时回填，非表字段）
+     */
+    @ExcelIgnore
+    @TableField(exist = false)
+    private Long userId;
+
     public interface Import {}
     
 
@@ -202,6 +202,20 @@ public class AuthUserPO implements Serializable {
     @ExcelProperty(value = {"用户信息","职位名称"})
     private String postName;
 
+    /**
+     * 角色名称（导入使用，多个以英文逗号分隔，非表字段）
+     */
+    @TableField(exist = false)
+    @ExcelProperty(value = {"用户信息","角色名称"})
+    private String roleName;
+
+    /**
+     * 部门名称（导入使用，多个以英文逗号分隔，非表字段）
+     */
+    @TableField(exist = false)
+    @ExcelProperty(value = {"用户信息","部门名称"})
+    private String deptName;
+
     /**
      * 简介
      */
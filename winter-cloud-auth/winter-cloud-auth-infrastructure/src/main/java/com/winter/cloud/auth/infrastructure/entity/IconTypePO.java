@@ -38,4 +38,9 @@ public class IconTypePO implements Serializable {
      **/
     @TableField(value = "prefix")
     private String prefix;
+    /**
+     * 图标集内容摘要（SHA-256）
+     **/
+    @TableField(value = "content_hash")
+    private String contentHash;
 }
@@ -0,0 +1,345 @@
+package com.winter.cloud.auth.infrastructure.login;
+
+import com.winter.cloud.auth.domain.repository.LoginAttemptRepository;
+import com.winter.cloud.auth.infrastructure.config.properties.LoginThrottleProperties;
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.lifecycle.AbstractPeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 登录失败限流
+ * <p>
+ * 按账号和 IP 分别在本地维护滑动窗口内的失败时间，失败次数超过免费次数后按指数退避计算下次允许尝试的时间。
+ * 处于等待期的请求在查询数据库和校验密码之前就被拒绝：本地命中时不访问任何外部资源，
+ * 本地未命中时只做一次 MGET 读取其它节点写入的锁定时间。
+ * </p>
+ * <p>
+ * 本地失败记录由后台线程按 syncIntervalMillis 批量写入 Redis（每个维度一个 ZSET），
+ * 根据全集群的失败次数重新计算锁定时间并写回，其它节点在下次尝试时读到。
+ * Redis 不可用时只按本节点计数限流，不影响正常登录。
+ * </p>
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter extends AbstractPeriodicTask implements LoginAttemptRepository {
+    private static final String USER = "user";
+    private static final String IP = "ip";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LoginThrottleProperties properties;
+
+    /**
+     * 失败记录成员前缀，保证不同节点同一毫秒的失败在 ZSET 中不会合并
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 维度键 -> 本地失败窗口
+     */
+    private final Map<String, AttemptWindow> windowMap = new ConcurrentHashMap<>();
+
+    public LoginAttemptLimiter(StringRedisTemplate stringRedisTemplate, LoginThrottleProperties properties) {
+        super("login-attempt-sync");
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * 校验是否允许本次登录尝试
+     *
+     * @param userName 登录账号
+     * @param clientIp 客户端 IP，可为空
+     * @throws BusinessException 账号或 IP 处于等待期时抛出
+     */
+    @Override
+    public void checkAllowed(String userName, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<String> keyList = keyList(userName, clientIp);
+        long lockedUntil = 0L;
+        for (String key : keyList) {
+            AttemptWindow window = windowMap.get(key);
+            if (window != null) {
+                lockedUntil = Math.max(lockedUntil, window.lockedUntil());
+            }
+        }
+        if (lockedUntil <= now) {
+            lockedUntil = remoteLockedUntil(keyList, now);
+        }
+        if (lockedUntil > now) {
+            long seconds = Math.max(1L, (lockedUntil - now + 999L) / 1000L);
+            throw new BusinessException(ResultCodeEnum.LOGIN_LOCKED.getCode(), "登录失败次数过多，请 " + seconds + " 秒后再试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败（账号不存在或密码错误）
+     *
+     * @param userName 登录账号
+     * @param clientIp 客户端 IP，可为空
+     */
+    @Override
+    public void recordFailure(String userName, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String key : keyList(userName, clientIp)) {
+            int freeAttempts = key.startsWith(USER) ? properties.getUserFreeAttempts() : properties.getIpFreeAttempts();
+            windowMap.computeIfAbsent(key, k -> new AttemptWindow(freeAttempts)).addFailure(now);
+        }
+    }
+
+    /**
+     * 登录成功后清除账号的失败记录（IP 维度保留，避免攻击者用自己的账号重置 IP 计数）
+     * <p>
+     * 失败可能记录在其它节点，本节点没有本地窗口时同样删除 Redis 中的记录。
+     * </p>
+     *
+     * @param userName 登录账号
+     */
+    @Override
+    public void recordSuccess(String userName) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = key(USER, userName);
+        windowMap.remove(key);
+        try {
+            stringRedisTemplate.delete(List.of(failKey(key), lockKey(key)));
+        } catch (Exception e) {
+            log.warn("清除登录失败记录失败，key: {}", key, e);
+        }
+    }
+
+    /**
+     * 读取其它节点写入的锁定时间，并缓存到本地窗口
+     */
+    private long remoteLockedUntil(List<String> keyList, long now) {
+        List<String> lockKeyList = new ArrayList<>(keyList.size());
+        keyList.forEach(key -> lockKeyList.add(lockKey(key)));
+        List<String> valueList;
+        try {
+            valueList = stringRedisTemplate.opsForValue().multiGet(lockKeyList);
+        } catch (Exception e) {
+            log.warn("读取登录锁定状态失败，按本地计数处理", e);
+            return 0L;
+        }
+        long lockedUntil = 0L;
+        for (int i = 0; valueList != null && i < keyList.size(); i++) {
+            if (valueList.get(i) == null) {
+                continue;
+            }
+            long until = Long.parseLong(valueList.get(i));
+            if (until > now) {
+                String key = keyList.get(i);
+                int freeAttempts = key.startsWith(USER) ? properties.getUserFreeAttempts() : properties.getIpFreeAttempts();
+                windowMap.computeIfAbsent(key, k -> new AttemptWindow(freeAttempts)).lockUntil(until);
+                lockedUntil = Math.max(lockedUntil, until);
+            }
+        }
+        return lockedUntil;
+    }
+
+    /**
+     * 将本地新增的失败记录同步到 Redis，并按全集群失败次数更新锁定时间
+     */
+    void sync() {
+        long now = System.currentTimeMillis();
+        long windowStart = now - properties.getWindowMillis();
+        List<String> keyList = new ArrayList<>();
+        List<List<Long>> pendingList = new ArrayList<>();
+        windowMap.forEach((key, window) -> {
+            List<Long> pending = window.drainPending();
+            if (!pending.isEmpty()) {
+                keyList.add(key);
+                pendingList.add(pending);
+            } else if (window.isIdle(now)) {
+                windowMap.remove(key, window);
+            }
+        });
+        if (keyList.isEmpty()) {
+            return;
+        }
+        try {
+            // 每个维度 4 条命令：ZADD、清理窗口外记录、ZCARD、续期
+            List<Object> resultList = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (int i = 0; i < keyList.size(); i++) {
+                        String failKey = failKey(keyList.get(i));
+                        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                        pendingList.get(i).forEach(time -> tuples.add(
+                                new DefaultTypedTuple<>(nodeId + ":" + sequence.incrementAndGet(), time.doubleValue())));
+                        ops.opsForZSet().add(failKey, tuples);
+                        ops.opsForZSet().removeRangeByScore(failKey, 0, windowStart);
+                        ops.opsForZSet().zCard(failKey);
+                        ops.expire(failKey, properties.getWindowMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                }
+            });
+            Map<String, Long> lockMap = new HashMap<>();
+            for (int i = 0; i < keyList.size(); i++) {
+                String key = keyList.get(i);
+                Long clusterCount = (Long) resultList.get(i * 4 + 2);
+                AttemptWindow window = windowMap.get(key);
+                if (window == null || clusterCount == null) {
+                    continue;
+                }
+                long lastFailure = pendingList.get(i).get(pendingList.get(i).size() - 1);
+                long until = lastFailure + backoffDelay(clusterCount.intValue(), window.freeAttempts);
+                if (until > now) {
+                    window.lockUntil(until);
+                    lockMap.put(key, until);
+                }
+            }
+            if (!lockMap.isEmpty()) {
+                stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                        lockMap.forEach((key, until) -> ops.opsForValue().set(
+                                lockKey(key), String.valueOf(until), until - now, TimeUnit.MILLISECONDS));
+                        return null;
+                    }
+                });
+            }
+        } catch (Exception e) {
+            // 同步失败的记录不再重试，本地窗口中的计数仍然有效
+            log.warn("登录失败记录同步失败，数量: {}", keyList.size(), e);
+        }
+    }
+
+    /**
+     * 指数退避：失败次数超过免费次数后，等待时间从 baseDelayMillis 开始逐次翻倍，不超过 maxDelayMillis
+     */
+    long backoffDelay(int failureCount, int freeAttempts) {
+        if (failureCount <= freeAttempts) {
+            return 0L;
+        }
+        int shift = Math.min(failureCount - freeAttempts - 1, 30);
+        return Math.min(properties.getBaseDelayMillis() << shift, properties.getMaxDelayMillis());
+    }
+
+    private List<String> keyList(String userName, String clientIp) {
+        List<String> keyList = new ArrayList<>(2);
+        keyList.add(key(USER, userName));
+        if (StringUtils.hasText(clientIp)) {
+            keyList.add(key(IP, clientIp));
+        }
+        return keyList;
+    }
+
+    private static String key(String dimension, String value) {
+        return dimension + CommonConstants.Redis.SPLIT + (value == null ? "" : value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String failKey(String key) {
+        return CommonConstants.Redis.LOGIN_FAIL + CommonConstants.Redis.SPLIT + key;
+    }
+
+    private static String lockKey(String key) {
+        return CommonConstants.Redis.LOGIN_LOCK + CommonConstants.Redis.SPLIT + key;
+    }
+
+    @Override
+    protected void runPeriodically() {
+        sync();
+    }
+
+    @Override
+    protected long intervalMillis() {
+        return properties.getSyncIntervalMillis();
+    }
+
+    @Override
+    protected void afterStop() {
+        sync();
+    }
+
+    /**
+     * 单个维度（账号或 IP）的本地失败窗口
+     */
+    private final class AttemptWindow {
+        private final int freeAttempts;
+        /**
+         * 窗口内的失败时间，按时间递增
+         */
+        private final ArrayDeque<Long> failureTimes = new ArrayDeque<>();
+        /**
+         * 尚未同步到 Redis 的失败时间
+         */
+        private List<Long> pendingTimes = new ArrayList<>();
+        private long lockedUntil = 0L;
+
+        private AttemptWindow(int freeAttempts) {
+            this.freeAttempts = freeAttempts;
+        }
+
+        private synchronized long lockedUntil() {
+            return lockedUntil;
+        }
+
+        private synchronized void lockUntil(long until) {
+            lockedUntil = Math.max(lockedUntil, until);
+        }
+
+        private synchronized void addFailure(long now) {
+            evict(now);
+            failureTimes.addLast(now);
+            pendingTimes.add(now);
+            lockedUntil = Math.max(lockedUntil, now + backoffDelay(failureTimes.size(), freeAttempts));
+        }
+
+        private synchronized List<Long> drainPending() {
+            if (pendingTimes.isEmpty()) {
+                return List.of();
+            }
+            List<Long> drained = pendingTimes;
+            pendingTimes = new ArrayList<>();
+            return drained;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            evict(now);
+            return failureTimes.isEmpty() && pendingTimes.isEmpty() && lockedUntil <= now;
+        }
+
+        private void evict(long now) {
+            long windowStart = now - properties.getWindowMillis();
+            while (!failureTimes.isEmpty() && failureTimes.peekFirst() <= windowStart) {
+                failureTimes.pollFirst();
+            }
+        }
+    }
+}
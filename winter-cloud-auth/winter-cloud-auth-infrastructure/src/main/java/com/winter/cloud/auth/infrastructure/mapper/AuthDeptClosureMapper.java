@@ -0,0 +1,47 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.winter.cloud.auth.infrastructure.entity.AuthDeptClosurePO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 部门闭包表 Mapper 接口
+ */
+public interface AuthDeptClosureMapper extends BaseMapper<AuthDeptClosurePO> {
+
+    /**
+     * 为新部门写入闭包关系：自身一行 + 父部门的每个祖先各一行
+     *
+     * @param deptId   新部门 ID
+     * @param parentId 父部门 ID（0 表示顶级部门）
+     * @return 插入行数
+     */
+    int insertNode(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 断开子树与其外部祖先的关系（子树内部的关系保留）
+     *
+     * @param deptId 子树根部门 ID
+     * @return 删除行数
+     */
+    int deleteSubtreeOuterLinks(@Param("deptId") Long deptId);
+
+    /**
+     * 将子树挂到新父部门下：新父部门的每个祖先 × 子树的每个节点
+     *
+     * @param deptId   子树根部门 ID
+     * @param parentId 新父部门 ID
+     * @return 插入行数
+     */
+    int insertSubtreeLinks(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 查询部门的所有后代部门 ID（包含自身）
+     *
+     * @param deptId 部门 ID
+     * @return 后代部门 ID 列表
+     */
+    List<Long> selectDescendantIdList(@Param("deptId") Long deptId);
+}
@@ -9,4 +9,6 @@ import java.util.List;
 
 public interface AuthDeptMapper extends BaseMapper<AuthDeptPO> {
     List<AuthDeptPO> selectDeptListByUserId(@Param("userId") Long userId, @Param("status") String status);
+
+    List<AuthDeptPO> selectDeptListByUserIdList(@Param("userIdList") List<Long> userIdList, @Param("status") String status);
 }
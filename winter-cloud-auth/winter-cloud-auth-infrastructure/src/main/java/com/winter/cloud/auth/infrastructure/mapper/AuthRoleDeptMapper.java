@@ -0,0 +1,20 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.winter.cloud.auth.infrastructure.entity.AuthRoleDeptPO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 角色自定义数据权限部门关联 Mapper 接口
+ */
+public interface AuthRoleDeptMapper extends BaseMapper<AuthRoleDeptPO> {
+    /**
+     * 多行插入关联关系（单条 INSERT ... VALUES (...),(...)）
+     *
+     * @param list 关联列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<AuthRoleDeptPO> list);
+}
@@ -18,5 +18,7 @@ public interface AuthRoleMapper extends BaseMapper<AuthRolePO> {
 
     List<AuthRolePO> selectRoleIdListByUserId(@Param("userId") Long userId,@Param("status") String status);
 
+    List<AuthRolePO> selectRoleListByUserIdList(@Param("userIdList") List<Long> userIdList, @Param("status") String status);
+
     IPage<AuthRolePO> selectRolePage(Page<AuthUserPO> page, @Param("query") RoleQuery query);
 }
\ No newline at end of file
@@ -2,11 +2,30 @@ package com.winter.cloud.auth.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.winter.cloud.auth.infrastructure.entity.AuthRoleMenuPO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 菜单（权限）表 Mapper 接口
  * 继承 BaseMapper 后自动拥有 CRUD 能力
  */
 public interface AuthRoleMenuMapper extends BaseMapper<AuthRoleMenuPO> {
-    // 如果有复杂的自定义 SQL，可以在这里定义方法并在 XML 中实现
+    /**
+     * 批量查询角色拥有的菜单ID及权限标识（用于构建角色权限快照）
+     *
+     * @param roleIdList 角色 ID 列表
+     * @param status     菜单状态
+     * @return 角色菜单关联（perms 回填）
+     */
+    List<AuthRoleMenuPO> selectRoleMenuPermsByRoleIdList(@Param("roleIdList") Collection<Long> roleIdList, @Param("status") String status);
+
+    /**
+     * 多行插入关联关系（单条 INSERT ... VALUES (...),(...)）
+     *
+     * @param list 关联列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<AuthRoleMenuPO> list);
 }
\ No newline at end of file
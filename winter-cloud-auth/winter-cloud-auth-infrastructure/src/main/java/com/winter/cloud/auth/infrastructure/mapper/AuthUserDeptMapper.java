@@ -2,10 +2,19 @@ package com.winter.cloud.auth.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserDeptPO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 继承 BaseMapper 后自动拥有 CRUD 能力
  */
 public interface AuthUserDeptMapper extends BaseMapper<AuthUserDeptPO> {
-    // 如果有复杂的自定义 SQL，可以在这里定义方法并在 XML 中实现
+    /**
+     * 多行插入关联关系（单条 INSERT ... VALUES (...),(...)）
+     *
+     * @param list 关联列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<AuthUserDeptPO> list);
 }
\ No newline at end of file
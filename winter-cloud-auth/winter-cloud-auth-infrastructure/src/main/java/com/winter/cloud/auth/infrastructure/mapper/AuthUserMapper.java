@@ -4,9 +4,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.auth.infrastructure.datascope.DataScope;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,6 +18,39 @@ import java.util.List;
 public interface AuthUserMapper extends BaseMapper<AuthUserPO> {
     List<String> getRoleKeyList(@Param("userId") Long userId);
 
+    @DataScope(userColumn = "u.id")
     IPage<AuthUserPO> selectUserPage(Page<AuthUserPO> page, @Param("query") UserQuery userQuery);
+
+    /**
+     * 统计符合条件的用户数
+     */
+    @DataScope(userColumn = "u.id")
+    Long selectUserCount(@Param("query") UserQuery userQuery);
+
+    /**
+     * 键集分页查询：按 (create_time, id) 倒序读取位于上一页最后一行之后的 limit 条用户
+     *
+     * @param lastCreateTime 上一页最后一行的创建时间，第一页为 null
+     * @param lastId         上一页最后一行的 id，第一页为 null
+     */
+    @DataScope(userColumn = "u.id")
+    List<AuthUserPO> selectUserListBefore(@Param("query") UserQuery userQuery,
+                                          @Param("lastCreateTime") LocalDateTime lastCreateTime,
+                                          @Param("lastId") Long lastId,
+                                          @Param("limit") Integer limit);
+
+    /**
+     * 键集分页查询：读取 id 大于 lastId 的前 limit 条用户（按 id 升序），用于流式导出
+     */
+    @DataScope(userColumn = "u.id")
+    List<AuthUserPO> selectUserListAfterId(@Param("query") UserQuery userQuery, @Param("lastId") Long lastId, @Param("limit") Integer limit);
     // 如果有复杂的自定义 SQL，可以在这里定义方法并在 XML 中实现
-}
\ No newline at end of file
+
+    /**
+     * 多行插入用户（单条 INSERT ... VALUES (...),(...)），自增主键回填到每个 PO 的 id
+     *
+     * @param list 用户列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<AuthUserPO> list);
+}
@@ -2,11 +2,20 @@ package com.winter.cloud.auth.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserRolePO;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 菜单（权限）表 Mapper 接口
  * 继承 BaseMapper 后自动拥有 CRUD 能力
  */
 public interface AuthUserRoleMapper extends BaseMapper<AuthUserRolePO> {
-    // 如果有复杂的自定义 SQL，可以在这里定义方法并在 XML 中实现
+    /**
+     * 多行插入关联关系（单条 INSERT ... VALUES (...),(...)）
+     *
+     * @param list 关联列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<AuthUserRolePO> list);
 }
\ No newline at end of file
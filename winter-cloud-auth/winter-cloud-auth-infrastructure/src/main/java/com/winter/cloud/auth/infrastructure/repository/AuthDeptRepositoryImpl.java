@@ -7,20 +7,22 @@ import com.winter.cloud.auth.api.dto.query.DeptQuery;
 import com.winter.cloud.auth.domain.model.entity.AuthDeptDO;
 import com.winter.cloud.auth.domain.repository.AuthDeptRepository;
 import com.winter.cloud.auth.infrastructure.assembler.AuthDeptInfraAssembler;
+import com.winter.cloud.auth.infrastructure.entity.AuthDeptClosurePO;
 import com.winter.cloud.auth.infrastructure.entity.AuthDeptPO;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserDeptPO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthDeptClosureMapper;
 import com.winter.cloud.auth.infrastructure.mapper.AuthDeptMapper;
 import com.winter.cloud.auth.infrastructure.service.IAuthDeptMPService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserDeptMpService;
 import com.winter.cloud.common.enums.ResultCodeEnum;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.util.TreeUtil;
 import com.zsq.i18n.template.WinterI18nTemplate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
@@ -30,6 +32,7 @@ public class AuthDeptRepositoryImpl implements AuthDeptRepository {
     private final IAuthUserDeptMpService authUserDeptMpService;
     private final AuthDeptInfraAssembler authdeptInfraAssembler;
     private final AuthDeptMapper authDeptMapper;
+    private final AuthDeptClosureMapper authDeptClosureMapper;
     private final WinterI18nTemplate winterI18nTemplate;
 
     @Override
@@ -52,18 +55,52 @@ public class AuthDeptRepositoryImpl implements AuthDeptRepository {
         return List.of();
     }
 
+    @Override
+    public Map<Long, List<AuthDeptDO>> selectDeptMapByUserIdList(List<Long> userIdList, String status) {
+        if (ObjectUtil.isEmpty(userIdList)) {
+            return Collections.emptyMap();
+        }
+        List<AuthDeptPO> authDeptPOList = authDeptMapper.selectDeptListByUserIdList(userIdList, status);
+        return authDeptPOList.stream()
+                .collect(Collectors.groupingBy(
+                        AuthDeptPO::getUserId,
+                        Collectors.mapping(authdeptInfraAssembler::toDO, Collectors.toList())
+                ));
+    }
+
     @Transactional(rollbackFor = Exception.class)
     @Override
     public Boolean deptSave(AuthDeptDO authDeptDO) {
         AuthDeptPO po = authdeptInfraAssembler.toPO(authDeptDO);
-        return authDeptMPService.save(po);
+        boolean saved = authDeptMPService.save(po);
+        if (saved) {
+            // 同一事务内维护闭包表：自身 + 父部门的所有祖先
+            authDeptClosureMapper.insertNode(po.getId(), ObjectUtil.defaultIfNull(po.getParentId(), 0L));
+        }
+        return saved;
     }
 
     @Transactional(rollbackFor = Exception.class)
     @Override
     public Boolean deptUpdate(AuthDeptDO authDeptDO) {
         AuthDeptPO po = authdeptInfraAssembler.toPO(authDeptDO);
-        return authDeptMPService.updateById(po);
+        AuthDeptPO oldPo = authDeptMPService.getById(po.getId());
+        boolean moved = oldPo != null
+                        && po.getParentId() != null
+                        && !po.getParentId().equals(oldPo.getParentId());
+        // 不能移动到自身或自身的后代下
+        if (moved && authDeptClosureMapper.selectDescendantIdList(po.getId()).contains(po.getParentId())) {
+            throw new BusinessException(ResultCodeEnum.FAIL_LANG.getCode(), winterI18nTemplate.message("Dept.parent.illegal"));
+        }
+        boolean updated = authDeptMPService.updateById(po);
+        if (updated && moved) {
+            // 同一事务内维护闭包表：先断开子树与原祖先的关系，再挂到新父部门的祖先下（顶级部门无需挂载）
+            authDeptClosureMapper.deleteSubtreeOuterLinks(po.getId());
+            if (po.getParentId() != 0L) {
+                authDeptClosureMapper.insertSubtreeLinks(po.getId(), po.getParentId());
+            }
+        }
+        return updated;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -83,10 +120,20 @@ public class AuthDeptRepositoryImpl implements AuthDeptRepository {
         if (!isDeleted) {
             throw new BusinessException(ResultCodeEnum.FAIL_LANG.getCode(), "Dept deletion failed or dept does not exist");
         }
+        // 已校验不存在子部门，只需删除该部门作为后代的闭包关系（包含自身）
+        authDeptClosureMapper.delete(new LambdaQueryWrapper<AuthDeptClosurePO>().eq(AuthDeptClosurePO::getDescendant, id));
 
         return true;
     }
 
+    @Override
+    public List<Long> selectDescendantIdList(Long deptId) {
+        if (ObjectUtil.isEmpty(deptId)) {
+            return List.of();
+        }
+        return authDeptClosureMapper.selectDescendantIdList(deptId);
+    }
+
     @Override
     public List<AuthDeptDO> deptTree(DeptQuery menuQuery) {
         List<AuthDeptPO> allList = authDeptMPService.list(new LambdaQueryWrapper<AuthDeptPO>()
@@ -104,42 +151,10 @@ public class AuthDeptRepositoryImpl implements AuthDeptRepository {
         if (CollUtil.isEmpty(allNodes)) {
             return List.of();
         }
-
-        Map<Long, AuthDeptDO> nodeMap = allNodes.stream()
-                .collect(Collectors.toMap(
-                        AuthDeptDO::getId,
-                        Function.identity(),
-                        (oldVal, newVal) -> oldVal
-                ));
-
-        List<AuthDeptDO> rootNodes = new ArrayList<>();
-        for (AuthDeptDO node : allNodes) {
-            Long parentId = node.getParentId();
-            if (parentId == null || parentId == 0L || !nodeMap.containsKey(parentId)) {
-                rootNodes.add(node);
-            } else {
-                AuthDeptDO parent = nodeMap.get(parentId);
-                if (parent.getChildren() == null) {
-                    parent.setChildren(new ArrayList<>());
-                }
-                parent.getChildren().add(node);
-            }
-        }
-
-        rootNodes.sort(Comparator.comparing(
-                AuthDeptDO::getOrderNum,
-                Comparator.nullsLast(Integer::compareTo)
-        ));
-
-        allNodes.forEach(node -> {
-            if (CollUtil.isNotEmpty(node.getChildren())) {
-                node.getChildren().sort(Comparator.comparing(
-                        AuthDeptDO::getOrderNum,
-                        Comparator.nullsLast(Integer::compareTo)
-                ));
-            }
-        });
-
-        return rootNodes;
+        return TreeUtil.buildTree(allNodes,
+                AuthDeptDO::getId,
+                AuthDeptDO::getParentId,
+                AuthDeptDO::setChildren,
+                Comparator.comparing(AuthDeptDO::getOrderNum, Comparator.nullsLast(Integer::compareTo)));
     }
 }
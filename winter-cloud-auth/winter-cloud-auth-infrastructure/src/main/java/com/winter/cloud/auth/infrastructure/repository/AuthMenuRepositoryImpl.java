@@ -88,7 +88,10 @@ public class AuthMenuRepositoryImpl implements AuthMenuRepository {
     @Override
     public boolean menuSave(AuthMenuDO authMenuDO) {
         AuthMenuPO po = authMenuInfraAssembler.toPO(authMenuDO);
-        return authMenuMpService.save(po);
+        boolean saved = authMenuMpService.save(po);
+        // 回填主键，供调用方发布变更事件
+        authMenuDO.setId(po.getId());
+        return saved;
     }
 
     @Override
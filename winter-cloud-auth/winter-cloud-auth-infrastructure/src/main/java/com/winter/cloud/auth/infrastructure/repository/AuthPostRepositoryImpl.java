@@ -23,6 +23,7 @@ import com.winter.cloud.auth.infrastructure.service.IAuthPostMPService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserMpService;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
@@ -42,6 +43,7 @@ import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -52,9 +54,11 @@ import javax.servlet.http.HttpServletResponse;
 import javax.validation.Validator;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.winter.cloud.common.enums.ResultCodeEnum.DUPLICATE_KEY;
@@ -87,6 +91,7 @@ public class AuthPostRepositoryImpl implements AuthPostRepository {
     private final AuthPostMapper authPostMapper;
     private final AuthPostInfraAssembler authPostInfraAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
+    private final RemoteI18nMessageRepositoryImpl remoteI18nMessageRepository;
     private final WinterExcelTemplate winterExcelTemplate;
     private final WinterRedisTemplate winterRedisTemplate;
     private final ObjectMapper objectMapper;
@@ -98,6 +103,8 @@ public class AuthPostRepositoryImpl implements AuthPostRepository {
      * 如果使用注解，缓存操作通常包裹在事务内，若缓存更新成功但后续 DB 提交失败，会导致缓存脏数据。
      */
     private final TransactionTemplate transactionTemplate;
+    private final ExcelTemplateRegistry excelTemplateRegistry;
+
     @DubboReference(check = false)
     private DictFacade dictFacade;
 
@@ -135,6 +142,21 @@ public class AuthPostRepositoryImpl implements AuthPostRepository {
         return authPostInfraAssembler.toDO(authPostPO);
     }
 
+    /**
+     * 根据ID集合批量查询职位
+     *
+     * @param postIds 职位ID集合
+     * @return 职位领域对象列表，ID集合为空时返回空列表
+     */
+    @Override
+    public List<AuthPostDO> listByIds(Collection<Long> postIds) {
+        if (CollUtil.isEmpty(postIds)) {
+            return List.of();
+        }
+        List<AuthPostPO> list = authPostMpService.list(new LambdaQueryWrapper<AuthPostPO>().in(AuthPostPO::getId, postIds));
+        return authPostInfraAssembler.toDOList(list);
+    }
+
     /**
      * 判断是否存在重复的职位
      * <p>
@@ -272,24 +294,26 @@ public class AuthPostRepositoryImpl implements AuthPostRepository {
      */
     @Override
     public void postExportExcelTemplate(HttpServletResponse response) {
-        ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
-        // 自定义样式处理器
-        CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
-        writeHandlers.add(cellStyleSheetWriteHandler);
-        writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
-        WinterExcelExportParam<AuthPostPO> builder = WinterExcelExportParam.<AuthPostPO>builder()
-                .response(response)
-                .batchSize(1000)
-                .password("")
-                .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.POST_INFORMATION_TEMPLATE)+".xlsx")
-                // 导出的模版不需要创建时间这个列
-                .excludeColumnFieldNames(List.of("createTime"))
-                .converters(null)
-                .writeHandlers(writeHandlers)
-                .head(AuthPostPO.class)
-                .dataList(null)
-                .build();
-        winterExcelTemplate.export(builder);
+        excelTemplateRegistry.export(response, "postTemplate", AuthPostPO.class, null, templateResponse -> {
+            ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
+            // 自定义样式处理器
+            CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
+            writeHandlers.add(cellStyleSheetWriteHandler);
+            writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
+            WinterExcelExportParam<AuthPostPO> builder = WinterExcelExportParam.<AuthPostPO>builder()
+                    .response(templateResponse)
+                    .batchSize(1000)
+                    .password("")
+                    .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.POST_INFORMATION_TEMPLATE)+".xlsx")
+                    // 导出的模版不需要创建时间这个列
+                    .excludeColumnFieldNames(List.of("createTime"))
+                    .converters(null)
+                    .writeHandlers(writeHandlers)
+                    .head(AuthPostPO.class)
+                    .dataList(null)
+                    .build();
+            winterExcelTemplate.export(builder);
+        });
     }
 
     /**
@@ -426,24 +450,19 @@ public class AuthPostRepositoryImpl implements AuthPostRepository {
         // ====================== 7. 构建校验逻辑错误 Sheet（支持国际化） ======================
         if (!ObjectUtils.isEmpty(errorList)) {
 
-            // 对校验错误信息进行国际化处理
+            // 对校验错误信息进行国际化处理：国际化 key 格式为 {xxx}，先收集再一次批量解析
+            Set<String> errorKeySet = errorList.stream()
+                    .map(WinterExcelValidateErrorModel::getMessage)
+                    .filter(message -> message != null && message.startsWith("{") && message.endsWith("}"))
+                    .map(message -> message.substring(1, message.length() - 1))
+                    .collect(Collectors.toSet());
+            Map<String, String> errorMessageMap = remoteI18nMessageRepository.getMessages(errorKeySet, LocaleContextHolder.getLocale());
             errorList.forEach(error -> {
                 String message = error.getMessage();
-                StringBuilder stringBuilder = new StringBuilder();
-
-                // 判断是否为国际化 key 格式：{xxx}
                 if (message != null && message.startsWith("{") && message.endsWith("}")) {
-                    String messageKey = message.substring(1, message.length() - 1);
-                    try {
-                        stringBuilder.append(winterI18nTemplate.message(messageKey, new Object[]{}, message));
-                    } catch (Exception ex) {
-                        // 国际化失败，使用原始消息
-                        stringBuilder.append(message);
-                    }
-                } else {
-                    stringBuilder.append(message);
+                    // 国际化失败，使用原始消息
+                    error.setMessage(errorMessageMap.getOrDefault(message.substring(1, message.length() - 1), message));
                 }
-                error.setMessage(stringBuilder.toString());
             });
 
             WinterExcelExportParam<WinterExcelValidateErrorModel> validateParam =
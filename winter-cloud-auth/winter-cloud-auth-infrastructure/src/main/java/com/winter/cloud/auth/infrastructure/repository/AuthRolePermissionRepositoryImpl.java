@@ -0,0 +1,194 @@
+package com.winter.cloud.auth.infrastructure.repository;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.winter.cloud.auth.domain.model.entity.AuthRolePermissionDO;
+import com.winter.cloud.auth.domain.repository.AuthRolePermissionRepository;
+import com.winter.cloud.auth.infrastructure.entity.AuthRoleMenuPO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthRoleMenuMapper;
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.enums.StatusEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 角色权限快照仓储实现
+ * <p>
+ * 三级读取：本地缓存 -> Redis -> 数据库。
+ * 每个角色在 Redis 中维护一个版本号，读取时一次 MGET 取回全部角色的版本号，
+ * 本地快照版本号与之相等才视为命中；失效时只需递增版本号，其它实例的本地缓存会在下次读取时自动失效。
+ * </p>
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class AuthRolePermissionRepositoryImpl implements AuthRolePermissionRepository {
+    private final AuthRoleMenuMapper authRoleMenuMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Redis 中快照的过期时间（天），版本号不过期
+     */
+    private static final long SNAPSHOT_EXPIRE_DAYS = 1L;
+
+    /**
+     * 本地快照缓存的最大角色数
+     */
+    private static final long LOCAL_CACHE_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * 本地快照的访问过期时间（分钟），长期未使用的角色（包括已删除的角色）自动释放
+     */
+    private static final long LOCAL_CACHE_EXPIRE_MINUTES = 60L;
+
+    /**
+     * 本地快照缓存：角色ID -> 快照
+     * <p>
+     * 快照每次读取都与 Redis 版本号比对，过期和淘汰只影响内存占用，不影响正确性；容量有上限，按 W-TinyLFU 淘汰。
+     * </p>
+     */
+    private final Cache<Long, AuthRolePermissionDO> localCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_CACHE_MAXIMUM_SIZE)
+            .expireAfterAccess(LOCAL_CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Override
+    public List<AuthRolePermissionDO> getRolePermissionList(Collection<Long> roleIdList) {
+        if (CollUtil.isEmpty(roleIdList)) {
+            return List.of();
+        }
+        List<Long> roleIds = roleIdList.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+
+        // 1. 一次 MGET 取回所有角色的当前版本号，与本地快照比对
+        List<String> versionList = stringRedisTemplate.opsForValue().multiGet(roleIds.stream().map(this::buildVersionKey).collect(Collectors.toList()));
+        Map<Long, Long> versionMap = new HashMap<>(roleIds.size());
+        List<AuthRolePermissionDO> result = new ArrayList<>(roleIds.size());
+        List<Long> localMissList = new ArrayList<>();
+        for (int i = 0; i < roleIds.size(); i++) {
+            Long roleId = roleIds.get(i);
+            long version = parseVersion(versionList == null ? null : versionList.get(i));
+            versionMap.put(roleId, version);
+            AuthRolePermissionDO snapshot = localCache.getIfPresent(roleId);
+            if (snapshot != null && snapshot.getVersion() == version) {
+                result.add(snapshot);
+            } else {
+                localMissList.add(roleId);
+            }
+        }
+        if (localMissList.isEmpty()) {
+            return result;
+        }
+
+        // 2. 本地未命中的角色，一次 MGET 从 Redis 取快照，版本号一致才可用
+        List<String> snapshotJsonList = stringRedisTemplate.opsForValue().multiGet(localMissList.stream().map(this::buildSnapshotKey).collect(Collectors.toList()));
+        List<Long> redisMissList = new ArrayList<>();
+        for (int i = 0; i < localMissList.size(); i++) {
+            Long roleId = localMissList.get(i);
+            AuthRolePermissionDO snapshot = parseSnapshot(snapshotJsonList == null ? null : snapshotJsonList.get(i));
+            if (snapshot != null && snapshot.getVersion() == versionMap.get(roleId).longValue()) {
+                localCache.put(roleId, snapshot);
+                result.add(snapshot);
+            } else {
+                redisMissList.add(roleId);
+            }
+        }
+        if (redisMissList.isEmpty()) {
+            return result;
+        }
+
+        // 3. 仍未命中的角色回源数据库（一次 IN 查询），按读取时的版本号回写缓存
+        // 若回源期间快照被失效，版本号已递增，这里写入的旧版本快照不会被后续读取使用
+        Map<Long, List<AuthRoleMenuPO>> roleMenuMap = authRoleMenuMapper.selectRoleMenuPermsByRoleIdList(redisMissList, StatusEnum.ENABLE.getCode())
+                .stream()
+                .collect(Collectors.groupingBy(AuthRoleMenuPO::getRoleId));
+        for (Long roleId : redisMissList) {
+            List<AuthRoleMenuPO> roleMenuList = roleMenuMap.getOrDefault(roleId, List.of());
+            AuthRolePermissionDO snapshot = AuthRolePermissionDO.builder()
+                    .roleId(roleId)
+                    .version(versionMap.get(roleId))
+                    .menuIdSet(roleMenuList.stream().map(AuthRoleMenuPO::getMenuId).collect(Collectors.toSet()))
+                    .permsSet(roleMenuList.stream().map(AuthRoleMenuPO::getPerms).filter(ObjectUtil::isNotEmpty).collect(Collectors.toSet()))
+                    .build();
+            try {
+                stringRedisTemplate.opsForValue().set(buildSnapshotKey(roleId), objectMapper.writeValueAsString(snapshot), SNAPSHOT_EXPIRE_DAYS, TimeUnit.DAYS);
+            } catch (JsonProcessingException e) {
+                log.warn("角色权限快照序列化失败，roleId: {}", roleId, e);
+            }
+            localCache.put(roleId, snapshot);
+            result.add(snapshot);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Long> selectRoleIdListByMenuId(Long menuId) {
+        if (ObjectUtil.isEmpty(menuId)) {
+            return List.of();
+        }
+        return authRoleMenuMapper.selectList(new LambdaQueryWrapper<AuthRoleMenuPO>()
+                        .select(AuthRoleMenuPO::getRoleId)
+                        .eq(AuthRoleMenuPO::getMenuId, menuId))
+                .stream()
+                .map(AuthRoleMenuPO::getRoleId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void evictRolePermission(Collection<Long> roleIdList) {
+        if (CollUtil.isEmpty(roleIdList)) {
+            return;
+        }
+        // 先递增版本号（其它实例据此判定本地快照失效），再删除 Redis 快照和本地快照
+        roleIdList.forEach(roleId -> {
+            stringRedisTemplate.opsForValue().increment(buildVersionKey(roleId));
+            localCache.invalidate(roleId);
+        });
+        stringRedisTemplate.delete(roleIdList.stream().map(this::buildSnapshotKey).collect(Collectors.toList()));
+        log.info("角色权限快照已失效，roleIds: {}", roleIdList);
+    }
+
+    private String buildSnapshotKey(Long roleId) {
+        return CommonConstants.Redis.ROLE_PERMISSION + CommonConstants.Redis.SPLIT + roleId;
+    }
+
+    private String buildVersionKey(Long roleId) {
+        return CommonConstants.Redis.ROLE_PERMISSION_VERSION + CommonConstants.Redis.SPLIT + roleId;
+    }
+
+    private long parseVersion(String version) {
+        if (ObjectUtil.isEmpty(version)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private AuthRolePermissionDO parseSnapshot(String json) {
+        if (ObjectUtil.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, AuthRolePermissionDO.class);
+        } catch (JsonProcessingException e) {
+            // 缓存脏数据，当作未命中处理，回源后会被覆盖
+            log.warn("角色权限快照反序列化失败，json: {}", json, e);
+            return null;
+        }
+    }
+}
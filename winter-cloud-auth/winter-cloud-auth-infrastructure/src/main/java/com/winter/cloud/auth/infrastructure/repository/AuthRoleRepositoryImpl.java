@@ -17,19 +17,25 @@ import com.winter.cloud.auth.api.dto.response.RoleResponseDTO;
 import com.winter.cloud.auth.domain.model.entity.AuthRoleDO;
 import com.winter.cloud.auth.domain.repository.AuthRoleRepository;
 import com.winter.cloud.auth.infrastructure.assembler.AuthRoleInfraAssembler;
+import com.winter.cloud.auth.infrastructure.entity.AuthRoleDeptPO;
 import com.winter.cloud.auth.infrastructure.entity.AuthRoleMenuPO;
 import com.winter.cloud.auth.infrastructure.entity.AuthRolePO;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
 import com.winter.cloud.auth.infrastructure.entity.AuthUserRolePO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthRoleDeptMapper;
 import com.winter.cloud.auth.infrastructure.mapper.AuthRoleMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthRoleMenuMapper;
 import com.winter.cloud.auth.infrastructure.service.IAuthRoleMPService;
 import com.winter.cloud.auth.infrastructure.service.IAuthRoleMenuMpService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserRoleMpService;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.enums.DataScopeEnum;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
+import com.winter.cloud.common.util.SetDiff;
 import com.winter.cloud.dict.api.dto.command.DictCommand;
 import com.winter.cloud.dict.api.dto.response.DictDataDTO;
 import com.winter.cloud.dict.api.facade.DictFacade;
@@ -46,6 +52,7 @@ import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -59,6 +66,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.winter.cloud.common.enums.ResultCodeEnum.DUPLICATE_KEY;
@@ -71,8 +79,11 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
     private final IAuthRoleMPService authRoleMpService;
     private final IAuthRoleMenuMpService authRoleMenuMpService;
     private final AuthRoleMapper authRoleMapper;
+    private final AuthRoleMenuMapper authRoleMenuMapper;
+    private final AuthRoleDeptMapper authRoleDeptMapper;
     private final AuthRoleInfraAssembler authRoleInfraAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
+    private final RemoteI18nMessageRepositoryImpl remoteI18nMessageRepository;
     private final WinterExcelTemplate winterExcelTemplate;
     private final WinterRedisTemplate winterRedisTemplate;
     private final ObjectMapper objectMapper;
@@ -84,6 +95,8 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
      * 如果使用注解，缓存操作通常包裹在事务内，若缓存更新成功但后续 DB 提交失败，会导致缓存脏数据。
      */
     private final TransactionTemplate transactionTemplate;
+    private final ExcelTemplateRegistry excelTemplateRegistry;
+
     @DubboReference(check = false)
     private DictFacade dictFacade;
 
@@ -95,7 +108,9 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
             throw new BusinessException(DUPLICATE_KEY.getCode(), winterI18nTemplate.message(CommonConstants.I18nKey.ROLE_NAME_OR_IDENTIFIER_EXISTS));
         }
         AuthRolePO authRolePO = authRoleInfraAssembler.toPO(authRoleDO);
-        return authRoleMpService.save(authRolePO);
+        boolean saved = authRoleMpService.save(authRolePO);
+        syncRoleDept(authRolePO.getId(), authRoleDO.getDataScope(), authRoleDO.getDeptIds());
+        return saved;
     }
 
     /**
@@ -123,7 +138,42 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
         AuthRolePO authRolePO = authRoleInfraAssembler.toPO(authRoleDO);
         // 更新角色名时，角色编码不允许修改
         authRolePO.setRoleKey(null);
-        return authRoleMpService.updateById(authRolePO);
+        // 先更新角色行（持有行锁），同一角色的并发修改串行计算部门差异
+        boolean updated = authRoleMpService.updateById(authRolePO);
+        syncRoleDept(authRoleDO.getId(), authRoleDO.getDataScope(), authRoleDO.getDeptIds());
+        return updated;
+    }
+
+    /**
+     * 维护自定义数据权限的部门关联
+     * <p>
+     * 数据范围改为非自定义时清空关联；自定义且传入部门ID时按差异增删；两者都未传时不修改
+     * </p>
+     *
+     * @param roleId    角色ID
+     * @param dataScope 数据范围
+     * @param deptIds   自定义部门ID
+     */
+    private void syncRoleDept(Long roleId, String dataScope, List<Long> deptIds) {
+        if (dataScope != null && !DataScopeEnum.CUSTOM.getCode().equals(dataScope)) {
+            authRoleDeptMapper.delete(new LambdaQueryWrapper<AuthRoleDeptPO>().eq(AuthRoleDeptPO::getRoleId, roleId));
+            return;
+        }
+        if (deptIds == null) {
+            return;
+        }
+        List<Long> currentDeptIds = authRoleDeptMapper.selectList(new LambdaQueryWrapper<AuthRoleDeptPO>()
+                        .select(AuthRoleDeptPO::getDeptId)
+                        .eq(AuthRoleDeptPO::getRoleId, roleId))
+                .stream().map(AuthRoleDeptPO::getDeptId).collect(Collectors.toList());
+        SetDiff.of(currentDeptIds, deptIds).apply(
+                removed -> authRoleDeptMapper.delete(new LambdaQueryWrapper<AuthRoleDeptPO>()
+                        .eq(AuthRoleDeptPO::getRoleId, roleId)
+                        .in(AuthRoleDeptPO::getDeptId, removed)),
+                added -> authRoleDeptMapper.insertBatch(added.stream()
+                        .map(deptId -> AuthRoleDeptPO.builder().roleId(roleId).deptId(deptId).build())
+                        .collect(Collectors.toList()))
+        );
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -165,6 +215,7 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
         authRoleMenuMpService.remove(
                 new LambdaQueryWrapper<AuthRoleMenuPO>().in(AuthRoleMenuPO::getRoleId, allowDeleteRoleIds)
         );
+        authRoleDeptMapper.delete(new LambdaQueryWrapper<AuthRoleDeptPO>().in(AuthRoleDeptPO::getRoleId, allowDeleteRoleIds));
         return true;
     }
 
@@ -193,6 +244,19 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
         return List.of();
     }
 
+    @Override
+    public Map<Long, List<AuthRoleDO>> selectRoleMapByUserIdList(List<Long> userIdList, String status) {
+        if (ObjectUtil.isEmpty(userIdList)) {
+            return Collections.emptyMap();
+        }
+        List<AuthRolePO> authRolePOList = authRoleMapper.selectRoleListByUserIdList(userIdList, status);
+        return authRolePOList.stream()
+                .collect(Collectors.groupingBy(
+                        AuthRolePO::getUserId,
+                        Collectors.mapping(authRoleInfraAssembler::toDO, Collectors.toList())
+                ));
+    }
+
     @Override
     public List<AuthRoleDO> roleDynamicQueryList(RoleQuery roleQuery) {
         LambdaQueryWrapper<AuthRolePO> queryWrapper = new LambdaQueryWrapper<AuthRolePO>()
@@ -207,12 +271,25 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
 
     @Transactional(rollbackFor = Exception.class)
     @Override
-    public void assignMenuPermissions(Long roleId, List<Long> menuIds) {
-        //  删除之前角色拥有的资源
-        authRoleMenuMpService.remove(new LambdaQueryWrapper<AuthRoleMenuPO>().eq(AuthRoleMenuPO::getRoleId, roleId));
-        //  添加角色新的资源
-        List<AuthRoleMenuPO> authRoleMenuPOList = menuIds.stream().map(menuId -> AuthRoleMenuPO.builder().roleId(roleId).menuId(menuId).build()).collect(Collectors.toList());
-        authRoleMenuMpService.saveBatch(authRoleMenuPOList, 100);
+    public boolean assignMenuPermissions(Long roleId, List<Long> menuIds) {
+        // 锁定角色行，同一角色的并发分配串行执行，避免基于同一份现有关联计算差异后重复插入
+        authRoleMapper.selectOne(new LambdaQueryWrapper<AuthRolePO>()
+                .select(AuthRolePO::getId)
+                .eq(AuthRolePO::getId, roleId)
+                .last("FOR UPDATE"));
+        List<Long> currentMenuIds = authRoleMenuMpService.list(new LambdaQueryWrapper<AuthRoleMenuPO>()
+                        .select(AuthRoleMenuPO::getMenuId)
+                        .eq(AuthRoleMenuPO::getRoleId, roleId))
+                .stream().map(AuthRoleMenuPO::getMenuId).collect(Collectors.toList());
+        // 只删除取消的菜单（一条多行 DELETE）、只插入新增的菜单（一条多行 INSERT），未变化时不写库
+        return SetDiff.of(currentMenuIds, menuIds).apply(
+                removed -> authRoleMenuMpService.remove(new LambdaQueryWrapper<AuthRoleMenuPO>()
+                        .eq(AuthRoleMenuPO::getRoleId, roleId)
+                        .in(AuthRoleMenuPO::getMenuId, removed)),
+                added -> authRoleMenuMapper.insertBatch(added.stream()
+                        .map(menuId -> AuthRoleMenuPO.builder().roleId(roleId).menuId(menuId).build())
+                        .collect(Collectors.toList()))
+        ).isChanged();
     }
 
     @Override
@@ -246,24 +323,26 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
 
     @Override
     public void roleExportExcelTemplate(HttpServletResponse response) {
-        ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
-        // 自定义样式处理器
-        CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
-        writeHandlers.add(cellStyleSheetWriteHandler);
-        writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
-        WinterExcelExportParam<AuthRolePO> builder = WinterExcelExportParam.<AuthRolePO>builder()
-                .response(response)
-                .batchSize(1000)
-                .password("")
-                .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.ROLE_INFORMATION_TEMPLATE)+".xlsx")
-                // 导出的模版不需要创建时间这个列
-                .excludeColumnFieldNames(List.of("createTime"))
-                .converters(null)
-                .writeHandlers(writeHandlers)
-                .head(AuthRolePO.class)
-                .dataList(null)
-                .build();
-        winterExcelTemplate.export(builder);
+        excelTemplateRegistry.export(response, "roleTemplate", AuthRolePO.class, null, templateResponse -> {
+            ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
+            // 自定义样式处理器
+            CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
+            writeHandlers.add(cellStyleSheetWriteHandler);
+            writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
+            WinterExcelExportParam<AuthRolePO> builder = WinterExcelExportParam.<AuthRolePO>builder()
+                    .response(templateResponse)
+                    .batchSize(1000)
+                    .password("")
+                    .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.ROLE_INFORMATION_TEMPLATE)+".xlsx")
+                    // 导出的模版不需要创建时间这个列
+                    .excludeColumnFieldNames(List.of("createTime"))
+                    .converters(null)
+                    .writeHandlers(writeHandlers)
+                    .head(AuthRolePO.class)
+                    .dataList(null)
+                    .build();
+            winterExcelTemplate.export(builder);
+        });
     }
 
     @Override
@@ -382,24 +461,19 @@ public class AuthRoleRepositoryImpl implements AuthRoleRepository {
         // ====================== 7. 构建校验逻辑错误 Sheet（支持国际化） ======================
         if (!ObjectUtils.isEmpty(errorList)) {
 
-            // 对校验错误信息进行国际化处理
+            // 对校验错误信息进行国际化处理：国际化 key 格式为 {xxx}，先收集再一次批量解析
+            Set<String> errorKeySet = errorList.stream()
+                    .map(WinterExcelValidateErrorModel::getMessage)
+                    .filter(message -> message != null && message.startsWith("{") && message.endsWith("}"))
+                    .map(message -> message.substring(1, message.length() - 1))
+                    .collect(Collectors.toSet());
+            Map<String, String> errorMessageMap = remoteI18nMessageRepository.getMessages(errorKeySet, LocaleContextHolder.getLocale());
             errorList.forEach(error -> {
                 String message = error.getMessage();
-                StringBuilder stringBuilder = new StringBuilder();
-
-                // 判断是否为国际化 key 格式：{xxx}
                 if (message != null && message.startsWith("{") && message.endsWith("}")) {
-                    String messageKey = message.substring(1, message.length() - 1);
-                    try {
-                        stringBuilder.append(winterI18nTemplate.message(messageKey, new Object[]{}, message));
-                    } catch (Exception ex) {
-                        // 国际化失败，使用原始消息
-                        stringBuilder.append(message);
-                    }
-                } else {
-                    stringBuilder.append(message);
+                    // 国际化失败，使用原始消息
+                    error.setMessage(errorMessageMap.getOrDefault(message.substring(1, message.length() - 1), message));
                 }
-                error.setMessage(stringBuilder.toString());
             });
 
             WinterExcelExportParam<WinterExcelValidateErrorModel> validateParam =
@@ -0,0 +1,292 @@
+package com.winter.cloud.auth.infrastructure.repository;
+
+import cn.hutool.core.collection.CollUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
+import com.winter.cloud.auth.domain.model.entity.OnlineSessionDO;
+import com.winter.cloud.auth.domain.repository.AuthSessionRepository;
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ObjectUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 登录会话仓储实现（Redis）
+ * <p>
+ * 会话值仍为 ValidateTokenDTO 的 JSON 字符串，键为 {@link CommonConstants#buildUserCacheKey(String)}，
+ * 与网关及各服务 TokenValidConfig 的读取方式保持一致；
+ * 使用与 WinterRedisTemplate 相同序列化方式的 RedisTemplate，以便在一次管道中完成多条写命令。
+ * </p>
+ * <p>
+ * 在线索引 {@link CommonConstants.Redis#ONLINE_SESSION} 与网关共用，成员为纯文本用户ID，统一通过 StringRedisTemplate 读写；
+ * 索引中的成员可能晚于会话过期才被清理，列表查询时顺带移除会话已不存在的成员。
+ * </p>
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class AuthSessionRepositoryImpl implements AuthSessionRepository {
+    private static final long RENEWED_USER_CACHE_MAX_SIZE = 100_000L;
+
+    /**
+     * 在线用户分页每页最大条数
+     */
+    private static final int ONLINE_PAGE_MAX_SIZE = 100;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 本实例内最近一个续期间隔内已续期的用户，用于限制续期频率；条目写入后经过续期间隔自动过期，
+     * 同时限制最大条目数，长时间运行也不会随用户数无限增长（被淘汰的用户只会多续期一次）
+     */
+    private final Cache<Long, Boolean> renewedUserCache = Caffeine.newBuilder()
+            .expireAfterWrite(CommonConstants.Redis.SESSION_RENEW_INTERVAL, TimeUnit.MILLISECONDS)
+            .maximumSize(RENEWED_USER_CACHE_MAX_SIZE)
+            .build();
+
+    @Override
+    public void save(String token, ValidateTokenDTO session) {
+        saveBatch(Map.of(token, session));
+    }
+
+    @Override
+    public void saveBatch(Map<String, ValidateTokenDTO> sessionMap) {
+        if (CollUtil.isEmpty(sessionMap)) {
+            return;
+        }
+        Map<String, String> valueMap = new HashMap<>(sessionMap.size());
+        sessionMap.forEach((token, session) -> {
+            try {
+                valueMap.put(token, objectMapper.writeValueAsString(session));
+            } catch (JsonProcessingException e) {
+                throw new BusinessException(ResultCodeEnum.FAIL.getCode(), "会话序列化失败");
+            }
+        });
+        // 一次管道写入：会话内容 + token 索引，两者过期时间一致
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                sessionMap.forEach((token, session) -> {
+                    String userId = String.valueOf(session.getUserId());
+                    String tokenKey = CommonConstants.buildUserTokenKey(userId);
+                    ops.opsForValue().set(CommonConstants.buildUserCacheKey(userId), valueMap.get(token), CommonConstants.Redis.EXPIRATION_TIME, TimeUnit.MILLISECONDS);
+                    ops.opsForSet().add(tokenKey, token);
+                    ops.expire(tokenKey, CommonConstants.Redis.EXPIRATION_TIME, TimeUnit.MILLISECONDS);
+                });
+                return null;
+            }
+        });
+        long now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> onlineTuples = new HashSet<>(sessionMap.size() * 2);
+        sessionMap.values().forEach(session -> {
+            renewedUserCache.put(session.getUserId(), Boolean.TRUE);
+            onlineTuples.add(new DefaultTypedTuple<>(String.valueOf(session.getUserId()), (double) now));
+        });
+        stringRedisTemplate.opsForZSet().add(CommonConstants.Redis.ONLINE_SESSION, onlineTuples);
+    }
+
+    @Override
+    public ValidateTokenDTO get(Long userId) {
+        String sessionKey = CommonConstants.buildUserCacheKey(String.valueOf(userId));
+        return parseSession(sessionKey, redisTemplate.opsForValue().get(sessionKey));
+    }
+
+    @Override
+    public Map<Long, ValidateTokenDTO> getBatch(Collection<Long> userIdList) {
+        if (CollUtil.isEmpty(userIdList)) {
+            return Map.of();
+        }
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(userIdList));
+        List<String> sessionKeyList = userIds.stream()
+                .map(userId -> CommonConstants.buildUserCacheKey(String.valueOf(userId)))
+                .collect(Collectors.toList());
+        List<Object> cachedDataList = redisTemplate.opsForValue().multiGet(sessionKeyList);
+        Map<Long, ValidateTokenDTO> sessionMap = new HashMap<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            ValidateTokenDTO session = parseSession(sessionKeyList.get(i), cachedDataList == null ? null : cachedDataList.get(i));
+            if (session != null) {
+                sessionMap.put(userIds.get(i), session);
+            }
+        }
+        return sessionMap;
+    }
+
+    private ValidateTokenDTO parseSession(String sessionKey, Object cachedData) {
+        if (ObjectUtils.isEmpty(cachedData)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cachedData.toString(), ValidateTokenDTO.class);
+        } catch (JsonProcessingException e) {
+            // 缓存脏数据，删除并返回空
+            log.warn("会话反序列化失败，删除脏数据，key: {}", sessionKey, e);
+            redisTemplate.delete(sessionKey);
+            return null;
+        }
+    }
+
+    @Override
+    public void renew(Long userId) {
+        if (renewedUserCache.asMap().putIfAbsent(userId, Boolean.TRUE) != null) {
+            return;
+        }
+        String sessionKey = CommonConstants.buildUserCacheKey(String.valueOf(userId));
+        String tokenKey = CommonConstants.buildUserTokenKey(String.valueOf(userId));
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.expire(sessionKey, CommonConstants.Redis.EXPIRATION_TIME, TimeUnit.MILLISECONDS);
+                ops.expire(tokenKey, CommonConstants.Redis.EXPIRATION_TIME, TimeUnit.MILLISECONDS);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long userId) {
+        kickOut(List.of(userId));
+    }
+
+    @Override
+    public boolean isTokenActive(Long userId, String token) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(
+                CommonConstants.buildUserTokenKey(String.valueOf(userId)), token));
+    }
+
+    @Override
+    public Set<String> filterActiveTokens(Map<String, Long> tokenUserIdMap) {
+        if (CollUtil.isEmpty(tokenUserIdMap)) {
+            return Set.of();
+        }
+        List<String> tokenList = new ArrayList<>(tokenUserIdMap.keySet());
+        List<Object> memberList = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                tokenList.forEach(token -> ops.opsForSet().isMember(
+                        CommonConstants.buildUserTokenKey(String.valueOf(tokenUserIdMap.get(token))), token));
+                return null;
+            }
+        });
+        Set<String> activeTokenSet = new HashSet<>(tokenList.size() * 2);
+        for (int i = 0; i < tokenList.size(); i++) {
+            if (Boolean.TRUE.equals(memberList.get(i))) {
+                activeTokenSet.add(tokenList.get(i));
+            }
+        }
+        return activeTokenSet;
+    }
+
+    @Override
+    public PageDTO<OnlineSessionDO> onlinePage(int pageNum, int pageSize) {
+        // pageSize 为 0 时 ZREVRANGE 的区间会变成 0 ~ -1，返回整个在线索引
+        int size = Math.min(Math.max(pageSize, 1), ONLINE_PAGE_MAX_SIZE);
+        Long total = stringRedisTemplate.opsForZSet().zCard(CommonConstants.Redis.ONLINE_SESSION);
+        long start = (long) (Math.max(pageNum, 1) - 1) * size;
+        Set<ZSetOperations.TypedTuple<String>> tupleSet = stringRedisTemplate.opsForZSet().reverseRangeWithScores(
+                CommonConstants.Redis.ONLINE_SESSION, start, start + size - 1);
+        if (CollUtil.isEmpty(tupleSet)) {
+            return new PageDTO<>(List.of(), total);
+        }
+        List<ZSetOperations.TypedTuple<String>> tupleList = new ArrayList<>(tupleSet);
+        // 一次管道读取本页用户的会话与在线 token 数
+        List<Object> resultList = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                tupleList.forEach(tuple -> {
+                    ops.opsForValue().get(CommonConstants.buildUserCacheKey(tuple.getValue()));
+                    ops.opsForSet().size(CommonConstants.buildUserTokenKey(tuple.getValue()));
+                });
+                return null;
+            }
+        });
+        List<OnlineSessionDO> recordList = new ArrayList<>(tupleList.size());
+        List<String> expiredMemberList = new ArrayList<>();
+        for (int i = 0; i < tupleList.size(); i++) {
+            ZSetOperations.TypedTuple<String> tuple = tupleList.get(i);
+            ValidateTokenDTO session = parseSession(CommonConstants.buildUserCacheKey(tuple.getValue()), resultList.get(i * 2));
+            if (session == null) {
+                expiredMemberList.add(tuple.getValue());
+                continue;
+            }
+            recordList.add(OnlineSessionDO.builder()
+                    .userId(session.getUserId())
+                    .userName(session.getUserName())
+                    .lastActiveTime(tuple.getScore() == null ? null : LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(tuple.getScore().longValue()), ZoneId.systemDefault()))
+                    .tokenCount((Long) resultList.get(i * 2 + 1))
+                    .build());
+        }
+        if (!expiredMemberList.isEmpty()) {
+            // 会话已过期的成员顺带清理，本页的总数按清理后计算
+            stringRedisTemplate.opsForZSet().remove(CommonConstants.Redis.ONLINE_SESSION, expiredMemberList.toArray());
+            total = total == null ? null : total - expiredMemberList.size();
+        }
+        return new PageDTO<>(recordList, total);
+    }
+
+    @Override
+    public void kickOut(Collection<Long> userIdList) {
+        if (CollUtil.isEmpty(userIdList)) {
+            return;
+        }
+        Set<Long> userIdSet = new LinkedHashSet<>(userIdList);
+        List<String> keyList = new ArrayList<>(userIdSet.size() * 2);
+        List<String> memberList = new ArrayList<>(userIdSet.size());
+        for (Long userId : userIdSet) {
+            String member = String.valueOf(userId);
+            keyList.add(CommonConstants.buildUserCacheKey(member));
+            keyList.add(CommonConstants.buildUserTokenKey(member));
+            memberList.add(member);
+        }
+        // 一次管道：删除会话与 token 索引（token 随之失效），并移出在线索引
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.delete(keyList);
+                ops.opsForZSet().remove(CommonConstants.Redis.ONLINE_SESSION, memberList.toArray());
+                return null;
+            }
+        });
+        renewedUserCache.invalidateAll(userIdSet);
+    }
+}
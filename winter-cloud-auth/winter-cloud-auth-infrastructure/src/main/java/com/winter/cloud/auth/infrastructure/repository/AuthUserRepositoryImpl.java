@@ -1,14 +1,17 @@
 package com.winter.cloud.auth.infrastructure.repository;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.map.MapBuilder;
 import cn.hutool.core.util.ObjectUtil;
+import cn.idev.excel.ExcelWriter;
 import cn.idev.excel.FastExcel;
 import cn.idev.excel.support.ExcelTypeEnum;
 import cn.idev.excel.write.handler.WriteHandler;
+import cn.idev.excel.write.metadata.WriteSheet;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -22,16 +25,23 @@ import com.winter.cloud.auth.domain.model.entity.AuthUserDO;
 import com.winter.cloud.auth.domain.repository.AuthUserRepository;
 import com.winter.cloud.auth.infrastructure.assembler.AuthUserInfraAssembler;
 import com.winter.cloud.auth.infrastructure.entity.*;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserDeptMapper;
 import com.winter.cloud.auth.infrastructure.mapper.AuthUserMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserRoleMapper;
+import com.winter.cloud.auth.infrastructure.service.IAuthDeptMPService;
 import com.winter.cloud.auth.infrastructure.service.IAuthPostMPService;
+import com.winter.cloud.auth.infrastructure.service.IAuthRoleMPService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserDeptMpService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserMpService;
 import com.winter.cloud.auth.infrastructure.service.IAuthUserRoleMpService;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageCursor;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
+import com.winter.cloud.common.util.SetDiff;
 import com.winter.cloud.dict.api.dto.command.DictCommand;
 import com.winter.cloud.dict.api.dto.response.DictDataDTO;
 import com.winter.cloud.dict.api.facade.DictFacade;
@@ -51,6 +61,8 @@ import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -60,7 +72,10 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Validator;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.winter.cloud.common.enums.ResultCodeEnum.DUPLICATE_KEY;
@@ -75,8 +90,13 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
     private final IAuthUserDeptMpService authUserDeptMpService;
     private final IAuthPostMPService authPostMpService;
     private final AuthUserMapper authUserMapper;
+    private final AuthUserRoleMapper authUserRoleMapper;
+    private final AuthUserDeptMapper authUserDeptMapper;
+    private final IAuthRoleMPService authRoleMpService;
+    private final IAuthDeptMPService authDeptMpService;
     private final AuthUserInfraAssembler authUserInfraAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
+    private final RemoteI18nMessageRepositoryImpl remoteI18nMessageRepository;
     private final WinterExcelTemplate winterExcelTemplate;
     private final WinterRedisTemplate winterRedisTemplate;
     private final ObjectMapper objectMapper;
@@ -84,6 +104,40 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
     @DubboReference(check = false)
     private DictFacade dictFacade;
     private final TransactionTemplate transactionTemplate;
+    private final ExcelTemplateRegistry excelTemplateRegistry;
+    private final MetaObjectHandler metaObjectHandler;
+
+    /**
+     * 用户导出的多级表头，列顺序与 toUserExportRows 一致，只构建一次
+     */
+    private static final List<List<String>> USER_EXPORT_HEAD = List.of(
+            List.of("用户信息", "用户名称"),
+            List.of("用户信息", "用户昵称"),
+            List.of("用户信息", "用户邮箱"),
+            List.of("用户信息", "手机号码"),
+            List.of("用户信息", "性别"),
+            List.of("用户信息", "头像地址"),
+            List.of("用户信息", "用户密码"),
+            List.of("用户信息", "用户状态"),
+            List.of("用户信息", "用户备注"),
+            List.of("用户信息", "职位名称"),
+            List.of("用户信息", "部门名称"),
+            List.of("用户信息", "角色名称"));
+
+    /**
+     * 流式导出时每批读取的用户数量
+     */
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    /**
+     * 导入时每批处理的用户数量（每批预加载一次唯一性数据、提交一次事务）
+     */
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    /**
+     * 用户键集分页的排序标识（与 selectUserListBefore 的 ORDER BY 一致）
+     */
+    private static final String USER_KEYSET_SORT = "create_time desc,id desc";
 
     @Override
     public AuthUserDO findById(Long id) {
@@ -138,14 +192,42 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
 
     @Override
     public PageDTO<AuthUserDO> userPage(UserQuery userQuery) {
-        // 1. 构建分页对象
-        Page<AuthUserPO> page = new Page<>(userQuery.getPageNum(), userQuery.getPageSize());
+        if (userQuery.keysetMode()) {
+            return userKeysetPage(userQuery);
+        }
+        // 1. 构建分页对象（可关闭 COUNT）
+        boolean searchCount = !Boolean.FALSE.equals(userQuery.getSearchCount());
+        Page<AuthUserPO> page = new Page<>(userQuery.getPageNum(), userQuery.getPageSize(), searchCount);
 
         // 2. 调用 Mapper 执行自定义的复杂 SQL 查询
         // 注意：这里不能简单使用 MyBatis-Plus 的 Wrapper，因为涉及"同时拥有多个角色/部门"的 HAVING 逻辑
         IPage<AuthUserPO> userPage = authUserMapper.selectUserPage(page, userQuery);
         List<AuthUserDO> doList = authUserInfraAssembler.toDOList(userPage.getRecords());
-        return new PageDTO<>(doList, userPage.getTotal());
+        return new PageDTO<>(doList, searchCount ? userPage.getTotal() : null);
+    }
+
+    /**
+     * 键集分页：按 (create_time, id) 倒序定位下一页，总数只在第一页统计一次并随游标传递
+     */
+    private PageDTO<AuthUserDO> userKeysetPage(UserQuery userQuery) {
+        String filter = PageCursor.fingerprint(userQuery.getUserName(), userQuery.getNickName(), userQuery.getPhone(),
+                userQuery.getEmail(), userQuery.getSex(), userQuery.getStatus(), userQuery.getPostId(),
+                userQuery.getRoleIds(), userQuery.getDeptIds());
+        PageCursor cursor = PageCursor.decode(userQuery.getCursor(), USER_KEYSET_SORT, filter);
+        int pageSize = userQuery.getPageSize();
+        Long total;
+        if (cursor != null) {
+            total = cursor.getTotal();
+        } else {
+            total = Boolean.FALSE.equals(userQuery.getSearchCount()) ? null : authUserMapper.selectUserCount(userQuery);
+        }
+        List<AuthUserPO> rows = authUserMapper.selectUserListBefore(userQuery,
+                cursor == null ? null : cursor.valueAsDateTime(),
+                cursor == null ? null : cursor.getId(),
+                pageSize + 1);
+        PageDTO<AuthUserPO> poPage = PageCursor.page(rows, pageSize, USER_KEYSET_SORT, filter, total,
+                po -> String.valueOf(po.getCreateTime()), AuthUserPO::getId);
+        return poPage.withRecords(authUserInfraAssembler.toDOList(poPage.getRecords()));
     }
 
 
@@ -202,8 +284,8 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
      * 该方法是一个完整的事务方法，包含以下操作：
      * 1. 检查用户信息是否重复（用户名、手机号、邮箱）
      * 2. 更新用户基本信息
-     * 3. 重新维护用户角色关联关系（先删后增）
-     * 4. 重新维护用户部门关联关系（先删后增）
+     * 3. 按差异维护用户角色关联关系（只删除取消的、只插入新增的）
+     * 4. 按差异维护用户部门关联关系
      *
      * @param aDo 用户领域实体，包含更新后的用户信息
      * @return 更新成功返回 true
@@ -243,70 +325,51 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
 
         /**
          * 步骤3：维护用户角色关联关系
-         * 采用"先删后增"的策略：
-         * 1. 先删除该用户的所有现有角色关联
-         * 2. 再批量插入新的角色关联
-         *
-         * 这种方式的优点：
-         * - 实现简单，不需要对比差异
-         * - 可以处理角色被全部取消的情况
+         * 采用"按差异增删"的策略：
+         * 1. 查询该用户现有的角色ID，与目标角色ID求差集
+         * 2. 只删除被取消的角色（一条多行 DELETE），只插入新增的角色（一条多行 INSERT）
          *
-         * 缺点：
-         * - 如果角色很多，删除和插入操作会有一定性能开销
-         * - 如果中间步骤失败，需要注意事务回滚
+         * 角色未变化时不产生任何写操作，避免每次保存都重写关联表带来的索引与日志开销；
+         * 用户行已在步骤2中被 UPDATE 锁定，同一用户的并发更新在此串行，差异计算不会互相覆盖
          */
         Long userId = authUserPO.getId();
-
-        // 3.1 删除用户角色关联
-        // 使用 MyBatis-Plus 的 LambdaQueryWrapper 构建删除条件
-        authUserRoleMpService.remove(new LambdaQueryWrapper<AuthUserRolePO>().eq(AuthUserRolePO::getUserId, userId));
-
-        // 3.2 构建角色关联实体列表
-        // 使用 Optional 处理可能的 null 情况，优雅地处理空列表
-        List<AuthUserRolePO> roleList =
-                Optional.ofNullable(aDo.getRoleIds())
-                        .orElse(List.of())  // 如果 roleIds 为 null，则使用空列表
-                        .stream()
-                        .map(item -> AuthUserRolePO.builder()
-                                .userId(userId)     // 设置用户ID
-                                .roleId(item)       // 设置角色ID
-                                .build())
-                        .collect(Collectors.toList());
-
-        // 3.3 批量保存角色关联
-        // 只有当角色列表不为空时才执行保存操作
-        boolean b = authUserRoleMpService.saveBatch(roleList);
-        if (!roleList.isEmpty() && !b) {
-            throw new BusinessException(FAIL.getCode(), winterI18nTemplate.message(CommonConstants.I18nKey.USER_ROLE_UPDATE_FAILED));
-        }
+        List<Long> currentRoleIds = authUserRoleMpService.list(new LambdaQueryWrapper<AuthUserRolePO>()
+                        .select(AuthUserRolePO::getRoleId)
+                        .eq(AuthUserRolePO::getUserId, userId))
+                .stream().map(AuthUserRolePO::getRoleId).collect(Collectors.toList());
+        SetDiff.of(currentRoleIds, aDo.getRoleIds()).apply(
+                removed -> authUserRoleMpService.remove(new LambdaQueryWrapper<AuthUserRolePO>()
+                        .eq(AuthUserRolePO::getUserId, userId)
+                        .in(AuthUserRolePO::getRoleId, removed)),
+                added -> {
+                    List<AuthUserRolePO> roleList = added.stream()
+                            .map(roleId -> AuthUserRolePO.builder().userId(userId).roleId(roleId).build())
+                            .collect(Collectors.toList());
+                    if (authUserRoleMapper.insertBatch(roleList) != roleList.size()) {
+                        throw new BusinessException(FAIL.getCode(), winterI18nTemplate.message(CommonConstants.I18nKey.USER_ROLE_UPDATE_FAILED));
+                    }
+                });
 
         /**
          * 步骤4：维护用户部门关联关系
-         * 与步骤3相同的"先删后增"策略：
-         * 1. 先删除该用户的所有现有部门关联
-         * 2. 再批量插入新的部门关联
-         *
-         * 注意：用户角色和用户部门是两个独立的关联表，需要分别维护
+         * 与步骤3相同的"按差异增删"策略，用户角色和用户部门是两个独立的关联表，需要分别维护
          */
-        // 4.1 删除用户部门关联
-        authUserDeptMpService.remove(new LambdaQueryWrapper<AuthUserDeptPO>().eq(AuthUserDeptPO::getUserId, userId));
-
-        // 4.2 构建部门关联实体列表
-        List<AuthUserDeptPO> deptList =
-                Optional.ofNullable(aDo.getDeptIds())
-                        .orElse(List.of())  // 如果 deptIds 为 null，则使用空列表
-                        .stream()
-                        .map(item -> AuthUserDeptPO.builder()
-                                .userId(userId)   // 设置用户ID
-                                .deptId(item)     // 设置部门ID
-                                .build())
-                        .collect(Collectors.toList());
-
-        // 4.3 批量保存部门关联
-        boolean c = authUserDeptMpService.saveBatch(deptList);
-        if (!deptList.isEmpty() && !c) {
-            throw new BusinessException(FAIL.getCode(), winterI18nTemplate.message(CommonConstants.I18nKey.USER_DEPT_UPDATE_FAILED));
-        }
+        List<Long> currentDeptIds = authUserDeptMpService.list(new LambdaQueryWrapper<AuthUserDeptPO>()
+                        .select(AuthUserDeptPO::getDeptId)
+                        .eq(AuthUserDeptPO::getUserId, userId))
+                .stream().map(AuthUserDeptPO::getDeptId).collect(Collectors.toList());
+        SetDiff.of(currentDeptIds, aDo.getDeptIds()).apply(
+                removed -> authUserDeptMpService.remove(new LambdaQueryWrapper<AuthUserDeptPO>()
+                        .eq(AuthUserDeptPO::getUserId, userId)
+                        .in(AuthUserDeptPO::getDeptId, removed)),
+                added -> {
+                    List<AuthUserDeptPO> deptList = added.stream()
+                            .map(deptId -> AuthUserDeptPO.builder().userId(userId).deptId(deptId).build())
+                            .collect(Collectors.toList());
+                    if (authUserDeptMapper.insertBatch(deptList) != deptList.size()) {
+                        throw new BusinessException(FAIL.getCode(), winterI18nTemplate.message(CommonConstants.I18nKey.USER_DEPT_UPDATE_FAILED));
+                    }
+                });
 
         /**
          * 返回更新成功标识
@@ -378,36 +441,39 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
     @Override
     public void userExportExcelTemplate(HttpServletResponse response) {
         String[] postArr = authPostMpService.list(new LambdaQueryWrapper<AuthPostPO>().select(AuthPostPO::getPostName)).stream().map(AuthPostPO::getPostName).toArray(String[]::new);
-        Map<Integer, WinterExcelSelectedModel> selectedModelHashMap = new HashMap<>();
-        selectedModelHashMap.put(9, WinterExcelSelectedModel
-                .builder()
-                .firstRow(2)
-                .lastRow(5000)
-                .source(postArr)
-                .build());
-
-        ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
-
-        // 自定义职位下拉框数据，因为不是单独的字典数据
-        CustomSelectHandler customSelectHandler = new CustomSelectHandler(selectedModelHashMap);
-        // 自定义样式处理器
-        CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
-        writeHandlers.add(cellStyleSheetWriteHandler);
-        writeHandlers.add(customSelectHandler);
-        writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
-        WinterExcelExportParam<AuthUserPO> builder = WinterExcelExportParam.<AuthUserPO>builder()
-                .response(response)
-                .batchSize(1000)
-                .password("")
-                .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFORMATION_TEMPLATE) + ".xlsx")
-                // 导出的模版不需要创建时间这个列
-                .excludeColumnFieldNames(List.of("createTime"))
-                .converters(null)
-                .writeHandlers(writeHandlers)
-                .head(AuthUserPO.class)
-                .dataList(null)
-                .build();
-        winterExcelTemplate.export(builder);
+        // 职位下拉框不是字典数据，以职位名称列表的摘要作为附加版本，职位变化后重新生成模板
+        excelTemplateRegistry.export(response, "userTemplate", AuthUserPO.class, String.valueOf(Arrays.hashCode(postArr)), templateResponse -> {
+            Map<Integer, WinterExcelSelectedModel> selectedModelHashMap = new HashMap<>();
+            selectedModelHashMap.put(9, WinterExcelSelectedModel
+                    .builder()
+                    .firstRow(2)
+                    .lastRow(5000)
+                    .source(postArr)
+                    .build());
+
+            ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
+
+            // 自定义职位下拉框数据，因为不是单独的字典数据
+            CustomSelectHandler customSelectHandler = new CustomSelectHandler(selectedModelHashMap);
+            // 自定义样式处理器
+            CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
+            writeHandlers.add(cellStyleSheetWriteHandler);
+            writeHandlers.add(customSelectHandler);
+            writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
+            WinterExcelExportParam<AuthUserPO> builder = WinterExcelExportParam.<AuthUserPO>builder()
+                    .response(templateResponse)
+                    .batchSize(1000)
+                    .password("")
+                    .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFORMATION_TEMPLATE) + ".xlsx")
+                    // 导出的模版不需要创建时间这个列
+                    .excludeColumnFieldNames(List.of("createTime"))
+                    .converters(null)
+                    .writeHandlers(writeHandlers)
+                    .head(AuthUserPO.class)
+                    .dataList(null)
+                    .build();
+            winterExcelTemplate.export(builder);
+        });
     }
 
     @Override
@@ -417,6 +483,8 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
         Map<String, String> sexMap = dictCache("1", false);
 
         Map<String, Long> postMap = authPostMpService.list(new LambdaQueryWrapper<AuthPostPO>().select(AuthPostPO::getPostName, AuthPostPO::getId)).stream().collect(Collectors.toMap(AuthPostPO::getPostName, AuthPostPO::getId));
+        Map<String, Long> roleMap = authRoleMpService.list(new LambdaQueryWrapper<AuthRolePO>().select(AuthRolePO::getRoleName, AuthRolePO::getId)).stream().collect(Collectors.toMap(AuthRolePO::getRoleName, AuthRolePO::getId, (oldVal, newVal) -> oldVal));
+        Map<String, Long> deptMap = authDeptMpService.list(new LambdaQueryWrapper<AuthDeptPO>().select(AuthDeptPO::getDeptName, AuthDeptPO::getId)).stream().collect(Collectors.toMap(AuthDeptPO::getDeptName, AuthDeptPO::getId, (oldVal, newVal) -> oldVal));
         // Excel 多 Sheet 导出参数集合
         List<WinterExcelExportParam<?>> excelExportParamList = new ArrayList<>();
 
@@ -424,13 +492,18 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
         List<WinterExcelBusinessErrorModel> winterExcelBusinessErrorModelList = new ArrayList<>();
 
         WinterAnalysisValidReadListener<AuthUserPO> analysisValidReadListener =
-                new WinterAnalysisValidReadListener<>(1000, (item) -> {
+                new WinterAnalysisValidReadListener<>(IMPORT_BATCH_SIZE, (item) -> {
                     // ====================== 3. 处理每一批校验通过的数据 ======================
+                    // 3.1 字典映射：将 Excel 中的字典值/名称转换为系统内部值
+                    List<AuthUserPO> mappedList = new ArrayList<>(item.size());
+                    Map<AuthUserPO, List<Long>> userRoleIdMap = new IdentityHashMap<>();
+                    Map<AuthUserPO, List<Long>> userDeptIdMap = new IdentityHashMap<>();
                     for (AuthUserPO authUserPO : item) {
-                        // 将 Excel 中的字典值转换为系统内部值
                         String statusOrDefault = statusMap.getOrDefault(authUserPO.getStatus(), "");
                         String sexOrDefault = sexMap.getOrDefault(authUserPO.getSex(), "");
                         Long postOrDefault = postMap.getOrDefault(authUserPO.getPostName(), null);
+                        List<Long> roleIdList = mapNamesToIds(authUserPO.getRoleName(), roleMap);
+                        List<Long> deptIdList = mapNamesToIds(authUserPO.getDeptName(), deptMap);
                         List<String> errMsgList = new ArrayList<>();
                         if (ObjectUtil.isEmpty(sexOrDefault)) {
                             errMsgList.add(winterI18nTemplate.message(CommonConstants.I18nKey.SEX_DICT_MAPPING_ERROR));
@@ -441,68 +514,69 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
                         if (ObjectUtil.isEmpty(postOrDefault)) {
                             errMsgList.add(winterI18nTemplate.message(CommonConstants.I18nKey.POST_DICT_MAPPING_ERROR));
                         }
+                        if (roleIdList == null) {
+                            errMsgList.add(winterI18nTemplate.message(CommonConstants.I18nKey.ROLE_DICT_MAPPING_ERROR));
+                        }
+                        if (deptIdList == null) {
+                            errMsgList.add(winterI18nTemplate.message(CommonConstants.I18nKey.DEPT_DICT_MAPPING_ERROR));
+                        }
                         if (!ObjectUtil.isEmpty(errMsgList)) {
-                            String jsonStr = null;
-                            try {
-                                jsonStr = objectMapper.writeValueAsString(authUserPO);
-                            } catch (JsonProcessingException e) {
-                                throw new RuntimeException(e);
-                            }
-                            WinterExcelBusinessErrorModel errorModel =
-                                    WinterExcelBusinessErrorModel.builder()
-                                            .errorMessage(String.join(";", errMsgList))
-                                            .entityRowInfo(jsonStr)
-                                            .build();
-
-                            winterExcelBusinessErrorModelList.add(errorModel);
+                            winterExcelBusinessErrorModelList.add(toBusinessErrorModel(authUserPO, String.join(";", errMsgList)));
                         } else {
                             authUserPO.setStatus(statusOrDefault);
                             authUserPO.setSex(sexOrDefault);
                             authUserPO.setPostId(postOrDefault);
-                            // 校验是否已存在（唯一性校验）
-                            boolean hasDuplicate = hasDuplicateUser(
-                                    UserRegisterCommand.builder()
-                                            .email(authUserPO.getEmail())
-                                            .sex(authUserPO.getSex())
-                                            .userName(authUserPO.getUserName())
-                                            .password(authUserPO.getPassword())
-                                            .nickName(authUserPO.getNickName())
-                                            .phone(authUserPO.getPhone())
-                                            .id(authUserPO.getId())
-                                            .build());
-
-                            if (hasDuplicate) {
-                                // ====================== 3.1 业务唯一性校验失败 ======================
-                                try {
-                                    // 将当前行数据序列化，方便导出错误信息
-                                    String jsonStr = objectMapper.writeValueAsString(authUserPO);
-                                    WinterExcelBusinessErrorModel errorModel =
-                                            WinterExcelBusinessErrorModel.builder()
-                                                    .errorMessage(winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFO_DUPLICATED))
-                                                    .entityRowInfo(jsonStr)
-                                                    .build();
-
-                                    winterExcelBusinessErrorModelList.add(errorModel);
-                                } catch (JsonProcessingException e) {
-                                    throw new RuntimeException(e);
-                                }
-
-                            } else {
-                                // ====================== 3.2 业务校验通过，执行入库 ======================
-                                /*
-                                 * 注意：
-                                 * 这里必须逐条插入，不能批量插入
-                                 * 原因：批量插入无法校验“当前批次内部”是否存在重复数据
-                                 */
-                                Boolean dbSuccess = transactionTemplate.execute(status -> {
-                                    // 保存国际化消息
-                                    String encryptedPwd = CryptoUtil.winterMd5Hex16(authUserPO.getPassword());
-                                    authUserPO.setPassword(encryptedPwd);
-                                    return authUserMpService.save(authUserPO);
-                                });
-                            }
+                            userRoleIdMap.put(authUserPO, roleIdList);
+                            userDeptIdMap.put(authUserPO, deptIdList);
+                            mappedList.add(authUserPO);
+                        }
+                    }
+                    if (mappedList.isEmpty()) {
+                        return;
+                    }
+
+                    // 3.2 唯一性校验：整批只查三次库，把已存在的用户名/邮箱/手机号预加载到哈希集合中，
+                    // 校验通过的行也会加入集合，从而同时拦截“当前批次内部”的重复数据
+                    Set<String> existUserNameSet = selectExistValues(AuthUserPO::getUserName, mappedList);
+                    Set<String> existEmailSet = selectExistValues(AuthUserPO::getEmail, mappedList);
+                    Set<String> existPhoneSet = selectExistValues(AuthUserPO::getPhone, mappedList);
+                    List<AuthUserPO> insertList = new ArrayList<>(mappedList.size());
+                    for (AuthUserPO authUserPO : mappedList) {
+                        if (existUserNameSet.contains(authUserPO.getUserName())
+                            || existEmailSet.contains(authUserPO.getEmail())
+                            || existPhoneSet.contains(authUserPO.getPhone())) {
+                            winterExcelBusinessErrorModelList.add(toBusinessErrorModel(authUserPO, winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFO_DUPLICATED)));
+                            continue;
                         }
+                        existUserNameSet.add(authUserPO.getUserName());
+                        existEmailSet.add(authUserPO.getEmail());
+                        existPhoneSet.add(authUserPO.getPhone());
+                        authUserPO.setPassword(CryptoUtil.winterMd5Hex16(authUserPO.getPassword()));
+                        // 手写的多行 INSERT 不经过 MyBatis-Plus 自动填充，这里按同一个处理器填充创建/更新人和时间
+                        metaObjectHandler.insertFill(SystemMetaObject.forObject(authUserPO));
+                        insertList.add(authUserPO);
+                    }
+                    if (insertList.isEmpty()) {
+                        return;
                     }
+
+                    // ====================== 3.3 业务校验通过，整批入库 ======================
+                    // 用户、用户角色、用户部门均为多行 INSERT，且在同一个事务中提交
+                    transactionTemplate.executeWithoutResult(status -> {
+                        authUserMapper.insertBatch(insertList);
+                        List<AuthUserRolePO> userRoleList = new ArrayList<>();
+                        List<AuthUserDeptPO> userDeptList = new ArrayList<>();
+                        for (AuthUserPO authUserPO : insertList) {
+                            userRoleIdMap.get(authUserPO).forEach(roleId -> userRoleList.add(AuthUserRolePO.builder().userId(authUserPO.getId()).roleId(roleId).build()));
+                            userDeptIdMap.get(authUserPO).forEach(deptId -> userDeptList.add(AuthUserDeptPO.builder().userId(authUserPO.getId()).deptId(deptId).build()));
+                        }
+                        if (!userRoleList.isEmpty()) {
+                            authUserRoleMapper.insertBatch(userRoleList);
+                        }
+                        if (!userDeptList.isEmpty()) {
+                            authUserDeptMapper.insertBatch(userDeptList);
+                        }
+                    });
                 }, fastFalseValidator, CollUtil.toList(AuthUserPO.Import.class));
 
         // ====================== 4. 执行 Excel 读取 ======================
@@ -536,24 +610,19 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
         // ====================== 7. 构建校验逻辑错误 Sheet（支持国际化） ======================
         if (!ObjectUtils.isEmpty(errorList)) {
 
-            // 对校验错误信息进行国际化处理
+            // 对校验错误信息进行国际化处理：国际化 key 格式为 {xxx}，先收集再一次批量解析
+            Set<String> errorKeySet = errorList.stream()
+                    .map(WinterExcelValidateErrorModel::getMessage)
+                    .filter(message -> message != null && message.startsWith("{") && message.endsWith("}"))
+                    .map(message -> message.substring(1, message.length() - 1))
+                    .collect(Collectors.toSet());
+            Map<String, String> errorMessageMap = remoteI18nMessageRepository.getMessages(errorKeySet, LocaleContextHolder.getLocale());
             errorList.forEach(error -> {
                 String message = error.getMessage();
-                StringBuilder stringBuilder = new StringBuilder();
-
-                // 判断是否为国际化 key 格式：{xxx}
                 if (message != null && message.startsWith("{") && message.endsWith("}")) {
-                    String messageKey = message.substring(1, message.length() - 1);
-                    try {
-                        stringBuilder.append(winterI18nTemplate.message(messageKey, new Object[]{}, message));
-                    } catch (Exception ex) {
-                        // 国际化失败，使用原始消息
-                        stringBuilder.append(message);
-                    }
-                } else {
-                    stringBuilder.append(message);
+                    // 国际化失败，使用原始消息
+                    error.setMessage(errorMessageMap.getOrDefault(message.substring(1, message.length() - 1), message));
                 }
-                error.setMessage(stringBuilder.toString());
             });
 
             WinterExcelExportParam<WinterExcelValidateErrorModel> validateParam =
@@ -589,98 +658,163 @@ public class AuthUserRepositoryImpl implements AuthUserRepository {
 
     }
 
+    /**
+     * 将以英文逗号分隔的名称转换为ID列表
+     *
+     * @param names   名称（可为空）
+     * @param nameMap 名称 -> ID
+     * @return ID 列表；名称为空时返回空列表，存在无法映射的名称时返回 null
+     */
+    private List<Long> mapNamesToIds(String names, Map<String, Long> nameMap) {
+        if (ObjectUtil.isEmpty(names)) {
+            return List.of();
+        }
+        List<Long> idList = new ArrayList<>();
+        for (String name : names.split(CommonConstants.Delimiter.ENGLISH_COMMA)) {
+            if (name.isBlank()) {
+                continue;
+            }
+            Long id = nameMap.get(name.trim());
+            if (id == null) {
+                return null;
+            }
+            idList.add(id);
+        }
+        return idList;
+    }
+
+    /**
+     * 一次 IN 查询取出当前批次中已存在于库中的某列取值
+     *
+     * @param column   用户名 / 邮箱 / 手机号列
+     * @param userList 当前批次用户
+     * @return 已存在的取值集合（可继续写入，用于批次内去重）
+     */
+    private Set<String> selectExistValues(SFunction<AuthUserPO, String> column, List<AuthUserPO> userList) {
+        Set<String> valueSet = userList.stream().map(column).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (valueSet.isEmpty()) {
+            return new HashSet<>();
+        }
+        return authUserMpService.list(new LambdaQueryWrapper<AuthUserPO>().select(column).in(column, valueSet))
+                .stream()
+                .map(column)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * 构建导入业务错误行（当前行序列化为 JSON，方便导出错误信息）
+     *
+     * @param authUserPO   出错的行
+     * @param errorMessage 错误信息
+     * @return 业务错误模型
+     */
+    private WinterExcelBusinessErrorModel toBusinessErrorModel(AuthUserPO authUserPO, String errorMessage) {
+        try {
+            return WinterExcelBusinessErrorModel.builder()
+                    .errorMessage(errorMessage)
+                    .entityRowInfo(objectMapper.writeValueAsString(authUserPO))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 流式导出用户信息
+     * <p>
+     * 与一次性查出全部数据再导出不同，这里边读边写：
+     * <ol>
+     *   <li>exportAll 时按主键做键集分页，每批 {@link #EXPORT_BATCH_SIZE} 条；否则只读取请求的那一页</li>
+     *   <li>每批数据交给 enricher 批量填充角色、部门、岗位（每批固定 3 次 IN 查询）</li>
+     *   <li>转换为行数据后立即写入 FastExcel，写完即丢弃，堆内存只与批大小有关</li>
+     * </ol>
+     * </p>
+     *
+     * @param response  响应
+     * @param userQuery 查询条件
+     * @param enricher  每批用户的关联信息填充逻辑
+     */
     @Override
-    public void userExportExcel(HttpServletResponse response, List<UserResponseDTO> records) {
+    public void userExportExcel(HttpServletResponse response, UserQuery userQuery, Function<List<AuthUserDO>, List<UserResponseDTO>> enricher) throws IOException {
         Map<String, String> statusMap = dictCache("110", true);
         Map<String, String> sexMap = dictCache("1", true);
 
-        // 构建多级别表头
-        Map<String, List<String>> headMap = new LinkedHashMap<>();
-        headMap.put("userName", List.of("用户信息", "用户名称"));
-        headMap.put("nickName", List.of("用户信息", "用户昵称"));
-        headMap.put("email", List.of("用户信息", "用户邮箱"));
-        headMap.put("phone", List.of("用户信息", "手机号码"));
-        headMap.put("sex", List.of("用户信息", "性别"));
-        headMap.put("avatar", List.of("用户信息", "头像地址"));
-        headMap.put("password", List.of("用户信息", "用户密码"));
-        headMap.put("status", List.of("用户信息", "用户状态"));
-        headMap.put("remark", List.of("用户信息", "用户备注"));
-        headMap.put("postName", List.of("用户信息", "职位名称"));
-        headMap.put("deptName", List.of("用户信息", "部门名称"));
-        headMap.put("roleName", List.of("用户信息", "角色名称"));
-        // 构建数据
-        List<Map<String, Object>> mapDataList = records.stream()
-                .map((item) -> {
-                    String status = statusMap.getOrDefault(item.getStatus(), "");
-                    String sex = sexMap.getOrDefault(item.getSex(), "");
+
+        String fileName = winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFORMATION) + ".xlsx";
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", "attachment;filename*=utf-8''" + URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20"));
+
+        try (ExcelWriter excelWriter = FastExcel.write(response.getOutputStream())
+                .excelType(ExcelTypeEnum.XLSX)
+                .head(USER_EXPORT_HEAD)
+                // 自定义样式处理器
+                .registerWriteHandler(new CustomStyleHandler(null, null))
+                .registerWriteHandler(new CustomMatchColumnWidthStyleHandler())
+                .build()) {
+            WriteSheet writeSheet = FastExcel.writerSheet(0).build();
+
+            if (!Boolean.TRUE.equals(userQuery.getExportAll())) {
+                // 只导出当前页：沿用分页查询的排序规则，不需要 COUNT
+                Page<AuthUserPO> page = new Page<>(userQuery.getPageNum(), userQuery.getPageSize(), false);
+                List<AuthUserPO> poList = authUserMapper.selectUserPage(page, userQuery).getRecords();
+                excelWriter.write(toUserExportRows(enricher.apply(authUserInfraAssembler.toDOList(poList)), statusMap, sexMap), writeSheet);
+                return;
+            }
+
+            // 导出全部：键集分页，每次从上一批最后一个 id 之后继续读取
+            Long lastId = null;
+            while (true) {
+                List<AuthUserPO> poList = authUserMapper.selectUserListAfterId(userQuery, lastId, EXPORT_BATCH_SIZE);
+                if (poList.isEmpty()) {
+                    break;
+                }
+                excelWriter.write(toUserExportRows(enricher.apply(authUserInfraAssembler.toDOList(poList)), statusMap, sexMap), writeSheet);
+                if (poList.size() < EXPORT_BATCH_SIZE) {
+                    break;
+                }
+                lastId = poList.get(poList.size() - 1).getId();
+            }
+        }
+    }
+
+    /**
+     * 将一批用户转换为 Excel 行数据，列顺序与表头保持一致
+     *
+     * @param records   已填充关联信息的用户
+     * @param statusMap 状态字典（value -> label）
+     * @param sexMap    性别字典（value -> label）
+     * @return 行数据
+     */
+    private List<List<Object>> toUserExportRows(List<UserResponseDTO> records, Map<String, String> statusMap, Map<String, String> sexMap) {
+        return records.stream()
+                .map(item -> {
                     String postName = "";
-                    if (item.getPostDTO() != null)
+                    if (item.getPostDTO() != null) {
                         postName = item.getPostDTO().getPostName();
+                    }
                     String deptName = "";
-                    if (item.getDeptListDTO() != null)
+                    if (item.getDeptListDTO() != null) {
                         deptName = item.getDeptListDTO().stream().map(DeptResponseDTO::getDeptName).collect(Collectors.joining(","));
+                    }
                     String roleName = "";
                     if (item.getRoleListDTO() != null) {
                         roleName = item.getRoleListDTO().stream().map(RoleResponseDTO::getRoleName).collect(Collectors.joining(","));
                     }
-                    //将字符串类型的 URL 包装成 java.net.URL 对象(可选)
-//                    Object avatarValue = "";
-//                    Object bgValue = "";
-//                    if (item.getAvatar() != null && !item.getAvatar().trim().isEmpty()) {
-//                        try {
-//                            // EasyExcel 只要识别到值为 URL 类型，就会自动作为图片处理
-//                            avatarValue = new URL(item.getAvatar());
-//                        } catch (MalformedURLException e) {
-//                            // 如果 URL 格式不合法，降级导出普通字符串
-//                            avatarValue = item.getAvatar();
-//                        }
-//                    }
-//                    if (item.getBgImg() != null && !item.getBgImg().trim().isEmpty()) {
-//                        try {
-//                            // EasyExcel 只要识别到值为 URL 类型，就会自动作为图片处理
-//                            bgValue = new URL(item.getBgImg());
-//                        } catch (MalformedURLException e) {
-//                            // 如果 URL 格式不合法，降级导出普通字符串
-//                            bgValue = item.getBgImg();
-//                        }
-//                    }
-                    return MapBuilder
-                            .create(new HashMap<String, Object>())
-                            .put("userName", item.getUserName())
-                            .put("nickName", item.getNickName())
-                            .put("email", item.getEmail())
-                            .put("phone", item.getPhone())
-                            .put("password", "")
-                            .put("status", status)
-                            .put("sex", sex)
-//                            .put("avatar", avatarValue)
-//                            .put("bgImg",bgValue)
-                            .put("avatar", item.getAvatar())
-                            .put("bgImg", item.getBgImg())
-                            .put("remark", item.getRemark())
-                            .put("introduction", item.getIntroduction())
-                            .put("postName", postName)
-                            .put("deptName", deptName)
-                            .put("roleName", roleName)
-                            .map();
+                    return Arrays.<Object>asList(
+                            item.getUserName(),
+                            item.getNickName(),
+                            item.getEmail(),
+                            item.getPhone(),
+                            sexMap.getOrDefault(item.getSex(), ""),
+                            item.getAvatar(),
+                            "",
+                            statusMap.getOrDefault(item.getStatus(), ""),
+                            item.getRemark(),
+                            postName,
+                            deptName,
+                            roleName);
                 }).collect(Collectors.toList());
-        ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
-        // 自定义样式处理器
-        CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
-        writeHandlers.add(cellStyleSheetWriteHandler);
-        writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
-        WinterExcelExportParam<AuthUserPO> builder = WinterExcelExportParam.<AuthUserPO>builder()
-                .response(response)
-                .batchSize(1000)
-                .password("")
-                .fileName(winterI18nTemplate.message(CommonConstants.I18nKey.USER_INFORMATION) + ".xlsx")
-                .excludeColumnFieldNames(null)
-                .writeHandlers(writeHandlers)
-                .converters(null)
-                .headColumnMap(headMap)
-                .mapDataList(mapDataList)
-                .build();
-        winterExcelTemplate.export(builder);
     }
 
     /**
@@ -1,20 +1,27 @@
 package com.winter.cloud.auth.infrastructure.repository;
 
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.collection.ListUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
 import com.winter.cloud.auth.domain.model.entity.IconTypeDO;
-import com.winter.cloud.auth.domain.model.entity.IconValueDO;
 import com.winter.cloud.auth.domain.repository.IconRepository;
 import com.winter.cloud.auth.infrastructure.assembler.IconInfraAssembler;
 import com.winter.cloud.auth.infrastructure.entity.IconTypePO;
 import com.winter.cloud.auth.infrastructure.entity.IconValuePO;
 import com.winter.cloud.auth.infrastructure.mapper.IconValueMapper;
 import com.winter.cloud.auth.infrastructure.service.IconTypeMPService;
+import com.winter.cloud.common.enums.StatusEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -24,26 +31,65 @@ public class IconRepositoryImpl implements IconRepository {
 
     private final IconInfraAssembler iconInfraAssembler;
 
+    /**
+     * 多行 upsert / 批量禁用时每条 SQL 的最大行数
+     */
+    private static final int SYNC_BATCH_SIZE = 1000;
+
     @Override
-    public Long saveIconType(IconTypeDO iconTypeDO) {
-        IconTypePO po = iconInfraAssembler.toPO(iconTypeDO);
-        // 判断图标类型是否已存在
-        IconTypePO one = iconTypeService.getOne(new LambdaQueryWrapper<IconTypePO>().eq(IconTypePO::getPrefix, iconTypeDO.getPrefix()));
-        if (ObjectUtil.isEmpty(one)) {
-            // 不存在直接新增
-            iconTypeService.save(po);
-            return po.getId();
-        } else {
-            // 存在获取该类型的id
-            return one.getId();
+    public Map<String, IconTypeDO> selectIconTypeMapByPrefix(Collection<String> prefixList) {
+        if (CollUtil.isEmpty(prefixList)) {
+            return Collections.emptyMap();
         }
+        return iconTypeService.list(new LambdaQueryWrapper<IconTypePO>().in(IconTypePO::getPrefix, prefixList))
+                .stream()
+                .map(iconInfraAssembler::toDO)
+                .collect(Collectors.toMap(IconTypeDO::getPrefix, Function.identity(), (left, right) -> left));
     }
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
-    public void saveIconValue(List<IconValueDO> iconValueDOList) {
-        List<IconValuePO> poList = iconInfraAssembler.toPOList(iconValueDOList);
-        iconValueMapper.batchInsertOrUpdateIconValue(poList);
+    public int syncIconCollection(IconCollectionDO collection, String contentHash) {
+        // 1. 新增或更新图标类型，摘要随本事务一起提交，失败时下次任务会重新同步
+        IconTypePO iconTypePO = iconTypeService.getOne(new LambdaQueryWrapper<IconTypePO>().eq(IconTypePO::getPrefix, collection.getPrefix()));
+        if (ObjectUtil.isEmpty(iconTypePO)) {
+            iconTypePO = IconTypePO.builder().prefix(collection.getPrefix()).build();
+        }
+        iconTypePO.setName(collection.getName());
+        iconTypePO.setUrl(collection.getUrl());
+        iconTypePO.setContentHash(contentHash);
+        iconTypeService.saveOrUpdate(iconTypePO);
+        Long iconTypeId = iconTypePO.getId();
+
+        // 2. 读取该类型已有图标，计算差异
+        Map<String, String> existStatusMap = iconValueMapper.selectList(new LambdaQueryWrapper<IconValuePO>()
+                        .select(IconValuePO::getValue, IconValuePO::getStatus)
+                        .eq(IconValuePO::getIconTypeId, iconTypeId))
+                .stream()
+                .collect(Collectors.toMap(IconValuePO::getValue, po -> ObjectUtil.defaultIfNull(po.getStatus(), ""), (left, right) -> left));
+        Set<String> sourceValueSet = collection.getIconList().stream()
+                .map(icon -> collection.getPrefix() + ":" + icon)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<IconValuePO> upsertList = sourceValueSet.stream()
+                .filter(value -> !StatusEnum.ENABLE.getCode().equals(existStatusMap.get(value)))
+                .map(value -> IconValuePO.builder()
+                        .iconTypeId(iconTypeId)
+                        .value(value)
+                        .status(StatusEnum.ENABLE.getCode())
+                        .build())
+                .collect(Collectors.toList());
+        List<String> disableList = existStatusMap.entrySet().stream()
+                .filter(entry -> StatusEnum.ENABLE.getCode().equals(entry.getValue()) && !sourceValueSet.contains(entry.getKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
 
+        // 3. 只写差异：多行 upsert + 批量禁用
+        ListUtil.partition(upsertList, SYNC_BATCH_SIZE).forEach(iconValueMapper::batchInsertOrUpdateIconValue);
+        ListUtil.partition(disableList, SYNC_BATCH_SIZE).forEach(valueList -> iconValueMapper.update(null, new LambdaUpdateWrapper<IconValuePO>()
+                .set(IconValuePO::getStatus, StatusEnum.DISABLE.getCode())
+                .eq(IconValuePO::getIconTypeId, iconTypeId)
+                .in(IconValuePO::getValue, valueList)));
+        return upsertList.size() + disableList.size();
     }
 
     @Override
@@ -0,0 +1,64 @@
+package com.winter.cloud.auth.infrastructure.repository;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HttpUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.auth.domain.model.entity.IconCollectionDO;
+import com.winter.cloud.auth.domain.repository.IconSourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 图标源仓储实现
+ * <p>
+ * 地址模板通过 winter.icon.source-url 配置，{} 替换为图标前缀：
+ * 以 file: 开头时读取本地文件（如 file:/data/icons/{}-meta.json），否则按 HTTP GET 拉取。
+ * </p>
+ */
+@Slf4j
+@Repository
+public class IconSourceRepositoryImpl implements IconSourceRepository {
+    private static final String FILE_PREFIX = "file:";
+
+    private final ObjectMapper objectMapper;
+    private final String sourceUrl;
+    private final int timeout;
+
+    public IconSourceRepositoryImpl(ObjectMapper objectMapper,
+                                    @Value("${winter.icon.source-url:https://icones.js.org/collections/{}-meta.json}") String sourceUrl,
+                                    @Value("${winter.icon.timeout:30000}") int timeout) {
+        this.objectMapper = objectMapper;
+        this.sourceUrl = sourceUrl;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public IconCollectionDO fetchCollection(String prefix) throws Exception {
+        String location = StrUtil.format(sourceUrl, prefix);
+        String result = location.startsWith(FILE_PREFIX)
+                ? FileUtil.readUtf8String(location.substring(FILE_PREFIX.length()))
+                : HttpUtil.get(location, timeout);
+        Map<String, Object> info = objectMapper.readValue(result, new TypeReference<Map<String, Object>>() {
+        });
+        Map<String, Object> author = objectMapper.convertValue(info.get("author"), new TypeReference<Map<String, Object>>() {
+        });
+        List<String> iconList = objectMapper.convertValue(info.get("icons"), new TypeReference<List<String>>() {
+        });
+        return IconCollectionDO.builder()
+                // 图标前缀
+                .prefix((String) info.get("id"))
+                // 图标名称
+                .name((String) info.get("name"))
+                // 项目地址
+                .url(author == null ? null : (String) author.get("url"))
+                // 图标信息
+                .iconList(iconList == null ? List.of() : iconList)
+                .build();
+    }
+}
@@ -1,26 +1,37 @@
 package com.winter.cloud.auth.infrastructure.repository;
 
 import com.winter.cloud.i18n.api.facade.I18nMessageFacade;
+import com.winter.cloud.i18n.client.I18nBundleCache;
 import com.zsq.i18n.service.I18nMessageService;
+import lombok.RequiredArgsConstructor;
 import org.apache.dubbo.config.annotation.DubboReference;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 /**
  * 远程国际化消息服务适配器
  * <p>
  * 核心作用：将本地的方法调用，转发为 Dubbo 远程调用。
  * 解决了 "CustomMessageSource 需要数据" 和 "数据在远程服务" 之间的矛盾。主要是为了解决validation的占位符格式化
+ * 优先从本地消息包（{@link I18nBundleCache}）解析，只有本地不包含的消息键才发起远程调用。
  */
 @Repository
 @Primary // 标记为首选 Bean，覆盖 Starter 里的 DefaultI18nMessageService
+@RequiredArgsConstructor
 public class RemoteI18nMessageRepositoryImpl implements I18nMessageService {
 
     // 注入 Dubbo 远程接口 (请确保引入了 winter-cloud-i18n-api 依赖)
     @DubboReference(check = false)
     private I18nMessageFacade i18nMessageFacade;
 
+    private final I18nBundleCache i18nBundleCache;
+
     @Override
     public String getMessage(String messageKey, Locale locale) {
         return getMessage(messageKey,null,locale);
@@ -33,6 +44,38 @@ public class RemoteI18nMessageRepositoryImpl implements I18nMessageService {
 
     @Override
     public String getMessage(String messageKey, Object[] args, String defaultMessage, Locale locale) {
+        String message = i18nBundleCache.getMessage(messageKey, args, locale);
+        if (message != null) {
+            return message;
+        }
         return i18nMessageFacade.getMessage(messageKey, args, defaultMessage, locale);
     }
+
+    /**
+     * 批量获取国际化消息（不做占位符格式化），供导出、批量错误信息等场景使用
+     * <p>
+     * 本地消息包能解析的直接返回，其余消息键合并为一次远程调用。
+     * </p>
+     *
+     * @param messageKeys 消息键
+     * @param locale      语言环境
+     * @return 消息键 -> 消息内容，不存在的消息键不在结果中
+     */
+    public Map<String, String> getMessages(Collection<String> messageKeys, Locale locale) {
+        Map<String, String> resultMap = new HashMap<>();
+        Set<String> remoteKeySet = new LinkedHashSet<>();
+        for (String messageKey : messageKeys) {
+            String message = i18nBundleCache.getMessage(messageKey, null, locale);
+            if (message != null) {
+                resultMap.put(messageKey, message);
+            } else if (messageKey != null) {
+                remoteKeySet.add(messageKey);
+            }
+        }
+        if (!remoteKeySet.isEmpty()) {
+            String localeStr = locale.getLanguage() + (locale.getCountry().isEmpty() ? "" : "_" + locale.getCountry());
+            resultMap.putAll(i18nMessageFacade.getMessages(remoteKeySet, localeStr));
+        }
+        return resultMap;
+    }
 }
\ No newline at end of file
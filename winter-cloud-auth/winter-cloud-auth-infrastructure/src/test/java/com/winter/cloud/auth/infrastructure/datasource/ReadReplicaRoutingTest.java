@@ -0,0 +1,163 @@
+package com.winter.cloud.auth.infrastructure.datasource;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.winter.cloud.auth.infrastructure.config.ReadReplicaConfig;
+import com.winter.cloud.auth.infrastructure.config.properties.ReadReplicaProperties;
+import com.winter.cloud.common.datasource.ReadReplica;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 读写分离路由：主库、从库各一个内存 H2 库，每个库的 node 表记录自身名称，
+ * 通过 ReadReplicaConfig 的切面调用查询方法，根据返回的名称判断实际路由到的库
+ */
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY = "master";
+    private static final String REPLICA = "replica_1";
+
+    private DataSource replica;
+    private DynamicRoutingDataSource dynamicRoutingDataSource;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private NodeQuery nodeQuery;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource primary = h2(PRIMARY);
+        replica = h2(REPLICA);
+        execute(replica, "CREATE TABLE replica_lag (seconds DOUBLE)");
+        execute(replica, "INSERT INTO replica_lag VALUES (0)");
+
+        dynamicRoutingDataSource = new DynamicRoutingDataSource(List.of(() -> Map.of(PRIMARY, primary, REPLICA, replica)));
+        dynamicRoutingDataSource.setPrimary(PRIMARY);
+        dynamicRoutingDataSource.afterPropertiesSet();
+
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setEnabled(true);
+        properties.setStickyMillis(200L);
+        properties.setMaxLagSeconds(1.0D);
+        properties.setLagSql("SELECT seconds FROM replica_lag");
+        replicaLagMonitor = new ReplicaLagMonitor(dynamicRoutingDataSource, properties);
+        replicaLagMonitor.check();
+
+        ProxyFactory proxyFactory = new ProxyFactory(new NodeQuery(dynamicRoutingDataSource));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new ReadReplicaConfig().readReplicaAdvisor(replicaLagMonitor, properties));
+        nodeQuery = (NodeQuery) proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReadWriteRoutingContext.clear();
+        dynamicRoutingDataSource.destroy();
+    }
+
+    @Test
+    void readReplicaMethodReadsFromReplica() {
+        assertThat(replicaLagMonitor.getHealthyReplicaList()).containsExactly(REPLICA);
+        assertThat(nodeQuery.readOnly()).isEqualTo(REPLICA);
+        assertThat(nodeQuery.unmarked()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void readAfterWriteStaysOnPrimaryUntilStickyWindowExpires() throws InterruptedException {
+        // 与 WriteMarkInterceptor 在 Executor#update 前的标记一致
+        ReadWriteRoutingContext.markWrite();
+        assertThat(nodeQuery.readOnly()).isEqualTo(PRIMARY);
+
+        Thread.sleep(300L);
+        assertThat(nodeQuery.readOnly()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void readInsideTransactionStaysOnPrimary() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(nodeQuery.readOnly()).isEqualTo(PRIMARY);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryAndRecovers() throws SQLException {
+        execute(replica, "UPDATE replica_lag SET seconds = 30");
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.getHealthyReplicaList()).isEmpty();
+        assertThat(nodeQuery.readOnly()).isEqualTo(PRIMARY);
+
+        execute(replica, "UPDATE replica_lag SET seconds = 0");
+        replicaLagMonitor.check();
+        assertThat(nodeQuery.readOnly()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void failingLagCheckFallsBackToPrimary() throws SQLException {
+        execute(replica, "DROP TABLE replica_lag");
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.getReplicaCount()).isEqualTo(1);
+        assertThat(replicaLagMonitor.getHealthyReplicaList()).isEmpty();
+        assertThat(nodeQuery.readOnly()).isEqualTo(PRIMARY);
+    }
+
+    private static DataSource h2(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        execute(dataSource, "DROP ALL OBJECTS");
+        execute(dataSource, "CREATE TABLE node (name VARCHAR(32))");
+        execute(dataSource, "INSERT INTO node VALUES ('" + name + "')");
+        return dataSource;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * 查询当前连接所在库的名称
+     */
+    static class NodeQuery {
+        private final DataSource dataSource;
+
+        NodeQuery(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @ReadReplica
+        public String readOnly() {
+            return currentNode();
+        }
+
+        public String unmarked() {
+            return currentNode();
+        }
+
+        private String currentNode() {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+                resultSet.next();
+                return resultSet.getString(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.winter.cloud.auth.infrastructure.login;
+
+import com.winter.cloud.auth.infrastructure.config.properties.LoginThrottleProperties;
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 登录失败限流（只验证本地计数，Redis 读取返回空）
+ */
+class LoginAttemptLimiterTest {
+
+    private LoginThrottleProperties properties;
+    private StringRedisTemplate stringRedisTemplate;
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.setUserFreeAttempts(5);
+        properties.setIpFreeAttempts(20);
+        stringRedisTemplate = mock(StringRedisTemplate.class, RETURNS_DEEP_STUBS);
+        limiter = new LoginAttemptLimiter(stringRedisTemplate, properties);
+    }
+
+    @Test
+    void allowsExactlyFreeAttemptsBeforeLocking() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkAllowed("admin@winter.com", "10.0.0.1");
+            limiter.recordFailure("admin@winter.com", "10.0.0.1");
+        }
+        // 5 次免费失败之后仍允许第 6 次尝试
+        limiter.checkAllowed("admin@winter.com", "10.0.0.1");
+
+        limiter.recordFailure("admin@winter.com", "10.0.0.1");
+        assertThatThrownBy(() -> limiter.checkAllowed("admin@winter.com", "10.0.0.1"))
+                .isInstanceOf(BusinessException.class);
+        // 账号维度锁定，不影响同一 IP 上的其它账号
+        limiter.checkAllowed("other@winter.com", "10.0.0.1");
+    }
+
+    @Test
+    void backoffDoublesAfterFreeAttemptsUpToMax() {
+        assertThat(limiter.backoffDelay(5, 5)).isZero();
+        assertThat(limiter.backoffDelay(6, 5)).isEqualTo(properties.getBaseDelayMillis());
+        assertThat(limiter.backoffDelay(7, 5)).isEqualTo(properties.getBaseDelayMillis() * 2);
+        assertThat(limiter.backoffDelay(100, 5)).isEqualTo(properties.getMaxDelayMillis());
+    }
+
+    @Test
+    void successClearsUserFailures() {
+        for (int i = 0; i < 6; i++) {
+            limiter.recordFailure("admin@winter.com", null);
+        }
+        limiter.recordSuccess("admin@winter.com");
+
+        limiter.checkAllowed("admin@winter.com", null);
+    }
+
+    /**
+     * 失败记录在其它节点时，本节点没有本地窗口，仍需删除 Redis 中的失败与锁定记录
+     */
+    @Test
+    void successClearsRedisRecordsWithoutLocalWindow() {
+        limiter.recordSuccess("Admin@winter.com");
+
+        verify(stringRedisTemplate).delete(List.of(
+                CommonConstants.Redis.LOGIN_FAIL + CommonConstants.Redis.SPLIT + "user" + CommonConstants.Redis.SPLIT + "admin@winter.com",
+                CommonConstants.Redis.LOGIN_LOCK + CommonConstants.Redis.SPLIT + "user" + CommonConstants.Redis.SPLIT + "admin@winter.com"));
+    }
+}
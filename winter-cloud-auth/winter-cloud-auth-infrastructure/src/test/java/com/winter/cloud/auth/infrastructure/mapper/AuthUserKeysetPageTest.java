@@ -0,0 +1,184 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
+import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageCursor;
+import com.winter.cloud.common.response.PageDTO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 用户键集分页：按 AuthUserRepositoryImpl.userKeysetPage 的方式用 {@link PageCursor} 串联 selectUserListBefore，
+ * 每取一页就插入新行（比游标新的、与游标同一时间的、比游标旧的），逐页读完后既不重复也不遗漏
+ */
+class AuthUserKeysetPageTest {
+
+    private static final String SORT = "create_time desc,id desc";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int INITIAL_COUNT = 40;
+    private static final int PAGE_SIZE = 3;
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private SqlSession sqlSession;
+    private AuthUserMapper authUserMapper;
+    private long nextId;
+
+    @BeforeAll
+    static void setUpFactory() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:auth_user_keyset;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64), nick_name VARCHAR(64), " +
+                              "email VARCHAR(128), phone VARCHAR(32), sex VARCHAR(1), status VARCHAR(1), post_id BIGINT, " +
+                              "create_time TIMESTAMP NOT NULL)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        String resource = "mapper/AuthUserMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE sys_user");
+        }
+        nextId = 1;
+        // 每两行共用一个创建时间，由 id 决胜；每三行有一行禁用
+        for (int i = 0; i < INITIAL_COUNT; i++) {
+            insert(BASE_TIME.plusMinutes(i / 2), i % 3 == 0 ? "0" : "1");
+        }
+        sqlSession = sqlSessionFactory.openSession(true);
+        authUserMapper = sqlSession.getMapper(AuthUserMapper.class);
+    }
+
+    @AfterEach
+    void closeSession() {
+        sqlSession.close();
+    }
+
+    @Test
+    void rowsInsertedBetweenPagesAreNeitherRepeatedNorSkipped() throws Exception {
+        UserQuery userQuery = statusQuery("1");
+        List<Long> expected = new ArrayList<>(enabledIdsInPageOrder());
+        List<Long> olderIds = new ArrayList<>();
+
+        List<Long> fetched = new ArrayList<>();
+        String cursor = null;
+        int pageCount = 0;
+        do {
+            PageDTO<AuthUserPO> page = fetch(userQuery, cursor);
+            page.getRecords().forEach(po -> fetched.add(po.getId()));
+            cursor = page.getNextCursor();
+            pageCount++;
+            if (cursor != null) {
+                AuthUserPO last = page.getRecords().get(page.getRecords().size() - 1);
+                // 排在游标之前：新注册用户、与游标同一时间但 id 更大的用户，本轮不应再读到
+                insert(LocalDateTime.now(), "1");
+                insert(last.getCreateTime(), "1");
+                // 排在游标之后：应在后续页读到；禁用的不满足过滤条件
+                olderIds.add(insert(BASE_TIME.minusMinutes(pageCount), "1"));
+                insert(BASE_TIME.minusMinutes(pageCount), "0");
+            }
+        } while (cursor != null);
+        expected.addAll(olderIds);
+
+        assertThat(new HashSet<>(fetched)).hasSameSizeAs(fetched);
+        assertThat(fetched).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * 翻页过程中修改过滤条件，沿用旧游标会在新的结果集上错位续读，直接拒绝
+     */
+    @Test
+    void cursorIsRejectedWhenFilterChanges() {
+        String cursor = fetch(statusQuery("1"), null).getNextCursor();
+
+        assertThat(cursor).isNotNull();
+        assertThat(fetch(statusQuery("1"), cursor).getRecords()).hasSize(PAGE_SIZE);
+        assertThatThrownBy(() -> fetch(statusQuery("0"), cursor)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> fetch(statusQuery(null), cursor)).isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * 与 AuthUserRepositoryImpl.userKeysetPage 相同的取页步骤（本测试只按状态过滤）
+     */
+    private PageDTO<AuthUserPO> fetch(UserQuery userQuery, String cursorString) {
+        String filter = PageCursor.fingerprint(userQuery.getStatus());
+        PageCursor cursor = PageCursor.decode(cursorString, SORT, filter);
+        List<AuthUserPO> rows = authUserMapper.selectUserListBefore(userQuery,
+                cursor == null ? null : cursor.valueAsDateTime(),
+                cursor == null ? null : cursor.getId(),
+                PAGE_SIZE + 1);
+        return PageCursor.page(rows, PAGE_SIZE, SORT, filter, null,
+                po -> String.valueOf(po.getCreateTime()), AuthUserPO::getId);
+    }
+
+    private long insert(LocalDateTime createTime, String status) throws Exception {
+        long id = nextId++;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO sys_user (id, user_name, status, create_time) VALUES (?, ?, ?, ?)")) {
+            statement.setLong(1, id);
+            statement.setString(2, "user" + id);
+            statement.setString(3, status);
+            statement.setTimestamp(4, Timestamp.valueOf(createTime));
+            statement.executeUpdate();
+        }
+        return id;
+    }
+
+    /**
+     * 初始数据中启用用户按 (create_time desc, id desc) 的顺序
+     */
+    private static List<Long> enabledIdsInPageOrder() {
+        List<long[]> rows = new ArrayList<>();
+        for (int i = 0; i < INITIAL_COUNT; i++) {
+            if (i % 3 != 0) {
+                rows.add(new long[]{i / 2, i + 1});
+            }
+        }
+        return rows.stream()
+                .sorted((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]))
+                .map(row -> row[1])
+                .collect(Collectors.toList());
+    }
+
+    private static UserQuery statusQuery(String status) {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setStatus(status);
+        return userQuery;
+    }
+}
@@ -0,0 +1,184 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
+import com.winter.cloud.common.response.PageAndOrderDTO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户分页 SQL：排序白名单与角色/部门 EXISTS 过滤（H2 PostgreSQL 模式，直接加载 AuthUserMapper.xml）
+ */
+class AuthUserMapperQueryTest {
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private SqlSession sqlSession;
+    private AuthUserMapper authUserMapper;
+
+    @BeforeAll
+    static void setUpFactory() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:auth_user_mapper;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64), nick_name VARCHAR(64), " +
+                              "email VARCHAR(128), phone VARCHAR(32), sex VARCHAR(1), status VARCHAR(1), post_id BIGINT, " +
+                              "create_time TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TABLE sys_user_role (user_id BIGINT NOT NULL, role_id BIGINT NOT NULL, PRIMARY KEY (user_id, role_id))");
+            statement.execute("CREATE TABLE sys_user_dept (user_id BIGINT NOT NULL, dept_id BIGINT NOT NULL, PRIMARY KEY (user_id, dept_id))");
+            // id, sex, status, 创建时间（同一时间的行由 id 决胜）
+            statement.execute("INSERT INTO sys_user (id, user_name, sex, status, create_time) VALUES " +
+                              "(1, 'u1', '1', '1', TIMESTAMP '2024-01-01 00:00:00'), " +
+                              "(2, 'u2', '0', '0', TIMESTAMP '2024-01-02 00:00:00'), " +
+                              "(3, 'u3', '1', '0', TIMESTAMP '2024-01-02 00:00:00'), " +
+                              "(4, 'u4', '0', '1', TIMESTAMP '2024-01-03 00:00:00'), " +
+                              "(5, 'u5', '1', '1', TIMESTAMP '2024-01-03 00:00:00')");
+            statement.execute("INSERT INTO sys_user_role VALUES (1, 10), (1, 20), (2, 10), (3, 20), (4, 10), (4, 20), (4, 30), (5, 30)");
+            statement.execute("INSERT INTO sys_user_dept VALUES (1, 100), (2, 100), (2, 200), (3, 200), (5, 100), (5, 200)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        String resource = "mapper/AuthUserMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void openSession() {
+        sqlSession = sqlSessionFactory.openSession();
+        authUserMapper = sqlSession.getMapper(AuthUserMapper.class);
+    }
+
+    @AfterEach
+    void closeSession() {
+        sqlSession.close();
+    }
+
+    @Test
+    void defaultOrderIsCreateTimeDescThenIdDesc() {
+        assertThat(pageIds(query())).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void whitelistedSortAppendsIdTiebreakerInLastDirection() {
+        assertThat(pageIds(query(order("status", "desc", 1)))).containsExactly(5L, 4L, 1L, 3L, 2L);
+        assertThat(pageIds(query(order("status", "asc", 1)))).containsExactly(2L, 3L, 1L, 4L, 5L);
+        assertThat(pageIds(query(order("sex", "asc", 1), order("status", "desc", 2)))).containsExactly(4L, 2L, 5L, 1L, 3L);
+    }
+
+    @Test
+    void sortFieldIsNeverSplicedIntoSql() {
+        UserQuery userQuery = query(order("id; DELETE FROM sys_user; --", "desc", 1));
+
+        String sql = boundSql("selectUserPage", userQuery);
+
+        assertThat(sql).doesNotContain("DELETE").contains("u.create_time").contains("u.id DESC");
+        assertThat(pageIds(userQuery)).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void sortDirectionOutsideWhitelistFallsBackToAsc() {
+        String sql = boundSql("selectUserPage", query(order("sex", "desc nulls first, (select 1)", 1)));
+
+        assertThat(sql).doesNotContain("select 1").contains("u.sex").contains("ASC");
+    }
+
+    @Test
+    void roleFilterRequiresEveryRole() {
+        UserQuery userQuery = query();
+        userQuery.setRoleIds(List.of(10L, 20L));
+
+        assertThat(pageIds(userQuery)).containsExactlyInAnyOrderElementsOf(havingAll("sys_user_role", "role_id", List.of(10L, 20L)));
+        assertThat(pageIds(userQuery)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(boundSql("selectUserPage", userQuery)).contains("EXISTS").doesNotContainIgnoringCase("HAVING");
+    }
+
+    @Test
+    void deptFilterRequiresEveryDeptAndCombinesWithRoles() {
+        UserQuery userQuery = query();
+        userQuery.setDeptIds(List.of(100L, 200L));
+        assertThat(pageIds(userQuery)).containsExactlyInAnyOrderElementsOf(havingAll("sys_user_dept", "dept_id", List.of(100L, 200L)));
+
+        userQuery.setRoleIds(List.of(30L));
+        assertThat(pageIds(userQuery)).containsExactly(5L);
+    }
+
+    private List<Long> pageIds(UserQuery userQuery) {
+        return authUserMapper.selectUserPage(new Page<>(1, 100, false), userQuery).getRecords().stream()
+                .map(AuthUserPO::getId)
+                .collect(Collectors.toList());
+    }
+
+    private String boundSql(String statementId, UserQuery userQuery) {
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("query", userQuery);
+        parameterMap.put("page", new Page<>(1, 100, false));
+        BoundSql boundSql = sqlSessionFactory.getConfiguration()
+                .getMappedStatement(AuthUserMapper.class.getName() + "." + statementId)
+                .getBoundSql(parameterMap);
+        return boundSql.getSql();
+    }
+
+    /**
+     * 原 GROUP BY + HAVING COUNT 写法的结果，作为 EXISTS 改写的对照
+     */
+    private List<Long> havingAll(String table, String column, List<Long> idList) {
+        String inList = idList.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String sql = "SELECT user_id FROM " + table + " WHERE " + column + " IN (" + inList + ") " +
+                     "GROUP BY user_id HAVING COUNT(DISTINCT " + column + ") = " + idList.size();
+        List<Long> userIdList = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                userIdList.add(resultSet.getLong(1));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return userIdList;
+    }
+
+    private static UserQuery query(PageAndOrderDTO.OrderDTO... orders) {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>(List.of(orders)));
+        return userQuery;
+    }
+
+    private static PageAndOrderDTO.OrderDTO order(String field, String order, int sequence) {
+        PageAndOrderDTO.OrderDTO orderDTO = new PageAndOrderDTO.OrderDTO();
+        orderDTO.setField(field);
+        orderDTO.setOrder(order);
+        orderDTO.setSequence(sequence);
+        return orderDTO;
+    }
+}
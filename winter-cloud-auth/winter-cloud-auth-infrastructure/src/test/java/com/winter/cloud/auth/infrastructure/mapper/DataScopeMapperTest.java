@@ -0,0 +1,274 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.dynamic.datasource.spring.boot.autoconfigure.DynamicDataSourceProperties;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.auth.infrastructure.datascope.DataScopeInnerInterceptor;
+import com.winter.cloud.auth.infrastructure.datascope.DataScopeResolver;
+import com.winter.cloud.auth.infrastructure.datascope.DeptDescendantCache;
+import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数据权限插件：加载 AuthUserMapper.xml 与角色、部门相关 Mapper，在 H2 上以用户 1 的身份执行 @DataScope 查询，
+ * 检查改写后的 SQL 与返回的行
+ * <p>
+ * 部门树：1 -> 2 -> 3，1 -> 4。用户 1、6 属于部门 2，用户 2 属于部门 3，用户 3 属于部门 4，用户 4 属于部门 1，用户 5 没有部门。
+ * 角色：10 全部、11 自定义（部门 4）、12 本部门、13 本部门及以下、14 仅本人、15 已停用的全部数据。
+ * </p>
+ */
+class DataScopeMapperTest {
+
+    private static final long VIEWER = 1L;
+
+    private static JdbcDataSource dataSource;
+    private static SqlSessionFactory sqlSessionFactory;
+    private static final StaticListableBeanFactory BEAN_FACTORY = new StaticListableBeanFactory();
+    private static final List<String> EXECUTED_SQL_LIST = new ArrayList<>();
+
+    private SqlSession sqlSession;
+    private SqlSession resolverSession;
+    private AuthUserMapper authUserMapper;
+    private String currentUserId;
+
+    @BeforeAll
+    static void setUpFactory() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:auth_data_scope;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE sys_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64), nick_name VARCHAR(64), " +
+                "email VARCHAR(128), phone VARCHAR(32), sex VARCHAR(1), status VARCHAR(1), post_id BIGINT, " +
+                "create_time TIMESTAMP NOT NULL)");
+        execute("CREATE TABLE sys_role (id BIGINT PRIMARY KEY, role_key VARCHAR(64), role_name VARCHAR(64), role_sort INT, " +
+                "status VARCHAR(1), remark VARCHAR(255), data_scope VARCHAR(1))");
+        execute("CREATE TABLE sys_user_role (user_id BIGINT NOT NULL, role_id BIGINT NOT NULL, PRIMARY KEY (user_id, role_id))");
+        execute("CREATE TABLE sys_user_dept (id INT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, dept_id BIGINT NOT NULL)");
+        execute("CREATE TABLE sys_role_dept (role_id BIGINT NOT NULL, dept_id BIGINT NOT NULL, PRIMARY KEY (role_id, dept_id))");
+        execute("CREATE TABLE sys_dept_closure (ancestor BIGINT NOT NULL, descendant BIGINT NOT NULL, depth INT NOT NULL, " +
+                "PRIMARY KEY (ancestor, descendant))");
+        execute("INSERT INTO sys_user (id, user_name, status, create_time) VALUES " +
+                "(1, 'u1', '1', TIMESTAMP '2024-01-01 00:00:00'), (2, 'u2', '1', TIMESTAMP '2024-01-02 00:00:00'), " +
+                "(3, 'u3', '1', TIMESTAMP '2024-01-03 00:00:00'), (4, 'u4', '1', TIMESTAMP '2024-01-04 00:00:00'), " +
+                "(5, 'u5', '1', TIMESTAMP '2024-01-05 00:00:00'), (6, 'u6', '1', TIMESTAMP '2024-01-06 00:00:00')");
+        execute("INSERT INTO sys_role (id, role_key, status, data_scope) VALUES " +
+                "(10, 'all', '1', '1'), (11, 'custom', '1', '2'), (12, 'dept', '1', '3'), " +
+                "(13, 'dept_child', '1', '4'), (14, 'self', '1', '5'), (15, 'disabled_all', '0', '1')");
+        execute("INSERT INTO sys_user_dept (user_id, dept_id) VALUES (1, 2), (6, 2), (2, 3), (3, 4), (4, 1)");
+        execute("INSERT INTO sys_role_dept VALUES (11, 4)");
+        execute("INSERT INTO sys_dept_closure VALUES (1, 1, 0), (1, 2, 1), (1, 3, 2), (1, 4, 1), (2, 2, 0), (2, 3, 1), " +
+                "(3, 3, 0), (4, 4, 0)");
+
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new DataScopeInnerInterceptor(BEAN_FACTORY.getBeanProvider(DataScopeResolver.class)));
+        interceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                                    ResultHandler resultHandler, BoundSql boundSql) {
+                EXECUTED_SQL_LIST.add(boundSql.getSql());
+            }
+        });
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(interceptor);
+        for (String resource : List.of("mapper/AuthUserMapper.xml", "mapper/AuthRoleMapper.xml")) {
+            try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+                new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+            }
+        }
+        configuration.addMapper(AuthUserDeptMapper.class);
+        configuration.addMapper(AuthRoleDeptMapper.class);
+        configuration.addMapper(AuthDeptClosureMapper.class);
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        execute("DELETE FROM sys_user_role");
+        sqlSession = sqlSessionFactory.openSession(true);
+        resolverSession = sqlSessionFactory.openSession(true);
+        authUserMapper = sqlSession.getMapper(AuthUserMapper.class);
+        currentUserId = String.valueOf(VIEWER);
+
+        DynamicDataSourceProperties dynamicDataSourceProperties = new DynamicDataSourceProperties();
+        DeptDescendantCache deptDescendantCache = new DeptDescendantCache(
+                resolverSession.getMapper(AuthDeptClosureMapper.class), dynamicDataSourceProperties);
+        BEAN_FACTORY.addBean("dataScopeResolver", new DataScopeResolver(
+                resolverSession.getMapper(AuthRoleMapper.class),
+                resolverSession.getMapper(AuthUserDeptMapper.class),
+                resolverSession.getMapper(AuthRoleDeptMapper.class),
+                deptDescendantCache,
+                dynamicDataSourceProperties) {
+            @Override
+            protected String currentUserId() {
+                return currentUserId;
+            }
+        });
+        EXECUTED_SQL_LIST.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlSession.close();
+        resolverSession.close();
+    }
+
+    @Test
+    void allScopeLeavesSqlUntouched() throws SQLException {
+        grant(10L, 14L);
+
+        assertThat(pageIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(lastSql()).doesNotContain("sys_user_dept").doesNotContain("1 = 0");
+    }
+
+    @Test
+    void selfScopeFiltersByUserColumn() throws SQLException {
+        grant(14L);
+
+        assertThat(pageIds()).containsExactly(1L);
+        assertThat(lastSql()).contains("u.id = 1").doesNotContain("sys_user_dept");
+    }
+
+    @Test
+    void deptScopeFiltersByUserDepartments() throws SQLException {
+        grant(12L);
+
+        assertThat(pageIds()).containsExactlyInAnyOrder(1L, 6L);
+        assertThat(lastSql()).contains("ds_ud.user_id = u.id").contains("ds_ud.dept_id IN (2)");
+        assertThat(authUserMapper.selectUserCount(query())).isEqualTo(2L);
+    }
+
+    @Test
+    void deptAndChildScopeIncludesDescendants() throws SQLException {
+        grant(13L);
+
+        assertThat(pageIds()).containsExactlyInAnyOrder(1L, 2L, 6L);
+        assertThat(lastSql()).contains("ds_ud.dept_id IN (").doesNotContain("sys_dept_closure");
+    }
+
+    @Test
+    void customScopeUsesRoleDepartments() throws SQLException {
+        grant(11L);
+
+        assertThat(pageIds()).containsExactly(3L);
+        assertThat(lastSql()).contains("ds_ud.dept_id IN (4)");
+    }
+
+    @Test
+    void scopesOfSeveralRolesAreMerged() throws SQLException {
+        grant(11L, 14L);
+
+        assertThat(pageIds()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(lastSql()).contains(" OR ").contains("u.id = 1");
+    }
+
+    @Test
+    void userWithoutEnabledRolesSeesOnlySelf() throws SQLException {
+        assertThat(pageIds()).containsExactly(1L);
+
+        grant(15L);
+        BEAN_FACTORY.getBean(DataScopeResolver.class).onRolePermissionChanged(null);
+        assertThat(pageIds()).containsExactly(1L);
+    }
+
+    @Test
+    void noLoginUserReturnsNoRows() throws SQLException {
+        grant(10L);
+        currentUserId = null;
+
+        assertThat(pageIds()).isEmpty();
+        assertThat(lastSql()).contains("1 = 0");
+        assertThat(authUserMapper.selectUserCount(query())).isZero();
+    }
+
+    /**
+     * 部门集合超过内联上限时改为半连接 sys_dept_closure，结果与内联方式一致
+     */
+    @Test
+    void largeDeptSetSwitchesToClosureSemiJoin() throws SQLException {
+        grant(13L);
+        StringBuilder closure = new StringBuilder();
+        for (long deptId = 1000L; deptId < 1250L; deptId++) {
+            closure.append(closure.length() == 0 ? "" : ", ")
+                    .append("(1, ").append(deptId).append(", 3), (2, ").append(deptId).append(", 2), (3, ")
+                    .append(deptId).append(", 1), (").append(deptId).append(", ").append(deptId).append(", 0)");
+        }
+        execute("INSERT INTO sys_dept_closure VALUES " + closure);
+        execute("INSERT INTO sys_user (id, user_name, status, create_time) VALUES (7, 'u7', '1', TIMESTAMP '2024-01-07 00:00:00')");
+        execute("INSERT INTO sys_user_dept (user_id, dept_id) VALUES (7, 1100)");
+        try {
+            assertThat(pageIds()).containsExactlyInAnyOrder(1L, 2L, 6L, 7L);
+            assertThat(lastSql()).contains("sys_dept_closure").contains("ds_dc.ancestor IN (2)").doesNotContain("1100");
+        } finally {
+            execute("DELETE FROM sys_dept_closure WHERE descendant >= 1000");
+            execute("DELETE FROM sys_user_dept WHERE user_id = 7");
+            execute("DELETE FROM sys_user WHERE id = 7");
+        }
+    }
+
+    private List<Long> pageIds() {
+        return authUserMapper.selectUserPage(new Page<>(1, 100, false), query()).getRecords().stream()
+                .map(AuthUserPO::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 最近一次执行的 sys_user 查询（忽略解析器自身的角色、部门查询）
+     */
+    private static String lastSql() {
+        for (int i = EXECUTED_SQL_LIST.size() - 1; i >= 0; i--) {
+            if (EXECUTED_SQL_LIST.get(i).contains("sys_user u")) {
+                return EXECUTED_SQL_LIST.get(i);
+            }
+        }
+        throw new AssertionError("没有执行 sys_user 查询");
+    }
+
+    private static void grant(Long... roleIds) throws SQLException {
+        for (Long roleId : roleIds) {
+            execute("INSERT INTO sys_user_role VALUES (" + VIEWER + ", " + roleId + ")");
+        }
+    }
+
+    private static UserQuery query() {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>());
+        return userQuery;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
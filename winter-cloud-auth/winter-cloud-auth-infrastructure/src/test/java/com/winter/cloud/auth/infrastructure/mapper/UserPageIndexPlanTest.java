@@ -0,0 +1,161 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.winter.cloud.auth.api.dto.query.UserQuery;
+import com.winter.cloud.common.response.PageAndOrderDTO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户分页执行计划：在真实的 PostgreSQL 上执行 sql/V1.3、V1.5 迁移脚本，
+ * 对 AuthUserMapper.selectUserPage 生成的 SQL（排序白名单 + id 决胜列、角色/部门 EXISTS 过滤，分页插件追加 LIMIT）
+ * 检查排序是否由复合索引有序扫描完成、EXISTS 半连接是否走关联表索引
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserPageIndexPlanTest {
+
+    private static final List<Path> MIGRATIONS = List.of(
+            Path.of("..", "sql", "V1.3__sys_user_keyset_index.sql"),
+            Path.of("..", "sql", "V1.5__sys_user_sort_index.sql"));
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static MybatisConfiguration configuration;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user (" +
+                              "id BIGSERIAL PRIMARY KEY, user_name VARCHAR(64), nick_name VARCHAR(64), email VARCHAR(128), " +
+                              "phone VARCHAR(32), sex VARCHAR(1), status VARCHAR(1), post_id BIGINT, " +
+                              "create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE TABLE sys_user_role (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL, role_id BIGINT NOT NULL)");
+            statement.execute("CREATE TABLE sys_user_dept (id SERIAL PRIMARY KEY, user_id BIGINT NOT NULL, dept_id BIGINT NOT NULL)");
+            statement.execute("INSERT INTO sys_user (user_name, sex, status, post_id, create_time) " +
+                              "SELECT 'user_' || i, (i % 2)::text, (i % 3 = 0)::int::text, i % 20, " +
+                              "TIMESTAMP '2024-01-01' + (i % 50000) * INTERVAL '1 minute' FROM generate_series(1, 200000) AS i");
+            // 每个用户 2 个角色（共 57 个）、1 个部门（共 100 个）
+            statement.execute("INSERT INTO sys_user_role (user_id, role_id) SELECT i, i % 50 FROM generate_series(1, 200000) AS i");
+            statement.execute("INSERT INTO sys_user_role (user_id, role_id) SELECT i, 50 + i % 7 FROM generate_series(1, 200000) AS i");
+            statement.execute("INSERT INTO sys_user_dept (user_id, dept_id) SELECT i, i % 100 FROM generate_series(1, 200000) AS i");
+            for (Path migration : MIGRATIONS) {
+                statement.execute(Files.readString(migration));
+            }
+            statement.execute("ANALYZE");
+        }
+
+        configuration = new MybatisConfiguration();
+        String resource = "mapper/AuthUserMapper.xml";
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+    }
+
+    @Test
+    void defaultOrderScansCreateTimeIndexWithoutSort() throws SQLException {
+        String plan = explainPage(query());
+
+        assertThat(plan).contains("idx_sys_user_create_time_id").doesNotContain("Sort").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void whitelistedSortScansCompositeIndexWithoutSort() throws SQLException {
+        assertThat(explainPage(query(order("status", "desc"))))
+                .contains("idx_sys_user_status_id").doesNotContain("Sort").doesNotContain("Seq Scan");
+        assertThat(explainPage(query(order("sex", "asc"))))
+                .contains("idx_sys_user_sex_id").doesNotContain("Sort").doesNotContain("Seq Scan");
+        assertThat(explainPage(query(order("createTime", "asc"))))
+                .contains("idx_sys_user_create_time_id").doesNotContain("Sort").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void sortedPageWithStatusFilterUsesCompositeIndex() throws SQLException {
+        UserQuery userQuery = query(order("status", "asc"));
+        userQuery.setStatus("1");
+
+        assertThat(explainPage(userQuery)).contains("idx_sys_user_status_id").doesNotContain("Sort").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void roleAndDeptExistsFiltersProbeLinkIndexes() throws SQLException {
+        UserQuery roleQuery = query();
+        roleQuery.setRoleIds(List.of(3L, 17L));
+        assertThat(explainPage(roleQuery)).contains("idx_sys_user_role_").doesNotContain("Seq Scan on sys_user_role");
+        assertThat(explain("selectUserCount", roleQuery, "")).contains("idx_sys_user_role_").doesNotContain("Seq Scan on sys_user_role");
+
+        UserQuery deptQuery = query(order("status", "desc"));
+        deptQuery.setDeptIds(List.of(42L));
+        assertThat(explainPage(deptQuery)).contains("idx_sys_user_dept_").doesNotContain("Seq Scan on sys_user_dept");
+        assertThat(explain("selectUserCount", deptQuery, "")).contains("idx_sys_user_dept_").doesNotContain("Seq Scan on sys_user_dept");
+    }
+
+    /**
+     * 分页插件在 selectUserPage 的 SQL 末尾追加 LIMIT
+     */
+    private static String explainPage(UserQuery userQuery) throws SQLException {
+        return explain("selectUserPage", userQuery, " LIMIT 20");
+    }
+
+    private static String explain(String statementId, UserQuery userQuery, String suffix) throws SQLException {
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("query", userQuery);
+        parameterMap.put("page", new Page<>(1, 20, false));
+        MappedStatement mappedStatement = configuration.getMappedStatement(AuthUserMapper.class.getName() + "." + statementId);
+        BoundSql boundSql = mappedStatement.getBoundSql(parameterMap);
+        List<String> lineList = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + boundSql.getSql() + suffix)) {
+            new DefaultParameterHandler(mappedStatement, parameterMap, boundSql).setParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    lineList.add(resultSet.getString(1));
+                }
+            }
+        }
+        return String.join("\n", lineList);
+    }
+
+    private static UserQuery query(PageAndOrderDTO.OrderDTO... orders) {
+        UserQuery userQuery = UserQuery.builder().build();
+        userQuery.setOrders(new ArrayList<>(List.of(orders)));
+        return userQuery;
+    }
+
+    private static PageAndOrderDTO.OrderDTO order(String field, String order) {
+        PageAndOrderDTO.OrderDTO orderDTO = new PageAndOrderDTO.OrderDTO();
+        orderDTO.setField(field);
+        orderDTO.setOrder(order);
+        orderDTO.setSequence(1);
+        return orderDTO;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
@@ -0,0 +1,102 @@
+package com.winter.cloud.auth.infrastructure.mapper;
+
+import com.winter.cloud.common.util.SqlLikeUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户搜索执行计划：在真实的 PostgreSQL 上执行 sql/V1.4 迁移脚本，
+ * 按 AuthUserMapper.userPageWhere 的写法（Java 侧拼好模式串后绑定参数）检查是否走索引
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserSearchIndexPlanTest {
+
+    private static final Path MIGRATION = Path.of("..", "sql", "V1.4__sys_user_trgm_index.sql");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user (" +
+                              "id BIGSERIAL PRIMARY KEY, user_name VARCHAR(64), nick_name VARCHAR(64), " +
+                              "email VARCHAR(128), phone VARCHAR(32), create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO sys_user (user_name, nick_name, email, phone) " +
+                              "SELECT 'user_' || md5(i::text), 'nick_' || md5((i * 7)::text), 'u' || i || '@winter.com', " +
+                              "'138' || lpad(i::text, 8, '0') FROM generate_series(1, 50000) AS i");
+            statement.execute(Files.readString(MIGRATION));
+            statement.execute("ANALYZE sys_user");
+        }
+    }
+
+    @Test
+    void userNameContainsUsesTrigramIndex() throws SQLException {
+        String plan = explain("SELECT u.* FROM sys_user u WHERE u.user_name LIKE ?", SqlLikeUtil.contains("c4ca42"));
+
+        assertThat(plan).contains("idx_sys_user_user_name_trgm").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void nickNameContainsUsesTrigramIndex() throws SQLException {
+        String plan = explain("SELECT u.* FROM sys_user u WHERE u.nick_name LIKE ?", SqlLikeUtil.contains("8f14e4"));
+
+        assertThat(plan).contains("idx_sys_user_nick_name_trgm").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void phoneAndEmailUseBtreeIndex() throws SQLException {
+        assertThat(explain("SELECT u.* FROM sys_user u WHERE u.phone = ?", "13800012345")).contains("idx_sys_user_phone");
+        assertThat(explain("SELECT u.* FROM sys_user u WHERE u.email = ?", "u12345@winter.com")).contains("idx_sys_user_email");
+    }
+
+    @Test
+    void escapedWildcardsMatchLiterally() throws SQLException {
+        assertThat(count("SELECT count(*) FROM sys_user u WHERE u.user_name LIKE ?", SqlLikeUtil.contains("%"))).isZero();
+        assertThat(count("SELECT count(*) FROM sys_user u WHERE u.user_name LIKE ?", SqlLikeUtil.contains("_"))).isEqualTo(50000L);
+    }
+
+    private static String explain(String sql, String parameter) throws SQLException {
+        List<String> lineList = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setString(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    lineList.add(resultSet.getString(1));
+                }
+            }
+        }
+        return String.join("\n", lineList);
+    }
+
+    private static long count(String sql, String parameter) throws SQLException {
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
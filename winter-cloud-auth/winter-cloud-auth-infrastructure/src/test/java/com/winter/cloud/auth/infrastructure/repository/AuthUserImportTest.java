@@ -0,0 +1,397 @@
+package com.winter.cloud.auth.infrastructure.repository;
+
+import cn.idev.excel.FastExcel;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.auth.domain.model.entity.AuthUserDO;
+import com.winter.cloud.auth.infrastructure.assembler.AuthUserInfraAssembler;
+import com.winter.cloud.auth.infrastructure.config.MyMetaObjectHandler;
+import com.winter.cloud.auth.infrastructure.entity.AuthDeptPO;
+import com.winter.cloud.auth.infrastructure.entity.AuthPostPO;
+import com.winter.cloud.auth.infrastructure.entity.AuthRolePO;
+import com.winter.cloud.auth.infrastructure.entity.AuthUserPO;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserDeptMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserMapper;
+import com.winter.cloud.auth.infrastructure.mapper.AuthUserRoleMapper;
+import com.winter.cloud.auth.infrastructure.service.IAuthDeptMPService;
+import com.winter.cloud.auth.infrastructure.service.IAuthPostMPService;
+import com.winter.cloud.auth.infrastructure.service.IAuthRoleMPService;
+import com.winter.cloud.auth.infrastructure.service.impl.AuthUserDeptMpServiceImpl;
+import com.winter.cloud.auth.infrastructure.service.impl.AuthUserMpServiceImpl;
+import com.winter.cloud.auth.infrastructure.service.impl.AuthUserRoleMpServiceImpl;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
+import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.Response;
+import com.winter.cloud.dict.api.dto.response.DictDataDTO;
+import com.winter.cloud.dict.api.facade.DictFacade;
+import com.zsq.i18n.template.WinterI18nTemplate;
+import com.zsq.winter.encrypt.util.CryptoUtil;
+import com.zsq.winter.office.entity.excel.WinterExcelBusinessErrorModel;
+import com.zsq.winter.office.entity.excel.WinterExcelExportParam;
+import com.zsq.winter.office.service.excel.WinterExcelTemplate;
+import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户导入：同一份 5 万行数据分别走分批导入（userImportExcel）和逐行保存（userSave，原导入的做法），
+ * 两个 H2 库中的结果应一致：重复校验拒绝相同的行（库中已有、批次内、跨批次），审计字段由同一个填充处理器写入；
+ * 分批导入执行的 SQL 条数与行数无关，只与批次数有关
+ */
+class AuthUserImportTest {
+
+    private static final int ROW_COUNT = 50_000;
+    private static final Long POST_ID = 1L;
+    private static final Long ROLE_ID = 10L;
+    private static final Long DEPT_ID = 100L;
+
+    /**
+     * 库中已有的用户，与第 7 行的用户名冲突
+     */
+    private static final String EXIST_USER_NAME = "user7";
+
+    private static List<AuthUserPO> rowList;
+    private static Set<String> expectedRejected;
+
+    @BeforeAll
+    static void setUpRows() {
+        rowList = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            AuthUserPO row = new AuthUserPO();
+            row.setUserName("user" + i);
+            row.setNickName("n" + i % 1000);
+            row.setEmail("u" + i + "@winter.com");
+            row.setPhone(String.format("139%08d", i));
+            row.setPassword("Winter" + i);
+            row.setSex("男");
+            row.setStatus("正常");
+            row.setPostName("开发");
+            row.setRoleName("管理员");
+            row.setDeptName("研发部");
+            // 批次内重复：与上一行同名
+            if (i % 500 == 499) {
+                row.setUserName("user" + (i - 1));
+            }
+            // 跨批次重复：与上一批次中的行同邮箱
+            if (i % 1000 == 1 && i > 1000) {
+                row.setEmail("u" + (i - 1000) + "@winter.com");
+            }
+            // 跨批次重复：与较早的行同手机号
+            if (i % 7000 == 3 && i > 7000) {
+                row.setPhone(String.format("139%08d", 3));
+            }
+            rowList.add(row);
+        }
+
+        // 逐行判定的期望结果：用户名、邮箱、手机号任意一个已被占用即拒绝
+        expectedRejected = new HashSet<>();
+        Set<String> userNameSet = new HashSet<>(Set.of(EXIST_USER_NAME));
+        Set<String> emailSet = new HashSet<>(Set.of("exist@winter.com"));
+        Set<String> phoneSet = new HashSet<>(Set.of("13700000000"));
+        for (int i = 0; i < ROW_COUNT; i++) {
+            AuthUserPO row = rowList.get(i);
+            if (userNameSet.contains(row.getUserName()) || emailSet.contains(row.getEmail()) || phoneSet.contains(row.getPhone())) {
+                expectedRejected.add(rowKey(row.getUserName(), row.getEmail(), row.getPhone()));
+                continue;
+            }
+            userNameSet.add(row.getUserName());
+            emailSet.add(row.getEmail());
+            phoneSet.add(row.getPhone());
+        }
+    }
+
+    @Test
+    void chunkedImportMatchesPerRowSave() throws Exception {
+        Fixture chunked = new Fixture("user_import_chunked");
+        Fixture perRow = new Fixture("user_import_per_row");
+
+        chunked.repository.userImportExcel(new MockHttpServletResponse(), excelFile());
+        long chunkedStatements = chunked.statementCounter.count.get();
+
+        int perRowRejected = 0;
+        for (AuthUserPO row : rowList) {
+            try {
+                perRow.repository.userSave(toDO(row));
+            } catch (BusinessException e) {
+                perRowRejected++;
+            }
+        }
+        long perRowStatements = perRow.statementCounter.count.get();
+
+        // 1. 重复校验：分批导入的错误行与期望一致，逐行保存拒绝的行数相同
+        assertThat(expectedRejected).hasSizeGreaterThan(100);
+        assertThat(chunked.rejectedRows()).isEqualTo(expectedRejected);
+        assertThat(perRowRejected).isEqualTo(expectedRejected.size());
+
+        // 2. 写入的用户、角色与部门关联一致
+        List<Map<String, Object>> chunkedUsers = chunked.users();
+        List<Map<String, Object>> perRowUsers = perRow.users();
+        assertThat(chunkedUsers).hasSize(ROW_COUNT - expectedRejected.size() + 1);
+        assertThat(column(chunkedUsers, "USER_NAME")).isEqualTo(column(perRowUsers, "USER_NAME"));
+        assertThat(column(chunkedUsers, "PASSWORD")).isEqualTo(column(perRowUsers, "PASSWORD"));
+        assertThat(chunkedUsers.get(1).get("PASSWORD")).isEqualTo(CryptoUtil.winterMd5Hex16("Winter0"));
+        for (Fixture fixture : List.of(chunked, perRow)) {
+            assertThat(fixture.count("SELECT count(*) FROM sys_user_role WHERE role_id = " + ROLE_ID)).isEqualTo(chunkedUsers.size() - 1L);
+            assertThat(fixture.count("SELECT count(*) FROM sys_user_dept WHERE dept_id = " + DEPT_ID)).isEqualTo(chunkedUsers.size() - 1L);
+            assertThat(fixture.count("SELECT count(*) FROM sys_user u WHERE u.user_name <> '" + EXIST_USER_NAME + "' " +
+                                     "AND NOT EXISTS (SELECT 1 FROM sys_user_role ur WHERE ur.user_id = u.id)")).isZero();
+        }
+
+        // 3. 审计字段：多行 INSERT 与 MyBatis-Plus 自动填充写入相同的创建/更新人，时间均不为空
+        Object auditUser = perRowUsers.get(1).get("CREATE_BY");
+        assertThat(auditUser).isNotNull();
+        for (List<Map<String, Object>> users : List.of(chunkedUsers, perRowUsers)) {
+            for (Map<String, Object> user : users.subList(1, users.size())) {
+                assertThat(user.get("CREATE_BY")).as("%s", user).isEqualTo(auditUser);
+                assertThat(user.get("UPDATE_BY")).as("%s", user).isEqualTo(auditUser);
+                assertThat(user.get("CREATE_TIME")).as("%s", user).isNotNull();
+                assertThat(user.get("UPDATE_TIME")).as("%s", user).isNotNull();
+                assertThat(user.get("POST_ID")).isEqualTo(POST_ID);
+                assertThat(user.get("SEX")).isEqualTo("0");
+                assertThat(user.get("STATUS")).isEqualTo("1");
+            }
+        }
+
+        // 4. 分批导入每批固定 3 次唯一性查询 + 3 条多行 INSERT，逐行保存每行至少 2 条 SQL
+        int batches = (ROW_COUNT + 999) / 1000;
+        assertThat(chunkedStatements).isLessThanOrEqualTo(batches * 6L);
+        assertThat(perRowStatements).isGreaterThanOrEqualTo(ROW_COUNT * 2L);
+    }
+
+    private static MockMultipartFile excelFile() {
+        List<AuthUserPO> copyList = new ArrayList<>(rowList.size());
+        for (AuthUserPO row : rowList) {
+            AuthUserPO copy = new AuthUserPO();
+            copy.setUserName(row.getUserName());
+            copy.setNickName(row.getNickName());
+            copy.setEmail(row.getEmail());
+            copy.setPhone(row.getPhone());
+            copy.setPassword(row.getPassword());
+            copy.setSex(row.getSex());
+            copy.setStatus(row.getStatus());
+            copy.setPostName(row.getPostName());
+            copy.setRoleName(row.getRoleName());
+            copy.setDeptName(row.getDeptName());
+            copyList.add(copy);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        FastExcel.write(outputStream, AuthUserPO.class).sheet("用户").doWrite(copyList);
+        return new MockMultipartFile("file", "user.xlsx", null, outputStream.toByteArray());
+    }
+
+    private static AuthUserDO toDO(AuthUserPO row) {
+        AuthUserDO aDo = new AuthUserDO();
+        aDo.setUserName(row.getUserName());
+        aDo.setNickName(row.getNickName());
+        aDo.setEmail(row.getEmail());
+        aDo.setPhone(row.getPhone());
+        aDo.setPassword(row.getPassword());
+        aDo.setSex("0");
+        aDo.setStatus("1");
+        aDo.setPostId(POST_ID);
+        aDo.setRoleIds(List.of(ROLE_ID));
+        aDo.setDeptIds(List.of(DEPT_ID));
+        return aDo;
+    }
+
+    private static List<Object> column(List<Map<String, Object>> userList, String column) {
+        return userList.stream().map(user -> user.get(column)).collect(Collectors.toList());
+    }
+
+    private static String rowKey(Object userName, Object email, Object phone) {
+        return userName + "/" + email + "/" + phone;
+    }
+
+    private static DictDataDTO dict(Long dictTypeId, String label, String value) {
+        DictDataDTO dictDataDTO = new DictDataDTO();
+        dictDataDTO.setDictTypeId(dictTypeId);
+        dictDataDTO.setDictLabel(label);
+        dictDataDTO.setDictValue(value);
+        return dictDataDTO;
+    }
+
+    /**
+     * 一个独立的 H2 库及其上的用户仓储：Mapper 通过 SqlSessionTemplate 参与 TransactionTemplate 的事务，
+     * 其余依赖（字典、职位/角色/部门名称、国际化、Excel 导出）为桩
+     */
+    private static final class Fixture {
+        private final JdbcDataSource dataSource = new JdbcDataSource();
+        private final StatementCounter statementCounter = new StatementCounter();
+        private final WinterExcelTemplate winterExcelTemplate = mock(WinterExcelTemplate.class);
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        private final AuthUserRepositoryImpl repository;
+
+        private Fixture(String database) throws Exception {
+            dataSource.setURL("jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE sys_user (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_name VARCHAR(64), " +
+                                  "nick_name VARCHAR(64), email VARCHAR(128), phone VARCHAR(32), sex VARCHAR(1), avatar VARCHAR(255), " +
+                                  "password VARCHAR(64), status VARCHAR(1), remark VARCHAR(255), post_id BIGINT, " +
+                                  "introduction VARCHAR(255), bg_img VARCHAR(255), create_by BIGINT, create_time TIMESTAMP, " +
+                                  "update_by BIGINT, update_time TIMESTAMP)");
+                statement.execute("CREATE INDEX idx_sys_user_user_name ON sys_user (user_name)");
+                statement.execute("CREATE INDEX idx_sys_user_email ON sys_user (email)");
+                statement.execute("CREATE INDEX idx_sys_user_phone ON sys_user (phone)");
+                statement.execute("CREATE TABLE sys_user_role (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, role_id BIGINT NOT NULL)");
+                statement.execute("CREATE TABLE sys_user_dept (id INT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, dept_id BIGINT NOT NULL)");
+                statement.execute("INSERT INTO sys_user (user_name, email, phone) VALUES ('" + EXIST_USER_NAME + "', 'exist@winter.com', '13700000000')");
+            }
+
+            MybatisConfiguration configuration = new MybatisConfiguration();
+            configuration.setEnvironment(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+            configuration.addInterceptor(statementCounter);
+            GlobalConfigUtils.getGlobalConfig(configuration).setMetaObjectHandler(new MyMetaObjectHandler());
+            for (String resource : List.of("mapper/AuthUserMapper.xml", "mapper/AuthUserRoleMapper.xml", "mapper/AuthUserDeptMapper.xml")) {
+                try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+                    new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+                }
+            }
+            SqlSessionTemplate sqlSessionTemplate = new SqlSessionTemplate(new MybatisSqlSessionFactoryBuilder().build(configuration));
+
+            AuthUserMpServiceImpl authUserMpService = new AuthUserMpServiceImpl();
+            ReflectionTestUtils.setField(authUserMpService, "baseMapper", sqlSessionTemplate.getMapper(AuthUserMapper.class));
+            AuthUserRoleMpServiceImpl authUserRoleMpService = new AuthUserRoleMpServiceImpl();
+            ReflectionTestUtils.setField(authUserRoleMpService, "baseMapper", sqlSessionTemplate.getMapper(AuthUserRoleMapper.class));
+            AuthUserDeptMpServiceImpl authUserDeptMpService = new AuthUserDeptMpServiceImpl();
+            ReflectionTestUtils.setField(authUserDeptMpService, "baseMapper", sqlSessionTemplate.getMapper(AuthUserDeptMapper.class));
+
+            AuthPostPO post = new AuthPostPO();
+            post.setId(POST_ID);
+            post.setPostName("开发");
+            IAuthPostMPService authPostMpService = mock(IAuthPostMPService.class);
+            when(authPostMpService.list(any(Wrapper.class))).thenReturn(List.of(post));
+            AuthRolePO role = new AuthRolePO();
+            role.setId(ROLE_ID);
+            role.setRoleName("管理员");
+            IAuthRoleMPService authRoleMpService = mock(IAuthRoleMPService.class);
+            when(authRoleMpService.list(any(Wrapper.class))).thenReturn(List.of(role));
+            AuthDeptPO dept = new AuthDeptPO().setId(DEPT_ID).setDeptName("研发部");
+            IAuthDeptMPService authDeptMpService = mock(IAuthDeptMPService.class);
+            when(authDeptMpService.list(any(Wrapper.class))).thenReturn(List.of(dept));
+
+            WinterI18nTemplate winterI18nTemplate = mock(WinterI18nTemplate.class);
+            when(winterI18nTemplate.message(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+            DictFacade dictFacade = mock(DictFacade.class);
+            when(dictFacade.getDictDataByType(any())).thenReturn(Response.ok(Map.of(
+                    "1", List.of(dict(1L, "男", "0"), dict(1L, "女", "1")),
+                    "110", List.of(dict(110L, "正常", "1"), dict(110L, "停用", "0")))));
+
+            repository = new AuthUserRepositoryImpl(authUserMpService, authUserRoleMpService, authUserDeptMpService,
+                    authPostMpService, sqlSessionTemplate.getMapper(AuthUserMapper.class),
+                    sqlSessionTemplate.getMapper(AuthUserRoleMapper.class), sqlSessionTemplate.getMapper(AuthUserDeptMapper.class),
+                    authRoleMpService, authDeptMpService, Mappers.getMapper(AuthUserInfraAssembler.class), winterI18nTemplate,
+                    mock(RemoteI18nMessageRepositoryImpl.class), winterExcelTemplate, mock(WinterRedisTemplate.class),
+                    objectMapper, mock(Validator.class), new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                    mock(ExcelTemplateRegistry.class), new MyMetaObjectHandler());
+            ReflectionTestUtils.setField(repository, "dictFacade", dictFacade);
+        }
+
+        /**
+         * 分批导入导出的业务错误行（用户名/邮箱/手机号）
+         */
+        @SuppressWarnings("unchecked")
+        private Set<String> rejectedRows() throws Exception {
+            ArgumentCaptor<List<WinterExcelExportParam<?>>> captor = ArgumentCaptor.forClass(List.class);
+            verify(winterExcelTemplate).exportMultiSheet(any(), anyString(), anyString(), captor.capture());
+            Set<String> rejected = new HashSet<>();
+            for (WinterExcelExportParam<?> param : captor.getValue()) {
+                for (Object error : param.getDataList()) {
+                    WinterExcelBusinessErrorModel errorModel = (WinterExcelBusinessErrorModel) error;
+                    Map<?, ?> row = objectMapper.readValue(errorModel.getEntityRowInfo(), Map.class);
+                    rejected.add(rowKey(row.get("userName"), row.get("email"), row.get("phone")));
+                }
+            }
+            return rejected;
+        }
+
+        private List<Map<String, Object>> users() throws SQLException {
+            List<Map<String, Object>> userList = new ArrayList<>();
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT user_name, password, sex, status, post_id, create_by, " +
+                                                              "create_time, update_by, update_time FROM sys_user ORDER BY id")) {
+                while (resultSet.next()) {
+                    Map<String, Object> user = new HashMap<>();
+                    for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
+                        user.put(resultSet.getMetaData().getColumnLabel(i).toUpperCase(), resultSet.getObject(i));
+                    }
+                    userList.add(user);
+                }
+            }
+            return userList;
+        }
+
+        private long count(String sql) throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(sql)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * 统计执行的 SQL 条数（批量执行器中每次 update 计一条）
+     */
+    @Intercepts({
+            @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+            @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+    })
+    public static class StatementCounter implements Interceptor {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            count.incrementAndGet();
+            return invocation.proceed();
+        }
+    }
+}
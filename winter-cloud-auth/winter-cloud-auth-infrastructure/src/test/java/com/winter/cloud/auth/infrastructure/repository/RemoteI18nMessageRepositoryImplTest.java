@@ -0,0 +1,75 @@
+package com.winter.cloud.auth.infrastructure.repository;
+
+import com.winter.cloud.i18n.api.facade.I18nMessageFacade;
+import com.winter.cloud.i18n.client.I18nBundleCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量获取国际化消息：本地消息包能解析的不发起远程调用，其余消息键合并为一次远程调用
+ */
+class RemoteI18nMessageRepositoryImplTest {
+
+    private final I18nBundleCache i18nBundleCache = mock(I18nBundleCache.class);
+    private final I18nMessageFacade i18nMessageFacade = mock(I18nMessageFacade.class);
+    private RemoteI18nMessageRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RemoteI18nMessageRepositoryImpl(i18nBundleCache);
+        ReflectionTestUtils.setField(repository, "i18nMessageFacade", i18nMessageFacade);
+        when(i18nBundleCache.getMessage(eq("local.hit"), isNull(), any(Locale.class))).thenReturn("本地");
+        when(i18nMessageFacade.getMessages(anyCollection(), anyString())).thenReturn(Map.of("remote.hit", "远程"));
+    }
+
+    @Test
+    void bundleMissesAreMergedIntoOneRemoteCall() {
+        Map<String, String> resultMap = repository.getMessages(
+                Arrays.asList("local.hit", "remote.hit", "remote.missing", "remote.hit", null), Locale.SIMPLIFIED_CHINESE);
+
+        assertThat(resultMap).containsOnly(entry("local.hit", "本地"), entry("remote.hit", "远程"));
+        assertThat(remoteKeys("zh_CN")).containsExactly("remote.hit", "remote.missing");
+    }
+
+    @Test
+    void allBundleHitsSkipRemoteCall() {
+        Map<String, String> resultMap = repository.getMessages(List.of("local.hit"), Locale.SIMPLIFIED_CHINESE);
+
+        assertThat(resultMap).containsOnly(entry("local.hit", "本地"));
+        verifyNoInteractions(i18nMessageFacade);
+    }
+
+    @Test
+    void localeWithoutCountryIsSentAsLanguage() {
+        repository.getMessages(List.of("remote.hit"), Locale.ENGLISH);
+
+        assertThat(remoteKeys("en")).containsExactly("remote.hit");
+    }
+
+    private Collection<String> remoteKeys(String locale) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(i18nMessageFacade).getMessages(captor.capture(), eq(locale));
+        return captor.getValue();
+    }
+}
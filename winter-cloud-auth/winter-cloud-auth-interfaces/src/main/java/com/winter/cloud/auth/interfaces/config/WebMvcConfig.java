@@ -9,14 +9,17 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
 import com.winter.cloud.auth.infrastructure.config.properties.XxlJobProperties;
+import com.winter.cloud.auth.interfaces.interceptor.ReadWriteRoutingInterceptor;
 import com.winter.cloud.auth.interfaces.interceptor.TraceIdInterceptor;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.util.TtlExecutorUtils;
 import com.xxl.job.core.executor.impl.XxlJobSpringExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -25,6 +28,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.TimeZone;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Web MVC 配置类
@@ -40,17 +44,21 @@ import java.util.TimeZone;
 public class WebMvcConfig implements WebMvcConfigurer {
     private final XxlJobProperties xxlJobProperties;
     private final TraceIdInterceptor traceIdInterceptor;
+    private final ReadWriteRoutingInterceptor readWriteRoutingInterceptor;
 
 
-    public WebMvcConfig(TraceIdInterceptor traceIdInterceptor, XxlJobProperties xxlJobProperties) {
+    public WebMvcConfig(TraceIdInterceptor traceIdInterceptor, XxlJobProperties xxlJobProperties,
+                        ReadWriteRoutingInterceptor readWriteRoutingInterceptor) {
         this.traceIdInterceptor = traceIdInterceptor;
         this.xxlJobProperties = xxlJobProperties;
+        this.readWriteRoutingInterceptor = readWriteRoutingInterceptor;
     }
 
     /**
      * 注册拦截器
      * <p>
-     * 将 TraceId 拦截器注册到所有请求路径，确保每个请求都有 traceId。
+     * 将 TraceId 拦截器注册到所有请求路径，确保每个请求都有 traceId；
+     * 读写路由拦截器以请求为边界清理写后读主库的标记。
      * </p>
      */
     @Override
@@ -58,6 +66,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addInterceptor(traceIdInterceptor)
                 .addPathPatterns("/**")  // 拦截所有请求
                 .order(0);  // 设置为最高优先级，确保最先执行
+        registry.addInterceptor(readWriteRoutingInterceptor)
+                .addPathPatterns("/**")
+                .order(1);
     }
 
 
@@ -160,4 +171,52 @@ public class WebMvcConfig implements WebMvcConfigurer {
         log.info("xxl-job executor configured successfully");
         return xxlJobSpringExecutor;
     }
+
+    /**
+     * 认证服务业务线程池（登录并行查询等）
+     * <p>
+     * 任务经 TTL 包装以传递 traceId 等上下文；同时记录排队和执行耗时，超过阈值时输出告警日志。
+     * </p>
+     */
+    @Bean("authPoolExecutor")
+    public ThreadPoolTaskExecutor authPoolExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        //核心线程数：线程池创建时候初始化的线程数
+        executor.setCorePoolSize(16);
+        //最大线程数：线程池最大的线程数，只有在缓冲队列满了之后才会申请超过核心线程数的线程
+        executor.setMaxPoolSize(64);
+        //缓冲队列：用来缓冲执行任务的队列
+        executor.setQueueCapacity(500);
+        //允许线程的空闲时间60秒：当超过了核心线程出之外的线程在空闲时间到达之后会被销毁
+        executor.setKeepAliveSeconds(60);
+        //线程池名的前缀：设置好了之后可以方便我们定位处理任务所在的线程池
+        executor.setThreadNamePrefix("auth-");
+        //队列和线程都满时由调用线程执行，登录不因线程池饱和而失败
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        //TTL 上下文传递 + 排队/执行耗时埋点
+        executor.setTaskDecorator(runnable -> {
+            long submitTime = System.currentTimeMillis();
+            Runnable ttlRunnable = TtlExecutorUtils.wrapRunnable(runnable);
+            return () -> {
+                long startTime = System.currentTimeMillis();
+                try {
+                    ttlRunnable.run();
+                } finally {
+                    long waitTime = startTime - submitTime;
+                    long costTime = System.currentTimeMillis() - startTime;
+                    if (waitTime > 100 || costTime > 1000) {
+                        log.warn("authPoolExecutor 任务耗时过长，排队: {}ms，执行: {}ms", waitTime, costTime);
+                    } else {
+                        log.debug("authPoolExecutor 任务完成，排队: {}ms，执行: {}ms", waitTime, costTime);
+                    }
+                }
+            };
+        });
+        executor.setAwaitTerminationSeconds(60);
+        //等待所有的任务结束后再关闭线程池
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        // 初始化线程池
+        executor.initialize();
+        return executor;
+    }
 }
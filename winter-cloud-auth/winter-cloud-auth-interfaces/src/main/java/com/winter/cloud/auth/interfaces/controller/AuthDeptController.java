@@ -43,21 +43,21 @@ public class AuthDeptController {
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(),winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()),data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dept:deptSave')")
+    @PreAuthorize("@perm.has('sys:dept:deptSave')")
     @PostMapping("/deptSave")
     public Response<Boolean> deptSave(@RequestBody @Validated(UpsertDeptCommand.Save.class) UpsertDeptCommand command) {
         Boolean data = authDeptAppService.deptSave(command);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dept:deptUpdate')")
+    @PreAuthorize("@perm.has('sys:dept:deptUpdate')")
     @PutMapping("/deptUpdate")
     public Response<Boolean> deptUpdate(@RequestBody @Validated(UpsertDeptCommand.Update.class) UpsertDeptCommand command) {
         Boolean data = authDeptAppService.deptUpdate(command);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dept:deptDelete')")
+    @PreAuthorize("@perm.has('sys:dept:deptDelete')")
     @DeleteMapping("/deptDelete")
     public Response<Boolean> deptDelete(@RequestParam("id") @NotNull Long id) {
         Boolean data = authDeptAppService.deptDelete(id);
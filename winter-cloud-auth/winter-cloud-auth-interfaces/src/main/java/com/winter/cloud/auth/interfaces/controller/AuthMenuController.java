@@ -58,7 +58,7 @@ public class AuthMenuController {
      * @param command 新增
      * @return 是否新增成功
      */
-    @PreAuthorize("hasAuthority('sys:menu:menuSave')")
+    @PreAuthorize("@perm.has('sys:menu:menuSave')")
     @PostMapping("/menuSave")
     public Response<Boolean> menuSave(@RequestBody @Validated(UpsertMenuCommand.Save.class) UpsertMenuCommand command){
         boolean data = authMenuAppService.menuSave(command);
@@ -70,7 +70,7 @@ public class AuthMenuController {
      * @param command 编辑
      * @return 是否编辑成功
      */
-    @PreAuthorize("hasAuthority('sys:menu:menuUpdate')")
+    @PreAuthorize("@perm.has('sys:menu:menuUpdate')")
     @PutMapping("/menuUpdate")
     public Response<Boolean> menuUpdate(@RequestBody @Validated(UpsertMenuCommand.Update.class) UpsertMenuCommand command){
         boolean data = authMenuAppService.menuUpdate(command);
@@ -82,7 +82,7 @@ public class AuthMenuController {
      * @param id 资源ID
      * @return 是否删除成功
      */
-    @PreAuthorize("hasAuthority('sys:menu:menuDelete')")
+    @PreAuthorize("@perm.has('sys:menu:menuDelete')")
     @DeleteMapping("/menuDelete")
     public Response<Boolean> menuDelete(@RequestParam @NotNull Long id){
         boolean data = authMenuAppService.menuDelete(id);
@@ -79,7 +79,7 @@ public class AuthPostController {
      * @throws IllegalArgumentException 如果职位信息验证失败
      * @throws com.winter.cloud.common.exception.BusinessException 如果职位名称已存在
      */
-    @PreAuthorize("hasAuthority('sys:post:postSave')")
+    @PreAuthorize("@perm.has('sys:post:postSave')")
     @PostMapping("/postSave")
     public Response<Boolean> postSave(@RequestBody @Validated(UpsertPostCommand.Save.class) UpsertPostCommand command) {
         Boolean data = authPostAppService.postSave(command);
@@ -96,7 +96,7 @@ public class AuthPostController {
      * @throws IllegalArgumentException 如果职位信息验证失败
      * @throws com.winter.cloud.common.exception.BusinessException 如果职位不存在或名称已存在
      */
-    @PreAuthorize("hasAuthority('sys:post:postUpdate')")
+    @PreAuthorize("@perm.has('sys:post:postUpdate')")
     @PutMapping("/postUpdate")
     public Response<Boolean> postUpdate(@RequestBody @Validated(UpsertPostCommand.Update.class) UpsertPostCommand command) {
         Boolean data = authPostAppService.postUpdate(command);
@@ -113,7 +113,7 @@ public class AuthPostController {
      * @throws IllegalArgumentException 如果ID列表为空
      * @throws com.winter.cloud.common.exception.BusinessException 如果职位关联了用户
      */
-    @PreAuthorize("hasAuthority('sys:post:postDelete')")
+    @PreAuthorize("@perm.has('sys:post:postDelete')")
     @DeleteMapping("/postDelete")
     public Response<Boolean> postDelete(@RequestBody @Valid @NotEmpty(message = "{delete.data.notEmpty}") List<Long> postIdList) {
         Boolean data = authPostAppService.postDelete(postIdList);
@@ -130,7 +130,7 @@ public class AuthPostController {
      * @throws IOException 如果写入Excel文件失败
      * @see #postExportExcelTemplate(HttpServletResponse)
      */
-    @PreAuthorize("hasAuthority('sys:post:postExportExcel')")
+    @PreAuthorize("@perm.has('sys:post:postExportExcel')")
     @PostMapping(value = "/postExportExcel")
     public void postExportExcel(HttpServletResponse response, @RequestBody PostQuery postQuery) {
         authPostAppService.postExportExcel(response, postQuery);
@@ -145,7 +145,7 @@ public class AuthPostController {
      * @throws IOException 如果写入Excel文件失败
      * @see #postExportExcel(HttpServletResponse, PostQuery)
      */
-    @PreAuthorize("hasAuthority('sys:post:postExportExcelTemplate')")
+    @PreAuthorize("@perm.has('sys:post:postExportExcelTemplate')")
     @PostMapping(value = "/postExportExcelTemplate")
     public void postExportExcelTemplate(HttpServletResponse response) {
         authPostAppService.postExportExcelTemplate(response);
@@ -161,7 +161,7 @@ public class AuthPostController {
      * @throws IOException 如果读取Excel文件失败
      * @throws IllegalArgumentException 如果文件格式不正确
      */
-    @PreAuthorize("hasAuthority('sys:post:postImportExcel')")
+    @PreAuthorize("@perm.has('sys:post:postImportExcel')")
     @PostMapping(value = "/postImportExcel")
     public void postImportExcel(HttpServletResponse response, @RequestParam(value = "file") MultipartFile file) throws IOException {
         authPostAppService.postImportExcel(response,file);
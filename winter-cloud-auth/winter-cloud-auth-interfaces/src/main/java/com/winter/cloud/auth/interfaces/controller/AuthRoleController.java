@@ -83,7 +83,7 @@ public class AuthRoleController {
      * @throws IllegalArgumentException 如果角色信息验证失败
      * @throws com.winter.cloud.common.exception.BusinessException 如果角色名称已存在
      */
-    @PreAuthorize("hasAuthority('sys:role:roleSave')")
+    @PreAuthorize("@perm.has('sys:role:roleSave')")
     @PostMapping("/roleSave")
     public Response<Boolean> roleSave(@RequestBody @Validated(UpsertRoleCommand.Save.class) UpsertRoleCommand command) {
         Boolean data = authRoleAppService.roleSave(command);
@@ -100,7 +100,7 @@ public class AuthRoleController {
      * @throws IllegalArgumentException 如果角色信息验证失败
      * @throws com.winter.cloud.common.exception.BusinessException 如果角色不存在或名称已存在
      */
-    @PreAuthorize("hasAuthority('sys:role:roleUpdate')")
+    @PreAuthorize("@perm.has('sys:role:roleUpdate')")
     @PutMapping("/roleUpdate")
     public Response<Boolean> roleUpdate(@RequestBody @Validated(UpsertRoleCommand.Update.class) UpsertRoleCommand command) {
         Boolean data = authRoleAppService.roleUpdate(command);
@@ -117,7 +117,7 @@ public class AuthRoleController {
      * @throws IllegalArgumentException 如果ID列表为空
      * @throws com.winter.cloud.common.exception.BusinessException 如果角色关联了用户
      */
-    @PreAuthorize("hasAuthority('sys:role:roleDelete')")
+    @PreAuthorize("@perm.has('sys:role:roleDelete')")
     @DeleteMapping("/roleDelete")
     public Response<Boolean> roleDelete(@RequestBody @Valid @NotEmpty(message = "{delete.data.notEmpty}") List<Long> roleIds) {
         Boolean data = authRoleAppService.roleDelete(roleIds);
@@ -134,7 +134,7 @@ public class AuthRoleController {
      * @throws IOException 如果写入Excel文件失败
      * @see #roleExportExcelTemplate(HttpServletResponse)
      */
-    @PreAuthorize("hasAuthority('sys:role:roleExportExcel')")
+    @PreAuthorize("@perm.has('sys:role:roleExportExcel')")
     @PostMapping(value = "/roleExportExcel")
     public void roleExportExcel(HttpServletResponse response,@RequestBody RoleQuery roleQuery ) {
         authRoleAppService.roleExportExcel(response,roleQuery);
@@ -149,7 +149,7 @@ public class AuthRoleController {
      * @throws IOException 如果写入Excel文件失败
      * @see #roleExportExcel(HttpServletResponse, RoleQuery)
      */
-    @PreAuthorize("hasAuthority('sys:role:roleExportExcelTemplate')")
+    @PreAuthorize("@perm.has('sys:role:roleExportExcelTemplate')")
     @PostMapping(value = "/roleExportExcelTemplate")
     public void roleExportExcelTemplate(HttpServletResponse response) {
         authRoleAppService.roleExportExcelTemplate(response);
@@ -165,7 +165,7 @@ public class AuthRoleController {
      * @throws IOException 如果读取Excel文件失败
      * @throws IllegalArgumentException 如果文件格式不正确
      */
-    @PreAuthorize("hasAuthority('sys:role:roleImportExcel')")
+    @PreAuthorize("@perm.has('sys:role:roleImportExcel')")
     @PostMapping(value = "/roleImportExcel")
     public void roleImportExcel(HttpServletResponse response, @RequestParam(value = "file") MultipartFile file) throws IOException {
         authRoleAppService.roleImportExcel(response,file);
@@ -183,7 +183,7 @@ public class AuthRoleController {
      * @throws IllegalArgumentException 如果参数验证失败
      * @throws com.winter.cloud.common.exception.BusinessException 如果角色不存在
      */
-    @PreAuthorize("hasAuthority('sys:role:assignMenuPermissions')")
+    @PreAuthorize("@perm.has('sys:role:assignMenuPermissions')")
     @PostMapping("/assignMenuPermissions")
     public Response<Void> assignMenuPermissions(@RequestBody @Validated AssignResourcesCommand command ) {
         authRoleAppService.assignMenuPermissions(command.getRoleId(), command.getMenuIds());
@@ -6,6 +6,7 @@ import com.winter.cloud.auth.api.dto.command.UserLoginCommand;
 import com.winter.cloud.auth.api.dto.command.UserRegisterCommand;
 import com.winter.cloud.auth.api.dto.query.UserQuery;
 import com.winter.cloud.auth.api.dto.response.LoginResponseDTO;
+import com.winter.cloud.auth.api.dto.response.OnlineSessionResponseDTO;
 import com.winter.cloud.auth.api.dto.response.UserResponseDTO;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 import com.winter.cloud.auth.api.facade.AuthValidationFacade;
@@ -13,6 +14,7 @@ import com.winter.cloud.auth.application.service.AuthUserAppService;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.enums.ResultCodeEnum;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
 import com.winter.cloud.common.util.JwtUtil;
@@ -21,16 +23,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboService;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -128,12 +135,20 @@ public class AuthUserController implements AuthValidationFacade {
                 return buildFailureResult("Token 中用户 ID 格式错误");
             }
 
+            // 会话缺失时 token 须仍在用户的 token 索引中，已踢出的 token 不再重建会话
+            if (!authUserAppService.isTokenActive(userId, token)) {
+                log.warn("Token 验证失败: Token 已失效, 用户ID: {}", userId);
+                return buildFailureResult("Token 已失效");
+            }
+
             // 步骤4: 获取用户角色和权限信息
             // 委托给应用服务层处理，获取完整的用户权限信息
             ValidateTokenDTO result = authUserAppService.generateUserInfo(userId, userName);
 
             // 设置验证成功消息
             result.setMessage("Token 有效");
+            // 回填会话，后续请求直接命中缓存，不再走 RPC
+            authUserAppService.cacheSession(token, result);
 
             log.info("Token 验证成功 - 用户ID: {}, 用户名: {}, 角色数: {}, 权限数: {}", 
                     userId, userName, 
@@ -152,6 +167,68 @@ public class AuthUserController implements AuthValidationFacade {
         }
     }
 
+    /**
+     * 批量验证 Token
+     * <p>
+     * 逐个校验 Token 签名和有效期，解析出用户后统一交给应用服务批量获取会话
+     * （一次 MGET + 未命中用户的批量查询），单个 Token 的失败不影响其它 Token。
+     * </p>
+     *
+     * @param tokens JWT Token 列表
+     * @return 验证结果列表，与 tokens 按下标一一对应
+     */
+    @Override
+    public List<ValidateTokenDTO> validateTokens(List<String> tokens) {
+        if (CollectionUtils.isEmpty(tokens)) {
+            return List.of();
+        }
+        ValidateTokenDTO[] results = new ValidateTokenDTO[tokens.size()];
+        Map<String, Long> tokenUserIdMap = new HashMap<>(tokens.size() * 2);
+        Map<Long, String> userNameMap = new HashMap<>(tokens.size() * 2);
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            try {
+                if (!StringUtils.hasText(token) || !JwtUtil.validateToken(token)) {
+                    results[i] = buildFailureResult("Token 无效或已过期");
+                    continue;
+                }
+                String subject = JwtUtil.getSubject(token);
+                String userName = (String) JwtUtil.getClaim(token, CommonConstants.Claim.NAME);
+                if (!StringUtils.hasText(subject) || !StringUtils.hasText(userName)) {
+                    results[i] = buildFailureResult("Token 解析失败");
+                    continue;
+                }
+                Long userId = Long.parseLong(subject);
+                tokenUserIdMap.put(token, userId);
+                userNameMap.put(userId, userName);
+            } catch (Exception e) {
+                log.warn("Token 解析失败，下标: {}", i, e);
+                results[i] = buildFailureResult("Token 解析失败");
+            }
+        }
+
+        Map<Long, ValidateTokenDTO> sessionMap = Map.of();
+        try {
+            sessionMap = authUserAppService.getSessionBatch(tokenUserIdMap, userNameMap);
+        } catch (Exception e) {
+            log.error("批量 Token 验证过程发生异常", e);
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ValidateTokenDTO session = sessionMap.get(tokenUserIdMap.get(tokens.get(i)));
+            if (session == null || !Boolean.TRUE.equals(session.getValid())) {
+                results[i] = buildFailureResult("Token 验证异常");
+            } else {
+                session.setMessage("Token 有效");
+                results[i] = session;
+            }
+        }
+        log.info("批量 Token 验证完成，数量: {}, 有效用户数: {}", tokens.size(), sessionMap.size());
+        return Arrays.asList(results);
+    }
+
     /**
      * 构建 Token 验证失败的返回结果
      *
@@ -214,16 +291,26 @@ public class AuthUserController implements AuthValidationFacade {
      * </p>
      *
      * @param command 登录命令对象，包含用户名和密码
+     * @param request HTTP 请求，用于获取客户端 IP（登录失败限流）
      * @return Response&lt;LoginResponseDTO&gt; 登录结果，包含 JWT Token 和用户信息
      * @throws JsonProcessingException JSON 序列化异常
-     * @throws BusinessException 登录失败时抛出业务异常（用户不存在、密码错误、账号禁用等）
+     * @throws BusinessException 登录失败时抛出业务异常（用户不存在、密码错误、账号禁用、失败次数过多等）
      */
     @PostMapping("/login")
-    public Response<LoginResponseDTO> login(@RequestBody @Validated UserLoginCommand command) throws JsonProcessingException {
-        LoginResponseDTO loginDTO = authUserAppService.login(command);
+    public Response<LoginResponseDTO> login(@RequestBody @Validated UserLoginCommand command, HttpServletRequest request) throws JsonProcessingException {
+        LoginResponseDTO loginDTO = authUserAppService.login(command, getClientIp(request));
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(),winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()),loginDTO);
     }
 
+    /**
+     * 获取客户端 IP：取网关写入的 X-Real-IP（网关会覆盖客户端自带的值）；
+     * X-Forwarded-For 的首个地址可由客户端伪造，不用于登录限流
+     */
+    private String getClientIp(HttpServletRequest request) {
+        String realIp = request.getHeader(CommonConstants.Headers.X_REAL_IP);
+        return StringUtils.hasText(realIp) ? realIp.trim() : request.getRemoteAddr();
+    }
+
 
     /**
      * 分页查询用户列表
@@ -254,6 +341,38 @@ public class AuthUserController implements AuthValidationFacade {
     }
 
 
+    /**
+     * 在线用户分页
+     * <p>
+     * 按最近活跃时间倒序，活跃时间由网关按周期批量写入，精度为一个写入周期。
+     * </p>
+     *
+     * @param pageQuery 分页参数（pageNum, pageSize）
+     * @return Response&lt;PageDTO&lt;OnlineSessionResponseDTO&gt;&gt; 在线会话分页
+     */
+    @PreAuthorize("@perm.has('sys:user:onlinePage')")
+    @PostMapping("/onlinePage")
+    public Response<PageDTO<OnlineSessionResponseDTO>> onlinePage(@RequestBody PageAndOrderDTO pageQuery) {
+        PageDTO<OnlineSessionResponseDTO> data = authUserAppService.onlinePage(pageQuery);
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(),winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()),data);
+    }
+
+    /**
+     * 批量踢出用户
+     * <p>
+     * 在一次 Redis 管道中删除用户会话、token 索引和在线记录，用户的全部 token 立即失效，需要重新登录。
+     * </p>
+     *
+     * @param userIdList 用户ID列表，不能为空
+     * @return Response&lt;Boolean&gt; 操作结果，成功返回 true
+     */
+    @PreAuthorize("@perm.has('sys:user:kickOut')")
+    @PostMapping("/kickOut")
+    public Response<Boolean> kickOut(@RequestBody @Valid @NotEmpty(message = "{delete.data.notEmpty}") List<Long> userIdList) {
+        Boolean data = authUserAppService.kickOut(userIdList);
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(),winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()),data);
+    }
+
     /**
      * 新增用户
      * <p>
@@ -274,7 +393,7 @@ public class AuthUserController implements AuthValidationFacade {
      *                         使用 {@link UpsertUserCommand.Save} 分组进行参数校验
      * @return Response&lt;Boolean&gt; 操作结果，成功返回 true
      */
-    @PreAuthorize("hasAuthority('sys:user:userSave')")
+    @PreAuthorize("@perm.has('sys:user:userSave')")
     @PostMapping("/userSave")
     public Response<Boolean> userSave(@RequestBody @Validated(UpsertUserCommand.Save.class) UpsertUserCommand upsertUserCommand) {
         Boolean data = authUserAppService.userSave(upsertUserCommand);
@@ -302,7 +421,7 @@ public class AuthUserController implements AuthValidationFacade {
      * @return Response&lt;Boolean&gt; 操作结果，成功返回 true
      * @throws BusinessException 更新失败时抛出业务异常（用户不存在、重复校验失败等）
      */
-    @PreAuthorize("hasAuthority('sys:user:userUpdate')")
+    @PreAuthorize("@perm.has('sys:user:userUpdate')")
     @PutMapping("/userUpdate")
     public Response<Boolean> userUpdate(@RequestBody @Validated(UpsertUserCommand.Update.class) UpsertUserCommand upsertUserCommand) {
         Boolean data = authUserAppService.userUpdate(upsertUserCommand);
@@ -328,7 +447,7 @@ public class AuthUserController implements AuthValidationFacade {
      * @return Response&lt;Boolean&gt; 操作结果，成功返回 true
      * @throws BusinessException 删除失败时抛出业务异常
      */
-    @PreAuthorize("hasAuthority('sys:user:userDelete')")
+    @PreAuthorize("@perm.has('sys:user:userDelete')")
     @DeleteMapping("/userDelete")
     public Response<Boolean> userDelete(@RequestBody @Valid @NotEmpty(message = "{delete.data.notEmpty}") List<Long> idList) {
         Boolean data = authUserAppService.userDelete(idList);
@@ -354,7 +473,7 @@ public class AuthUserController implements AuthValidationFacade {
      * @return Response&lt;Boolean&gt; 操作结果，成功返回 true
      * @throws BusinessException 重置失败时抛出业务异常（用户不存在、密码强度不足等）
      */
-    @PreAuthorize("hasAuthority('sys:user:updatePasswordBySuperMan')")
+    @PreAuthorize("@perm.has('sys:user:updatePasswordBySuperMan')")
     @PutMapping("/updatePasswordBySuperMan")
     public Response<Boolean> updatePasswordBySuperMan(@RequestBody @Validated(UpsertUserCommand.ResetPassword.class) UpsertUserCommand upsertUserCommand) {
         return authUserAppService.updatePasswordBySuperMan(upsertUserCommand.getId(), upsertUserCommand.getPassword());
@@ -366,9 +485,9 @@ public class AuthUserController implements AuthValidationFacade {
      *
      * @param response 响应
      */
-    @PreAuthorize("hasAuthority('sys:user:userExportExcel')")
+    @PreAuthorize("@perm.has('sys:user:userExportExcel')")
     @PostMapping(value = "/userExportExcel")
-    public void userExportExcel(HttpServletResponse response, @RequestBody UserQuery userQuery) {
+    public void userExportExcel(HttpServletResponse response, @RequestBody UserQuery userQuery) throws IOException {
         authUserAppService.userExportExcel(response, userQuery);
     }
 
@@ -377,7 +496,7 @@ public class AuthUserController implements AuthValidationFacade {
      *
      * @param response 响应
      */
-    @PreAuthorize("hasAuthority('sys:user:userExportExcelTemplate')")
+    @PreAuthorize("@perm.has('sys:user:userExportExcelTemplate')")
     @PostMapping(value = "/userExportExcelTemplate")
     public void userExportExcelTemplate(HttpServletResponse response) {
         authUserAppService.userExportExcelTemplate(response);
@@ -389,7 +508,7 @@ public class AuthUserController implements AuthValidationFacade {
      * @param response 响应
      * @param file     文件
      */
-    @PreAuthorize("hasAuthority('sys:user:userImportExcel')")
+    @PreAuthorize("@perm.has('sys:user:userImportExcel')")
     @PostMapping(value = "/userImportExcel")
     public void userImportExcel(HttpServletResponse response, @RequestParam(value = "file") MultipartFile file) throws IOException {
         authUserAppService.userImportExcel(response,file);
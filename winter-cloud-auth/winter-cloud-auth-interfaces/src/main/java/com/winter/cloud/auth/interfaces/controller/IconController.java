@@ -1,9 +1,11 @@
 package com.winter.cloud.auth.interfaces.controller;
 
 import com.winter.cloud.auth.api.dto.response.IconResponseDTO;
+import com.winter.cloud.auth.api.dto.response.IconValue;
 import com.winter.cloud.auth.api.facade.IconFacade;
 import com.winter.cloud.auth.application.service.IconAppService;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
 import com.zsq.i18n.template.WinterI18nTemplate;
 import lombok.RequiredArgsConstructor;
@@ -35,4 +37,14 @@ public class IconController implements IconFacade {
         List<IconResponseDTO> data=iconAppService.getIconList(name);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(),winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage(), LocaleContextHolder.getLocale()),data);
     }
+
+    /**
+     * 图标选择器检索：精确、前缀、子串、模糊匹配依次排列，分页返回
+     */
+    @GetMapping("/searchIcon")
+    @Override
+    public Response<PageDTO<IconValue>> searchIcon(String keyword, Integer pageNum, Integer pageSize) {
+        PageDTO<IconValue> data = iconAppService.searchIcon(keyword, pageNum, pageSize);
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage(), LocaleContextHolder.getLocale()), data);
+    }
 }
@@ -0,0 +1,36 @@
+package com.winter.cloud.auth.interfaces.interceptor;
+
+import com.winter.cloud.auth.infrastructure.datasource.ReadWriteRoutingContext;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 读写路由拦截器
+ * <p>
+ * 以请求为边界维护“写后读主库”状态：请求开始和结束时都清理当前线程的写标记，
+ * 避免线程池复用时上一个请求的写操作影响下一个请求的路由。
+ * </p>
+ */
+@Component
+public class ReadWriteRoutingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        ReadWriteRoutingContext.clear();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        ReadWriteRoutingContext.clear();
+    }
+}
@@ -7,6 +7,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+
 @RequiredArgsConstructor
 @Component
 @Slf4j
@@ -25,10 +27,7 @@ public class Job {
 //        int shardTotal = XxlJobHelper.getShardTotal();
         String[] paramArr = jobParam.split(",");
         //控制台输出日志
-        log.info("myXxlJobHandler execute...");
-        for (String s : paramArr) {
-            log.info("参数：{}", s);
-            iconAppService.insert(s);
-        }
+        log.info("iconJobHandler execute, 参数：{}", jobParam);
+        iconAppService.syncIconCollections(Arrays.asList(paramArr));
     }
 }
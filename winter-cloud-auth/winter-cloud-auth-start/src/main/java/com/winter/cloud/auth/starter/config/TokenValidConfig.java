@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import com.winter.cloud.auth.domain.repository.AuthSessionRepository;
+import com.winter.cloud.common.permission.PermissionChecker;
 import com.winter.cloud.common.util.JwtUtil;
 import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import com.zsq.winter.security.config.TokenAuthenticator;
@@ -30,21 +32,29 @@ public class TokenValidConfig implements TokenAuthenticator {
 
     private final WinterRedisTemplate winterRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final PermissionChecker permissionChecker;
     private final AuthValidationFacade authValidationFacade;
+    private final AuthSessionRepository authSessionRepository;
 
     /**
      * 构造方法注入依赖
      *
      * @param winterRedisTemplate  Redis 操作模板
      * @param objectMapper         JSON 序列化工具
-     * @param authValidationFacade 认证服务接口
+     * @param authValidationFacade  认证服务接口
+     * @param authSessionRepository 会话仓储（滑动续期）
+     * @param permissionChecker     权限位图校验器
      */
     public TokenValidConfig(WinterRedisTemplate winterRedisTemplate,
                             ObjectMapper objectMapper,
-                            AuthValidationFacade authValidationFacade) {
+                            AuthValidationFacade authValidationFacade,
+                            AuthSessionRepository authSessionRepository,
+                            PermissionChecker permissionChecker) {
         this.winterRedisTemplate = winterRedisTemplate;
         this.objectMapper = objectMapper;
         this.authValidationFacade = authValidationFacade;
+        this.authSessionRepository = authSessionRepository;
+        this.permissionChecker = permissionChecker;
     }
 
     /**
@@ -79,6 +89,8 @@ public class TokenValidConfig implements TokenAuthenticator {
                 .flatMap(json -> {
                     try {
                         ValidateTokenDTO dto = objectMapper.readValue(json, ValidateTokenDTO.class);
+                        // 命中缓存即视为活跃，滑动续期（续期间隔内不会重复写 Redis）
+                        authSessionRepository.renew(dto.getUserId());
                         return Optional.of(dto);
                     } catch (JsonProcessingException e) {
                         // 缓存脏数据，删除并返回空
@@ -110,6 +122,8 @@ public class TokenValidConfig implements TokenAuthenticator {
      * @return ValidateToken 内部使用的用户信息和权限对象
      */
     private ValidateToken mapToValidateToken(ValidateTokenDTO dto) {
+        // 权限位图绑定到当前请求，供 @perm.has(...) 按位校验
+        permissionChecker.bind(dto.getPermissionIndexVersion(), dto.getPermissionBits());
         return ValidateToken.builder()
                 .valid(true)
                 .userId(dto.getUserId())
@@ -10,14 +10,37 @@ public final class CommonConstants {
 
     public static final class Redis{
         public static final String SPLIT = ":";
-        /** 用户存入key为TOKEN+SPLIT+用户id，value值登录成功生成的token */
+        /** 用户存入key为TOKEN+SPLIT+用户id，value值登录成功生成的token集合 */
         public static final String TOKEN = "winter-cloud-token";
         /** 用户信息存入key为USER_INFO+SPLIT+用户id，value值用户信息 */
         public static final String USER_INFO = "winter-cloud-userInfo";
+        /** 登录会话有效期（毫秒） */
         public static final long EXPIRATION_TIME = 7 * 24 * 60 * 60 * 1000L;
+        /** 会话滑动续期的最小间隔（毫秒），间隔内重复访问不再续期 */
+        public static final long SESSION_RENEW_INTERVAL = 10 * 60 * 1000L;
+        /** 在线会话索引（ZSET 结构，member 为用户id，score 为最近活跃时间毫秒值） */
+        public static final String ONLINE_SESSION = "winter-cloud-online";
+        /** 网关批量写入活跃时间的间隔（毫秒） */
+        public static final long SESSION_ACTIVITY_FLUSH_INTERVAL = 10 * 1000L;
+        /** 登录失败记录（ZSET 结构，key 为LOGIN_FAIL+SPLIT+维度+SPLIT+账号或IP，score 为失败时间毫秒值） */
+        public static final String LOGIN_FAIL = "winter-cloud-login-fail";
+        /** 登录锁定，key 同上，value 为可再次尝试的时间毫秒值 */
+        public static final String LOGIN_LOCK = "winter-cloud-login-lock";
         /** 字典缓存键 */
         public static final String DICT_KEY = "winter-cloud-dict";
         public static final String BLACK_IP_LIST_KEY = "winter-cloud-black-ip-list";
+        /** 角色权限快照存入key为ROLE_PERMISSION+SPLIT+角色id，value值快照JSON */
+        public static final String ROLE_PERMISSION = "winter-cloud-role-permission";
+        /** 角色权限快照版本号存入key为ROLE_PERMISSION_VERSION+SPLIT+角色id，value值版本号 */
+        public static final String ROLE_PERMISSION_VERSION = "winter-cloud-role-permission-version";
+        /** 领域事件流（Redis Stream）键 */
+        public static final String DOMAIN_EVENT_STREAM = "winter-cloud-domain-event";
+        /** 权限索引（Hash 结构，field 为权限标识，value 为位图下标，只增不删） */
+        public static final String PERMISSION_INDEX = "winter-cloud-permission-index";
+        /** 权限索引版本号，每新增一批权限标识递增 */
+        public static final String PERMISSION_INDEX_VERSION = "winter-cloud-permission-index-version";
+        /** 权限索引纪元，索引被整体重建（如 Redis 数据丢失）时重置为重建时的版本号 */
+        public static final String PERMISSION_INDEX_EPOCH = "winter-cloud-permission-index-epoch";
     }
 
     public static final class Claim{
@@ -102,6 +125,34 @@ public final class CommonConstants {
          * I18n 统计键：i18n:stat:frequency
          */
         public static final String I18N_STAT_KEY = "i18n:stat:frequency";
+        /**
+         * I18n 访问统计写入间隔（毫秒）- 5秒
+         */
+        public static final long I18N_STAT_FLUSH_INTERVAL = 5000L;
+        /**
+         * I18n 消息包版本号：winter-cloud-i18n:bundle:version，每次消息变更 +1
+         */
+        public static final String I18N_BUNDLE_VERSION_KEY = I18N_KEY + Redis.SPLIT + "bundle" + Redis.SPLIT + "version";
+        /**
+         * I18n 消息包纪元：winter-cloud-i18n:bundle:epoch，版本号丢失重建时的起始版本，早于纪元的版本只能全量同步
+         */
+        public static final String I18N_BUNDLE_EPOCH_KEY = I18N_KEY + Redis.SPLIT + "bundle" + Redis.SPLIT + "epoch";
+        /**
+         * I18n 消息包变更日志：winter-cloud-i18n:bundle:changelog，ZSET，member 为消息键，score 为最后一次变更的版本号
+         */
+        public static final String I18N_BUNDLE_CHANGELOG_KEY = I18N_KEY + Redis.SPLIT + "bundle" + Redis.SPLIT + "changelog";
+        /**
+         * I18n 变更日志保留的版本数，落后更多版本的调用方只能全量同步
+         */
+        public static final long I18N_BUNDLE_CHANGELOG_RETAIN_VERSIONS = 10000L;
+        /**
+         * I18n 本地消息包增量同步间隔（毫秒）- 5秒，收到变更事件时会立即同步
+         */
+        public static final long I18N_BUNDLE_SYNC_INTERVAL = 5000L;
+        /**
+         * I18n 本地消息包全量重载间隔（毫秒）- 30分钟，作为变更日志写入失败时的兜底
+         */
+        public static final long I18N_BUNDLE_FULL_RELOAD_INTERVAL = 30 * 60 * 1000L;
     }
 
 
@@ -137,6 +188,18 @@ public final class CommonConstants {
                + userId;                             // 用户 ID
     }
 
+    /**
+     * 构建用户 token 索引的 Redis 键（Set 结构，成员为该用户当前有效的 token）
+     *
+     * @param userId 用户 ID
+     * @return String Redis 键，格式为 "winter-cloud-token:{userId}"
+     */
+    public static String buildUserTokenKey(String userId) {
+        return CommonConstants.Redis.TOKEN          // "winter-cloud-token"
+               + CommonConstants.Redis.SPLIT        // ":"
+               + userId;                             // 用户 ID
+    }
+
     /**
      * 构建i18n消息Redis缓存键
      */
@@ -239,6 +302,8 @@ public final class CommonConstants {
         public static final String STATUS_DICT_MAPPING_ERROR = "status.dict.mapping.error";
         /**职位字典映射错误！！*/
         public static final String POST_DICT_MAPPING_ERROR = "post.dict.mapping.error";
+        /**部门字典映射错误！！*/
+        public static final String DEPT_DICT_MAPPING_ERROR = "dept.dict.mapping.error";
         /**角色信息(角色导出excel文件的名称)*/
         public static final String ROLE_INFORMATION = "role.information";
         /**职位信息(职位导出excel文件的名称)*/
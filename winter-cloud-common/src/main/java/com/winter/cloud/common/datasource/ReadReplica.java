@@ -0,0 +1,21 @@
+package com.winter.cloud.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 只读方法标记：服务开启读写分离后，方法内的查询路由到从库
+ * <p>
+ * 注解只表达“可读从库”的意图，由各服务基础设施层的切面完成路由；未开启读写分离时不起作用。
+ * 以下情况仍走主库：已处于事务中、当前线程刚执行过写操作、所有从库复制延迟超限或不可用。
+ * 只能标注在纯查询方法上，方法内不能写库，也不要把查询结果写入共享缓存（从库数据可能略旧）。
+ * </p>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadReplica {
+}
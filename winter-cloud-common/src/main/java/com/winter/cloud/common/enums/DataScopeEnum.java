@@ -0,0 +1,35 @@
+package com.winter.cloud.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 角色数据范围
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public enum DataScopeEnum {
+    ALL("1", "全部数据"),
+    CUSTOM("2", "自定义部门数据"),
+    DEPT("3", "本部门数据"),
+    DEPT_AND_CHILD("4", "本部门及以下数据"),
+    SELF("5", "仅本人数据"),
+    ;
+
+    private String code;
+    private String message;
+
+    /**
+     * 按编码查找，未知编码返回 null
+     */
+    public static DataScopeEnum of(String code) {
+        for (DataScopeEnum value : values()) {
+            if (value.code.equals(code)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -45,6 +45,7 @@ public enum ResultCodeEnum {
     NOT_FOUND("0005", "数据不存在"),
     FORBIDDEN("0007", "禁止访问"),
     DISABLED("0008", "禁用"),
+    LOGIN_LOCKED("0010", "登录失败次数过多，请稍后再试"),
 
 
     ;
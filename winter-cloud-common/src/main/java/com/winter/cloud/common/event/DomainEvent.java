@@ -0,0 +1,44 @@
+package com.winter.cloud.common.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 领域事件基类
+ * <p>
+ * 事件以 JSON 形式写入 Redis Stream，事件类型取具体事件类的简单类名，
+ * 订阅方按监听方法的参数类型反序列化，因此发布方与订阅方共用同一个事件类。
+ * eventId、occurredTime、source 由 {@link DomainEventPublisher} 在发布时填充。
+ * </p>
+ */
+@Data
+public abstract class DomainEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 事件ID（全局唯一，订阅方可据此去重）
+     */
+    private String eventId;
+
+    /**
+     * 事件发生时间（毫秒时间戳）
+     */
+    private Long occurredTime;
+
+    /**
+     * 发布事件的服务名
+     */
+    private String source;
+
+    /**
+     * 事件类型
+     *
+     * @return 具体事件类的简单类名
+     */
+    @JsonIgnore
+    public String getEventType() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,73 @@
+package com.winter.cloud.common.event;
+
+import cn.hutool.core.net.NetUtil;
+import cn.hutool.core.util.IdUtil;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.common.constants.CommonConstants;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 领域事件总线自动配置
+ * <p>
+ * 各服务只扫描自身包，公共模块的组件通过 spring.factories 自动装配；
+ * 服务引入 Redis 后即生效，可通过 winter.event.enabled=false 关闭。
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(StringRedisTemplate.class)
+@ConditionalOnProperty(prefix = "winter.event", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter({RedisAutoConfiguration.class, JacksonAutoConfiguration.class})
+@EnableConfigurationProperties(DomainEventProperties.class)
+public class DomainEventAutoConfiguration {
+
+    @Bean
+    public static DomainEventListenerRegistry domainEventListenerRegistry() {
+        return new DomainEventListenerRegistry();
+    }
+
+    @Bean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public DomainEventPublisher domainEventPublisher(StringRedisTemplate stringRedisTemplate,
+                                                     ObjectProvider<ObjectMapper> objectMapperProvider,
+                                                     DomainEventProperties properties,
+                                                     Environment environment) {
+        return new DomainEventPublisher(stringRedisTemplate, resolveObjectMapper(objectMapperProvider),
+                properties, resolveApplicationName(environment));
+    }
+
+    @Bean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public DomainEventSubscriber domainEventSubscriber(StringRedisTemplate stringRedisTemplate,
+                                                       ObjectProvider<ObjectMapper> objectMapperProvider,
+                                                       DomainEventProperties properties,
+                                                       DomainEventListenerRegistry domainEventListenerRegistry,
+                                                       Environment environment) {
+        // 实例标识：主机地址:端口:随机串，同一主机上的多个容器或未配置端口的实例也不会共用消费者；
+        // 重启后标识改变，上一个实例遗留的待确认事件由订阅容器按空闲时间认领
+        String instanceId = NetUtil.getLocalhostStr() + CommonConstants.Redis.SPLIT + environment.getProperty("server.port", "0")
+                            + CommonConstants.Redis.SPLIT + IdUtil.fastSimpleUUID();
+        return new DomainEventSubscriber(stringRedisTemplate, resolveObjectMapper(objectMapperProvider), properties,
+                domainEventListenerRegistry, resolveApplicationName(environment), instanceId);
+    }
+
+    private ObjectMapper resolveObjectMapper(ObjectProvider<ObjectMapper> objectMapperProvider) {
+        return objectMapperProvider.getIfAvailable(() ->
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    private String resolveApplicationName(Environment environment) {
+        return environment.getProperty("spring.application.name", "application");
+    }
+}
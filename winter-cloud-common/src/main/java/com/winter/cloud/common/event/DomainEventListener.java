@@ -0,0 +1,36 @@
+package com.winter.cloud.common.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 领域事件监听注解
+ * <p>
+ * 标注在 Spring Bean 的方法上，方法有且只有一个参数，参数类型为 {@link DomainEvent} 的子类，
+ * 订阅的事件类型即该参数类型。投递语义为至少一次：处理失败（抛出异常）的事件会被重新投递，
+ * 因此监听方法必须是幂等的（例如删除本地缓存）。
+ * </p>
+ * <pre>
+ * &#64;DomainEventListener
+ * public void onMenuChanged(MenuChangedEvent event) {
+ *     menuTreeCache.clear();
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DomainEventListener {
+
+    /**
+     * 是否广播
+     * <p>
+     * true：服务的每个实例都会收到事件，用于失效实例内的本地缓存；
+     * false：同一服务的多个实例中只有一个实例处理，用于失效 Redis 等共享缓存。
+     * </p>
+     */
+    boolean broadcast() default true;
+}
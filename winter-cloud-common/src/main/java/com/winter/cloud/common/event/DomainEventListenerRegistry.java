@@ -0,0 +1,96 @@
+package com.winter.cloud.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 领域事件监听方法注册表
+ * <p>
+ * Bean 初始化完成后扫描其 {@link DomainEventListener} 方法，按事件类型登记；
+ * 扫描目标类上的注解，调用时仍通过代理对象执行，事务等切面照常生效。
+ * </p>
+ */
+@Slf4j
+public class DomainEventListenerRegistry implements BeanPostProcessor {
+
+    /**
+     * 事件类型 -> 监听方法列表
+     */
+    private final Map<String, List<Handler>> handlerMap = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Map<Method, DomainEventListener> annotatedMethods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<DomainEventListener>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, DomainEventListener.class));
+        annotatedMethods.forEach((method, annotation) -> {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length != 1 || !DomainEvent.class.isAssignableFrom(parameterTypes[0])) {
+                throw new IllegalStateException("@DomainEventListener 方法只能有一个 DomainEvent 子类参数: " + method);
+            }
+            @SuppressWarnings("unchecked")
+            Class<? extends DomainEvent> eventClass = (Class<? extends DomainEvent>) parameterTypes[0];
+            Method invocableMethod = AopUtils.selectInvocableMethod(method, bean.getClass());
+            ReflectionUtils.makeAccessible(invocableMethod);
+            handlerMap.computeIfAbsent(eventClass.getSimpleName(), key -> new CopyOnWriteArrayList<>())
+                    .add(new Handler(bean, invocableMethod, eventClass, annotation.broadcast()));
+            log.info("注册领域事件监听: {}#{} -> {}", beanName, method.getName(), eventClass.getSimpleName());
+        });
+        return bean;
+    }
+
+    /**
+     * 获取事件类型对应的监听方法
+     *
+     * @param eventType 事件类型
+     * @return 监听方法列表，不存在时返回空列表
+     */
+    public List<Handler> getHandlers(String eventType) {
+        return handlerMap.getOrDefault(eventType, List.of());
+    }
+
+    /**
+     * 是否存在指定投递方式的监听方法
+     *
+     * @param broadcast 是否广播
+     */
+    public boolean hasHandlers(boolean broadcast) {
+        return handlerMap.values().stream()
+                .flatMap(List::stream)
+                .anyMatch(handler -> handler.isBroadcast() == broadcast);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Handler {
+        private final Object bean;
+        private final Method method;
+        private final Class<? extends DomainEvent> eventClass;
+        private final boolean broadcast;
+
+        public void invoke(DomainEvent event) throws Exception {
+            try {
+                method.invoke(bean, event);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getTargetException();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.winter.cloud.common.event;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 领域事件总线配置
+ */
+@Data
+@ConfigurationProperties(prefix = "winter.event")
+public class DomainEventProperties {
+
+    /**
+     * 是否启用事件总线
+     */
+    private boolean enabled = true;
+
+    /**
+     * 事件流键
+     */
+    private String streamKey = CommonConstants.Redis.DOMAIN_EVENT_STREAM;
+
+    /**
+     * 事件流保留的最大条数（近似裁剪）
+     */
+    private long maxLength = 10000L;
+
+    /**
+     * 每发布多少条事件裁剪一次事件流
+     */
+    private int trimInterval = 100;
+
+    /**
+     * 每次拉取的最大条数，同一批次处理完成后一次 XACK
+     */
+    private int batchSize = 100;
+
+    /**
+     * 拉取阻塞时间（毫秒）
+     */
+    private long blockMillis = 2000L;
+
+    /**
+     * 重新投递未确认事件的间隔（毫秒）
+     */
+    private long pendingRetryInterval = 30000L;
+
+    /**
+     * 服务级消费组中其他消费者的待确认事件超过该时间（毫秒）未确认时，由当前实例认领后重放
+     */
+    private long claimIdle = 5 * 60 * 1000L;
+
+    /**
+     * 单条事件最大投递次数，超过后确认并丢弃
+     */
+    private int maxDeliveryCount = 5;
+
+    /**
+     * 广播消费组超过该空闲时间（毫秒）视为实例已下线，启动时清理
+     */
+    private long staleGroupIdle = 24 * 60 * 60 * 1000L;
+}
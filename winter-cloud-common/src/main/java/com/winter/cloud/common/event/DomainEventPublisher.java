@@ -0,0 +1,89 @@
+package com.winter.cloud.common.event;
+
+import cn.hutool.core.util.IdUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 领域事件发布器
+ * <p>
+ * 将事件追加到 Redis Stream（XADD），字段 type 为事件类型，body 为事件 JSON。
+ * 在事务内发布时，事件延迟到事务提交后再写入，避免订阅方在数据提交前读到旧值并重新缓存；事务回滚则不发布。
+ * 发布失败只记录日志，不影响已完成的业务操作。
+ * </p>
+ */
+@Slf4j
+public class DomainEventPublisher {
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_BODY = "body";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final DomainEventProperties properties;
+    private final String applicationName;
+
+    /**
+     * 已发布事件计数，用于控制裁剪频率
+     */
+    private final AtomicLong publishCount = new AtomicLong();
+
+    public DomainEventPublisher(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                DomainEventProperties properties, String applicationName) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.applicationName = applicationName;
+    }
+
+    /**
+     * 发布领域事件
+     *
+     * @param event 事件
+     */
+    public void publish(DomainEvent event) {
+        if (event == null) {
+            return;
+        }
+        event.setEventId(IdUtil.fastSimpleUUID());
+        event.setOccurredTime(System.currentTimeMillis());
+        event.setSource(applicationName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+            return;
+        }
+        send(event);
+    }
+
+    private void send(DomainEvent event) {
+        try {
+            Map<String, String> fields = new HashMap<>(4);
+            fields.put(FIELD_TYPE, event.getEventType());
+            fields.put(FIELD_BODY, objectMapper.writeValueAsString(event));
+            stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                    .in(properties.getStreamKey())
+                    .ofMap(fields));
+            if (publishCount.incrementAndGet() % properties.getTrimInterval() == 0) {
+                stringRedisTemplate.opsForStream().trim(properties.getStreamKey(), properties.getMaxLength(), true);
+            }
+            log.debug("领域事件已发布，type: {}, eventId: {}", event.getEventType(), event.getEventId());
+        } catch (JsonProcessingException e) {
+            log.error("领域事件序列化失败，type: {}", event.getEventType(), e);
+        } catch (Exception e) {
+            log.error("领域事件发布失败，type: {}, event: {}", event.getEventType(), event, e);
+        }
+    }
+}
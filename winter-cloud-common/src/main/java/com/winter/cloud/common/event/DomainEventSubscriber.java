@@ -0,0 +1,307 @@
+package com.winter.cloud.common.event;
+
+import cn.hutool.core.collection.CollUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.common.constants.CommonConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 领域事件订阅容器
+ * <p>
+ * 基于 Redis Stream 消费组实现至少一次投递：
+ * <ul>
+ *   <li>非广播监听使用服务级消费组（组名为服务名），同一服务的多个实例分摊消费；</li>
+ *   <li>广播监听使用实例级消费组（组名为服务名:实例标识），每个实例都能收到全部事件，实例停止时删除该组，
+ *       异常退出遗留的组在下次启动时按空闲时间清理；</li>
+ *   <li>每次 XREADGROUP 拉取一批事件，处理成功的事件在批次结束后一次 XACK；
+ *       处理失败的事件保留在待确认列表，定期从头重放，超过最大投递次数后确认并记录错误日志；</li>
+ *   <li>实例标识每次启动都不同，服务级消费组中其他消费者空闲超过 claimIdle 的待确认事件会被存活实例认领后重放。</li>
+ * </ul>
+ * 每个消费组使用一个独立线程，阻塞读由 Spring Data Redis 分配专用连接，不占用共享连接。
+ * </p>
+ */
+@Slf4j
+public class DomainEventSubscriber implements SmartLifecycle {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final DomainEventProperties properties;
+    private final DomainEventListenerRegistry registry;
+    private final String applicationName;
+    private final String instanceId;
+
+    private final List<Thread> workerList = new ArrayList<>();
+    private volatile boolean running = false;
+
+    public DomainEventSubscriber(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                 DomainEventProperties properties, DomainEventListenerRegistry registry,
+                                 String applicationName, String instanceId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.registry = registry;
+        this.applicationName = applicationName;
+        this.instanceId = instanceId;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (registry.hasHandlers(false)) {
+            startWorker(applicationName, false);
+        }
+        if (registry.hasHandlers(true)) {
+            cleanStaleBroadcastGroups();
+            startWorker(buildBroadcastGroup(), true);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workerList.forEach(Thread::interrupt);
+        for (Thread worker : workerList) {
+            try {
+                worker.join(properties.getBlockMillis() + 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerList.clear();
+        if (registry.hasHandlers(true)) {
+            try {
+                stringRedisTemplate.opsForStream().destroyGroup(properties.getStreamKey(), buildBroadcastGroup());
+            } catch (Exception e) {
+                log.warn("删除广播消费组失败，group: {}", buildBroadcastGroup(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void startWorker(String group, boolean broadcast) {
+        Thread worker = new Thread(() -> consume(group, broadcast), "domain-event-" + group);
+        worker.setDaemon(true);
+        worker.start();
+        workerList.add(worker);
+        log.info("领域事件订阅已启动，stream: {}, group: {}, consumer: {}", properties.getStreamKey(), group, instanceId);
+    }
+
+    /**
+     * 消费循环
+     *
+     * @param group     消费组
+     * @param broadcast 是否广播消费组
+     */
+    private void consume(String group, boolean broadcast) {
+        String streamKey = properties.getStreamKey();
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(group, instanceId);
+        // 事件ID -> 失败次数
+        Map<String, Integer> failCountMap = new HashMap<>();
+        // 非空表示正在重放本消费者的待确认事件，值为重放游标
+        String pendingCursor = "0";
+        long lastPendingTime = System.currentTimeMillis();
+        createGroup(group);
+        if (!broadcast) {
+            claimStalePending(group);
+        }
+
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> records;
+                if (pendingCursor != null) {
+                    records = ops.read(consumer,
+                            StreamReadOptions.empty().count(properties.getBatchSize()),
+                            StreamOffset.create(streamKey, ReadOffset.from(pendingCursor)));
+                    if (CollUtil.isEmpty(records)) {
+                        pendingCursor = null;
+                        lastPendingTime = System.currentTimeMillis();
+                        continue;
+                    }
+                    pendingCursor = records.get(records.size() - 1).getId().getValue();
+                } else {
+                    records = ops.read(consumer,
+                            StreamReadOptions.empty().count(properties.getBatchSize()).block(Duration.ofMillis(properties.getBlockMillis())),
+                            StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+                    if (System.currentTimeMillis() - lastPendingTime >= properties.getPendingRetryInterval()) {
+                        if (!broadcast) {
+                            claimStalePending(group);
+                        }
+                        pendingCursor = "0";
+                    }
+                }
+                if (CollUtil.isEmpty(records)) {
+                    continue;
+                }
+                List<RecordId> ackIdList = dispatch(records, broadcast, failCountMap);
+                if (!ackIdList.isEmpty()) {
+                    ops.acknowledge(streamKey, group, ackIdList.toArray(new RecordId[0]));
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                // 重放出错（例如事件已被裁剪）时放弃本轮重放，等待下一个重放周期
+                pendingCursor = null;
+                lastPendingTime = System.currentTimeMillis();
+                if (containsMessage(e, "NOGROUP")) {
+                    createGroup(group);
+                } else {
+                    log.error("领域事件消费异常，group: {}", group, e);
+                    sleepQuietly();
+                }
+            }
+        }
+        log.info("领域事件订阅已停止，group: {}", group);
+    }
+
+    /**
+     * 分发一批事件
+     *
+     * @return 需要确认的事件ID列表
+     */
+    private List<RecordId> dispatch(List<MapRecord<String, Object, Object>> records, boolean broadcast, Map<String, Integer> failCountMap) {
+        List<RecordId> ackIdList = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            Object type = value == null ? null : value.get(DomainEventPublisher.FIELD_TYPE);
+            Object body = value == null ? null : value.get(DomainEventPublisher.FIELD_BODY);
+            boolean success = true;
+            if (type != null && body != null) {
+                List<DomainEventListenerRegistry.Handler> handlerList = registry.getHandlers(type.toString()).stream()
+                        .filter(handler -> handler.isBroadcast() == broadcast)
+                        .collect(Collectors.toList());
+                for (DomainEventListenerRegistry.Handler handler : handlerList) {
+                    try {
+                        handler.invoke(objectMapper.readValue(body.toString(), handler.getEventClass()));
+                    } catch (Exception e) {
+                        success = false;
+                        log.warn("领域事件处理失败，type: {}, recordId: {}, handler: {}", type, record.getId(), handler.getMethod(), e);
+                    }
+                }
+            }
+            String recordId = record.getId().getValue();
+            if (success) {
+                failCountMap.remove(recordId);
+                ackIdList.add(record.getId());
+                continue;
+            }
+            int failCount = failCountMap.merge(recordId, 1, Integer::sum);
+            if (failCount >= properties.getMaxDeliveryCount()) {
+                log.error("领域事件超过最大投递次数，确认并丢弃，type: {}, recordId: {}, body: {}", type, recordId, body);
+                failCountMap.remove(recordId);
+                ackIdList.add(record.getId());
+            }
+        }
+        return ackIdList;
+    }
+
+    /**
+     * 接管服务级消费组中其他消费者长时间未确认的事件，并清理长期空闲且没有待确认事件的消费者
+     * <p>
+     * 实例标识每次启动都不同，异常退出的实例遗留的待确认事件由存活实例认领到自己名下，随后的重放周期处理。
+     * </p>
+     */
+    private void claimStalePending(String group) {
+        String streamKey = properties.getStreamKey();
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        try {
+            PendingMessages pendingMessages = ops.pending(streamKey, group, Range.unbounded(), properties.getBatchSize());
+            RecordId[] staleIds = pendingMessages.stream()
+                    .filter(message -> !instanceId.equals(message.getConsumerName()))
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().toMillis() >= properties.getClaimIdle())
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            if (staleIds.length > 0) {
+                ops.claim(streamKey, group, instanceId, Duration.ofMillis(properties.getClaimIdle()), staleIds);
+                log.info("接管其他消费者的待确认事件，group: {}, 数量: {}", group, staleIds.length);
+            }
+            ops.consumers(streamKey, group).stream()
+                    .filter(consumer -> !instanceId.equals(consumer.consumerName()))
+                    .filter(consumer -> consumer.pendingCount() == 0 && consumer.idleTimeMs() > properties.getStaleGroupIdle())
+                    .forEach(consumer -> ops.deleteConsumer(streamKey, Consumer.from(group, consumer.consumerName())));
+        } catch (Exception e) {
+            log.warn("接管待确认事件失败，group: {}", group, e);
+        }
+    }
+
+    /**
+     * 创建消费组（不存在时同时创建事件流），新建的组只消费此后发布的事件
+     */
+    private void createGroup(String group) {
+        try {
+            stringRedisTemplate.opsForStream().createGroup(properties.getStreamKey(), ReadOffset.latest(), group);
+        } catch (Exception e) {
+            if (!containsMessage(e, "BUSYGROUP")) {
+                log.error("创建消费组失败，group: {}", group, e);
+            }
+        }
+    }
+
+    /**
+     * 清理本服务遗留的广播消费组（所有消费者空闲时间都超过阈值）
+     */
+    private void cleanStaleBroadcastGroups() {
+        String streamKey = properties.getStreamKey();
+        String prefix = applicationName + CommonConstants.Redis.SPLIT;
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(streamKey))) {
+                return;
+            }
+            StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+            ops.groups(streamKey).stream()
+                    .filter(group -> group.groupName().startsWith(prefix) && !group.groupName().equals(buildBroadcastGroup()))
+                    .filter(group -> ops.consumers(streamKey, group.groupName()).stream()
+                            .allMatch(consumer -> consumer.idleTimeMs() > properties.getStaleGroupIdle()))
+                    .forEach(group -> {
+                        ops.destroyGroup(streamKey, group.groupName());
+                        log.info("清理遗留广播消费组: {}", group.groupName());
+                    });
+        } catch (Exception e) {
+            log.warn("清理遗留广播消费组失败", e);
+        }
+    }
+
+    private String buildBroadcastGroup() {
+        return applicationName + CommonConstants.Redis.SPLIT + instanceId;
+    }
+
+    private boolean containsMessage(Throwable e, String keyword) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
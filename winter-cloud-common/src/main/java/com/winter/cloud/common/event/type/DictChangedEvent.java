@@ -0,0 +1,25 @@
+package com.winter.cloud.common.event.type;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 字典变更事件（字典类型或字典数据新增、编辑、删除）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 受影响的字典类型ID列表，为空表示无法确定具体类型，订阅方应失效全部字典缓存
+     */
+    private List<Long> dictTypeIdList;
+}
@@ -0,0 +1,25 @@
+package com.winter.cloud.common.event.type;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 国际化消息变更事件（新增、编辑、删除、导入）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class I18nMessageChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 受影响的消息键列表，为空表示无法确定具体消息键，订阅方应失效全部消息缓存
+     */
+    private List<String> messageKeyList;
+}
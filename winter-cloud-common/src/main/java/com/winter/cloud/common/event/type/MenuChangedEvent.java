@@ -0,0 +1,25 @@
+package com.winter.cloud.common.event.type;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 菜单变更事件（菜单新增、编辑、删除）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更的菜单ID列表
+     */
+    private List<Long> menuIdList;
+}
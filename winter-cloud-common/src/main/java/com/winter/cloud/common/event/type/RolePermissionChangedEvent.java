@@ -0,0 +1,25 @@
+package com.winter.cloud.common.event.type;
+
+import com.winter.cloud.common.event.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 角色权限变更事件（角色分配菜单、角色删除、菜单编辑/删除导致的角色权限变化）
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolePermissionChangedEvent extends DomainEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 权限发生变化的角色ID列表
+     */
+    private List<Long> roleIdList;
+}
@@ -0,0 +1,28 @@
+package com.winter.cloud.common.excel;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Excel 导入模板注册表自动配置
+ * <p>
+ * 只在引入 winter-office 的 Servlet 服务中生效，网关等响应式服务不受影响。
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = {
+        "javax.servlet.http.HttpServletResponse",
+        "com.zsq.winter.office.annotation.excel.WinterExcelSelected"
+})
+public class ExcelTemplateAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExcelTemplateRegistry excelTemplateRegistry() {
+        return new ExcelTemplateRegistry();
+    }
+}
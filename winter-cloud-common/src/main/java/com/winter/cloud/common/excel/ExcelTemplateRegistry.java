@@ -0,0 +1,299 @@
+package com.winter.cloud.common.excel;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.type.DictChangedEvent;
+import com.zsq.winter.office.annotation.excel.WinterExcelSelected;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Excel 导入模板注册表
+ * <p>
+ * 模板内容只取决于表头注解、语言环境和下拉框数据源（字典），每次下载都重新生成工作簿并远程查询字典没有必要。
+ * 首次下载时把 {@link com.zsq.winter.office.service.excel.WinterExcelTemplate} 的输出（响应头 + 文件字节）
+ * 捕获下来，按 模板名称 + 语言环境 + 字典版本 + 附加版本 缓存，后续下载直接回放。
+ * 收到 {@link DictChangedEvent} 时提升相关字典类型的版本并清除依赖这些类型的模板；
+ * 事件为广播监听，每个实例各自失效本地缓存。
+ * 模板依赖的字典类型取自表头类字段上的 {@link WinterExcelSelected#type()}，按表头类解析一次后缓存，
+ * 不需要在调用方另外维护一份字典类型列表。
+ * </p>
+ */
+@Slf4j
+public class ExcelTemplateRegistry {
+
+    /**
+     * 表头类 -> 下拉框依赖的字典类型ID
+     */
+    private final Map<Class<?>, Set<Long>> headDictTypeMap = new ConcurrentHashMap<>();
+
+    /**
+     * 模板缓存：缓存键 -> 渲染结果
+     */
+    private final Map<String, RenderedTemplate> templateMap = new ConcurrentHashMap<>();
+
+    /**
+     * 字典类型ID -> 版本号
+     */
+    private final Map<Long, AtomicLong> dictVersionMap = new ConcurrentHashMap<>();
+
+    /**
+     * 全局字典版本号，无法确定受影响类型的字典变更时提升
+     */
+    private final AtomicLong globalDictVersion = new AtomicLong();
+
+    /**
+     * 输出模板，命中缓存时直接回放，否则调用 renderer 渲染并缓存
+     *
+     * @param response     HTTP响应对象
+     * @param templateName 模板名称（同一服务内唯一）
+     * @param headClass    模板表头类，下拉框依赖的字典类型从其 {@link WinterExcelSelected} 注解中解析
+     * @param extraVersion 字典以外的数据源版本（例如非字典下拉数据的摘要），没有时传 null
+     * @param renderer     实际渲染逻辑，向传入的响应对象写出模板
+     */
+    public void export(HttpServletResponse response, String templateName, Class<?> headClass,
+                       String extraVersion, Consumer<HttpServletResponse> renderer) {
+        Set<Long> dictTypeIds = dictTypeIds(headClass);
+        String cacheKey = buildCacheKey(templateName, dictTypeIds, extraVersion);
+        RenderedTemplate template = templateMap.get(cacheKey);
+        if (template == null) {
+            CapturingResponse capturingResponse = new CapturingResponse(response);
+            renderer.accept(capturingResponse);
+            template = capturingResponse.toTemplate(dictTypeIds);
+            // 渲染期间字典发生变更时，版本号已变化，结果不再缓存
+            if (cacheKey.equals(buildCacheKey(templateName, dictTypeIds, extraVersion))) {
+                templateMap.put(cacheKey, template);
+                log.debug("Excel 模板已缓存，key: {}, 大小: {} 字节", cacheKey, template.getBody().length);
+            }
+        }
+        try {
+            template.writeTo(response);
+        } catch (IOException e) {
+            // 通常是客户端中断下载
+            log.warn("输出 Excel 模板失败，template: {}", templateName, e);
+        }
+    }
+
+    /**
+     * 字典变更时失效依赖该字典的模板
+     */
+    @DomainEventListener(broadcast = true)
+    public void onDictChanged(DictChangedEvent event) {
+        if (CollUtil.isEmpty(event.getDictTypeIdList())) {
+            globalDictVersion.incrementAndGet();
+            templateMap.clear();
+            log.info("字典变更，清除全部 Excel 模板缓存");
+            return;
+        }
+        event.getDictTypeIdList().forEach(typeId -> dictVersionMap.computeIfAbsent(typeId, key -> new AtomicLong()).incrementAndGet());
+        templateMap.values().removeIf(template -> event.getDictTypeIdList().stream().anyMatch(template.getDictTypeIds()::contains));
+        log.info("字典变更，清除相关 Excel 模板缓存，dictTypeIds: {}", event.getDictTypeIdList());
+    }
+
+    /**
+     * 表头类下拉框依赖的字典类型ID（包含父类字段），按表头类缓存
+     */
+    Set<Long> dictTypeIds(Class<?> headClass) {
+        return headDictTypeMap.computeIfAbsent(headClass, key -> {
+            Set<Long> typeIdSet = new TreeSet<>();
+            ReflectionUtils.doWithFields(key, field -> {
+                WinterExcelSelected selected = field.getAnnotation(WinterExcelSelected.class);
+                if (selected != null && StrUtil.isNotBlank(selected.type())) {
+                    typeIdSet.add(Long.valueOf(selected.type().trim()));
+                }
+            });
+            return Set.copyOf(typeIdSet);
+        });
+    }
+
+    private String buildCacheKey(String templateName, Set<Long> dictTypeIds, String extraVersion) {
+        StringBuilder key = new StringBuilder(templateName)
+                .append('|').append(LocaleContextHolder.getLocale().toLanguageTag())
+                .append('|').append(globalDictVersion.get());
+        dictTypeIds.stream().sorted().forEach(typeId -> {
+            AtomicLong version = dictVersionMap.get(typeId);
+            key.append('|').append(typeId).append(':').append(version == null ? 0 : version.get());
+        });
+        if (extraVersion != null) {
+            key.append('|').append(extraVersion);
+        }
+        return key.toString();
+    }
+
+    /**
+     * 渲染完成的模板：响应头 + 文件字节
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class RenderedTemplate {
+        private final String contentType;
+        private final String characterEncoding;
+        private final Map<String, String> headerMap;
+        private final byte[] body;
+        private final Set<Long> dictTypeIds;
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            if (characterEncoding != null) {
+                response.setCharacterEncoding(characterEncoding);
+            }
+            headerMap.forEach(response::setHeader);
+            response.setContentLength(body.length);
+            ServletOutputStream outputStream = response.getOutputStream();
+            outputStream.write(body);
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * 捕获渲染输出的响应包装：响应头和内容只记录在内存中，不写入真实响应
+     */
+    private static class CapturingResponse extends HttpServletResponseWrapper {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+        private final Map<String, String> headerMap = new LinkedHashMap<>();
+        private String contentType;
+        private String characterEncoding;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setContentType(String type) {
+            this.contentType = type;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            this.characterEncoding = charset;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding == null ? StandardCharsets.UTF_8.name() : characterEncoding;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headerMap.put(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headerMap.merge(name, value, (oldValue, newValue) -> oldValue + "," + newValue);
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headerMap.containsKey(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return headerMap.get(name);
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headerMap.clear();
+            contentType = null;
+            characterEncoding = null;
+        }
+
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+        }
+
+        @Override
+        public void flushBuffer() {
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                    }
+
+                    @Override
+                    public void write(int b) {
+                        buffer.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        buffer.write(b, off, len);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(buffer, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        RenderedTemplate toTemplate(Set<Long> dictTypeIds) {
+            if (writer != null) {
+                writer.flush();
+            }
+            return new RenderedTemplate(contentType, characterEncoding, new LinkedHashMap<>(headerMap), buffer.toByteArray(), dictTypeIds);
+        }
+    }
+}
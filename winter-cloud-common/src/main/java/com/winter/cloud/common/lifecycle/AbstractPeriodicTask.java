@@ -0,0 +1,114 @@
+package com.winter.cloud.common.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单线程周期任务
+ * <p>
+ * 本地缓冲 + 后台批量写出、本地缓存定期同步等组件共用的生命周期骨架：容器启动时创建一个守护线程，
+ * 按固定间隔执行 {@link #runPeriodically()}；停止时不再接收新任务，最多等待
+ * {@link #STOP_TIMEOUT_SECONDS} 秒让进行中的任务结束，然后调用 {@link #afterStop()}（例如把剩余数据再写一次）。
+ * 所有周期任务和通过 {@link #execute(Runnable)} 提交的任务都在同一个线程中串行执行。
+ * </p>
+ */
+@Slf4j
+public abstract class AbstractPeriodicTask implements SmartLifecycle {
+    private static final long STOP_TIMEOUT_SECONDS = 5L;
+
+    private final String threadName;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    protected AbstractPeriodicTask(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * 周期任务
+     */
+    protected abstract void runPeriodically();
+
+    /**
+     * 执行间隔（毫秒）
+     */
+    protected abstract long intervalMillis();
+
+    /**
+     * 首次执行的延迟（毫秒），默认与执行间隔相同
+     */
+    protected long initialDelayMillis() {
+        return intervalMillis();
+    }
+
+    /**
+     * 后台线程结束后调用，默认不做处理
+     */
+    protected void afterStop() {
+    }
+
+    /**
+     * 在后台线程中执行一次性任务，未运行时忽略
+     *
+     * @param task 任务
+     * @return 是否已提交
+     */
+    protected boolean execute(Runnable task) {
+        ScheduledExecutorService current = scheduler;
+        if (current == null || current.isShutdown()) {
+            return false;
+        }
+        current.execute(task);
+        return true;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::runSafely, initialDelayMillis(), intervalMillis(), TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        scheduler = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        afterStop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * 周期任务抛出异常会取消后续调度，这里统一记录日志
+     */
+    private void runSafely() {
+        try {
+            runPeriodically();
+        } catch (Exception e) {
+            log.warn("周期任务执行失败，thread: {}", threadName, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.winter.cloud.common.permission;
+
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 权限索引自动配置
+ * <p>
+ * 认证服务用 {@link PermissionIndexRegistry} 生成会话中的权限位图，下游服务用它校验位图；
+ * 引入 Spring Security 的 Servlet 服务同时注册 {@link PermissionChecker}（Bean 名称 perm）。
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(StringRedisTemplate.class)
+@AutoConfigureAfter(RedisAutoConfiguration.class)
+public class PermissionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public PermissionIndexRegistry permissionIndexRegistry(StringRedisTemplate stringRedisTemplate) {
+        return new PermissionIndexRegistry(stringRedisTemplate);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.security.core.context.SecurityContextHolder")
+    @ConditionalOnBean(StringRedisTemplate.class)
+    static class PermissionCheckerConfiguration {
+
+        @Bean("perm")
+        @ConditionalOnMissingBean
+        public PermissionChecker permissionChecker(PermissionIndexRegistry permissionIndexRegistry) {
+            return new PermissionChecker(permissionIndexRegistry);
+        }
+    }
+}
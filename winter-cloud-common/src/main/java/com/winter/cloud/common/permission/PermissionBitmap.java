@@ -0,0 +1,75 @@
+package com.winter.cloud.common.permission;
+
+import lombok.Getter;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 用户权限位图
+ * <p>
+ * 第 i 位表示用户拥有索引为 i 的权限标识，索引由 {@link PermissionIndexRegistry} 统一分配。
+ * version 为生成位图时的索引版本号，下游据此判断本地索引是否足够新、位图是否仍然可用。
+ * 位图不可变，可放心在线程间共享。
+ * </p>
+ */
+public final class PermissionBitmap {
+
+    /**
+     * 生成位图时的权限索引版本号
+     */
+    @Getter
+    private final long version;
+
+    private final BitSet bits;
+
+    private PermissionBitmap(long version, BitSet bits) {
+        this.version = version;
+        this.bits = bits;
+    }
+
+    /**
+     * 由权限索引构建位图
+     *
+     * @param version    权限索引版本号
+     * @param indexList  权限索引
+     */
+    public static PermissionBitmap of(long version, Collection<Integer> indexList) {
+        BitSet bits = new BitSet();
+        for (Integer index : indexList) {
+            if (index != null && index >= 0) {
+                bits.set(index);
+            }
+        }
+        return new PermissionBitmap(version, bits);
+    }
+
+    /**
+     * 解码 {@link #encode()} 的结果
+     *
+     * @param version 权限索引版本号
+     * @param encoded Base64 编码的位图
+     * @return 位图，入参为空时返回 null
+     */
+    public static PermissionBitmap decode(Long version, String encoded) {
+        if (version == null || encoded == null) {
+            return null;
+        }
+        return new PermissionBitmap(version, BitSet.valueOf(Base64.getDecoder().decode(encoded)));
+    }
+
+    /**
+     * 是否拥有指定索引的权限（单次位运算）
+     */
+    public boolean has(int index) {
+        return index >= 0 && bits.get(index);
+    }
+
+    /**
+     * 编码为 Base64 字符串（小端字节序，末尾的 0 字节不输出），用于写入会话缓存
+     */
+    public String encode() {
+        return Base64.getEncoder().encodeToString(bits.toByteArray());
+    }
+}
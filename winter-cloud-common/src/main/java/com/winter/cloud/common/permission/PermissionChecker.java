@@ -0,0 +1,68 @@
+package com.winter.cloud.common.permission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 按位图校验接口权限
+ * <p>
+ * 用法：{@code @PreAuthorize("@perm.has('sys:user:userSave')")}。
+ * 各服务的令牌校验在认证成功后把会话中的权限位图绑定到当前请求，校验时只做一次位运算；
+ * 会话中没有位图（旧会话）或位图已不可信时，回退到按权限标识字符串匹配，与 hasAuthority 结果一致。
+ * 由 {@link PermissionAutoConfiguration} 在 Servlet 服务中以 perm 为名注册。
+ * </p>
+ */
+@RequiredArgsConstructor
+public class PermissionChecker {
+    private static final String BITMAP_ATTRIBUTE = PermissionChecker.class.getName() + ".BITMAP";
+
+    private final PermissionIndexRegistry permissionIndexRegistry;
+
+    /**
+     * 当前用户是否拥有指定权限
+     *
+     * @param perms 权限标识
+     */
+    public boolean has(String perms) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        PermissionBitmap bitmap = requestAttributes == null ? null
+                : (PermissionBitmap) requestAttributes.getAttribute(BITMAP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return permissionIndexRegistry.hasPermission(bitmap, perms, () -> hasAuthority(perms));
+    }
+
+    /**
+     * 将会话中的权限位图绑定到当前请求
+     *
+     * @param permissionIndexVersion 生成位图时的权限索引版本号
+     * @param permissionBits         Base64 编码的权限位图
+     */
+    public void bind(Long permissionIndexVersion, String permissionBits) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+        PermissionBitmap bitmap = PermissionBitmap.decode(permissionIndexVersion, permissionBits);
+        if (bitmap == null) {
+            requestAttributes.removeAttribute(BITMAP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            return;
+        }
+        requestAttributes.setAttribute(BITMAP_ATTRIBUTE, bitmap, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private boolean hasAuthority(String perms) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (perms.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
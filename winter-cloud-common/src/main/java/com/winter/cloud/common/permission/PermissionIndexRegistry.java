@@ -0,0 +1,214 @@
+package com.winter.cloud.common.permission;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 权限索引注册表
+ * <p>
+ * 为每个权限标识（sys_menu.perms）分配一个稳定的整数下标，用户权限集合据此表示为 {@link PermissionBitmap}，
+ * 权限校验由字符串列表查找变为一次位运算。索引保存在 Redis Hash 中，只增不删，已分配的下标永不改变，
+ * 因此旧版本生成的位图在新版本索引下依然有效；版本号只说明“是否有新标识加入”。
+ * </p>
+ * <p>
+ * Redis 数据丢失后索引会整体重建，重建时把纪元（epoch）设为新的起始版本号，
+ * 早于纪元生成的位图不再可信，调用方回退到字符串权限列表校验。
+ * </p>
+ * <p>
+ * 各服务在本地持有一份只读快照：认证服务生成位图前核对版本号；下游服务只在遇到比本地更新的位图时才重新加载。
+ * </p>
+ */
+@Slf4j
+public class PermissionIndexRegistry {
+
+    /**
+     * 注册权限标识：缺失的标识按当前数量依次分配下标，有新增时版本号 +1；
+     * 版本号不存在或索引丢失时先重建纪元，新纪元大于此前所有版本号
+     * <p>
+     * KEYS[1] 索引 Hash，KEYS[2] 版本号，KEYS[3] 纪元；ARGV[1] 当前毫秒时间，ARGV[2..] 权限标识
+     * </p>
+     */
+    private static final RedisScript<Long> REGISTER_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('GET', KEYS[2]) " +
+            "if not version or redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  local epoch " +
+            "  if version and tonumber(version) >= tonumber(ARGV[1]) then " +
+            "    epoch = redis.call('INCR', KEYS[2]) " +
+            "  else " +
+            "    redis.call('SET', KEYS[2], ARGV[1]) " +
+            "    epoch = ARGV[1] " +
+            "  end " +
+            "  redis.call('SET', KEYS[3], epoch) " +
+            "  version = epoch " +
+            "end " +
+            "local size = redis.call('HLEN', KEYS[1]) " +
+            "local added = 0 " +
+            "for i = 2, #ARGV do " +
+            "  if redis.call('HSETNX', KEYS[1], ARGV[i], size) == 1 then " +
+            "    size = size + 1 " +
+            "    added = added + 1 " +
+            "  end " +
+            "end " +
+            "if added > 0 then " +
+            "  return redis.call('INCR', KEYS[2]) " +
+            "end " +
+            "return tonumber(version)", Long.class);
+
+    /**
+     * 下游遇到更新的位图时，两次重新加载之间的最小间隔（毫秒）
+     */
+    private static final long RELOAD_INTERVAL = 1000L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private volatile long lastReloadTime = 0L;
+
+    public PermissionIndexRegistry(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 生成权限位图（认证服务使用），未分配下标的标识先注册
+     *
+     * @param permsList 权限标识
+     * @return 位图
+     */
+    public PermissionBitmap toBitmap(Collection<String> permsList) {
+        Snapshot current = refresh();
+        List<String> missingList = new ArrayList<>();
+        for (String perms : permsList) {
+            if (perms != null && current.indexOf(perms) < 0) {
+                missingList.add(perms);
+            }
+        }
+        if (!missingList.isEmpty()) {
+            register(missingList);
+            current = reload();
+        }
+        List<Integer> indexList = new ArrayList<>(permsList.size());
+        for (String perms : permsList) {
+            if (perms != null) {
+                indexList.add(current.indexOf(perms));
+            }
+        }
+        return PermissionBitmap.of(current.version, indexList);
+    }
+
+    /**
+     * 注册权限标识，已注册的标识保持原下标
+     *
+     * @param permsList 权限标识
+     */
+    public void register(Collection<String> permsList) {
+        Set<String> permsSet = new LinkedHashSet<>(permsList);
+        permsSet.remove(null);
+        if (permsSet.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(permsSet.size() + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.addAll(permsSet);
+        stringRedisTemplate.execute(REGISTER_SCRIPT,
+                List.of(CommonConstants.Redis.PERMISSION_INDEX,
+                        CommonConstants.Redis.PERMISSION_INDEX_VERSION,
+                        CommonConstants.Redis.PERMISSION_INDEX_EPOCH),
+                args.toArray());
+    }
+
+    /**
+     * 使用位图校验权限（下游服务使用）
+     * <p>
+     * 位图为空、早于当前纪元或本地索引重新加载后仍比位图旧时，交给 fallback 按字符串权限列表校验
+     * </p>
+     *
+     * @param bitmap   用户权限位图
+     * @param perms    权限标识
+     * @param fallback 位图不可用时的校验方式
+     * @return 是否拥有权限
+     */
+    public boolean hasPermission(PermissionBitmap bitmap, String perms, BooleanSupplier fallback) {
+        if (bitmap == null) {
+            return fallback.getAsBoolean();
+        }
+        Snapshot current = snapshot;
+        if (bitmap.getVersion() > current.version && System.currentTimeMillis() - lastReloadTime >= RELOAD_INTERVAL) {
+            current = reload();
+        }
+        if (bitmap.getVersion() < current.epoch || bitmap.getVersion() > current.version) {
+            return fallback.getAsBoolean();
+        }
+        return bitmap.has(current.indexOf(perms));
+    }
+
+    /**
+     * 版本号变化时重新加载本地快照
+     */
+    private Snapshot refresh() {
+        Snapshot current = snapshot;
+        String version = stringRedisTemplate.opsForValue().get(CommonConstants.Redis.PERMISSION_INDEX_VERSION);
+        if (version != null && Long.parseLong(version) == current.version) {
+            return current;
+        }
+        return reload();
+    }
+
+    /**
+     * 从 Redis 加载索引快照；先读版本号再读索引，索引只增不删，快照内容不会少于版本号对应的标识
+     */
+    private synchronized Snapshot reload() {
+        lastReloadTime = System.currentTimeMillis();
+        List<String> versionList = stringRedisTemplate.opsForValue().multiGet(List.of(
+                CommonConstants.Redis.PERMISSION_INDEX_VERSION, CommonConstants.Redis.PERMISSION_INDEX_EPOCH));
+        if (versionList == null || versionList.get(0) == null || versionList.get(1) == null) {
+            snapshot = Snapshot.EMPTY;
+            return snapshot;
+        }
+        long version = Long.parseLong(versionList.get(0));
+        long epoch = Long.parseLong(versionList.get(1));
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(CommonConstants.Redis.PERMISSION_INDEX);
+        Map<String, Integer> indexMap = new HashMap<>(entries.size() * 2);
+        entries.forEach((perms, index) -> indexMap.put((String) perms, Integer.parseInt((String) index)));
+        if (version != snapshot.version) {
+            log.info("权限索引已加载，version: {}, epoch: {}, size: {}", version, epoch, indexMap.size());
+        }
+        snapshot = new Snapshot(version, epoch, indexMap);
+        return snapshot;
+    }
+
+    /**
+     * 本地索引快照
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(0L, 0L, Map.of());
+
+        private final long version;
+        private final long epoch;
+        private final Map<String, Integer> indexMap;
+
+        private Snapshot(long version, long epoch, Map<String, Integer> indexMap) {
+            this.version = version;
+            this.epoch = epoch;
+            this.indexMap = indexMap;
+        }
+
+        private int indexOf(String perms) {
+            Integer index = indexMap.get(perms);
+            return index == null ? -1 : index;
+        }
+    }
+}
@@ -11,6 +11,26 @@ public class PageAndOrderDTO {
     private Integer pageSize = 10;
     private Boolean exportAll = false;
     private List<OrderDTO> orders = new ArrayList<>(); // 修复：添加字段名 'orders' 并初始化
+    /**
+     * 键集（游标）分页：为 true 时按默认排序 + 主键定位下一页，忽略 pageNum，深翻页代价不随页码增长
+     */
+    private Boolean keyset = false;
+    /**
+     * 上一页返回的 {@link PageDTO#getNextCursor()}，非空时即为键集分页
+     */
+    private String cursor;
+    /**
+     * 是否统计总数；关闭后不执行 COUNT，返回的 total 为 null
+     */
+    private Boolean searchCount = true;
+
+    /**
+     * 是否按键集分页查询（指定了自定义排序时仍使用普通分页）
+     */
+    public boolean keysetMode() {
+        return (Boolean.TRUE.equals(keyset) || (cursor != null && !cursor.isEmpty()))
+               && (orders == null || orders.isEmpty());
+    }
 
     @Data
     public static class OrderDTO {
@@ -0,0 +1,170 @@
+package com.winter.cloud.common.response;
+
+import cn.hutool.core.util.HexUtil;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页游标
+ * <p>
+ * 记录上一页最后一行的排序列值和主键，下一页查询 (排序列, 主键) 严格位于其后的行，
+ * 翻页期间插入的新行不会造成重复或遗漏。对外以 Base64URL(JSON) 的不透明字符串传递，
+ * 携带排序标识和过滤条件指纹，排序方式或过滤条件变化后旧游标直接判为非法（否则会在新的结果集上错位续读，
+ * 总数也与新条件不符）；首页统计的总数随游标传递，后续页不再 COUNT。
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * 排序标识，如 "create_time desc,id desc"
+     */
+    private String sort;
+
+    /**
+     * 过滤条件指纹，见 {@link #fingerprint(Object...)}
+     */
+    private String filter;
+
+    /**
+     * 上一页最后一行排序列的值（字符串形式，由使用方解析）
+     */
+    private String value;
+
+    /**
+     * 上一页最后一行的主键
+     */
+    private Long id;
+
+    /**
+     * 首页统计的总数，未统计时为 null
+     */
+    private Long total;
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("分页游标编码失败", e);
+        }
+    }
+
+    /**
+     * 计算过滤条件指纹：按参数顺序序列化后取 SHA-256 前 16 位十六进制
+     * <p>
+     * 空字符串和空集合与 null 等价，与 mapper 中 {@code != null and != ''} 的判断保持一致。
+     * </p>
+     *
+     * @param conditions 参与过滤的查询条件，调用方需保证顺序固定
+     */
+    public static String fingerprint(Object... conditions) {
+        Object[] normalized = Arrays.stream(conditions)
+                .map(condition -> isBlank(condition) ? null : condition)
+                .toArray();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(OBJECT_MAPPER.writeValueAsBytes(normalized));
+            return HexUtil.encodeHexStr(digest).substring(0, 16);
+        } catch (Exception e) {
+            throw new IllegalStateException("分页过滤条件指纹计算失败", e);
+        }
+    }
+
+    private static boolean isBlank(Object condition) {
+        return condition instanceof CharSequence && ((CharSequence) condition).length() == 0
+               || condition instanceof Collection && ((Collection<?>) condition).isEmpty();
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标字符串，为空表示第一页
+     * @param sort   当前查询的排序标识
+     * @param filter 当前查询的过滤条件指纹
+     * @return 游标，第一页返回 null
+     * @throws BusinessException 游标格式错误，或与当前排序、过滤条件不一致
+     */
+    public static PageCursor decode(String cursor, String sort, String filter) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        PageCursor pageCursor;
+        try {
+            pageCursor = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.UTF_8)), PageCursor.class);
+        } catch (Exception e) {
+            throw new BusinessException(ResultCodeEnum.ILLEGAL_PARAMETER);
+        }
+        if (pageCursor.getId() == null || !sort.equals(pageCursor.getSort()) || !filter.equals(pageCursor.getFilter())) {
+            throw new BusinessException(ResultCodeEnum.ILLEGAL_PARAMETER);
+        }
+        return pageCursor;
+    }
+
+    /**
+     * 排序列值按时间解析
+     */
+    public LocalDateTime valueAsDateTime() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (Exception e) {
+            throw new BusinessException(ResultCodeEnum.ILLEGAL_PARAMETER);
+        }
+    }
+
+    /**
+     * 排序列值按整数解析
+     */
+    public Integer valueAsInteger() {
+        try {
+            return Integer.valueOf(value);
+        } catch (Exception e) {
+            throw new BusinessException(ResultCodeEnum.ILLEGAL_PARAMETER);
+        }
+    }
+
+    /**
+     * 组装键集分页结果
+     *
+     * @param rows         按排序取回的 pageSize + 1 行，多出的一行只用于判断是否有下一页
+     * @param pageSize     每页条数
+     * @param sort         排序标识
+     * @param filter       过滤条件指纹
+     * @param total        总数（首页统计或沿用游标中的值）
+     * @param valueGetter  取排序列值（转为字符串）
+     * @param idGetter     取主键
+     */
+    public static <T> PageDTO<T> page(List<T> rows, int pageSize, String sort, String filter, Long total,
+                                      Function<T, String> valueGetter, Function<T, Long> idGetter) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> records = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = records.get(records.size() - 1);
+            nextCursor = new PageCursor(sort, filter, valueGetter.apply(last), idGetter.apply(last), total).encode();
+        }
+        return new PageDTO<>(records, total, nextCursor, hasMore);
+    }
+}
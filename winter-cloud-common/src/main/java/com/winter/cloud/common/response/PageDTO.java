@@ -11,5 +11,28 @@ import java.util.List;
 @AllArgsConstructor
 public class PageDTO<T> {
     private List<T> records;
+    /**
+     * 总数；未统计时为 null，键集分页翻页时沿用首页统计的值（近似值）
+     */
     private Long total;
-}
\ No newline at end of file
+    /**
+     * 键集分页的下一页游标，没有下一页时为 null
+     */
+    private String nextCursor;
+    /**
+     * 键集分页是否还有下一页
+     */
+    private Boolean hasMore;
+
+    public PageDTO(List<T> records, Long total) {
+        this.records = records;
+        this.total = total;
+    }
+
+    /**
+     * 复制分页信息，替换记录（DO -> DTO 转换时使用）
+     */
+    public <R> PageDTO<R> withRecords(List<R> records) {
+        return new PageDTO<>(records, total, nextCursor, hasMore);
+    }
+}
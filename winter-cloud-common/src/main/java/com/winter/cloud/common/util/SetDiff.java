@@ -0,0 +1,93 @@
+package com.winter.cloud.common.util;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 关联关系集合差异
+ * <p>
+ * 用于维护用户-角色、角色-菜单这类多对多关联：对比数据库中现有的关联ID与目标ID，
+ * 只删除多出来的、只插入缺少的，替代“全部删除再全部插入”。关联没有变化时不产生任何写操作，
+ * 调用方可根据 {@link #isChanged()} 决定是否失效缓存、发布事件。
+ * <pre>
+ * SetDiff&lt;Long&gt; diff = SetDiff.of(currentRoleIds, targetRoleIds)
+ *         .apply(removed -&gt; deleteByRoleIds(userId, removed), added -&gt; insertBatch(userId, added));
+ * if (diff.isChanged()) { ... }
+ * </pre>
+ * </p>
+ *
+ * @param <T> 关联ID类型
+ */
+@Getter
+public final class SetDiff<T> {
+
+    /**
+     * 需要新增的ID
+     */
+    private final Set<T> added;
+
+    /**
+     * 需要删除的ID
+     */
+    private final Set<T> removed;
+
+    private SetDiff(Set<T> added, Set<T> removed) {
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * 计算差异，null 视为空集合，集合中的 null 元素忽略，重复ID只计一次
+     *
+     * @param current 现有ID
+     * @param target  目标ID
+     */
+    public static <T> SetDiff<T> of(Collection<T> current, Collection<T> target) {
+        Set<T> currentSet = current == null ? Collections.emptySet() : new LinkedHashSet<>(current);
+        Set<T> added = new LinkedHashSet<>();
+        if (target != null) {
+            for (T id : target) {
+                if (id != null && !currentSet.contains(id)) {
+                    added.add(id);
+                }
+            }
+        }
+        Set<T> targetSet = target == null ? Collections.emptySet() : new LinkedHashSet<>(target);
+        Set<T> removed = new LinkedHashSet<>();
+        for (T id : currentSet) {
+            if (id != null && !targetSet.contains(id)) {
+                removed.add(id);
+            }
+        }
+        return new SetDiff<>(added, removed);
+    }
+
+    /**
+     * 应用差异：先删后增，各自只在非空时调用一次
+     *
+     * @param remover 删除逻辑（一条多行 DELETE）
+     * @param adder   新增逻辑（一条多行 INSERT）
+     * @return 当前对象
+     */
+    public SetDiff<T> apply(Consumer<Set<T>> remover, Consumer<Set<T>> adder) {
+        if (!removed.isEmpty()) {
+            remover.accept(removed);
+        }
+        if (!added.isEmpty()) {
+            adder.accept(added);
+        }
+        return this;
+    }
+
+    /**
+     * 关联是否发生变化
+     */
+    public boolean isChanged() {
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+}
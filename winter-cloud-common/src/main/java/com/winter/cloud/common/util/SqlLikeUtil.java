@@ -0,0 +1,52 @@
+package com.winter.cloud.common.util;
+
+/**
+ * LIKE 模式构建工具类
+ * <p>
+ * 在 Java 侧拼好完整的模式串再作为参数绑定（而不是在 SQL 里 CONCAT），
+ * PostgreSQL 在自定义执行计划中能直接看到模式常量，从而选用 pg_trgm 索引并给出准确的行数估算；
+ * 同时转义用户输入中的 %、_ 和转义符本身，避免输入被当作通配符。
+ * MyBatis XML 中通过 OGNL 静态方法调用：
+ * <pre>
+ * &lt;bind name="userNameLike" value="@com.winter.cloud.common.util.SqlLikeUtil@contains(query.userName)"/&gt;
+ * </pre>
+ * </p>
+ */
+public final class SqlLikeUtil {
+    private static final char ESCAPE = '\\';
+
+    private SqlLikeUtil() {
+    }
+
+    /**
+     * 包含匹配：%value%
+     */
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+
+    /**
+     * 前缀匹配：value%
+     */
+    public static String startsWith(String value) {
+        return escape(value) + "%";
+    }
+
+    /**
+     * 转义 LIKE 通配符（PostgreSQL 与 MySQL 的默认转义符均为反斜杠）
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                builder.append(ESCAPE);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.winter.cloud.common.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 树形结构构建工具类
+ * <p>
+ * 基于 parentId 索引一次性构建树，时间复杂度 O(n)（排序除外），
+ * 替代“为每个节点扫描整个列表查找子节点”的 O(n²) 递归写法。
+ * </p>
+ */
+public class TreeUtil {
+
+    private TreeUtil() {
+    }
+
+    /**
+     * 将扁平节点列表构建为树形结构
+     * <ol>
+     *   <li>遍历一次，按 parentId 将节点分组（parentId -> 子节点列表），同时记录所有节点 id</li>
+     *   <li>parentId 为 null、0 或父节点不存在（孤儿节点）的节点视为根节点</li>
+     *   <li>为存在子节点的节点设置新的子节点列表（叶子节点保持原值不变），并按 comparator 排序</li>
+     * </ol>
+     * 重复 id 的节点只保留第一次出现的那个。
+     *
+     * @param nodes           扁平节点列表（支持乱序）
+     * @param idGetter        获取节点 id
+     * @param parentIdGetter  获取父节点 id
+     * @param childrenSetter  设置子节点列表
+     * @param comparator      同级节点排序规则，为 null 时保持输入顺序
+     * @param <T>             节点类型
+     * @return 根节点列表
+     */
+    public static <T> List<T> buildTree(List<T> nodes,
+                                        Function<T, Long> idGetter,
+                                        Function<T, Long> parentIdGetter,
+                                        BiConsumer<T, List<T>> childrenSetter,
+                                        Comparator<T> comparator) {
+        if (nodes == null || nodes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 1. 去重并建立 id 索引
+        Map<Long, T> nodeMap = new LinkedHashMap<>(nodes.size() * 2);
+        for (T node : nodes) {
+            nodeMap.putIfAbsent(idGetter.apply(node), node);
+        }
+
+        // 2. 按 parentId 分组，找不到父节点的作为根节点
+        Map<Long, List<T>> childrenMap = new HashMap<>(nodeMap.size() * 2);
+        List<T> rootNodes = new ArrayList<>();
+        for (T node : nodeMap.values()) {
+            Long parentId = parentIdGetter.apply(node);
+            if (parentId == null || parentId == 0L || !nodeMap.containsKey(parentId)) {
+                rootNodes.add(node);
+            } else {
+                childrenMap.computeIfAbsent(parentId, key -> new ArrayList<>()).add(node);
+            }
+        }
+
+        // 3. 挂载子节点并排序
+        childrenMap.forEach((parentId, children) -> {
+            if (comparator != null) {
+                children.sort(comparator);
+            }
+            childrenSetter.accept(nodeMap.get(parentId), children);
+        });
+        if (comparator != null) {
+            rootNodes.sort(comparator);
+        }
+        return rootNodes;
+    }
+}
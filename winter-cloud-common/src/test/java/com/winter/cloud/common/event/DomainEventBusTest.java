@@ -0,0 +1,286 @@
+package com.winter.cloud.common.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 领域事件总线：在真实的 Redis 上验证事务提交后发布、消费确认、失败重放、最大投递次数、
+ * 认领其他消费者的待确认事件以及遗留广播消费组的清理
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class DomainEventBusTest {
+
+    private static final String APPLICATION = "test-app";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private DomainEventProperties properties;
+    private DomainEventListenerRegistry registry;
+    private DomainEventPublisher publisher;
+    private DomainEventSubscriber subscriber;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.flushAll();
+            return null;
+        });
+        properties = new DomainEventProperties();
+        properties.setBlockMillis(100L);
+        properties.setPendingRetryInterval(200L);
+        properties.setMaxDeliveryCount(3);
+        properties.setClaimIdle(100L);
+        properties.setStaleGroupIdle(100L);
+        registry = new DomainEventListenerRegistry();
+        publisher = new DomainEventPublisher(stringRedisTemplate, objectMapper, properties, APPLICATION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (subscriber != null && subscriber.isRunning()) {
+            subscriber.stop();
+        }
+    }
+
+    @Test
+    void publishInsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publish(new TestEvent("committed"));
+            assertThat(streamLength()).isZero();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertThat(streamLength()).isEqualTo(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 回滚时不会触发 afterCommit，事件不发布
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publish(new TestEvent("rolled-back"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(streamLength()).isEqualTo(1L);
+    }
+
+    @Test
+    void publishedEventIsConsumedAndAcknowledged() {
+        ServiceListener listener = register(new ServiceListener(0));
+        startSubscriber();
+
+        publisher.publish(new TestEvent("menu"));
+
+        await(() -> listener.received.size() == 1);
+        assertThat(listener.received).containsExactly("menu");
+        await(() -> pendingCount(APPLICATION) == 0L);
+    }
+
+    @Test
+    void failedEventIsRedeliveredUntilListenerSucceeds() {
+        ServiceListener listener = register(new ServiceListener(1));
+        startSubscriber();
+
+        publisher.publish(new TestEvent("retry"));
+
+        await(() -> listener.received.size() == 2);
+        await(() -> pendingCount(APPLICATION) == 0L);
+        assertThat(listener.received).containsExactly("retry", "retry");
+    }
+
+    @Test
+    void eventIsDroppedAfterMaxDeliveryCount() throws InterruptedException {
+        ServiceListener listener = register(new ServiceListener(Integer.MAX_VALUE));
+        startSubscriber();
+
+        publisher.publish(new TestEvent("poison"));
+
+        await(() -> pendingCount(APPLICATION) == 0L && listener.received.size() >= properties.getMaxDeliveryCount());
+        Thread.sleep(properties.getPendingRetryInterval() * 3);
+        assertThat(listener.received).hasSize(properties.getMaxDeliveryCount());
+    }
+
+    /**
+     * 已退出的实例读取后未确认的事件，由新实例启动时认领并处理
+     */
+    @Test
+    void stalePendingOfAnotherConsumerIsClaimed() throws InterruptedException {
+        String streamKey = properties.getStreamKey();
+        stringRedisTemplate.opsForStream().createGroup(streamKey, ReadOffset.latest(), APPLICATION);
+        publisher.publish(new TestEvent("orphan"));
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(APPLICATION, "dead-instance"),
+                StreamReadOptions.empty().count(10),
+                StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+        assertThat(records).hasSize(1);
+        assertThat(pendingCount(APPLICATION)).isEqualTo(1L);
+        Thread.sleep(properties.getClaimIdle() * 2);
+
+        ServiceListener listener = register(new ServiceListener(0));
+        startSubscriber();
+
+        await(() -> listener.received.size() == 1);
+        await(() -> pendingCount(APPLICATION) == 0L);
+        assertThat(listener.received).containsExactly("orphan");
+    }
+
+    @Test
+    void staleBroadcastGroupIsCleanedAndOwnGroupDestroyedOnStop() throws InterruptedException {
+        String streamKey = properties.getStreamKey();
+        String staleGroup = APPLICATION + ":old-instance";
+        stringRedisTemplate.opsForStream().createGroup(streamKey, ReadOffset.latest(), staleGroup);
+        stringRedisTemplate.opsForStream().read(Consumer.from(staleGroup, "old-instance"),
+                StreamReadOptions.empty().count(1), StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+        Thread.sleep(properties.getStaleGroupIdle() * 2);
+
+        BroadcastListener listener = register(new BroadcastListener());
+        startSubscriber();
+        await(() -> groupNames().size() == 1 && !groupNames().contains(staleGroup));
+
+        publisher.publish(new TestEvent("dict"));
+        await(() -> listener.received.size() == 1);
+
+        subscriber.stop();
+        assertThat(groupNames()).isEmpty();
+    }
+
+    private <T> T register(T listener) {
+        registry.postProcessAfterInitialization(listener, listener.getClass().getSimpleName());
+        return listener;
+    }
+
+    /**
+     * 启动订阅并等待消费组创建完成，消费组只消费创建之后发布的事件
+     */
+    private void startSubscriber() {
+        subscriber = new DomainEventSubscriber(stringRedisTemplate, objectMapper, properties, registry, APPLICATION, "instance-1");
+        subscriber.start();
+        await(() -> !groupNames().isEmpty());
+    }
+
+    private long streamLength() {
+        Long size = stringRedisTemplate.opsForStream().size(properties.getStreamKey());
+        return size == null ? 0L : size;
+    }
+
+    private long pendingCount(String group) {
+        return stringRedisTemplate.opsForStream().pending(properties.getStreamKey(), group).getTotalPendingMessages();
+    }
+
+    private List<String> groupNames() {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(properties.getStreamKey()))) {
+            return List.of();
+        }
+        return stringRedisTemplate.opsForStream().groups(properties.getStreamKey()).stream()
+                .map(StreamInfo.XInfoGroup::groupName)
+                .collect(Collectors.toList());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("等待超时");
+            }
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class TestEvent extends DomainEvent {
+        private String name;
+
+        public TestEvent() {
+        }
+
+        TestEvent(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 服务级监听：前 failTimes 次处理抛出异常
+     */
+    public static class ServiceListener {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failTimes;
+
+        ServiceListener(int failTimes) {
+            this.failTimes = new AtomicInteger(failTimes);
+        }
+
+        @DomainEventListener(broadcast = false)
+        public void onTestEvent(TestEvent event) {
+            received.add(event.getName());
+            if (failTimes.getAndDecrement() > 0) {
+                throw new IllegalStateException("处理失败");
+            }
+        }
+    }
+
+    public static class BroadcastListener {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @DomainEventListener
+        public void onTestEvent(TestEvent event) {
+            received.add(event.getName());
+        }
+    }
+}
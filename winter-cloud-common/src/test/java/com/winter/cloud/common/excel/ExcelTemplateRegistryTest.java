@@ -0,0 +1,89 @@
+package com.winter.cloud.common.excel;
+
+import com.winter.cloud.common.event.type.DictChangedEvent;
+import com.zsq.winter.office.annotation.excel.WinterExcelSelected;
+import com.zsq.winter.office.entity.excel.WinterExcelDynamicSelect;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcelTemplateRegistryTest {
+
+    private final ExcelTemplateRegistry registry = new ExcelTemplateRegistry();
+
+    @Test
+    void dictTypeIdsAreDerivedFromHeadAnnotationsIncludingSuperclass() {
+        assertThat(registry.dictTypeIds(UserHead.class)).containsExactlyInAnyOrder(1L, 110L, 115L);
+        assertThat(registry.dictTypeIds(UserHead.class)).isSameAs(registry.dictTypeIds(UserHead.class));
+        assertThat(registry.dictTypeIds(String.class)).isEmpty();
+    }
+
+    @Test
+    void renderedTemplateIsReplayedUntilRelatedDictChanges() {
+        AtomicInteger renderCount = new AtomicInteger();
+        Consumer<HttpServletResponse> renderer = response -> {
+            renderCount.incrementAndGet();
+            response.setContentType("application/vnd.ms-excel");
+            response.setHeader("Content-Disposition", "attachment;filename=user.xlsx");
+            try {
+                response.getOutputStream().write(new byte[]{1, 2, 3});
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        MockHttpServletResponse first = export(renderer);
+        MockHttpServletResponse second = export(renderer);
+        assertThat(renderCount).hasValue(1);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray()).containsExactly(1, 2, 3);
+        assertThat(second.getHeader("Content-Disposition")).isEqualTo("attachment;filename=user.xlsx");
+
+        registry.onDictChanged(new DictChangedEvent(List.of(2L)));
+        export(renderer);
+        assertThat(renderCount).hasValue(1);
+
+        registry.onDictChanged(new DictChangedEvent(List.of(110L)));
+        export(renderer);
+        assertThat(renderCount).hasValue(2);
+
+        registry.onDictChanged(new DictChangedEvent(null));
+        export(renderer);
+        assertThat(renderCount).hasValue(3);
+    }
+
+    private MockHttpServletResponse export(Consumer<HttpServletResponse> renderer) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        registry.export(response, "userTemplate", UserHead.class, null, renderer);
+        return response;
+    }
+
+    static class BaseHead {
+        @WinterExcelSelected(sourceClass = DictSelect.class, firstRow = 2, type = "115")
+        private String locale;
+    }
+
+    static class UserHead extends BaseHead {
+        @WinterExcelSelected(sourceClass = DictSelect.class, firstRow = 2, type = "1")
+        private String sex;
+
+        @WinterExcelSelected(sourceClass = DictSelect.class, firstRow = 2, type = "110")
+        private String status;
+
+        private String userName;
+    }
+
+    static class DictSelect implements WinterExcelDynamicSelect {
+        @Override
+        public String[] getSource(String type) {
+            return new String[0];
+        }
+    }
+}
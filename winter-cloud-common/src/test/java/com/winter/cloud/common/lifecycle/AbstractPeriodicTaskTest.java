@@ -0,0 +1,91 @@
+package com.winter.cloud.common.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbstractPeriodicTaskTest {
+
+    @Test
+    void runsPeriodicallyOnSingleDaemonThreadAndFlushesOnStop() throws InterruptedException {
+        CountingTask task = new CountingTask(3);
+
+        task.start();
+        assertThat(task.isRunning()).isTrue();
+        assertThat(task.latch.await(2, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch executed = new CountDownLatch(1);
+        assertThat(task.execute(() -> {
+            task.threadNames.add(Thread.currentThread().getName());
+            executed.countDown();
+        })).isTrue();
+        assertThat(executed.await(2, TimeUnit.SECONDS)).isTrue();
+
+        task.stop();
+
+        assertThat(task.isRunning()).isFalse();
+        assertThat(task.afterStopCount).hasValue(1);
+        assertThat(task.threadNames).containsOnly("periodic-test");
+        assertThat(task.execute(() -> { })).isFalse();
+    }
+
+    @Test
+    void failingRunDoesNotCancelSchedule() throws InterruptedException {
+        CountingTask task = new CountingTask(2) {
+            @Override
+            protected void runPeriodically() {
+                super.runPeriodically();
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        task.start();
+        try {
+            assertThat(task.latch.await(2, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            task.stop();
+        }
+    }
+
+    @Test
+    void stopBeforeStartIsNoop() {
+        CountingTask task = new CountingTask(1);
+
+        task.stop();
+
+        assertThat(task.afterStopCount).hasValue(0);
+    }
+
+    private static class CountingTask extends AbstractPeriodicTask {
+        private final CountDownLatch latch;
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+        private final AtomicInteger afterStopCount = new AtomicInteger();
+
+        CountingTask(int expectedRuns) {
+            super("periodic-test");
+            this.latch = new CountDownLatch(expectedRuns);
+        }
+
+        @Override
+        protected void runPeriodically() {
+            assertThat(Thread.currentThread().isDaemon()).isTrue();
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+        }
+
+        @Override
+        protected long intervalMillis() {
+            return 10L;
+        }
+
+        @Override
+        protected void afterStop() {
+            afterStopCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.winter.cloud.common.response;
+
+import com.winter.cloud.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static final String SORT = "create_time desc,id desc";
+
+    @Test
+    void nextCursorRoundTripsWithSameSortAndFilter() {
+        String filter = PageCursor.fingerprint("admin", "1", List.of(1L, 2L));
+
+        PageDTO<Long> page = PageCursor.page(List.of(5L, 4L, 3L), 2, SORT, filter, 10L, String::valueOf, id -> id);
+        PageCursor cursor = PageCursor.decode(page.getNextCursor(), SORT, filter);
+
+        assertThat(page.getRecords()).containsExactly(5L, 4L);
+        assertThat(cursor.getId()).isEqualTo(4L);
+        assertThat(cursor.getValue()).isEqualTo("4");
+        assertThat(cursor.getTotal()).isEqualTo(10L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        PageDTO<Long> page = PageCursor.page(List.of(2L, 1L), 2, SORT, PageCursor.fingerprint(), 2L, String::valueOf, id -> id);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(PageCursor.decode(null, SORT, PageCursor.fingerprint())).isNull();
+        assertThat(PageCursor.decode("", SORT, PageCursor.fingerprint())).isNull();
+    }
+
+    @Test
+    void cursorFromAnotherFilterIsRejected() {
+        String nextCursor = PageCursor.page(List.of(3L, 2L), 1, SORT, PageCursor.fingerprint("admin", "1"), null,
+                String::valueOf, id -> id).getNextCursor();
+
+        assertThatThrownBy(() -> PageCursor.decode(nextCursor, SORT, PageCursor.fingerprint("admin", "0")))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> PageCursor.decode(nextCursor, SORT, PageCursor.fingerprint("admin", null)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void cursorFromAnotherSortOrMalformedIsRejected() {
+        String filter = PageCursor.fingerprint("admin");
+        String nextCursor = PageCursor.page(List.of(3L, 2L), 1, SORT, filter, null, String::valueOf, id -> id).getNextCursor();
+
+        assertThatThrownBy(() -> PageCursor.decode(nextCursor, "id desc", filter)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor", SORT, filter)).isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * mapper 中空字符串、空集合与 null 一样不参与过滤，指纹也应一致；参数位置不同则指纹不同
+     */
+    @Test
+    void fingerprintTreatsBlankAsAbsentAndKeepsPosition() {
+        assertThat(PageCursor.fingerprint("", List.of(), null)).isEqualTo(PageCursor.fingerprint(null, null, null));
+        assertThat(PageCursor.fingerprint("1", null)).isNotEqualTo(PageCursor.fingerprint(null, "1"));
+        assertThat(PageCursor.fingerprint(List.of(1L, 2L))).isNotEqualTo(PageCursor.fingerprint(List.of(1L)));
+        assertThat(PageCursor.fingerprint("admin")).hasSize(16).isEqualTo(PageCursor.fingerprint("admin"));
+    }
+}
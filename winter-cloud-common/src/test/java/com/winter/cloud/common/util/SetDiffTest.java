@@ -0,0 +1,91 @@
+package com.winter.cloud.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SetDiffTest {
+
+    @Test
+    void emptySetsHaveNoChange() {
+        SetDiff<Long> diff = SetDiff.of(List.of(), List.of());
+
+        assertThat(diff.getAdded()).isEmpty();
+        assertThat(diff.getRemoved()).isEmpty();
+        assertThat(diff.isChanged()).isFalse();
+    }
+
+    @Test
+    void nullCollectionIsTreatedAsEmpty() {
+        assertThat(SetDiff.of(null, null).isChanged()).isFalse();
+
+        SetDiff<Long> fromNull = SetDiff.of(null, List.of(1L, 2L));
+        assertThat(fromNull.getAdded()).containsExactly(1L, 2L);
+        assertThat(fromNull.getRemoved()).isEmpty();
+
+        SetDiff<Long> toNull = SetDiff.of(List.of(1L, 2L), null);
+        assertThat(toNull.getAdded()).isEmpty();
+        assertThat(toNull.getRemoved()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void nullElementsAreIgnored() {
+        SetDiff<Long> diff = SetDiff.of(Arrays.asList(1L, null), Arrays.asList(null, 2L));
+
+        assertThat(diff.getAdded()).containsExactly(2L);
+        assertThat(diff.getRemoved()).containsExactly(1L);
+    }
+
+    @Test
+    void identicalSetsHaveNoChangeRegardlessOfOrderAndDuplicates() {
+        SetDiff<Long> diff = SetDiff.of(List.of(1L, 2L, 3L), List.of(3L, 1L, 2L, 1L));
+
+        assertThat(diff.isChanged()).isFalse();
+        List<String> calls = new ArrayList<>();
+        diff.apply(removed -> calls.add("remove"), added -> calls.add("add"));
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    void disjointSetsRemoveAllAndAddAll() {
+        SetDiff<Long> diff = SetDiff.of(List.of(1L, 2L), List.of(3L, 4L, 4L));
+
+        assertThat(diff.getAdded()).containsExactly(3L, 4L);
+        assertThat(diff.getRemoved()).containsExactly(1L, 2L);
+        assertThat(diff.isChanged()).isTrue();
+    }
+
+    @Test
+    void overlappingSetsOnlyTouchTheDifference() {
+        SetDiff<Long> diff = SetDiff.of(List.of(1L, 2L, 3L), List.of(2L, 3L, 4L));
+
+        assertThat(diff.getAdded()).containsExactly(4L);
+        assertThat(diff.getRemoved()).containsExactly(1L);
+    }
+
+    /**
+     * 先删后增，各自只调用一次
+     */
+    @Test
+    void applyRemovesBeforeAdding() {
+        List<String> calls = new ArrayList<>();
+
+        SetDiff.of(List.of(1L, 2L), List.of(2L, 3L))
+                .apply(removed -> calls.add("remove" + removed), added -> calls.add("add" + added));
+
+        assertThat(calls).containsExactly("remove[1]", "add[3]");
+    }
+
+    @Test
+    void resultSetsAreUnmodifiable() {
+        Set<Long> added = SetDiff.of(List.of(), List.of(1L)).getAdded();
+
+        assertThatThrownBy(() -> added.add(2L)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,25 @@
+package com.winter.cloud.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlLikeUtilTest {
+
+    @Test
+    void containsWrapsValue() {
+        assertThat(SqlLikeUtil.contains("admin")).isEqualTo("%admin%");
+        assertThat(SqlLikeUtil.startsWith("admin")).isEqualTo("admin%");
+    }
+
+    @Test
+    void escapesWildcardsAndEscapeChar() {
+        assertThat(SqlLikeUtil.contains("50%_off\\")).isEqualTo("%50\\%\\_off\\\\%");
+    }
+
+    @Test
+    void nullBecomesMatchAll() {
+        assertThat(SqlLikeUtil.escape(null)).isEmpty();
+        assertThat(SqlLikeUtil.contains(null)).isEqualTo("%%");
+    }
+}
@@ -0,0 +1,181 @@
+package com.winter.cloud.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeUtilTest {
+
+    @Test
+    void buildTreeFromUnorderedNodes() {
+        List<Node> nodes = new ArrayList<>(List.of(
+                new Node(4L, 2L, 2),
+                new Node(3L, 1L, 1),
+                new Node(2L, 1L, 0),
+                new Node(1L, 0L, 0),
+                new Node(5L, 2L, 1)));
+
+        List<Node> roots = buildTree(nodes);
+
+        assertThat(roots).extracting(Node::getId).containsExactly(1L);
+        assertThat(roots.get(0).getChildren()).extracting(Node::getId).containsExactly(2L, 3L);
+        assertThat(roots.get(0).getChildren().get(0).getChildren()).extracting(Node::getId).containsExactly(5L, 4L);
+        assertThat(roots.get(0).getChildren().get(1).getChildren()).isNull();
+    }
+
+    @Test
+    void orphanAndNullParentNodesBecomeRoots() {
+        List<Node> nodes = List.of(
+                new Node(1L, null, 1),
+                new Node(2L, 99L, 0),
+                new Node(3L, 1L, 0));
+
+        List<Node> roots = buildTree(nodes);
+
+        assertThat(roots).extracting(Node::getId).containsExactly(2L, 1L);
+        assertThat(roots.get(1).getChildren()).extracting(Node::getId).containsExactly(3L);
+    }
+
+    @Test
+    void duplicateIdKeepsFirstNode() {
+        Node first = new Node(2L, 1L, 0);
+        List<Node> nodes = List.of(new Node(1L, 0L, 0), first, new Node(2L, 1L, 5));
+
+        List<Node> roots = buildTree(nodes);
+
+        assertThat(roots.get(0).getChildren()).containsExactly(first);
+    }
+
+    @Test
+    void emptyInputReturnsEmptyList() {
+        assertThat(TreeUtil.buildTree(null, Node::getId, Node::getParentId, Node::setChildren, null)).isEmpty();
+        assertThat(buildTree(List.of())).isEmpty();
+    }
+
+    /**
+     * 5000 个菜单（5 层，乱序）：结果与逐层递归扫描的写法一致；
+     * 每个节点的 id、parentId 只读取一次（逐层扫描的写法每层都要读取全部节点的 parentId），不依赖机器快慢
+     */
+    @Test
+    void buildTreeWithFiveThousandMenus() {
+        List<Node> nodes = menuList(5000);
+        List<Node> expected = recursiveTree(copy(nodes), 0L);
+        AtomicInteger idReads = new AtomicInteger();
+        AtomicInteger parentIdReads = new AtomicInteger();
+        AtomicInteger childrenWrites = new AtomicInteger();
+
+        List<Node> roots = TreeUtil.buildTree(nodes,
+                node -> {
+                    idReads.incrementAndGet();
+                    return node.getId();
+                },
+                node -> {
+                    parentIdReads.incrementAndGet();
+                    return node.getParentId();
+                },
+                (node, children) -> {
+                    childrenWrites.incrementAndGet();
+                    node.setChildren(children);
+                },
+                Comparator.comparing(Node::getOrderNum));
+
+        assertThat(flatten(roots)).isEqualTo(flatten(expected));
+        assertThat(flatten(roots)).hasSize(5000);
+        assertThat(idReads).hasValue(5000);
+        assertThat(parentIdReads).hasValue(5000);
+        assertThat(childrenWrites.get()).isLessThan(5000);
+    }
+
+    private static List<Node> buildTree(List<Node> nodes) {
+        return TreeUtil.buildTree(nodes, Node::getId, Node::getParentId, Node::setChildren,
+                Comparator.comparing(Node::getOrderNum));
+    }
+
+    /**
+     * 生成乱序的菜单：前 10 个为根节点，其余节点的父节点从编号更小的节点中随机选取
+     */
+    private static List<Node> menuList(int size) {
+        Random random = new Random(42);
+        List<Node> nodes = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            long parentId = id <= 10 ? 0L : 1 + random.nextInt((int) Math.min(id - 1, size / 5));
+            nodes.add(new Node(id, parentId, random.nextInt(100)));
+        }
+        Collections.shuffle(nodes, random);
+        return nodes;
+    }
+
+    /**
+     * 旧写法：为每个节点扫描整个列表查找子节点，作为结果对照
+     */
+    private static List<Node> recursiveTree(List<Node> nodes, Long parentId) {
+        List<Node> children = nodes.stream()
+                .filter(node -> parentId.equals(node.getParentId()))
+                .sorted(Comparator.comparing(Node::getOrderNum))
+                .collect(Collectors.toList());
+        children.forEach(child -> {
+            List<Node> grandChildren = recursiveTree(nodes, child.getId());
+            child.setChildren(grandChildren.isEmpty() ? null : grandChildren);
+        });
+        return children;
+    }
+
+    private static List<Node> copy(List<Node> nodes) {
+        return nodes.stream().map(node -> new Node(node.getId(), node.getParentId(), node.getOrderNum())).collect(Collectors.toList());
+    }
+
+    /**
+     * 先序遍历输出 id:parentId，用于比较两棵树的结构和同级顺序
+     */
+    private static List<String> flatten(List<Node> roots) {
+        List<String> result = new ArrayList<>();
+        for (Node root : roots) {
+            result.add(root.getId() + ":" + root.getParentId());
+            if (root.getChildren() != null) {
+                result.addAll(flatten(root.getChildren()));
+            }
+        }
+        return result;
+    }
+
+    private static final class Node {
+        private final Long id;
+        private final Long parentId;
+        private final Integer orderNum;
+        private List<Node> children;
+
+        private Node(Long id, Long parentId, Integer orderNum) {
+            this.id = id;
+            this.parentId = parentId;
+            this.orderNum = orderNum;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        Long getParentId() {
+            return parentId;
+        }
+
+        Integer getOrderNum() {
+            return orderNum;
+        }
+
+        List<Node> getChildren() {
+            return children;
+        }
+
+        void setChildren(List<Node> children) {
+            this.children = children;
+        }
+    }
+}
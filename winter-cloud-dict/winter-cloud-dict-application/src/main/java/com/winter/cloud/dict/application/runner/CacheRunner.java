@@ -1,8 +1,12 @@
 package com.winter.cloud.dict.application.runner;
 
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.type.DictChangedEvent;
 import com.winter.cloud.dict.infrastructure.entity.DictDataPO;
 import com.winter.cloud.dict.infrastructure.mapper.DictDataMapper;
 import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
@@ -32,16 +36,46 @@ public class CacheRunner {
         log.info("预加载字典数据存入redis");
         List<DictDataPO> list = dictDataMapper.selectList(null);
         Map<Long, List<DictDataPO>> collect = list.stream().collect(Collectors.groupingBy(DictDataPO::getDictTypeId));
-        collect.forEach((k, v) -> {
-            String data = null;
-            try {
-                data = objectMapper.writeValueAsString(v);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
+        collect.forEach(this::cacheDictData);
+
+    }
+
+    /**
+     * 字典变更后刷新 Redis 中的字典缓存（同一服务只需一个实例处理）
+     * <p>
+     * 事件未携带字典类型时全量刷新；字典类型下已无数据时删除对应缓存。
+     * </p>
+     */
+    @DomainEventListener(broadcast = false)
+    public void onDictChanged(DictChangedEvent event) {
+        List<Long> dictTypeIdList = event.getDictTypeIdList();
+        if (CollUtil.isEmpty(dictTypeIdList)) {
+            init();
+            return;
+        }
+        Map<Long, List<DictDataPO>> collect = dictDataMapper.selectList(new LambdaQueryWrapper<DictDataPO>()
+                        .in(DictDataPO::getDictTypeId, dictTypeIdList))
+                .stream()
+                .collect(Collectors.groupingBy(DictDataPO::getDictTypeId));
+        dictTypeIdList.forEach(dictTypeId -> {
+            List<DictDataPO> dataList = collect.get(dictTypeId);
+            if (CollUtil.isEmpty(dataList)) {
+                winterRedisTemplate.delete(CommonConstants.Redis.DICT_KEY + CommonConstants.Redis.SPLIT + dictTypeId);
+            } else {
+                cacheDictData(dictTypeId, dataList);
             }
-            winterRedisTemplate.set(CommonConstants.Redis.DICT_KEY + CommonConstants.Redis.SPLIT + k,data);
         });
+        log.info("字典缓存已刷新，dictTypeIds: {}", dictTypeIdList);
+    }
 
+    private void cacheDictData(Long dictTypeId, List<DictDataPO> dataList) {
+        String data = null;
+        try {
+            data = objectMapper.writeValueAsString(dataList);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+        winterRedisTemplate.set(CommonConstants.Redis.DICT_KEY + CommonConstants.Redis.SPLIT + dictTypeId, data);
     }
 
 }
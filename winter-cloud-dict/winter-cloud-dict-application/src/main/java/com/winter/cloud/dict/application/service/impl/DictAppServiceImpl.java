@@ -4,6 +4,8 @@ import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.DictChangedEvent;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
@@ -29,6 +31,7 @@ import org.springframework.util.ObjectUtils;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,6 +43,7 @@ public class DictAppServiceImpl implements DictAppService {
     private final DictDataAppAssembler dictDataAppAssembler;
     private final DictTypeAppAssembler dictTypeAppAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
+    private final DomainEventPublisher domainEventPublisher;
     @Override
     public List<DictDataDTO> getDictDataByType(Long dictType, String status) {
         List<DictDataDO> data = dictDataRepository.getDictDataByType(dictType, status);
@@ -56,7 +60,7 @@ public class DictAppServiceImpl implements DictAppService {
     public PageDTO<DictTypeDTO> dictTypePage(DictTypeQuery dictTypeQuery) {
         PageDTO<DictTypeDO> doPage = dictTypeRepository.dictTypePage(dictTypeQuery);
         List<DictTypeDTO> dtoList = dictTypeAppAssembler.toDictTypeDTOList(doPage.getRecords());
-        return new PageDTO<>(dtoList, doPage.getTotal());
+        return doPage.withRecords(dtoList);
     }
 
     @Override
@@ -66,12 +70,16 @@ public class DictAppServiceImpl implements DictAppService {
 
     @Override
     public Boolean dictTypeUpdate(UpsertDictTypeCommand upsertDictTypeCommand) {
-        return dictTypeRepository.dictTypeUpdate(upsertDictTypeCommand);
+        Boolean updated = dictTypeRepository.dictTypeUpdate(upsertDictTypeCommand);
+        domainEventPublisher.publish(new DictChangedEvent(List.of(upsertDictTypeCommand.getId())));
+        return updated;
     }
 
     @Override
     public Boolean dictTypeDelete(List<Long> ids) {
-        return dictTypeRepository.dictTypeDelete(ids);
+        Boolean deleted = dictTypeRepository.dictTypeDelete(ids);
+        domainEventPublisher.publish(new DictChangedEvent(ids));
+        return deleted;
     }
 
     @Override
@@ -85,24 +93,35 @@ public class DictAppServiceImpl implements DictAppService {
 
         PageDTO<DictDataDO> doPage = dictDataRepository.dictDataPage(dictQuery);
         List<DictDataDTO> dtoList = dictDataAppAssembler.toDictDataDTOList(doPage.getRecords());
-        return new PageDTO<>(dtoList, doPage.getTotal());
+        return doPage.withRecords(dtoList);
     }
 
     @Override
     public Boolean dictDataSave(List<UpsertDictDataCommand> upsertDictDataCommandList) {
         List<DictDataDO> doList = dictDataAppAssembler.toDOList(upsertDictDataCommandList);
-        return dictDataRepository.dictDataSave(doList);
+        Boolean saved = dictDataRepository.dictDataSave(doList);
+        domainEventPublisher.publish(new DictChangedEvent(doList.stream()
+                .map(DictDataDO::getDictTypeId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList())));
+        return saved;
     }
 
     @Override
     public Boolean dictDataUpdate(UpsertDictDataCommand upsertDictDataCommand) {
         DictDataDO aDo = dictDataAppAssembler.toDO(upsertDictDataCommand);
-        return dictDataRepository.dictDataUpdate(aDo);
+        Boolean updated = dictDataRepository.dictDataUpdate(aDo);
+        domainEventPublisher.publish(new DictChangedEvent(aDo.getDictTypeId() == null ? List.of() : List.of(aDo.getDictTypeId())));
+        return updated;
     }
 
     @Override
     public Boolean dictDataDelete(List<Long> ids) {
-        return dictDataRepository.dictDataDelete(ids);
+        Boolean deleted = dictDataRepository.dictDataDelete(ids);
+        // 按数据ID删除时无法确定所属字典类型，发布不带类型的事件，订阅方失效全部字典缓存
+        domainEventPublisher.publish(new DictChangedEvent(List.of()));
+        return deleted;
     }
 
     @Override
@@ -19,4 +19,20 @@ public interface DictDataMapper extends BaseMapper<DictDataPO> {
     List<DictDataDO> getDictDataByType(@Param("dictType") Long dictType, @Param("status") String status);
 
     IPage<DictDataPO> selectDictDataPage(Page<DictDataPO> page,  @Param("query") DictDataQuery dictDataQuery);
+
+    /**
+     * 统计符合条件的字典数据数
+     */
+    Long selectDictDataCount(@Param("query") DictDataQuery dictDataQuery);
+
+    /**
+     * 键集分页查询：按 (dict_sort, id) 倒序读取位于上一页最后一行之后的 limit 条字典数据
+     *
+     * @param lastDictSort 上一页最后一行的排序值，第一页为 null
+     * @param lastId       上一页最后一行的 id，第一页为 null
+     */
+    List<DictDataPO> selectDictDataListBefore(@Param("query") DictDataQuery dictDataQuery,
+                                              @Param("lastDictSort") Integer lastDictSort,
+                                              @Param("lastId") Long lastId,
+                                              @Param("limit") Integer limit);
 }
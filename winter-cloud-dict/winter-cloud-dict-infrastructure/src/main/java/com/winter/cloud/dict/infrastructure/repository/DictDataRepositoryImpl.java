@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageCursor;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.dict.api.dto.query.DictDataQuery;
 import com.winter.cloud.dict.domain.model.entity.DictDataDO;
@@ -44,6 +45,11 @@ public class DictDataRepositoryImpl implements DictDataRepository {
     private final Validator fastFalseValidator;
     private final ObjectMapper objectMapper;
 
+    /**
+     * 字典数据键集分页的排序标识（与 selectDictDataListBefore 的 ORDER BY 一致）
+     */
+    private static final String DICT_DATA_KEYSET_SORT = "dict_sort desc,id desc";
+
     @Override
     public List<DictDataDO> getDictDataByType(Long dictType, String status) {
         List<DictDataDO> list = dictDataMapper.getDictDataByType(dictType, status);
@@ -91,10 +97,38 @@ public class DictDataRepositoryImpl implements DictDataRepository {
 
     @Override
     public PageDTO<DictDataDO> dictDataPage(DictDataQuery dictQuery) {
-        Page<DictDataPO> page = new Page<>(dictQuery.getPageNum(), dictQuery.getPageSize());
+        if (dictQuery.keysetMode()) {
+            return dictDataKeysetPage(dictQuery);
+        }
+        boolean searchCount = !Boolean.FALSE.equals(dictQuery.getSearchCount());
+        Page<DictDataPO> page = new Page<>(dictQuery.getPageNum(), dictQuery.getPageSize(), searchCount);
         IPage<DictDataPO> pageResult = dictDataMapper.selectDictDataPage(page, dictQuery);
         List<DictDataDO> doList = dictDataInfraAssembler.toDOList(pageResult.getRecords());
-        return new PageDTO<>(doList, pageResult.getTotal());
+        return new PageDTO<>(doList, searchCount ? pageResult.getTotal() : null);
+    }
+
+    /**
+     * 键集分页：按 (dict_sort, id) 倒序定位下一页，总数只在第一页统计一次并随游标传递
+     */
+    private PageDTO<DictDataDO> dictDataKeysetPage(DictDataQuery dictQuery) {
+        String filter = PageCursor.fingerprint(dictQuery.getDictTypeId(), dictQuery.getStatus(),
+                dictQuery.getDictLabel(), dictQuery.getDictValue());
+        PageCursor cursor = PageCursor.decode(dictQuery.getCursor(), DICT_DATA_KEYSET_SORT, filter);
+        int pageSize = dictQuery.getPageSize();
+        Long total;
+        if (cursor != null) {
+            total = cursor.getTotal();
+        } else {
+            total = Boolean.FALSE.equals(dictQuery.getSearchCount()) ? null : dictDataMapper.selectDictDataCount(dictQuery);
+        }
+        List<DictDataPO> rows = dictDataMapper.selectDictDataListBefore(dictQuery,
+                cursor == null ? null : cursor.valueAsInteger(),
+                cursor == null ? null : cursor.getId(),
+                pageSize + 1);
+        // dict_sort 为空时按 0 参与排序，与 SQL 中的 COALESCE 保持一致
+        PageDTO<DictDataPO> poPage = PageCursor.page(rows, pageSize, DICT_DATA_KEYSET_SORT, filter, total,
+                po -> String.valueOf(ObjectUtil.defaultIfNull(po.getDictSort(), 0)), DictDataPO::getId);
+        return poPage.withRecords(dictDataInfraAssembler.toDOList(poPage.getRecords()));
     }
 
     @Transactional(rollbackFor = Exception.class)
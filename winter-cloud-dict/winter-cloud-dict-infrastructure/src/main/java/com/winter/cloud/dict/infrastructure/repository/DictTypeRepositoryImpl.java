@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageCursor;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.dict.api.dto.command.UpsertDictTypeCommand;
 import com.winter.cloud.dict.api.dto.query.DictTypeQuery;
@@ -34,15 +35,51 @@ public class DictTypeRepositoryImpl implements DictTypeRepository {
     private final DictTypeInfraAssembler dictTypeInfraAssembler;
     private final WinterI18nTemplate winterI18nTemplate;
 
+    /**
+     * 字典类型键集分页的排序标识
+     */
+    private static final String DICT_TYPE_KEYSET_SORT = "id desc";
+
     @Override
     public PageDTO<DictTypeDO> dictTypePage(DictTypeQuery dictTypeQuery) {
-        Page<DictTypePO> page = new Page<>(dictTypeQuery.getPageNum(), dictTypeQuery.getPageSize());
-        LambdaQueryWrapper<DictTypePO> queryWrapper = new LambdaQueryWrapper<DictTypePO>()
+        if (dictTypeQuery.keysetMode()) {
+            return dictTypeKeysetPage(dictTypeQuery);
+        }
+        boolean searchCount = !Boolean.FALSE.equals(dictTypeQuery.getSearchCount());
+        Page<DictTypePO> page = new Page<>(dictTypeQuery.getPageNum(), dictTypeQuery.getPageSize(), searchCount);
+        IPage<DictTypePO> pageResult = dictTypeMPService.page(page, buildDictTypePageWrapper(dictTypeQuery));
+        List<DictTypeDO> doList = dictTypeInfraAssembler.toDOList(pageResult.getRecords());
+        return new PageDTO<>(doList, searchCount ? pageResult.getTotal() : null);
+    }
+
+    /**
+     * 键集分页：按 id 倒序定位下一页，总数只在第一页统计一次并随游标传递
+     */
+    private PageDTO<DictTypeDO> dictTypeKeysetPage(DictTypeQuery dictTypeQuery) {
+        String filter = PageCursor.fingerprint(dictTypeQuery.getId(), dictTypeQuery.getDictName());
+        PageCursor cursor = PageCursor.decode(dictTypeQuery.getCursor(), DICT_TYPE_KEYSET_SORT, filter);
+        int pageSize = dictTypeQuery.getPageSize();
+        Long total;
+        if (cursor != null) {
+            total = cursor.getTotal();
+        } else {
+            total = Boolean.FALSE.equals(dictTypeQuery.getSearchCount()) ? null : dictTypeMPService.count(buildDictTypePageWrapper(dictTypeQuery));
+        }
+        LambdaQueryWrapper<DictTypePO> queryWrapper = buildDictTypePageWrapper(dictTypeQuery)
+                .orderByDesc(DictTypePO::getId)
+                .last("LIMIT " + (pageSize + 1));
+        if (cursor != null) {
+            queryWrapper.lt(DictTypePO::getId, cursor.getId());
+        }
+        PageDTO<DictTypePO> poPage = PageCursor.page(dictTypeMPService.list(queryWrapper), pageSize, DICT_TYPE_KEYSET_SORT, filter, total,
+                po -> String.valueOf(po.getId()), DictTypePO::getId);
+        return poPage.withRecords(dictTypeInfraAssembler.toDOList(poPage.getRecords()));
+    }
+
+    private LambdaQueryWrapper<DictTypePO> buildDictTypePageWrapper(DictTypeQuery dictTypeQuery) {
+        return new LambdaQueryWrapper<DictTypePO>()
                 .eq(ObjectUtil.isNotEmpty(dictTypeQuery.getId()), DictTypePO::getId, dictTypeQuery.getId())
                 .like(ObjectUtil.isNotEmpty(dictTypeQuery.getDictName()), DictTypePO::getDictName, dictTypeQuery.getDictName());
-        IPage<DictTypePO> pageResult = dictTypeMPService.page(page, queryWrapper);
-        List<DictTypeDO> doList = dictTypeInfraAssembler.toDOList(pageResult.getRecords());
-        return new PageDTO<>(doList, pageResult.getTotal());
     }
 
     @Override
@@ -63,21 +63,21 @@ public class DictController implements DictFacade {
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictTypeSave')")
+    @PreAuthorize("@perm.has('sys:dict:dictTypeSave')")
     @PostMapping("/dictTypeSave")
     public Response<Boolean> dictTypeSave(@RequestBody @Validated(UpsertDictTypeCommand.Save.class) UpsertDictTypeCommand upsertDictTypeCommand) {
         Boolean data = dictAppService.dictTypeSave(upsertDictTypeCommand);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictTypeUpdate')")
+    @PreAuthorize("@perm.has('sys:dict:dictTypeUpdate')")
     @PutMapping("/dictTypeUpdate")
     public Response<Boolean> dictTypeUpdate(@RequestBody @Validated(UpsertDictTypeCommand.Update.class) UpsertDictTypeCommand upsertDictTypeCommand) {
         Boolean data = dictAppService.dictTypeUpdate(upsertDictTypeCommand);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictTypeDelete')")
+    @PreAuthorize("@perm.has('sys:dict:dictTypeDelete')")
     @DeleteMapping("/dictTypeDelete")
     public Response<Boolean> dictTypeDelete(@RequestBody @NotEmpty(message = "{delete.data.notEmpty}") List<Long> ids) {
         Boolean data = dictAppService.dictTypeDelete(ids);
@@ -90,21 +90,21 @@ public class DictController implements DictFacade {
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictDataSave')")
+    @PreAuthorize("@perm.has('sys:dict:dictDataSave')")
     @PostMapping("/dictDataSave")
     public Response<Boolean> dictDataSave(@RequestBody @Validated(UpsertDictDataCommand.Save.class) List<UpsertDictDataCommand>  upsertDictDataCommandList) {
         Boolean data = dictAppService.dictDataSave(upsertDictDataCommandList);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictDataUpdate')")
+    @PreAuthorize("@perm.has('sys:dict:dictDataUpdate')")
     @PutMapping("/dictDataUpdate")
     public Response<Boolean> dictDataUpdate(@RequestBody @Validated(UpsertDictDataCommand.Update.class) UpsertDictDataCommand upsertDictDataCommand) {
         Boolean data = dictAppService.dictDataUpdate(upsertDictDataCommand);
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
-    @PreAuthorize("hasAuthority('sys:dict:dictDataDelete')")
+    @PreAuthorize("@perm.has('sys:dict:dictDataDelete')")
     @DeleteMapping("/dictDataDelete")
     public Response<Boolean> dictDataDelete(@RequestBody @NotEmpty(message = "{delete.data.notEmpty}") List<Long> ids) {
         Boolean data = dictAppService.dictDataDelete(ids);
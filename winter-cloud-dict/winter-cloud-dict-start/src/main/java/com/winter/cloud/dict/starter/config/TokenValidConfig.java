@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import com.winter.cloud.auth.api.support.TokenValidationBatcher;
+import com.winter.cloud.common.permission.PermissionChecker;
 import com.winter.cloud.common.util.JwtUtil;
 import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import com.zsq.winter.security.config.TokenAuthenticator;
@@ -13,6 +15,8 @@ import org.apache.dubbo.config.annotation.DubboReference;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.Optional;
 
 import static com.winter.cloud.common.constants.CommonConstants.buildUserCacheKey;
@@ -31,20 +35,40 @@ public class TokenValidConfig implements TokenAuthenticator {
 
     private final WinterRedisTemplate winterRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final PermissionChecker permissionChecker;
 
     @DubboReference(check = false)
     private AuthValidationFacade authValidationFacade;
 
+    /**
+     * 合并并发的 Token 远程校验请求（1 毫秒窗口内合并为一次 validateTokens 调用）
+     */
+    private TokenValidationBatcher tokenValidationBatcher;
+
     /**
      * 构造方法注入依赖
      *
      * @param winterRedisTemplate  Redis 操作模板
      * @param objectMapper         JSON 序列化工具
+     * @param permissionChecker    权限位图校验器
      */
     public TokenValidConfig(WinterRedisTemplate winterRedisTemplate,
-                            ObjectMapper objectMapper) {
+                            ObjectMapper objectMapper,
+                            PermissionChecker permissionChecker) {
         this.winterRedisTemplate = winterRedisTemplate;
         this.objectMapper = objectMapper;
+        this.permissionChecker = permissionChecker;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Dubbo 引用在属性注入阶段完成，需在构造之后创建
+        tokenValidationBatcher = new TokenValidationBatcher(authValidationFacade);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        tokenValidationBatcher.close();
     }
 
     /**
@@ -89,7 +113,7 @@ public class TokenValidConfig implements TokenAuthenticator {
                 })
                 // 如果缓存为空或失效，调用远程认证服务
                 .filter(ValidateTokenDTO::getValid)
-                .or(() -> Optional.ofNullable(authValidationFacade.validateToken(token))
+                .or(() -> Optional.ofNullable(tokenValidationBatcher.validate(token))
                         .filter(ValidateTokenDTO::getValid))
                 // 将 ValidateTokenDTO 转换为内部模型 ValidateToken
                 .map(this::mapToValidateToken)
@@ -110,6 +134,8 @@ public class TokenValidConfig implements TokenAuthenticator {
      * @return ValidateToken 内部使用的用户信息和权限对象
      */
     private ValidateToken mapToValidateToken(ValidateTokenDTO dto) {
+        // 权限位图绑定到当前请求，供 @perm.has(...) 按位校验
+        permissionChecker.bind(dto.getPermissionIndexVersion(), dto.getPermissionBits());
         return ValidateToken.builder()
                 .valid(true)
                 .userId(dto.getUserId())
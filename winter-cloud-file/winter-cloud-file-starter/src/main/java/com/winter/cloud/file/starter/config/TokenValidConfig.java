@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import com.winter.cloud.auth.api.support.TokenValidationBatcher;
 import com.winter.cloud.common.util.JwtUtil;
 import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import com.zsq.winter.security.config.TokenAuthenticator;
@@ -13,6 +14,8 @@ import org.apache.dubbo.config.annotation.DubboReference;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.Optional;
 
 import static com.winter.cloud.common.constants.CommonConstants.buildUserCacheKey;
@@ -35,6 +38,11 @@ public class TokenValidConfig implements TokenAuthenticator {
     @DubboReference(check = false)
     private AuthValidationFacade authValidationFacade;
 
+    /**
+     * 合并并发的 Token 远程校验请求（1 毫秒窗口内合并为一次 validateTokens 调用）
+     */
+    private TokenValidationBatcher tokenValidationBatcher;
+
     /**
      * 构造方法注入依赖
      *
@@ -47,6 +55,17 @@ public class TokenValidConfig implements TokenAuthenticator {
         this.objectMapper = objectMapper;
     }
 
+    @PostConstruct
+    public void init() {
+        // Dubbo 引用在属性注入阶段完成，需在构造之后创建
+        tokenValidationBatcher = new TokenValidationBatcher(authValidationFacade);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        tokenValidationBatcher.close();
+    }
+
     /**
      * 认证方法
      *
@@ -89,7 +108,7 @@ public class TokenValidConfig implements TokenAuthenticator {
                 })
                 // 如果缓存为空或失效，调用远程认证服务
                 .filter(ValidateTokenDTO::getValid)
-                .or(() -> Optional.ofNullable(authValidationFacade.validateToken(token))
+                .or(() -> Optional.ofNullable(tokenValidationBatcher.validate(token))
                         .filter(ValidateTokenDTO::getValid))
                 // 将 ValidateTokenDTO 转换为内部模型 ValidateToken
                 .map(this::mapToValidateToken)
@@ -0,0 +1,22 @@
+package com.winter.cloud.gateway.entity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 网关前置的可信代理（负载均衡、反向代理）
+ * <p>
+ * 只有 Socket 对端地址在此列表中时才读取 X-Forwarded-For，否则请求头由客户端自行填写，直接使用对端地址。
+ * 支持单个 IPv4 地址（10.0.0.5）和 CIDR（10.0.0.0/8），未配置时不信任任何代理。
+ * </p>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.trusted-proxy")
+public class TrustedProxyProperties {
+    private List<String> addresses = new ArrayList<>();
+}
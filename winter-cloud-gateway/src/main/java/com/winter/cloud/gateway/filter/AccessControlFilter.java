@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.gateway.common.entity.Result;
 import com.winter.cloud.gateway.common.enums.ResultCodeEnum;
 import com.winter.cloud.gateway.constants.GatewayConstants;
+import com.winter.cloud.gateway.entity.TrustedProxyProperties;
 import com.winter.cloud.gateway.service.BlacklistService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -35,15 +36,23 @@ public class AccessControlFilter implements GlobalFilter, Ordered {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * 可信代理配置，决定是否读取 X-Forwarded-For
+     */
+    private final TrustedProxyProperties trustedProxyProperties;
+
     /**
      * 构造函数 - 注入白名单服务依赖
      * 
      * @param blacklistService 白名单服务实例，用于执行各种白名单验证
      * @param objectMapper JSON对象映射器，用于序列化响应数据
+     * @param trustedProxyProperties 可信代理配置
      */
-    public AccessControlFilter(BlacklistService blacklistService, ObjectMapper objectMapper) {
+    public AccessControlFilter(BlacklistService blacklistService, ObjectMapper objectMapper,
+                               TrustedProxyProperties trustedProxyProperties) {
         this.blacklistService = blacklistService;
         this.objectMapper = objectMapper;
+        this.trustedProxyProperties = trustedProxyProperties;
     }
 
     @Override
@@ -65,9 +74,12 @@ public class AccessControlFilter implements GlobalFilter, Ordered {
             }
 
 
-            // 所有黑名单检查都通过，放行到下一个过滤器
+            // 所有黑名单检查都通过，放行到下一个过滤器；用网关解析出的 IP 覆盖 X-Real-IP，下游服务不再信任客户端自带的值
             log.debug("访问控制检查通过: clientIp={}", clientIp);
-            return chain.filter(exchange);
+            ServerHttpRequest forwardedRequest = request.mutate()
+                    .headers(headers -> headers.set(GatewayConstants.Headers.X_REAL_IP, clientIp))
+                    .build();
+            return chain.filter(exchange.mutate().request(forwardedRequest).build());
 
         } catch (Exception e) {
             log.error("访问控制检查时发生错误:, clientIp={}，异常信息={}", clientIp, e);
@@ -75,38 +87,76 @@ public class AccessControlFilter implements GlobalFilter, Ordered {
         }
     }
 
+    /**
+     * 获取客户端 IP
+     * <p>
+     * 默认取 Socket 连接的远程地址。只有该地址是可信代理（{@link TrustedProxyProperties}）时才读取 X-Forwarded-For：
+     * 从右向左跳过可信代理追加的地址，第一个不可信的地址即客户端地址；遇到无效地址时停止，回退到远程地址。
+     * 直连网关的客户端自行填写的 X-Forwarded-For、X-Real-IP 等请求头不参与判断。
+     * </p>
+     */
     private String getClientIp(ServerHttpRequest request) {
-        // 尝试从各种头信息中获取真实IP，按可信度排序
-        String[] ipHeaders = {
-            GatewayConstants.Headers.X_FORWARDED_FOR,      // 最常用的代理转发头
-            GatewayConstants.Headers.X_REAL_IP,            // Nginx等反向代理常用
-            GatewayConstants.Headers.PROXY_CLIENT_IP,      // Apache代理服务器
-            GatewayConstants.Headers.WL_PROXY_CLIENT_IP,   // WebLogic代理服务器
-            GatewayConstants.Headers.HTTP_CLIENT_IP,       // 某些代理服务器
-            GatewayConstants.Headers.HTTP_X_FORWARDED_FOR  // 标准HTTP转发头
-        };
-
-        for (String header : ipHeaders) {
-            String ip = request.getHeaders().getFirst(header);
-            if (StringUtils.hasText(ip) && !GatewayConstants.Common.UNKNOWN.equalsIgnoreCase(ip)) {
-                // X-Forwarded-For可能包含多个IP，格式：client, proxy1, proxy2
-                // 取第一个IP作为真实客户端IP
-                if (ip.contains(GatewayConstants.Common.COMMA)) {
-                    ip = ip.split(GatewayConstants.Common.COMMA)[0].trim();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return GatewayConstants.Common.UNKNOWN;
+        }
+        String remoteIp = remoteAddress.getAddress().getHostAddress();
+        if (!isTrustedProxy(remoteIp)) {
+            return remoteIp;
+        }
+
+        String forwardedFor = request.getHeaders().getFirst(GatewayConstants.Headers.X_FORWARDED_FOR);
+        if (StringUtils.hasText(forwardedFor)) {
+            String[] hops = forwardedFor.split(GatewayConstants.Common.COMMA);
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!isValidIp(hop)) {
+                    break;
                 }
-                if (isValidIp(ip)) {
-                    return ip;
+                if (!isTrustedProxy(hop)) {
+                    return hop;
                 }
             }
         }
+        return remoteIp;
+    }
 
-        // 如果所有代理头都没有有效IP，从Socket连接获取远程地址
-        InetSocketAddress remoteAddress = request.getRemoteAddress();
-        if (remoteAddress != null) {
-            return remoteAddress.getAddress().getHostAddress();
+    /**
+     * 是否可信代理：与配置的地址相同，或位于配置的 IPv4 CIDR 网段内
+     */
+    private boolean isTrustedProxy(String ip) {
+        for (String address : trustedProxyProperties.getAddresses()) {
+            int slash = address.indexOf('/');
+            if (slash < 0) {
+                if (address.trim().equals(ip)) {
+                    return true;
+                }
+                continue;
+            }
+            String network = address.substring(0, slash).trim();
+            int prefixLength;
+            try {
+                prefixLength = Integer.parseInt(address.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (prefixLength < 0 || prefixLength > 32 || !isValidIp(network) || !isValidIp(ip)) {
+                continue;
+            }
+            long mask = prefixLength == 0 ? 0L : (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+            if ((ipv4ToLong(network) & mask) == (ipv4ToLong(ip) & mask)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        return GatewayConstants.Common.UNKNOWN;
+    private long ipv4ToLong(String ip) {
+        long value = 0L;
+        for (String part : ip.split("\\.")) {
+            value = (value << 8) | Integer.parseInt(part);
+        }
+        return value;
     }
 
     private boolean isValidIp(String ip) {
@@ -5,9 +5,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.auth.api.dto.response.ValidateTokenDTO;
 import com.winter.cloud.auth.api.facade.AuthValidationFacade;
+import com.winter.cloud.auth.api.support.TokenValidationBatcher;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.util.JwtUtil;
 import com.winter.cloud.gateway.entity.AuthIgnoreUrlProperties;
+import com.winter.cloud.gateway.service.SessionActivityRecorder;
 import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
@@ -26,6 +28,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.*;
 
 import static com.winter.cloud.common.constants.CommonConstants.buildUserCacheKey;
@@ -61,16 +65,33 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
     /** Redis 操作模板 */
     private final WinterRedisTemplate winterRedisTemplate;
     private final AuthIgnoreUrlProperties ignoreUrlProperties;
+    /** 在线会话活跃时间记录（本地合并，定期批量写入） */
+    private final SessionActivityRecorder sessionActivityRecorder;
     /** Dubbo 远程认证服务 */
     @DubboReference(check = false)
     private AuthValidationFacade authValidationFacade;
+    /** 合并并发的远程 Token 校验请求 */
+    private TokenValidationBatcher tokenValidationBatcher;
 
     public AuthenticationFilter(ObjectMapper objectMapper,
                                 WinterRedisTemplate winterRedisTemplate,
-                                AuthIgnoreUrlProperties ignoreUrlProperties) {
+                                AuthIgnoreUrlProperties ignoreUrlProperties,
+                                SessionActivityRecorder sessionActivityRecorder) {
         this.objectMapper = objectMapper;
         this.winterRedisTemplate = winterRedisTemplate;
         this.ignoreUrlProperties = ignoreUrlProperties;
+        this.sessionActivityRecorder = sessionActivityRecorder;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Dubbo 引用在属性注入阶段完成，需在构造之后创建
+        tokenValidationBatcher = new TokenValidationBatcher(authValidationFacade);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        tokenValidationBatcher.close();
     }
 
 
@@ -107,6 +128,7 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         return extractToken(request)               // 1. 提取 Token
                 .flatMap(this::validateTokenFormat) // 2. 校验 JWT 格式
                 .flatMap(this::getUserInfo) // 3. 获取用户信息
+                .doOnNext(userInfo -> sessionActivityRecorder.touch(userInfo.getUserId())) // 记录活跃时间（仅写本地内存）
                 .flatMap(userInfo ->
                         processAuthenticatedRequest(exchange, chain, userInfo)) // 4. 构建新请求并放行
                 .onErrorResume(e -> handleAuthError(response, e)); // 5. 异常统一处理
@@ -276,7 +298,7 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
      * 当 Redis 缓存未命中时，会调用此方法进行完整的 Token 校验
      * <p>
      * 调用流程：
-     * 1. 通过 Dubbo RPC 调用 winter-cloud-auth 的 validateToken 接口
+     * 1. 通过合并器把 1 毫秒窗口内的并发请求合并为一次 Dubbo RPC（validateTokens 接口）
      * 2. winter-cloud-auth 会执行：
      *    - Token 有效性校验
      *    - 从数据库查询用户信息
@@ -285,8 +307,7 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
      * 3. 返回包含用户信息、角色、权限的完整 DTO
      * <p>
      * 线程模型：
-     * - Dubbo 调用是同步阻塞的，需要放到单独的线程池执行
-     * - 使用 boundedElastic() 调度器，避免阻塞 Gateway 的事件循环线程
+     * - Dubbo 调用在合并器自己的线程池中执行，这里只订阅返回的 CompletableFuture，不阻塞 Gateway 的事件循环线程
      * <p>
      * 异常处理：
      * - 如果远程服务返回 null，表示服务异常
@@ -299,11 +320,9 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
      */
     private Mono<ValidateTokenDTO> getRemoteUserInfo(String token) {
 
-        return Mono.fromCallable(() ->
-                        // 通过 Dubbo 调用远程认证服务的 validateToken 方法
-                        // 这是一个同步阻塞调用，会等待远程服务返回结果
-                        authValidationFacade.validateToken(token))
-                .subscribeOn(Schedulers.boundedElastic()) // 调度到弹性线程池执行
+        return Mono.defer(() -> Mono.fromFuture(tokenValidationBatcher.validateAsync(token)))
+                // 远程服务未返回数据时按失败处理
+                .defaultIfEmpty(ValidateTokenDTO.builder().valid(false).message("Token验证失败").build())
                 .flatMap(result -> {
 
                     // 校验远程服务的返回结果
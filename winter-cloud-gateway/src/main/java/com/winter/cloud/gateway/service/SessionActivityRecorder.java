@@ -0,0 +1,104 @@
+package com.winter.cloud.gateway.service;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.lifecycle.AbstractPeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 在线会话活跃时间记录
+ * <p>
+ * 每个请求只在本地 Map 中记下用户的最近访问时间，由后台线程按 {@link CommonConstants.Redis#SESSION_ACTIVITY_FLUSH_INTERVAL}
+ * 周期性地以一条多成员 ZADD 写入在线索引（{@link CommonConstants.Redis#ONLINE_SESSION}），
+ * 同时清理超过会话有效期仍未活跃的成员。同一用户在一个周期内无论访问多少次都只写一次。
+ * </p>
+ * <p>
+ * 停止时会把剩余数据再写一次，避免网关发布时丢失最后一个周期的活跃时间。
+ * </p>
+ */
+@Slf4j
+@Service
+public class SessionActivityRecorder extends AbstractPeriodicTask {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 用户ID -> 本周期内最近一次访问时间
+     */
+    private final Map<String, Long> pendingMap = new ConcurrentHashMap<>();
+
+    public SessionActivityRecorder(StringRedisTemplate stringRedisTemplate) {
+        super("session-activity-flush");
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 记录一次访问（仅写本地内存）
+     *
+     * @param userId 用户ID
+     */
+    public void touch(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        pendingMap.put(String.valueOf(userId), System.currentTimeMillis());
+    }
+
+    /**
+     * 将本周期的活跃时间写入 Redis
+     */
+    void flush() {
+        if (pendingMap.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>(pendingMap.size() * 2);
+        for (Map.Entry<String, Long> entry : pendingMap.entrySet()) {
+            tuples.add(new DefaultTypedTuple<>(entry.getKey(), entry.getValue().doubleValue()));
+            // 只移除已取出的值，取出后又被更新的条目留到下个周期
+            pendingMap.remove(entry.getKey(), entry.getValue());
+        }
+        double expiredBefore = System.currentTimeMillis() - CommonConstants.Redis.EXPIRATION_TIME;
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForZSet().add(CommonConstants.Redis.ONLINE_SESSION, tuples);
+                    ops.opsForZSet().removeRangeByScore(CommonConstants.Redis.ONLINE_SESSION, 0, expiredBefore);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 写入失败时放回本地，下个周期重试；期间产生的新访问时间更大，以新值为准
+            tuples.forEach(tuple -> pendingMap.merge(tuple.getValue(), tuple.getScore().longValue(), Math::max));
+            log.warn("在线会话活跃时间写入失败，数量: {}", tuples.size(), e);
+        }
+    }
+
+    @Override
+    protected void runPeriodically() {
+        flush();
+    }
+
+    @Override
+    protected long intervalMillis() {
+        return CommonConstants.Redis.SESSION_ACTIVITY_FLUSH_INTERVAL;
+    }
+
+    @Override
+    protected void afterStop() {
+        flush();
+    }
+}
@@ -0,0 +1,5 @@
+-- ============================================================
+-- 国际化消息键集分页索引（MySQL）
+-- 对应 I18nMessageMapper.selectI18nListBefore：ORDER BY create_time DESC, id DESC
+-- ============================================================
+CREATE INDEX idx_i18n_messages_create_time_id ON i18n_messages (create_time, id);
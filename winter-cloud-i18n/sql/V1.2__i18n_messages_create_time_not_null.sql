@@ -0,0 +1,8 @@
+-- ============================================================
+-- i18n_messages.create_time 非空（MySQL）
+-- 键集分页按 (create_time, id) 倒序比较，create_time 为 NULL 的行不满足比较条件，翻页时会被跳过，
+-- 游标也无法解析；历史空值用更新时间（仍为空时用当前时间）回填后加非空约束
+-- ============================================================
+UPDATE i18n_messages SET create_time = COALESCE(update_time, NOW()) WHERE create_time IS NULL;
+
+ALTER TABLE i18n_messages MODIFY COLUMN create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
@@ -0,0 +1,45 @@
+package com.winter.cloud.i18n.api.dto.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 国际化消息包响应对象（单个语言环境）
+ * 用于 RPC 接口返回
+ * <p>
+ * 调用方在本地持有消息包并记录版本号，之后按版本号拉取增量：
+ * full 为 true 时 messages 是完整的消息包，替换本地数据；为 false 时只包含变更，
+ * messages 覆盖到本地，removedKeys 从本地删除。
+ * </p>
+ */
+@Data
+public class I18nBundleDTO implements Serializable {
+
+    /**
+     * 语言环境（如：zh_CN, en_US）
+     */
+    private String locale;
+
+    /**
+     * 消息包版本号，下次增量同步时传入
+     */
+    private Long version;
+
+    /**
+     * 是否全量
+     */
+    private Boolean full;
+
+    /**
+     * 消息键 -> 消息内容
+     */
+    private Map<String, String> messages;
+
+    /**
+     * 已删除的消息键（仅增量）
+     */
+    private List<String> removedKeys;
+}
@@ -3,11 +3,14 @@ package com.winter.cloud.i18n.api.facade;
 import com.winter.cloud.common.response.Response;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
 import com.winter.cloud.i18n.api.dto.response.I18nMessageDTO;
 import com.winter.cloud.i18n.api.dto.response.TranslateDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 public interface I18nMessageFacade {
@@ -17,6 +20,16 @@ public interface I18nMessageFacade {
      */
     Response<List<I18nMessageDTO>>  getI18nMessageInfo(I18nMessageQuery query);
     Response<String>  findMessageByKeyAndLocale(String messageKey, String locale);
+    /**
+     * 获取语言环境的完整消息包，调用方在本地持有并记录返回的版本号
+     * @param locale 语言环境，如 zh_CN
+     */
+    Response<I18nBundleDTO> getBundle(String locale);
+    /**
+     * 获取指定版本之后的增量；版本过旧或已失效时返回全量（full 为 true）
+     * @param version 调用方持有的版本号
+     */
+    Response<I18nBundleDTO> changesSince(String locale, Long version);
     /**
      * 翻译
      */
@@ -41,5 +54,13 @@ public interface I18nMessageFacade {
      */
     String getMessage(String messageKey, Object[] args, String defaultMessage, Locale locale);
 
+    /**
+     * 批量获取国际化消息（不做占位符格式化）
+     * @param messageKeys 消息键
+     * @param locale 语言环境，如 zh_CN
+     * @return 消息键 -> 消息内容，不存在的消息键不在结果中
+     */
+    Map<String, String> getMessages(Collection<String> messageKeys, String locale);
+
 
 }
@@ -1,7 +1,9 @@
 package com.winter.cloud.i18n.application.assembler;
 
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
 import com.winter.cloud.i18n.api.dto.response.I18nMessageDTO;
 import com.winter.cloud.i18n.api.dto.response.TranslateDTO;
+import com.winter.cloud.i18n.domain.model.entity.I18nBundleDO;
 import com.winter.cloud.i18n.domain.model.entity.I18nMessageDO;
 import com.winter.cloud.i18n.domain.model.entity.TranslateDO;
 import org.mapstruct.Mapper;
@@ -16,4 +18,6 @@ public interface I18nMessageAppAssembler {
     List<I18nMessageDO> toI18nMessageDOList(List<I18nMessageDTO> i18nMessageDTOList);
 
     TranslateDTO toTranslateDTO(TranslateDO translateDO);
+
+    I18nBundleDTO toI18nBundleDTO(I18nBundleDO i18nBundleDO);
 }
@@ -5,6 +5,7 @@ import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.command.UpsertI18NCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
 import com.winter.cloud.i18n.api.dto.response.I18nMessageDTO;
 import com.winter.cloud.i18n.api.dto.response.TranslateDTO;
 import org.springframework.web.multipart.MultipartFile;
@@ -13,8 +14,10 @@ import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 public interface I18nMessageAppService {
@@ -23,6 +26,10 @@ public interface I18nMessageAppService {
 
     String findMessageByKeyAndLocale(String messageKey, String locale);
 
+    I18nBundleDTO getBundle(String locale);
+
+    I18nBundleDTO changesSince(String locale, Long version);
+
     String getMessage(String messageKey);
 
     /**
@@ -44,6 +51,11 @@ public interface I18nMessageAppService {
      */
     String getMessage(String messageKey, Object[] args, String defaultMessage, Locale locale);
 
+    /**
+     * 批量获取国际化消息，不存在的消息键不在结果中
+     */
+    Map<String, String> getMessages(Collection<String> messageKeys, String locale);
+
     TranslateDTO translate(TranslateCommand translateCommand) throws ExecutionException, InterruptedException;
 
     PageDTO<I18nMessageDTO> i18nPage(I18nMessageQuery i18nMessageQuery);
@@ -56,6 +68,8 @@ public interface I18nMessageAppService {
 
     void scheduledRebuildBloomFilter();
 
+    Map<String, Object> nearCacheStats();
+
     void i18nExportExcel(HttpServletResponse response, I18nMessageQuery i18nMessageQuery);
 
     void i18nImportExcel(HttpServletResponse response, MultipartFile file) throws IOException;
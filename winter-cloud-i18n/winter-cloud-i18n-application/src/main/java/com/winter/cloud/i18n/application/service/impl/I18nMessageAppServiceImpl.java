@@ -1,12 +1,15 @@
 package com.winter.cloud.i18n.application.service.impl;
 
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.event.DomainEventPublisher;
+import com.winter.cloud.common.event.type.I18nMessageChangedEvent;
 import com.winter.cloud.common.exception.BusinessException;
 import com.winter.cloud.common.response.PageAndOrderDTO;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.command.UpsertI18NCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
 import com.winter.cloud.i18n.api.dto.response.I18nMessageDTO;
 import com.winter.cloud.i18n.api.dto.response.TranslateDTO;
 import com.winter.cloud.i18n.application.assembler.I18nMessageAppAssembler;
@@ -21,8 +24,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -33,6 +38,7 @@ import java.util.stream.Collectors;
 public class I18nMessageAppServiceImpl implements I18nMessageAppService {
     private final I18nMessageRepository i18nMessageRepository;
     private final I18nMessageAppAssembler i18nMessageAppAssembler;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Override
     public List<I18nMessageDTO> getI18nMessageInfo(I18nMessageQuery query) {
@@ -83,22 +89,29 @@ public class I18nMessageAppServiceImpl implements I18nMessageAppService {
 
         PageDTO<I18nMessageDO> doPage = i18nMessageRepository.i18nPage(i18nMessageQuery);
         List<I18nMessageDTO> userResponseDTOList = i18nMessageAppAssembler.toI18nMessageDTOList(doPage.getRecords());
-        return new PageDTO<>(userResponseDTOList, doPage.getTotal());
+        return doPage.withRecords(userResponseDTOList);
     }
 
     @Override
     public Boolean i18nSave(UpsertI18NCommand upsertI18NCommand) {
-        return i18nMessageRepository.i18nSave(upsertI18NCommand);
+        Boolean saved = i18nMessageRepository.i18nSave(upsertI18NCommand);
+        domainEventPublisher.publish(new I18nMessageChangedEvent(List.of(upsertI18NCommand.getMessageKey())));
+        return saved;
     }
 
     @Override
     public Boolean i18nUpdate(UpsertI18NCommand upsertI18NCommand) {
-        return i18nMessageRepository.i18nUpdate(upsertI18NCommand);
+        Boolean updated = i18nMessageRepository.i18nUpdate(upsertI18NCommand);
+        domainEventPublisher.publish(new I18nMessageChangedEvent(List.of(upsertI18NCommand.getMessageKey())));
+        return updated;
     }
 
     @Override
     public Boolean i18nDelete(List<Long> ids) {
-        return i18nMessageRepository.i18nDelete(ids);
+        Boolean deleted = i18nMessageRepository.i18nDelete(ids);
+        // 按ID删除时无法确定消息键，发布不带消息键的事件，订阅方失效全部消息缓存
+        domainEventPublisher.publish(new I18nMessageChangedEvent(List.of()));
+        return deleted;
     }
 
     @Override
@@ -106,6 +119,11 @@ public class I18nMessageAppServiceImpl implements I18nMessageAppService {
         i18nMessageRepository.scheduledRebuildBloomFilter();
     }
 
+    @Override
+    public Map<String, Object> nearCacheStats() {
+        return i18nMessageRepository.nearCacheStats();
+    }
+
     @Override
     public void i18nExportExcel(HttpServletResponse response, I18nMessageQuery i18nMessageQuery) {
         Boolean exportAll = i18nMessageQuery.getExportAll();
@@ -120,6 +138,7 @@ public class I18nMessageAppServiceImpl implements I18nMessageAppService {
     @Override
     public void i18nImportExcel(HttpServletResponse response, MultipartFile file) throws IOException {
         i18nMessageRepository.i18nImportExcel(response, file);
+        domainEventPublisher.publish(new I18nMessageChangedEvent(List.of()));
     }
 
     @Override
@@ -133,6 +152,16 @@ public class I18nMessageAppServiceImpl implements I18nMessageAppService {
         return i18nMessageRepository.findMessageByKeyAndLocale(messageKey, locale);
     }
 
+    @Override
+    public I18nBundleDTO getBundle(String locale) {
+        return i18nMessageAppAssembler.toI18nBundleDTO(i18nMessageRepository.getBundle(locale));
+    }
+
+    @Override
+    public I18nBundleDTO changesSince(String locale, Long version) {
+        return i18nMessageAppAssembler.toI18nBundleDTO(i18nMessageRepository.getBundleChanges(locale, version));
+    }
+
     @Override
     public String getMessage(String messageKey) {
         return i18nMessageRepository.getMessage(messageKey);
@@ -160,6 +189,11 @@ public class I18nMessageAppServiceImpl implements I18nMessageAppService {
 
     }
 
+    @Override
+    public Map<String, String> getMessages(Collection<String> messageKeys, String locale) {
+        return i18nMessageRepository.getMessages(messageKeys, locale);
+    }
+
     @Override
     public String getMessage(String messageKey, Object[] args, String defaultMessage) {
         return i18nMessageRepository.getMessage(messageKey, args, defaultMessage);
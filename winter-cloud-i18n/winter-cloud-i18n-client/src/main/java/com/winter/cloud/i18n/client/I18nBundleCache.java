@@ -0,0 +1,207 @@
+package com.winter.cloud.i18n.client;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.type.I18nMessageChangedEvent;
+import com.winter.cloud.common.lifecycle.AbstractPeriodicTask;
+import com.winter.cloud.common.response.Response;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
+import com.winter.cloud.i18n.api.facade.I18nMessageFacade;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地国际化消息包
+ * <p>
+ * 按语言环境在本地持有 i18n 服务的完整消息包，消息解析不再发起 RPC。语言环境第一次出现时异步加载，
+ * 加载完成前由调用方远程获取；之后由后台线程按 {@link CommonConstants.I18nMessage#I18N_BUNDLE_SYNC_INTERVAL}
+ * 拉取增量，收到 {@link I18nMessageChangedEvent} 时立即拉取一次，
+ * 并每隔 {@link CommonConstants.I18nMessage#I18N_BUNDLE_FULL_RELOAD_INTERVAL} 全量重载作为兜底。
+ * </p>
+ * <p>
+ * 语言环境来自请求头，只为 {@link I18nClientProperties#getSupportedLocales()} 中的语言环境建立消息包，
+ * 超过 {@link I18nClientProperties#getBundleIdleMillis()} 没有读取的消息包在同步时移除，再次读取时重新加载。
+ * </p>
+ * <p>
+ * 消息包整体替换（写时复制），读取无锁；所有同步都在同一个后台线程中执行。
+ * </p>
+ */
+@Slf4j
+public class I18nBundleCache extends AbstractPeriodicTask {
+
+    /**
+     * 读取时间的记录粒度（毫秒），避免每次读取都写共享变量
+     */
+    private static final long TOUCH_GRANULARITY = 1000L;
+
+    @DubboReference(check = false)
+    private I18nMessageFacade i18nMessageFacade;
+
+    private final Set<String> supportedLocaleSet;
+
+    private final long bundleIdleMillis;
+
+    /**
+     * 语言环境 -> 消息包
+     */
+    private final Map<String, LocaleEntry> bundleMap = new ConcurrentHashMap<>();
+
+    public I18nBundleCache(I18nClientProperties properties) {
+        super("i18n-bundle-sync");
+        this.supportedLocaleSet = Set.copyOf(properties.getSupportedLocales());
+        this.bundleIdleMillis = properties.getBundleIdleMillis();
+    }
+
+    /**
+     * 从本地消息包解析消息
+     *
+     * @param messageKey 消息键
+     * @param args       占位符参数，如 {0}, {1}
+     * @param locale     语言环境
+     * @return 格式化后的消息；语言环境不受支持、消息包尚未加载或不包含该消息键时返回 null，由调用方远程获取
+     */
+    public String getMessage(String messageKey, Object[] args, Locale locale) {
+        if (messageKey == null || locale == null) {
+            return null;
+        }
+        String localeStr = locale.getLanguage() + (locale.getCountry().isEmpty() ? "" : "_" + locale.getCountry());
+        if (!supportedLocaleSet.contains(localeStr)) {
+            return null;
+        }
+        LocaleEntry entry = bundleMap.get(localeStr);
+        if (entry == null) {
+            LocaleEntry created = new LocaleEntry();
+            if (bundleMap.putIfAbsent(localeStr, created) == null) {
+                execute(() -> sync(localeStr, created));
+            }
+            return null;
+        }
+        entry.touch();
+        String message = entry.bundle.messages.get(messageKey);
+        return message == null ? null : formatMessage(message, args);
+    }
+
+    @DomainEventListener
+    public void onI18nMessageChanged(I18nMessageChangedEvent event) {
+        execute(this::syncAll);
+    }
+
+    /**
+     * 移除闲置的消息包，同步其余的消息包
+     */
+    void syncAll() {
+        long now = System.currentTimeMillis();
+        bundleMap.forEach((locale, entry) -> {
+            if (now - entry.lastReadTime >= bundleIdleMillis) {
+                bundleMap.remove(locale, entry);
+                log.info("国际化消息包闲置，已移除，locale: {}", locale);
+            } else {
+                sync(locale, entry);
+            }
+        });
+    }
+
+    /**
+     * 同步一个语言环境：未加载或到达全量重载时间时全量拉取，否则拉取增量
+     */
+    private void sync(String locale, LocaleEntry entry) {
+        LocaleBundle bundle = entry.bundle;
+        try {
+            boolean fullReload = bundle == LocaleBundle.UNLOADED
+                                 || System.currentTimeMillis() - bundle.fullLoadTime >= CommonConstants.I18nMessage.I18N_BUNDLE_FULL_RELOAD_INTERVAL;
+            Response<I18nBundleDTO> response = fullReload
+                    ? i18nMessageFacade.getBundle(locale)
+                    : i18nMessageFacade.changesSince(locale, bundle.version);
+            I18nBundleDTO bundleDTO = response == null ? null : response.getData();
+            if (bundleDTO != null) {
+                entry.bundle = bundle.apply(bundleDTO);
+            }
+        } catch (Exception e) {
+            log.warn("国际化消息包同步失败，locale: {}", locale, e);
+        }
+    }
+
+    private String formatMessage(String message, Object[] args) {
+        if (args != null && args.length > 0) {
+            try {
+                return MessageFormat.format(message, args);
+            } catch (Exception e) {
+                log.warn("消息格式化失败: message={}, args={}", message, Arrays.toString(args), e);
+                return message;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    protected void runPeriodically() {
+        syncAll();
+    }
+
+    @Override
+    protected long intervalMillis() {
+        return CommonConstants.I18nMessage.I18N_BUNDLE_SYNC_INTERVAL;
+    }
+
+    /**
+     * 单个语言环境的本地状态：消息包只由后台线程替换，读取时间由读取方更新
+     */
+    private static final class LocaleEntry {
+        private volatile LocaleBundle bundle = LocaleBundle.UNLOADED;
+        private volatile long lastReadTime = System.currentTimeMillis();
+
+        private void touch() {
+            long now = System.currentTimeMillis();
+            if (now - lastReadTime >= TOUCH_GRANULARITY) {
+                lastReadTime = now;
+            }
+        }
+    }
+
+    /**
+     * 单个语言环境的消息包（不可变）
+     */
+    private static final class LocaleBundle {
+        private static final LocaleBundle UNLOADED = new LocaleBundle(0L, Map.of(), 0L);
+
+        private final long version;
+        private final Map<String, String> messages;
+        /**
+         * 最近一次全量加载的时间
+         */
+        private final long fullLoadTime;
+
+        private LocaleBundle(long version, Map<String, String> messages, long fullLoadTime) {
+            this.version = version;
+            this.messages = messages;
+            this.fullLoadTime = fullLoadTime;
+        }
+
+        private LocaleBundle apply(I18nBundleDTO bundleDTO) {
+            Map<String, String> changedMap = bundleDTO.getMessages() == null ? Map.of() : bundleDTO.getMessages();
+            if (Boolean.TRUE.equals(bundleDTO.getFull())) {
+                return new LocaleBundle(bundleDTO.getVersion(), Collections.unmodifiableMap(new HashMap<>(changedMap)),
+                        System.currentTimeMillis());
+            }
+            boolean noRemoved = bundleDTO.getRemovedKeys() == null || bundleDTO.getRemovedKeys().isEmpty();
+            if (changedMap.isEmpty() && noRemoved) {
+                return bundleDTO.getVersion().equals(version) ? this : new LocaleBundle(bundleDTO.getVersion(), messages, fullLoadTime);
+            }
+            Map<String, String> messageMap = new HashMap<>(messages);
+            messageMap.putAll(changedMap);
+            if (!noRemoved) {
+                bundleDTO.getRemovedKeys().forEach(messageMap::remove);
+            }
+            return new LocaleBundle(bundleDTO.getVersion(), Collections.unmodifiableMap(messageMap), fullLoadTime);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.winter.cloud.i18n.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 国际化客户端自动配置
+ * <p>
+ * 调用 i18n 服务的各服务引入 winter-cloud-i18n-client 后即装配本地消息包，
+ * 由各服务的 I18nMessageService 实现优先从中解析消息。
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(I18nClientProperties.class)
+public class I18nClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public I18nBundleCache i18nBundleCache(I18nClientProperties properties) {
+        return new I18nBundleCache(properties);
+    }
+}
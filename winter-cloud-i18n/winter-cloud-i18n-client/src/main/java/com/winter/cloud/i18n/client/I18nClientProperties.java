@@ -0,0 +1,26 @@
+package com.winter.cloud.i18n.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 国际化客户端配置
+ */
+@Data
+@ConfigurationProperties(prefix = "winter.i18n-client")
+public class I18nClientProperties {
+
+    /**
+     * 本地持有消息包的语言环境（如 zh_CN），其他语言环境的消息始终远程获取；
+     * 语言环境来自请求头，不在此列表中的值不会在本地建立消息包
+     */
+    private List<String> supportedLocales = new ArrayList<>(List.of("zh_CN", "en_US"));
+
+    /**
+     * 消息包超过该时间（毫秒）没有读取时从本地移除，再次读取时重新加载
+     */
+    private long bundleIdleMillis = 60 * 60 * 1000L;
+}
@@ -0,0 +1,96 @@
+package com.winter.cloud.i18n.client;
+
+import com.winter.cloud.common.response.Response;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
+import com.winter.cloud.i18n.api.facade.I18nMessageFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 本地消息包：未启动后台线程，由测试直接调用 syncAll 模拟一次周期同步
+ */
+class I18nBundleCacheTest {
+
+    private final I18nMessageFacade i18nMessageFacade = mock(I18nMessageFacade.class);
+
+    private I18nBundleCache i18nBundleCache;
+
+    @BeforeEach
+    void setUp() {
+        I18nClientProperties properties = new I18nClientProperties();
+        properties.setSupportedLocales(List.of("zh_CN"));
+        properties.setBundleIdleMillis(200L);
+        i18nBundleCache = new I18nBundleCache(properties);
+        ReflectionTestUtils.setField(i18nBundleCache, "i18nMessageFacade", i18nMessageFacade);
+        when(i18nMessageFacade.getBundle("zh_CN")).thenReturn(Response.ok(fullBundle(Map.of("user.login", "登录{0}"))));
+    }
+
+    @Test
+    void supportedLocaleIsLoadedAndResolvedLocally() {
+        assertThat(i18nBundleCache.getMessage("user.login", null, Locale.SIMPLIFIED_CHINESE)).isNull();
+
+        i18nBundleCache.syncAll();
+
+        assertThat(i18nBundleCache.getMessage("user.login", new Object[]{"成功"}, Locale.SIMPLIFIED_CHINESE)).isEqualTo("登录成功");
+        assertThat(i18nBundleCache.getMessage("user.none", null, Locale.SIMPLIFIED_CHINESE)).isNull();
+        verify(i18nMessageFacade, times(1)).getBundle("zh_CN");
+    }
+
+    /**
+     * 请求头中任意的语言环境都不会在本地建立消息包
+     */
+    @Test
+    void unsupportedLocaleIsNeverCached() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(i18nBundleCache.getMessage("user.login", null, new Locale("x" + i, "YY"))).isNull();
+        }
+        assertThat(i18nBundleCache.getMessage("user.login", null, Locale.US)).isNull();
+
+        i18nBundleCache.syncAll();
+
+        assertThat(bundleMap()).isEmpty();
+        verify(i18nMessageFacade, never()).getBundle(anyString());
+    }
+
+    @Test
+    void idleBundleIsEvictedAndReloadedOnNextRead() throws InterruptedException {
+        i18nBundleCache.getMessage("user.login", null, Locale.SIMPLIFIED_CHINESE);
+        i18nBundleCache.syncAll();
+        assertThat(bundleMap()).containsOnlyKeys("zh_CN");
+
+        Thread.sleep(300L);
+        i18nBundleCache.syncAll();
+
+        assertThat(bundleMap()).isEmpty();
+        assertThat(i18nBundleCache.getMessage("user.login", null, Locale.SIMPLIFIED_CHINESE)).isNull();
+        i18nBundleCache.syncAll();
+        assertThat(i18nBundleCache.getMessage("user.login", null, Locale.SIMPLIFIED_CHINESE)).isEqualTo("登录{0}");
+        verify(i18nMessageFacade, times(2)).getBundle("zh_CN");
+    }
+
+    private Map<?, ?> bundleMap() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(i18nBundleCache, "bundleMap");
+    }
+
+    private static I18nBundleDTO fullBundle(Map<String, String> messageMap) {
+        I18nBundleDTO bundleDTO = new I18nBundleDTO();
+        bundleDTO.setLocale("zh_CN");
+        bundleDTO.setVersion(1L);
+        bundleDTO.setFull(true);
+        bundleDTO.setMessages(messageMap);
+        return bundleDTO;
+    }
+}
@@ -0,0 +1,25 @@
+package com.winter.cloud.i18n.domain.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 国际化消息包（单个语言环境的全量或增量）
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class I18nBundleDO {
+    private String locale;
+    private Long version;
+    // 为 true 时 messages 是完整的消息包
+    private Boolean full;
+    private Map<String, String> messages;
+    private List<String> removedKeys;
+}
@@ -4,6 +4,7 @@ import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.command.UpsertI18NCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.domain.model.entity.I18nBundleDO;
 import com.winter.cloud.i18n.domain.model.entity.I18nMessageDO;
 import com.winter.cloud.i18n.domain.model.entity.TranslateDO;
 import com.zsq.i18n.service.I18nMessageService;
@@ -11,7 +12,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -23,10 +26,25 @@ public interface I18nMessageRepository extends I18nMessageService {
 
     List<I18nMessageDO> getI18nMessageInfo(I18nMessageQuery query);
     String findMessageByKeyAndLocale(String messageKey, String locale);
+
+    /**
+     * 获取语言环境的完整消息包及当前版本号
+     */
+    I18nBundleDO getBundle(String locale);
+
+    /**
+     * 获取指定版本之后的增量；版本过旧或已失效时返回全量
+     */
+    I18nBundleDO getBundleChanges(String locale, Long version);
     String getMessage(String messageKey);
     String getMessage(String messageKey,Object[] args);
     String getMessage(String messageKey, Object[] args, String defaultMessage);
 
+    /**
+     * 批量获取国际化消息（不做占位符格式化），不存在的消息键不在结果中
+     */
+    Map<String, String> getMessages(Collection<String> messageKeys, String locale);
+
     TranslateDO translate(TranslateCommand translateCommand) throws ExecutionException, InterruptedException;
 
     PageDTO<I18nMessageDO> i18nPage(I18nMessageQuery i18nMessageQuery);
@@ -40,6 +58,11 @@ public interface I18nMessageRepository extends I18nMessageService {
 
     void scheduledRebuildBloomFilter();
 
+    /**
+     * 本实例近端缓存的命中率等统计信息
+     */
+    Map<String, Object> nearCacheStats();
+
     void i18nExportExcel(HttpServletResponse response, List<I18nMessageDO> doList);
 
     void i18nImportExcel(HttpServletResponse response, MultipartFile file) throws IOException;
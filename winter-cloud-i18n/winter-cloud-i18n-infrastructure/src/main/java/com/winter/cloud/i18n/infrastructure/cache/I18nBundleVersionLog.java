@@ -0,0 +1,101 @@
+package com.winter.cloud.i18n.infrastructure.cache;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 国际化消息包版本与变更日志
+ * <p>
+ * 每次消息变更把版本号 +1，并在变更日志（ZSET）中把涉及的消息键的 score 置为新版本号，两步在同一个脚本中完成，
+ * 读到某个版本号时，不大于该版本号的变更一定已经写入日志。同一消息键只保留最后一次变更，日志大小不超过消息键总数；
+ * 超出保留窗口（{@link CommonConstants.I18nMessage#I18N_BUNDLE_CHANGELOG_RETAIN_VERSIONS}）的记录会被清理。
+ * </p>
+ * <p>
+ * 版本号丢失（Redis 数据丢失）后以当前毫秒时间重建，并记为纪元，新纪元大于此前所有版本号，
+ * 早于纪元的调用方无法再计算增量，只能全量同步。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class I18nBundleVersionLog {
+
+    /**
+     * 记录变更，返回新版本号
+     * <p>
+     * KEYS[1] 版本号，KEYS[2] 纪元，KEYS[3] 变更日志；ARGV[1] 当前毫秒时间，ARGV[2] 保留版本数，ARGV[3..] 消息键
+     * </p>
+     */
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  redis.call('SET', KEYS[1], ARGV[1]) " +
+            "  redis.call('SET', KEYS[2], ARGV[1]) " +
+            "  redis.call('DEL', KEYS[3]) " +
+            "end " +
+            "local version = redis.call('INCR', KEYS[1]) " +
+            "for i = 3, #ARGV do " +
+            "  redis.call('ZADD', KEYS[3], version, ARGV[i]) " +
+            "end " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', '(' .. (version - tonumber(ARGV[2]))) " +
+            "return version", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 记录一次变更（在数据库事务提交之后调用）
+     *
+     * @param messageKeyList 变更的消息键
+     * @return 新版本号
+     */
+    public long recordChange(Collection<String> messageKeyList) {
+        Set<String> messageKeySet = new LinkedHashSet<>(messageKeyList);
+        List<String> argList = new ArrayList<>(messageKeySet.size() + 2);
+        argList.add(String.valueOf(System.currentTimeMillis()));
+        argList.add(String.valueOf(CommonConstants.I18nMessage.I18N_BUNDLE_CHANGELOG_RETAIN_VERSIONS));
+        argList.addAll(messageKeySet);
+        List<String> keyList = List.of(CommonConstants.I18nMessage.I18N_BUNDLE_VERSION_KEY,
+                CommonConstants.I18nMessage.I18N_BUNDLE_EPOCH_KEY,
+                CommonConstants.I18nMessage.I18N_BUNDLE_CHANGELOG_KEY);
+        Long version = stringRedisTemplate.execute(RECORD_SCRIPT, keyList, argList.toArray());
+        return version == null ? 0L : version;
+    }
+
+    /**
+     * 当前版本号，尚无任何变更时为 0
+     */
+    public long currentVersion() {
+        String version = stringRedisTemplate.opsForValue().get(CommonConstants.I18nMessage.I18N_BUNDLE_VERSION_KEY);
+        return version == null ? 0L : Long.parseLong(version);
+    }
+
+    /**
+     * 查询指定版本之后变更过的消息键
+     *
+     * @param since   调用方持有的版本号
+     * @param current 当前版本号（先于本方法读取）
+     * @return 变更的消息键；调用方版本早于纪元、超出保留窗口或大于当前版本时返回 null，表示只能全量同步
+     */
+    public Set<String> changedKeysSince(long since, long current) {
+        String epoch = stringRedisTemplate.opsForValue().get(CommonConstants.I18nMessage.I18N_BUNDLE_EPOCH_KEY);
+        if (since > current
+            || (epoch != null && since < Long.parseLong(epoch))
+            || since < current - CommonConstants.I18nMessage.I18N_BUNDLE_CHANGELOG_RETAIN_VERSIONS) {
+            return null;
+        }
+        if (since == current) {
+            return Set.of();
+        }
+        Set<String> changedKeySet = stringRedisTemplate.opsForZSet()
+                .rangeByScore(CommonConstants.I18nMessage.I18N_BUNDLE_CHANGELOG_KEY, since + 1, current);
+        return changedKeySet == null ? Set.of() : changedKeySet;
+    }
+}
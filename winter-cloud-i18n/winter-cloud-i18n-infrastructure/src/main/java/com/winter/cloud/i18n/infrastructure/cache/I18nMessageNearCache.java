@@ -0,0 +1,223 @@
+package com.winter.cloud.i18n.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.winter.cloud.common.event.DomainEventListener;
+import com.winter.cloud.common.event.type.I18nMessageChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 国际化消息本地近端缓存
+ * <p>
+ * 位于 Redis 之前，按 (messageKey, locale) 缓存消息原文，并缓存“消息不存在”的负结果，
+ * 命中时一次消息查询不再访问 Redis、布隆过滤器和数据库。容量有上限，按 W-TinyLFU 淘汰。
+ * </p>
+ * <p>
+ * 新增、编辑、删除、导入后发布的 {@link I18nMessageChangedEvent} 以广播方式送达每个实例，在此失效对应的消息键；
+ * 写入所在的实例会在写入后立即失效，不等待事件到达。正结果另有较长的过期时间作为事件丢失时的兜底，
+ * 负结果的过期时间较短，新增消息最迟在该时间后可见。
+ * </p>
+ * <p>
+ * 读取方在访问 Redis 之前先取得消息键的失效戳（{@link #stamp(String)}），写入时带上该戳：
+ * 失效先推进失效戳再删除条目，写入在条目锁内比对失效戳，期间发生过失效则放弃写入，
+ * 避免读取方把失效前从 Redis 读到的旧值重新放回缓存。失效戳按消息键分段，不同键落在同一段时只会多放弃一次写入。
+ * </p>
+ */
+@Component
+public class I18nMessageNearCache {
+
+    /**
+     * 最大缓存条数
+     */
+    private static final long MAXIMUM_SIZE = 20_000L;
+
+    /**
+     * 正结果的过期时间（秒）
+     */
+    private static final long EXPIRE_SECONDS = 600L;
+
+    /**
+     * 负结果的过期时间（秒）
+     */
+    private static final long MISSING_EXPIRE_SECONDS = 60L;
+
+    /**
+     * 失效戳分段数（2 的幂）
+     */
+    private static final int STAMP_STRIPES = 1024;
+
+    /**
+     * 失效戳：按消息键哈希分段，每次失效递增
+     */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final Cache<MessageKey, Lookup> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfter(new Expiry<MessageKey, Lookup>() {
+                @Override
+                public long expireAfterCreate(MessageKey key, Lookup value, long currentTime) {
+                    return TimeUnit.SECONDS.toNanos(value == Lookup.MISSING ? MISSING_EXPIRE_SECONDS : EXPIRE_SECONDS);
+                }
+
+                @Override
+                public long expireAfterUpdate(MessageKey key, Lookup value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(MessageKey key, Lookup value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    /**
+     * 查询本地缓存
+     *
+     * @param messageKey 消息键
+     * @param locale     语言环境，如 zh_CN
+     * @return 未命中返回 null；命中负结果返回 {@link Lookup#MISSING}；命中正结果返回消息原文
+     */
+    public Lookup get(String messageKey, String locale) {
+        return cache.getIfPresent(new MessageKey(messageKey, locale));
+    }
+
+    /**
+     * 读取消息键当前的失效戳，在查询 Redis 或数据库之前调用
+     *
+     * @param messageKey 消息键
+     * @return 失效戳，写入时原样传回
+     */
+    public long stamp(String messageKey) {
+        return stamps.get(stripe(messageKey));
+    }
+
+    /**
+     * 写入正结果，取得失效戳之后发生过失效时放弃写入
+     *
+     * @param stamp 查询前通过 {@link #stamp(String)} 取得的失效戳
+     */
+    public void put(String messageKey, String locale, String message, long stamp) {
+        putIfNotInvalidated(new MessageKey(messageKey, locale), new Lookup(message), stamp);
+    }
+
+    /**
+     * 写入负结果，取得失效戳之后发生过失效时放弃写入
+     *
+     * @param stamp 查询前通过 {@link #stamp(String)} 取得的失效戳
+     */
+    public void putMissing(String messageKey, String locale, long stamp) {
+        putIfNotInvalidated(new MessageKey(messageKey, locale), Lookup.MISSING, stamp);
+    }
+
+    /**
+     * 失效指定消息键的所有语言
+     *
+     * @param messageKeyList 消息键，为空时失效全部
+     */
+    public void invalidate(Collection<String> messageKeyList) {
+        if (messageKeyList == null || messageKeyList.isEmpty()) {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            cache.invalidateAll();
+            return;
+        }
+        Set<String> messageKeySet = new HashSet<>(messageKeyList);
+        // 先推进失效戳再删除，删除之后不会再有持旧戳的写入成功
+        messageKeySet.forEach(messageKey -> stamps.incrementAndGet(stripe(messageKey)));
+        cache.asMap().keySet().removeIf(key -> messageKeySet.contains(key.messageKey));
+    }
+
+    @DomainEventListener
+    public void onI18nMessageChanged(I18nMessageChangedEvent event) {
+        invalidate(event.getMessageKeyList());
+    }
+
+    private void putIfNotInvalidated(MessageKey key, Lookup value, long stamp) {
+        if (stamps.get(stripe(key.messageKey)) != stamp) {
+            return;
+        }
+        // 比对与写入在同一条目锁内完成，与失效中的删除互斥
+        cache.asMap().compute(key, (k, current) -> stamps.get(stripe(k.messageKey)) == stamp ? value : current);
+    }
+
+    private static int stripe(String messageKey) {
+        int hash = Objects.hashCode(messageKey);
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * 命中率等统计信息
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> statsMap = new LinkedHashMap<>();
+        statsMap.put("size", cache.estimatedSize());
+        statsMap.put("requestCount", stats.requestCount());
+        statsMap.put("hitCount", stats.hitCount());
+        statsMap.put("missCount", stats.missCount());
+        statsMap.put("hitRate", stats.hitRate());
+        statsMap.put("evictionCount", stats.evictionCount());
+        return statsMap;
+    }
+
+    /**
+     * 缓存值：消息原文或负结果
+     */
+    public static final class Lookup {
+        public static final Lookup MISSING = new Lookup(null);
+
+        private final String message;
+
+        private Lookup(String message) {
+            this.message = message;
+        }
+
+        /**
+         * 消息原文，负结果为 null
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final class MessageKey {
+        private final String messageKey;
+        private final String locale;
+
+        private MessageKey(String messageKey, String locale) {
+            this.messageKey = messageKey;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey that = (MessageKey) o;
+            return Objects.equals(messageKey, that.messageKey) && Objects.equals(locale, that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(messageKey, locale);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.winter.cloud.i18n.infrastructure.cache;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.lifecycle.AbstractPeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 国际化消息访问频率统计
+ * <p>
+ * 每次查询只在本地计数表中累加（{@link LongAdder}，不提交任务、不访问 Redis），
+ * 由后台线程按 {@link CommonConstants.I18nMessage#I18N_STAT_FLUSH_INTERVAL} 周期性地以一次管道批量 ZINCRBY
+ * 写入 {@link CommonConstants.I18nMessage#I18N_STAT_KEY}，成员格式为 messageKey:locale。
+ * </p>
+ * <p>
+ * 一个周期内没有访问的计数器会被移除，计数表大小只与近期访问过的消息键有关；
+ * 移除与并发累加之间可能丢失个别计数，对热度统计没有影响。停止时会把剩余计数再写一次。
+ * </p>
+ */
+@Slf4j
+@Component
+public class I18nStatRecorder extends AbstractPeriodicTask {
+
+    /**
+     * 与 WinterRedisTemplate 序列化方式相同，成员编码与此前的 zSetIncrementScore 一致
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * messageKey:locale -> 本周期内的访问次数
+     */
+    private final Map<String, LongAdder> counterMap = new ConcurrentHashMap<>();
+
+    public I18nStatRecorder(RedisTemplate<String, Object> redisTemplate) {
+        super("i18n-stat-flush");
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 记录一次访问（仅写本地内存）
+     *
+     * @param messageKey 消息键
+     * @param locale     语言环境，如 zh_CN
+     */
+    public void record(String messageKey, String locale) {
+        if (messageKey == null || messageKey.isEmpty()) {
+            return;
+        }
+        counterMap.computeIfAbsent(messageKey + ":" + locale, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 将本周期的计数写入 Redis
+     */
+    void flush() {
+        Map<String, Long> countMap = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : counterMap.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                countMap.put(entry.getKey(), count);
+            } else {
+                counterMap.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (countMap.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    countMap.forEach((member, count) ->
+                            ops.opsForZSet().incrementScore(CommonConstants.I18nMessage.I18N_STAT_KEY, member, count));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 写入失败时加回本地，下个周期重试
+            countMap.forEach((member, count) -> counterMap.computeIfAbsent(member, key -> new LongAdder()).add(count));
+            log.warn("国际化访问统计写入失败，数量: {}", countMap.size(), e);
+        }
+    }
+
+    @Override
+    protected void runPeriodically() {
+        flush();
+    }
+
+    @Override
+    protected long intervalMillis() {
+        return CommonConstants.I18nMessage.I18N_STAT_FLUSH_INTERVAL;
+    }
+
+    @Override
+    protected void afterStop() {
+        flush();
+    }
+}
@@ -8,6 +8,7 @@ import com.winter.cloud.i18n.infrastructure.entity.I18nMessagePO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,4 +20,20 @@ public interface I18nMessageMapper extends BaseMapper<I18nMessagePO> {
     List<I18nMessagePO> getI18nMessageInfo(@Param("query") I18nMessageQuery query);
 
     IPage<I18nMessagePO> selectI18nPage(Page <I18nMessagePO> page, @Param("query") I18nMessageQuery query);
+
+    /**
+     * 统计符合条件的国际化消息数
+     */
+    Long selectI18nCount(@Param("query") I18nMessageQuery query);
+
+    /**
+     * 键集分页查询：按 (create_time, id) 倒序读取位于上一页最后一行之后的 limit 条消息
+     *
+     * @param lastCreateTime 上一页最后一行的创建时间，第一页为 null
+     * @param lastId         上一页最后一行的 id，第一页为 null
+     */
+    List<I18nMessagePO> selectI18nListBefore(@Param("query") I18nMessageQuery query,
+                                             @Param("lastCreateTime") LocalDateTime lastCreateTime,
+                                             @Param("lastId") Long lastId,
+                                             @Param("limit") Integer limit);
 }
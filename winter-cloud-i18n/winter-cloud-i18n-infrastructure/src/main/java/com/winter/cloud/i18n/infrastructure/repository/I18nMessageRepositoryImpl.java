@@ -16,7 +16,9 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.winter.cloud.common.constants.CommonConstants;
 import com.winter.cloud.common.enums.ResultCodeEnum;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
 import com.winter.cloud.common.exception.BusinessException;
+import com.winter.cloud.common.response.PageCursor;
 import com.winter.cloud.common.response.PageDTO;
 import com.winter.cloud.common.response.Response;
 import com.winter.cloud.common.util.TtlExecutorUtils;
@@ -26,10 +28,14 @@ import com.winter.cloud.dict.api.facade.DictFacade;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.command.UpsertI18NCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.domain.model.entity.I18nBundleDO;
 import com.winter.cloud.i18n.domain.model.entity.I18nMessageDO;
 import com.winter.cloud.i18n.domain.model.entity.TranslateDO;
 import com.winter.cloud.i18n.domain.repository.I18nMessageRepository;
 import com.winter.cloud.i18n.infrastructure.assembler.I18nMessageInfraAssembler;
+import com.winter.cloud.i18n.infrastructure.cache.I18nBundleVersionLog;
+import com.winter.cloud.i18n.infrastructure.cache.I18nMessageNearCache;
+import com.winter.cloud.i18n.infrastructure.cache.I18nStatRecorder;
 import com.winter.cloud.i18n.infrastructure.entity.I18nMessagePO;
 import com.winter.cloud.i18n.infrastructure.mapper.I18nMessageMapper;
 import com.winter.cloud.i18n.infrastructure.service.II18nMessageMPService;
@@ -47,6 +53,10 @@ import org.apache.dubbo.config.annotation.DubboReference;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ObjectUtils;
@@ -68,7 +78,7 @@ import java.util.stream.Collectors;
  * <p>
  * <h3>核心架构特性：</h3>
  * <ul>
- * <li><strong>多级缓存架构：</strong> 采用 Redis 缓存作为一级缓存，并结合布隆过滤器和分布式锁构建防护层。</li>
+ * <li><strong>多级缓存架构：</strong> 采用进程内近端缓存（{@link I18nMessageNearCache}）作为一级缓存，Redis 作为二级缓存，并结合布隆过滤器和分布式锁构建防护层。</li>
  * <li><strong>缓存穿透防护：</strong> 使用 Redisson 布隆过滤器快速拦截不存在的 Key，防止无效请求直击数据库；同时对空结果进行短时缓存（缓存空对象）。</li>
  * <li><strong>缓存击穿防护：</strong> 在热点 Key 缓存失效时，使用 Redisson 分布式锁控制并发回源 DB，确保同一时刻只有一个线程查询数据库，防止数据库过载。</li>
  * <li><strong>缓存雪崩防护：</strong> 设置随机的缓存过期时间（Jitter），防止大量缓存同时过期导致请求激增。</li>
@@ -91,11 +101,18 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
     private final I18nMessageInfraAssembler i18nMessageInfraAssembler;
     // 自定义 Redis 操作模版
     private final WinterRedisTemplate winterRedisTemplate;
+    // 与 WinterRedisTemplate 序列化方式相同的 RedisTemplate，用于批量读取和管道写入
+    private final RedisTemplate<String, Object> redisTemplate;
     // Redisson 客户端，用于分布式锁和布隆过滤器
     private final WinterRedissionTemplate winterRedissionTemplate;
+    // 进程内近端缓存，位于 Redis 之前
+    private final I18nMessageNearCache i18nMessageNearCache;
+    // 消息包版本与变更日志，供调用方增量同步本地消息包
+    private final I18nBundleVersionLog i18nBundleVersionLog;
+    // 访问频率统计，本地累加后定期批量写入 Redis
+    private final I18nStatRecorder i18nStatRecorder;
     private final ObjectMapper objectMapper;
     private final WinterExcelTemplate winterExcelTemplate;
-    private final Executor i18bPoolExecutor;
     @DubboReference(check = false)
     private DictFacade dictFacade;
     /**
@@ -105,6 +122,7 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
      * 如果使用注解，缓存操作通常包裹在事务内，若缓存更新成功但后续 DB 提交失败，会导致缓存脏数据。
      */
     private final TransactionTemplate transactionTemplate;
+    private final ExcelTemplateRegistry excelTemplateRegistry;
 
     /**
      * 用于生成随机缓存过期时间，防止缓存雪崩
@@ -123,6 +141,11 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
     // ===== 语言代码映射表 (用于 Prompt 构建) =====
     private static final Map<String, String> LANG_MAP = new HashMap<>();
 
+    /**
+     * 国际化分页的键集排序标识（与 selectI18nListBefore 的 ORDER BY 一致）
+     */
+    private static final String I18N_KEYSET_SORT = "create_time desc,id desc";
+
     static {
         LANG_MAP.put("zh_CN", "Chinese");
         LANG_MAP.put("en_US", "English");
@@ -189,14 +212,41 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
 
     @Override
     public PageDTO<I18nMessageDO> i18nPage(I18nMessageQuery i18nMessageQuery) {
-        // 构建分页对象
-        Page<I18nMessagePO> page = new Page<>(i18nMessageQuery.getPageNum(), i18nMessageQuery.getPageSize());
+        if (i18nMessageQuery.keysetMode()) {
+            return i18nKeysetPage(i18nMessageQuery);
+        }
+        // 构建分页对象（可关闭 COUNT）
+        boolean searchCount = !Boolean.FALSE.equals(i18nMessageQuery.getSearchCount());
+        Page<I18nMessagePO> page = new Page<>(i18nMessageQuery.getPageNum(), i18nMessageQuery.getPageSize(), searchCount);
         // 执行分页查询
         IPage<I18nMessagePO> messagePage = messageMapper.selectI18nPage(page, i18nMessageQuery);
         // 将 PO 列表转换为 DO 列表
         List<I18nMessageDO> doList = i18nMessageInfraAssembler.toDOList(messagePage.getRecords());
         // 返回分页结果 DTO
-        return new PageDTO<>(doList, messagePage.getTotal());
+        return new PageDTO<>(doList, searchCount ? messagePage.getTotal() : null);
+    }
+
+    /**
+     * 键集分页：按 (create_time, id) 倒序定位下一页，总数只在第一页统计一次并随游标传递
+     */
+    private PageDTO<I18nMessageDO> i18nKeysetPage(I18nMessageQuery i18nMessageQuery) {
+        String filter = PageCursor.fingerprint(i18nMessageQuery.getId(), i18nMessageQuery.getType(),
+                i18nMessageQuery.getMessageKey(), i18nMessageQuery.getMessageValue(), i18nMessageQuery.getLocale());
+        PageCursor cursor = PageCursor.decode(i18nMessageQuery.getCursor(), I18N_KEYSET_SORT, filter);
+        int pageSize = i18nMessageQuery.getPageSize();
+        Long total;
+        if (cursor != null) {
+            total = cursor.getTotal();
+        } else {
+            total = Boolean.FALSE.equals(i18nMessageQuery.getSearchCount()) ? null : messageMapper.selectI18nCount(i18nMessageQuery);
+        }
+        List<I18nMessagePO> rows = messageMapper.selectI18nListBefore(i18nMessageQuery,
+                cursor == null ? null : cursor.valueAsDateTime(),
+                cursor == null ? null : cursor.getId(),
+                pageSize + 1);
+        PageDTO<I18nMessagePO> poPage = PageCursor.page(rows, pageSize, I18N_KEYSET_SORT, filter, total,
+                po -> String.valueOf(po.getCreateTime()), I18nMessagePO::getId);
+        return poPage.withRecords(i18nMessageInfraAssembler.toDOList(poPage.getRecords()));
     }
 
     /**
@@ -281,6 +331,9 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
                 // 后续可依赖缓存过期自动修复，或通过定时任务/MQ进行补偿
                 log.error("国际化新增成功但缓存同步失败: key={}", command.getMessageKey(), e);
             }
+            // 本实例立即失效近端缓存（可能存有负结果），其他实例由变更事件失效
+            i18nMessageNearCache.invalidate(List.of(command.getMessageKey()));
+            recordBundleChange(List.of(command.getMessageKey()));
         }
 
         return dbSuccess;
@@ -368,6 +421,8 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
             } catch (Exception e) {
                 log.error("国际化更新成功但缓存同步失败: key={}", command.getMessageKey(), e);
             }
+            i18nMessageNearCache.invalidate(List.of(command.getMessageKey()));
+            recordBundleChange(List.of(command.getMessageKey()));
         }
         return dbSuccess;
     }
@@ -422,11 +477,21 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
             } catch (Exception e) {
                 log.error("国际化删除成功但缓存清理失败: ids={}", ids, e);
             }
+            Set<String> deletedKeySet = msgsToDelete.stream()
+                    .map(I18nMessagePO::getMessageKey)
+                    .collect(Collectors.toSet());
+            i18nMessageNearCache.invalidate(deletedKeySet);
+            recordBundleChange(deletedKeySet);
         }
 
         return dbSuccess;
     }
 
+    @Override
+    public Map<String, Object> nearCacheStats() {
+        return i18nMessageNearCache.stats();
+    }
+
     @Override
     public void scheduledRebuildBloomFilter() {
         // 定义定时任务专用的锁 Key，避免与启动锁(WARMUP_LOCK)混用
@@ -542,6 +607,8 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
          */
         WinterAnalysisValidReadListener<I18nMessagePO> i18nMessagePOAnalysisValidReadListener =
                 new WinterAnalysisValidReadListener<>(1000, (item) -> {
+                    // 本批成功入库的消息键，批次结束后一次写入消息包变更日志
+                    List<String> importedKeyList = new ArrayList<>();
                     // ====================== 3. 处理每一批校验通过的数据 ======================
                     for (I18nMessagePO i18nMessagePO : item) {
                         // 将 Excel 中的字典值转换为系统内部值
@@ -605,6 +672,7 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
 
                             // ====================== 3.3 数据库提交成功后，同步缓存 ======================
                             if (Boolean.TRUE.equals(dbSuccess)) {
+                                importedKeyList.add(i18nMessagePO.getMessageKey());
                                 try {
                                     // 获取布隆过滤器
                                     RBloomFilter<Object> bloomFilter =
@@ -646,6 +714,9 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
                             }
                         }
                     }
+                    if (!importedKeyList.isEmpty()) {
+                        recordBundleChange(importedKeyList);
+                    }
                 }, fastFalseValidator, CollUtil.toList(I18nMessagePO.Import.class));
 
         // ====================== 4. 执行 Excel 读取 ======================
@@ -679,24 +750,19 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
         // ====================== 7. 构建校验逻辑错误 Sheet（支持国际化） ======================
         if (!ObjectUtils.isEmpty(errorList)) {
 
-            // 对校验错误信息进行国际化处理
+            // 对校验错误信息进行国际化处理：国际化 key 格式为 {xxx}，先收集再一次批量解析
+            Set<String> errorKeySet = errorList.stream()
+                    .map(WinterExcelValidateErrorModel::getMessage)
+                    .filter(message -> message != null && message.startsWith("{") && message.endsWith("}"))
+                    .map(message -> message.substring(1, message.length() - 1))
+                    .collect(Collectors.toSet());
+            Map<String, String> errorMessageMap = getMessages(errorKeySet, toLocaleString(LocaleContextHolder.getLocale()));
             errorList.forEach(error -> {
                 String message = error.getMessage();
-                StringBuilder stringBuilder = new StringBuilder();
-
-                // 判断是否为国际化 key 格式：{xxx}
                 if (message != null && message.startsWith("{") && message.endsWith("}")) {
-                    String messageKey = message.substring(1, message.length() - 1);
-                    try {
-                        stringBuilder.append(getMessage(messageKey, new Object[]{}, message));
-                    } catch (Exception ex) {
-                        // 国际化失败，使用原始消息
-                        stringBuilder.append(message);
-                    }
-                } else {
-                    stringBuilder.append(message);
+                    // 国际化失败，使用原始消息
+                    error.setMessage(errorMessageMap.getOrDefault(message.substring(1, message.length() - 1), message));
                 }
-                error.setMessage(stringBuilder.toString());
             });
 
             WinterExcelExportParam<WinterExcelValidateErrorModel> validateParam =
@@ -734,24 +800,26 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
 
     @Override
     public void i18nExportExcelTemplate(HttpServletResponse response) {
-        ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
-        // 自定义样式处理器
-        CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
-        writeHandlers.add(cellStyleSheetWriteHandler);
-        writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
-        WinterExcelExportParam<I18nMessagePO> builder = WinterExcelExportParam.<I18nMessagePO>builder()
-                .response(response)
-                .batchSize(1000)
-                .password("")
-                .fileName(getMessage(CommonConstants.I18nKey.I18N_MESSAGE_TEMPLATE)+".xlsx")
-                // 导出的模版不需要创建时间这个列
-                .excludeColumnFieldNames(List.of("createTime"))
-                .converters(null)
-                .writeHandlers(writeHandlers)
-                .head(I18nMessagePO.class)
-                .dataList(null)
-                .build();
-        winterExcelTemplate.export(builder);
+        excelTemplateRegistry.export(response, "i18nTemplate", I18nMessagePO.class, null, templateResponse -> {
+            ArrayList<WriteHandler> writeHandlers = new ArrayList<>();
+            // 自定义样式处理器
+            CustomStyleHandler cellStyleSheetWriteHandler = new CustomStyleHandler(null, null);
+            writeHandlers.add(cellStyleSheetWriteHandler);
+            writeHandlers.add(new CustomMatchColumnWidthStyleHandler());
+            WinterExcelExportParam<I18nMessagePO> builder = WinterExcelExportParam.<I18nMessagePO>builder()
+                    .response(templateResponse)
+                    .batchSize(1000)
+                    .password("")
+                    .fileName(getMessage(CommonConstants.I18nKey.I18N_MESSAGE_TEMPLATE)+".xlsx")
+                    // 导出的模版不需要创建时间这个列
+                    .excludeColumnFieldNames(List.of("createTime"))
+                    .converters(null)
+                    .writeHandlers(writeHandlers)
+                    .head(I18nMessagePO.class)
+                    .dataList(null)
+                    .build();
+            winterExcelTemplate.export(builder);
+        });
     }
 
 
@@ -768,7 +836,7 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
     /**
      * 获取国际化消息的核心方法
      * <p>
-     * 流程：Redis 查询 -> (未命中) -> 布隆过滤器校验 -> 分布式锁 -> DB 查询 -> 回写 Redis
+     * 流程：近端缓存 -> Redis 查询 -> (未命中) -> 布隆过滤器校验 -> 分布式锁 -> DB 查询 -> 回写 Redis
      *
      * @param messageKey     消息键
      * @param args           参数数组 (用于占位符替换)
@@ -779,45 +847,44 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
     @Override
     public String getMessage(String messageKey, Object[] args, String defaultMessage, Locale locale) {
         // 构造标准的 Locale 字符串，例如 zh_CN
-        String localeStr = locale.getLanguage() + (locale.getCountry().isEmpty() ? "" : "_" + locale.getCountry());
+        String localeStr = toLocaleString(locale);
 
-        // 异步统计逻辑 - 支持区分语种
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (ObjectUtil.isNotEmpty(messageKey)) {
-                    // 构造复合 Member: "messageKey:locale"
-                    // 示例: "user.login.success:zh_CN"
-                    String memberWithLocale = messageKey + ":" + localeStr;
-                    // 统计带有语言后缀的 Key
-                    winterRedisTemplate.zSetIncrementScore(CommonConstants.I18nMessage.I18N_STAT_KEY, memberWithLocale, 1);
-
-                    // (可选) 如果你还想看“不分语言的总热度”，可以再多记一条：
-                    // winterRedisTemplate.opsForZSet().incrementScore(I18N_STAT_KEY + ":global", messageKey, 1);
-                }
-            } catch (Exception e) {
-                log.warn("Async stat i18n failed: key={}", messageKey, e);
+        // 访问统计 - 支持区分语种，成员示例: "user.login.success:zh_CN"，仅本地累加
+        i18nStatRecorder.record(messageKey, localeStr);
+
+        // 1. 近端缓存查询 (本地内存)，命中时不访问 Redis
+        I18nMessageNearCache.Lookup lookup = i18nMessageNearCache.get(messageKey, localeStr);
+        if (lookup != null) {
+            if (lookup == I18nMessageNearCache.Lookup.MISSING) {
+                return defaultMessage != null ? defaultMessage : messageKey;
             }
-        }, i18bPoolExecutor);
+            return formatMessage(lookup.getMessage(), args);
+        }
 
-        // 构建 Redis Key
+        // 构建 Redis Key；先取失效戳，查询期间消息被修改时不把旧值写回近端缓存
         String cacheKey = CommonConstants.buildI18nMessageKey(messageKey, localeStr);
+        long nearCacheStamp = i18nMessageNearCache.stamp(messageKey);
         try {
-            // 1. 一级缓存查询 (Redis)
+            // 2. 二级缓存查询 (Redis)
             String cachedMessage = (String) winterRedisTemplate.get(cacheKey);
             if (cachedMessage != null) {
                 // 检查是否是防穿透的"空值占位符" (例如 "NULL_VALUE")
                 if (CommonConstants.I18nMessage.I18N_NULL_VALUE.equals(cachedMessage)) {
                     log.debug("命中空值缓存: key={}, locale={}", messageKey, localeStr);
+                    i18nMessageNearCache.putMissing(messageKey, localeStr, nearCacheStamp);
                     return defaultMessage != null ? defaultMessage : messageKey;
                 }
                 log.debug("从缓存获取消息: key={}, locale={}", messageKey, localeStr);
+                i18nMessageNearCache.put(messageKey, localeStr, cachedMessage, nearCacheStamp);
                 // 格式化消息并返回
                 return formatMessage(cachedMessage, args);
             }
 
-            // 2. 二级保护查询（布隆 + 锁 + DB），防止缓存击穿和穿透
+            // 3. 回源保护查询（布隆 + 锁 + DB），防止缓存击穿和穿透
+            // 返回 null 时可能只是等锁超时，不写入近端缓存的负结果，留给下次请求从 Redis 的空值占位获取
             String message = getMessageWithLock(messageKey, localeStr, cacheKey);
             if (message != null) {
+                i18nMessageNearCache.put(messageKey, localeStr, message, nearCacheStamp);
                 return formatMessage(message, args);
             }
 
@@ -829,6 +896,104 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
         return defaultMessage != null ? defaultMessage : messageKey;
     }
 
+    /**
+     * 批量获取国际化消息（不做占位符格式化）
+     * <p>
+     * 流程：近端缓存 -> 一次 MGET -> 一次 IN 查询 -> 一次管道回写 Redis（查不到的键写入空值占位）。
+     * 批量查询本身只产生一次回源，因此不逐键经过布隆过滤器和分布式锁。
+     * </p>
+     *
+     * @param messageKeys 消息键
+     * @param locale      语言环境，如 zh_CN
+     * @return 消息键 -> 消息原文，不存在的消息键不在结果中
+     */
+    @Override
+    public Map<String, String> getMessages(Collection<String> messageKeys, String locale) {
+        Map<String, String> resultMap = new HashMap<>();
+        if (CollUtil.isEmpty(messageKeys) || ObjectUtil.isEmpty(locale)) {
+            return resultMap;
+        }
+        Set<String> messageKeySet = messageKeys.stream().filter(ObjectUtil::isNotEmpty).collect(Collectors.toSet());
+        messageKeySet.forEach(messageKey -> i18nStatRecorder.record(messageKey, locale));
+
+        // 1. 近端缓存；未命中的键记下失效戳，回写时据此丢弃查询期间已失效的结果
+        List<String> nearMissList = new ArrayList<>();
+        Map<String, Long> nearCacheStampMap = new HashMap<>();
+        for (String messageKey : messageKeySet) {
+            I18nMessageNearCache.Lookup lookup = i18nMessageNearCache.get(messageKey, locale);
+            if (lookup == null) {
+                nearMissList.add(messageKey);
+                nearCacheStampMap.put(messageKey, i18nMessageNearCache.stamp(messageKey));
+            } else if (lookup != I18nMessageNearCache.Lookup.MISSING) {
+                resultMap.put(messageKey, lookup.getMessage());
+            }
+        }
+        if (nearMissList.isEmpty()) {
+            return resultMap;
+        }
+
+        List<String> dbMissList = new ArrayList<>();
+        try {
+            // 2. Redis 一次 MGET
+            List<String> cacheKeyList = nearMissList.stream()
+                    .map(messageKey -> CommonConstants.buildI18nMessageKey(messageKey, locale))
+                    .collect(Collectors.toList());
+            List<Object> cachedList = redisTemplate.opsForValue().multiGet(cacheKeyList);
+            for (int i = 0; i < nearMissList.size(); i++) {
+                String messageKey = nearMissList.get(i);
+                Object cached = cachedList == null ? null : cachedList.get(i);
+                if (cached == null) {
+                    dbMissList.add(messageKey);
+                } else if (CommonConstants.I18nMessage.I18N_NULL_VALUE.equals(cached)) {
+                    i18nMessageNearCache.putMissing(messageKey, locale, nearCacheStampMap.get(messageKey));
+                } else {
+                    resultMap.put(messageKey, (String) cached);
+                    i18nMessageNearCache.put(messageKey, locale, (String) cached, nearCacheStampMap.get(messageKey));
+                }
+            }
+            if (dbMissList.isEmpty()) {
+                return resultMap;
+            }
+
+            // 3. 数据库一次 IN 查询
+            Map<String, String> dbMap = new HashMap<>();
+            for (List<String> keyList : CollUtil.split(dbMissList, 500)) {
+                dbMap.putAll(toMessageMap(i18nMessageMPService.list(new LambdaQueryWrapper<I18nMessagePO>()
+                        .select(I18nMessagePO::getMessageKey, I18nMessagePO::getMessageValue)
+                        .eq(I18nMessagePO::getLocale, locale)
+                        .in(I18nMessagePO::getMessageKey, keyList))));
+            }
+            resultMap.putAll(dbMap);
+
+            // 4. 管道回写 Redis 与近端缓存；查不到的键写入空值占位，防止重复回源
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String messageKey : dbMissList) {
+                        String cacheKey = CommonConstants.buildI18nMessageKey(messageKey, locale);
+                        String message = dbMap.get(messageKey);
+                        if (message != null) {
+                            long expire = CommonConstants.I18nMessage.I18N_CACHE_EXPIRE_SECONDS
+                                          + random.nextInt((int) CommonConstants.I18nMessage.I18N_CACHE_RANDOM_EXPIRE_SECONDS);
+                            ops.opsForValue().set(cacheKey, message, expire, TimeUnit.SECONDS);
+                        } else {
+                            ops.opsForValue().set(cacheKey, CommonConstants.I18nMessage.I18N_NULL_VALUE,
+                                    CommonConstants.I18nMessage.I18N_NULL_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
+                        }
+                    }
+                    return null;
+                }
+            });
+            dbMap.forEach((messageKey, message) -> i18nMessageNearCache.put(messageKey, locale, message, nearCacheStampMap.get(messageKey)));
+        } catch (Exception e) {
+            // 缓存异常降级：已解析的部分照常返回
+            log.error("批量获取国际化消息失败: keys={}, locale={}", nearMissList, locale, e);
+        }
+        return resultMap;
+    }
+
     /**
      * 带锁的回源查询逻辑
      * <p>
@@ -902,6 +1067,13 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
         return null;
     }
 
+    /**
+     * 标准的 Locale 字符串，例如 zh_CN
+     */
+    private String toLocaleString(Locale locale) {
+        return locale.getLanguage() + (locale.getCountry().isEmpty() ? "" : "_" + locale.getCountry());
+    }
+
     /**
      * 格式化消息参数 (MessageFormat.format)
      */
@@ -927,6 +1099,74 @@ public class I18nMessageRepositoryImpl implements I18nMessageRepository {
         return ObjectUtil.isNotEmpty(i18nMessagePO) ? i18nMessagePO.getMessageValue() : null;
     }
 
+    /**
+     * 获取完整消息包
+     * <p>
+     * 先读版本号再查库：读取之后发生的变更可能已包含在结果中，调用方下次增量同步时会再收到一次，覆盖写入不影响结果。
+     * </p>
+     */
+    @Override
+    public I18nBundleDO getBundle(String locale) {
+        long version = i18nBundleVersionLog.currentVersion();
+        List<I18nMessagePO> messageList = i18nMessageMPService.list(new LambdaQueryWrapper<I18nMessagePO>()
+                .select(I18nMessagePO::getMessageKey, I18nMessagePO::getMessageValue)
+                .eq(I18nMessagePO::getLocale, locale));
+        return I18nBundleDO.builder()
+                .locale(locale)
+                .version(version)
+                .full(true)
+                .messages(toMessageMap(messageList))
+                .removedKeys(List.of())
+                .build();
+    }
+
+    /**
+     * 获取增量：变更日志中版本号大于 version 的消息键，按当前数据库内容返回，已不存在的键列入 removedKeys
+     */
+    @Override
+    public I18nBundleDO getBundleChanges(String locale, Long version) {
+        long current = i18nBundleVersionLog.currentVersion();
+        Set<String> changedKeySet = version == null ? null : i18nBundleVersionLog.changedKeysSince(version, current);
+        if (changedKeySet == null) {
+            return getBundle(locale);
+        }
+        Map<String, String> messageMap = new HashMap<>();
+        for (List<String> keyList : CollUtil.split(changedKeySet, 500)) {
+            messageMap.putAll(toMessageMap(i18nMessageMPService.list(new LambdaQueryWrapper<I18nMessagePO>()
+                    .select(I18nMessagePO::getMessageKey, I18nMessagePO::getMessageValue)
+                    .eq(I18nMessagePO::getLocale, locale)
+                    .in(I18nMessagePO::getMessageKey, keyList))));
+        }
+        List<String> removedKeyList = changedKeySet.stream()
+                .filter(key -> !messageMap.containsKey(key))
+                .collect(Collectors.toList());
+        return I18nBundleDO.builder()
+                .locale(locale)
+                .version(current)
+                .full(false)
+                .messages(messageMap)
+                .removedKeys(removedKeyList)
+                .build();
+    }
+
+    private Map<String, String> toMessageMap(List<I18nMessagePO> messageList) {
+        // messageKey + locale 在不同 type 下理论上可能重复，与 findMessageByKeyAndLocale 一样只取一条
+        return messageList.stream()
+                .filter(po -> po.getMessageValue() != null)
+                .collect(Collectors.toMap(I18nMessagePO::getMessageKey, I18nMessagePO::getMessageValue, (a, b) -> a));
+    }
+
+    /**
+     * 写入消息包变更日志，失败只记录日志：调用方的定时全量重载会兜底
+     */
+    private void recordBundleChange(Collection<String> messageKeyList) {
+        try {
+            i18nBundleVersionLog.recordChange(messageKeyList);
+        } catch (Exception e) {
+            log.error("国际化消息包变更日志写入失败: keys={}", messageKeyList, e);
+        }
+    }
+
     @Override
     public List<I18nMessageDO> getI18nMessageInfo(I18nMessageQuery query) {
         List<I18nMessagePO> i18nMessageInfo = messageMapper.getI18nMessageInfo(query);
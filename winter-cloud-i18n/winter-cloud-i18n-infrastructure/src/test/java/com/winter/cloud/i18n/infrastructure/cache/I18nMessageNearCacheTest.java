@@ -0,0 +1,62 @@
+package com.winter.cloud.i18n.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class I18nMessageNearCacheTest {
+
+    private final I18nMessageNearCache nearCache = new I18nMessageNearCache();
+
+    @Test
+    void putWithCurrentStampIsCached() {
+        nearCache.put("user.login", "zh_CN", "登录", nearCache.stamp("user.login"));
+        nearCache.putMissing("user.none", "zh_CN", nearCache.stamp("user.none"));
+
+        assertThat(nearCache.get("user.login", "zh_CN").getMessage()).isEqualTo("登录");
+        assertThat(nearCache.get("user.none", "zh_CN")).isSameAs(I18nMessageNearCache.Lookup.MISSING);
+    }
+
+    /**
+     * 读取方在失效之前从 Redis 读到旧值，失效之后才写入近端缓存：旧值不能被放回
+     */
+    @Test
+    void staleValueReadBeforeInvalidationIsNotPutBack() {
+        long stamp = nearCache.stamp("user.login");
+        nearCache.invalidate(List.of("user.login"));
+
+        nearCache.put("user.login", "zh_CN", "旧登录", stamp);
+        nearCache.putMissing("user.login", "en_US", stamp);
+
+        assertThat(nearCache.get("user.login", "zh_CN")).isNull();
+        assertThat(nearCache.get("user.login", "en_US")).isNull();
+
+        nearCache.put("user.login", "zh_CN", "新登录", nearCache.stamp("user.login"));
+        assertThat(nearCache.get("user.login", "zh_CN").getMessage()).isEqualTo("新登录");
+    }
+
+    @Test
+    void invalidateAllRejectsEveryOutstandingStamp() {
+        long loginStamp = nearCache.stamp("user.login");
+        long logoutStamp = nearCache.stamp("user.logout");
+        nearCache.invalidate(null);
+
+        nearCache.put("user.login", "zh_CN", "登录", loginStamp);
+        nearCache.put("user.logout", "zh_CN", "退出", logoutStamp);
+
+        assertThat(nearCache.get("user.login", "zh_CN")).isNull();
+        assertThat(nearCache.get("user.logout", "zh_CN")).isNull();
+    }
+
+    @Test
+    void invalidatingOtherKeyKeepsStampUsable() {
+        long stamp = nearCache.stamp("user.login");
+        nearCache.invalidate(List.of("user.logout"));
+
+        nearCache.put("user.login", "zh_CN", "登录", stamp);
+
+        assertThat(nearCache.get("user.login", "zh_CN").getMessage()).isEqualTo("登录");
+    }
+}
@@ -0,0 +1,87 @@
+package com.winter.cloud.i18n.infrastructure.cache;
+
+import com.winter.cloud.common.constants.CommonConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 访问统计写入：管道第一次抛出异常，第二次正常执行，ZINCRBY 记录在模拟的 ZSetOperations 上
+ */
+class I18nStatRecorderTest {
+
+    private static final String STAT_KEY = CommonConstants.I18nMessage.I18N_STAT_KEY;
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final RedisOperations<String, Object> pipelineOperations = mock(RedisOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, Object> zSetOperations = mock(ZSetOperations.class);
+
+    private final I18nStatRecorder recorder = new I18nStatRecorder(redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(pipelineOperations.opsForZSet()).thenReturn(zSetOperations);
+        doThrow(new RedisConnectionFailureException("redis down"))
+                .doAnswer(invocation -> {
+                    ((SessionCallback<?>) invocation.getArgument(0)).execute(pipelineOperations);
+                    return List.of();
+                })
+                .when(redisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void countsFromFailedPipelineAreSentOnNextFlush() {
+        record("user.login", "zh_CN", 3);
+        record("user.logout", "en_US", 1);
+        recorder.flush();
+        verifyNoInteractions(zSetOperations);
+
+        // 失败后继续累加的计数与加回的计数合并写入
+        record("user.login", "zh_CN", 2);
+        recorder.flush();
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(zSetOperations).incrementScore(STAT_KEY, "user.login:zh_CN", 5.0);
+        verify(zSetOperations).incrementScore(STAT_KEY, "user.logout:en_US", 1.0);
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    @Test
+    void countsAreNotSentAgainAfterSuccessfulFlush() {
+        record("user.login", "zh_CN", 1);
+        recorder.flush();
+        recorder.flush();
+
+        // 第三次没有计数，不再访问 Redis
+        recorder.flush();
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(zSetOperations, times(1)).incrementScore(STAT_KEY, "user.login:zh_CN", 1.0);
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    private void record(String messageKey, String locale, int times) {
+        for (int i = 0; i < times; i++) {
+            recorder.record(messageKey, locale);
+        }
+    }
+}
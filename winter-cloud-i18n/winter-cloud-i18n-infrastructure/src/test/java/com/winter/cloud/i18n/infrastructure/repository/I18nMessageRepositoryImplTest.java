@@ -0,0 +1,223 @@
+package com.winter.cloud.i18n.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winter.cloud.common.constants.CommonConstants;
+import com.winter.cloud.common.excel.ExcelTemplateRegistry;
+import com.winter.cloud.i18n.infrastructure.assembler.I18nMessageInfraAssembler;
+import com.winter.cloud.i18n.infrastructure.cache.I18nBundleVersionLog;
+import com.winter.cloud.i18n.infrastructure.cache.I18nMessageNearCache;
+import com.winter.cloud.i18n.infrastructure.cache.I18nStatRecorder;
+import com.winter.cloud.i18n.infrastructure.entity.I18nMessagePO;
+import com.winter.cloud.i18n.infrastructure.mapper.I18nMessageMapper;
+import com.winter.cloud.i18n.infrastructure.service.II18nMessageMPService;
+import com.zsq.winter.office.service.excel.WinterExcelTemplate;
+import com.zsq.winter.redis.ddc.service.WinterRedisTemplate;
+import com.zsq.winter.redis.ddc.service.WinterRedissionTemplate;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量获取国际化消息：近端缓存 -> MGET -> IN 查询 -> 管道回写，Redis 与数据库替换为模拟对象，近端缓存使用真实实现
+ */
+class I18nMessageRepositoryImplTest {
+
+    private static final String LOCALE = "zh_CN";
+
+    private final I18nMessageNearCache nearCache = new I18nMessageNearCache();
+    private final I18nStatRecorder statRecorder = mock(I18nStatRecorder.class);
+    private final II18nMessageMPService messageService = mock(II18nMessageMPService.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final RedisOperations<String, Object> pipelineOperations = mock(RedisOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> pipelineValueOperations = mock(ValueOperations.class);
+
+    /**
+     * 模拟的 Redis 内容，管道写入同样落在这里
+     */
+    private final Map<String, Object> redisMap = new HashMap<>();
+    private final List<String> queriedKeyList = new ArrayList<>();
+
+    private I18nMessageRepositoryImpl repository;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 按实体的表信息解析列名
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), I18nMessagePO.class);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = new I18nMessageRepositoryImpl(mock(Validator.class), mock(I18nMessageMapper.class), messageService,
+                mock(I18nMessageInfraAssembler.class), mock(WinterRedisTemplate.class), redisTemplate,
+                mock(WinterRedissionTemplate.class), nearCache, mock(I18nBundleVersionLog.class), statRecorder,
+                new ObjectMapper(), mock(WinterExcelTemplate.class), mock(TransactionTemplate.class),
+                mock(ExcelTemplateRegistry.class));
+
+        nearCache.put("near.hit", LOCALE, "近端", nearCache.stamp("near.hit"));
+        nearCache.putMissing("near.missing", LOCALE, nearCache.stamp("near.missing"));
+        redisMap.put(cacheKey("redis.hit"), "缓存");
+        redisMap.put(cacheKey("redis.null"), CommonConstants.I18nMessage.I18N_NULL_VALUE);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0))
+                .stream().map(redisMap::get).collect(Collectors.toList()));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            ((SessionCallback<?>) invocation.getArgument(0)).execute(pipelineOperations);
+            return List.of();
+        });
+        when(pipelineOperations.opsForValue()).thenReturn(pipelineValueOperations);
+        doAnswer(invocation -> redisMap.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(pipelineValueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+
+        // 数据库中只有 db.hit
+        when(messageService.list(any(Wrapper.class))).thenAnswer(invocation -> {
+            LambdaQueryWrapper<I18nMessagePO> wrapper = invocation.getArgument(0);
+            wrapper.getSqlSegment();
+            List<String> keyList = wrapper.getParamNameValuePairs().values().stream()
+                    .filter(value -> !LOCALE.equals(value))
+                    .map(String::valueOf)
+                    .collect(Collectors.toList());
+            queriedKeyList.addAll(keyList);
+            return keyList.contains("db.hit")
+                    ? List.of(I18nMessagePO.builder().messageKey("db.hit").locale(LOCALE).messageValue("数据库").build())
+                    : List.of();
+        });
+    }
+
+    @Test
+    void eachLayerResolvesItsKeysAndMissesAreWrittenBack() {
+        Map<String, String> resultMap = repository.getMessages(allKeys(), LOCALE);
+
+        assertThat(resultMap).containsOnly(entry("near.hit", "近端"), entry("redis.hit", "缓存"), entry("db.hit", "数据库"));
+        // 近端缓存命中的键不访问 Redis，Redis 命中（含空值占位）的键不查数据库
+        assertThat(multiGetKeys()).containsExactlyInAnyOrder(
+                cacheKey("redis.hit"), cacheKey("redis.null"), cacheKey("db.hit"), cacheKey("db.missing"));
+        assertThat(queriedKeyList).containsExactlyInAnyOrder("db.hit", "db.missing");
+        verify(messageService, times(1)).list(any(Wrapper.class));
+        // 一次管道：查到的写入消息（带随机过期），查不到的写入空值占位
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(pipelineValueOperations).set(eq(cacheKey("db.hit")), eq("数据库"), longThat(expire ->
+                        expire >= CommonConstants.I18nMessage.I18N_CACHE_EXPIRE_SECONDS
+                        && expire < CommonConstants.I18nMessage.I18N_CACHE_EXPIRE_SECONDS
+                                    + CommonConstants.I18nMessage.I18N_CACHE_RANDOM_EXPIRE_SECONDS),
+                eq(TimeUnit.SECONDS));
+        verify(pipelineValueOperations).set(cacheKey("db.missing"), CommonConstants.I18nMessage.I18N_NULL_VALUE,
+                CommonConstants.I18nMessage.I18N_NULL_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
+        verifyNoMoreInteractions(pipelineValueOperations);
+        // Redis 与数据库的结果回填近端缓存，空值占位记为负结果
+        assertThat(nearCache.get("redis.hit", LOCALE).getMessage()).isEqualTo("缓存");
+        assertThat(nearCache.get("redis.null", LOCALE)).isSameAs(I18nMessageNearCache.Lookup.MISSING);
+        assertThat(nearCache.get("db.hit", LOCALE).getMessage()).isEqualTo("数据库");
+        allKeys().stream().filter(messageKey -> !messageKey.isEmpty())
+                .forEach(messageKey -> verify(statRecorder).record(messageKey, LOCALE));
+        verify(statRecorder, never()).record(eq(""), anyString());
+    }
+
+    @Test
+    void secondCallIsServedByNearCacheAndNullMarker() {
+        repository.getMessages(allKeys(), LOCALE);
+        clearInvocations(valueOperations, messageService, redisTemplate);
+
+        Map<String, String> resultMap = repository.getMessages(allKeys(), LOCALE);
+
+        assertThat(resultMap).containsOnly(entry("near.hit", "近端"), entry("redis.hit", "缓存"), entry("db.hit", "数据库"));
+        // 只剩数据库中不存在的键需要访问 Redis，命中上次写入的空值占位后不再回源
+        assertThat(multiGetKeys()).containsExactly(cacheKey("db.missing"));
+        verify(messageService, never()).list(any(Wrapper.class));
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        assertThat(nearCache.get("db.missing", LOCALE)).isSameAs(I18nMessageNearCache.Lookup.MISSING);
+    }
+
+    @Test
+    void redisFailureReturnsNearCacheHits() {
+        doThrow(new RedisConnectionFailureException("redis down")).when(valueOperations).multiGet(anyCollection());
+
+        Map<String, String> resultMap = repository.getMessages(allKeys(), LOCALE);
+
+        assertThat(resultMap).containsOnly(entry("near.hit", "近端"));
+        verifyNoInteractions(messageService);
+    }
+
+    /**
+     * 管道回写失败时数据库已查到的结果照常返回，但不写入近端缓存，下次仍会回写 Redis
+     */
+    @Test
+    void pipelineFailureStillReturnsResolvedMessages() {
+        doThrow(new RedisConnectionFailureException("redis down")).when(redisTemplate).executePipelined(any(SessionCallback.class));
+
+        Map<String, String> resultMap = repository.getMessages(allKeys(), LOCALE);
+
+        assertThat(resultMap).containsOnly(entry("near.hit", "近端"), entry("redis.hit", "缓存"), entry("db.hit", "数据库"));
+        assertThat(nearCache.get("redis.hit", LOCALE).getMessage()).isEqualTo("缓存");
+        assertThat(nearCache.get("db.hit", LOCALE)).isNull();
+    }
+
+    @Test
+    void emptyKeysOrLocaleReturnEmptyMap() {
+        assertThat(repository.getMessages(null, LOCALE)).isEmpty();
+        assertThat(repository.getMessages(List.of(), LOCALE)).isEmpty();
+        assertThat(repository.getMessages(List.of("near.hit"), "")).isEmpty();
+        verifyNoInteractions(redisTemplate, messageService);
+    }
+
+    private List<String> multiGetKeys() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(valueOperations, times(1)).multiGet(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static List<String> allKeys() {
+        return List.of("near.hit", "near.missing", "redis.hit", "redis.null", "db.hit", "db.missing", "");
+    }
+
+    private static String cacheKey(String messageKey) {
+        return CommonConstants.buildI18nMessageKey(messageKey, LOCALE);
+    }
+}
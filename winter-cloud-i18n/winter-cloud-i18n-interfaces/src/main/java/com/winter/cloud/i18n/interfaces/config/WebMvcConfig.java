@@ -20,7 +20,6 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.validation.beanvalidation.SpringConstraintValidatorFactory;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -170,27 +169,4 @@ public class WebMvcConfig implements WebMvcConfigurer {
         log.info("xxl-job executor configured successfully");
         return xxlJobSpringExecutor;
     }
-
-    @Bean("i18bPoolExecutor")
-    public ThreadPoolTaskExecutor i18bPoolExecutor() {
-        //使用自定义的线程任务执行器（继承了ThreadPoolTaskExecutor类，该类最终实现了接口Executor）
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        //核心线程数：线程池创建时候初始化的线程数
-        executor.setCorePoolSize(20);
-        //最大线程数：线程池最大的线程数，只有在缓冲队列满了之后才会申请超过核心线程数的线程
-        executor.setMaxPoolSize(100);
-        //缓冲队列：用来缓冲执行任务的队列
-        executor.setQueueCapacity(500);
-        //允许线程的空闲时间60秒：当超过了核心线程出之外的线程在空闲时间到达之后会被销毁
-        executor.setKeepAliveSeconds(60);
-        //线程池名的前缀：设置好了之后可以方便我们定位处理任务所在的线程池
-        executor.setThreadNamePrefix("i18n-");
-        //用于配置线程池在执行完所有已提交的任务后等待额外指定秒数以允许正在进行的 tasks 完成，以便在容器的其余部分继续关闭之前等待剩余的任务完成他们的执行
-        executor.setAwaitTerminationSeconds(100);
-        //等待所有的任务结束后再关闭线程池
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        // 初始化线程池
-        executor.initialize();
-        return executor;
-    }
 }
@@ -6,6 +6,7 @@ import com.winter.cloud.common.response.Response;
 import com.winter.cloud.i18n.api.dto.command.TranslateCommand;
 import com.winter.cloud.i18n.api.dto.command.UpsertI18NCommand;
 import com.winter.cloud.i18n.api.dto.query.I18nMessageQuery;
+import com.winter.cloud.i18n.api.dto.response.I18nBundleDTO;
 import com.winter.cloud.i18n.api.dto.response.I18nMessageDTO;
 import com.winter.cloud.i18n.api.dto.response.TranslateDTO;
 import com.winter.cloud.i18n.api.facade.I18nMessageFacade;
@@ -24,8 +25,10 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 
@@ -61,13 +64,25 @@ public class I18nMessageController implements I18nMessageFacade {
         return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
     }
 
+    @Override
+    public Response<I18nBundleDTO> getBundle(String locale) {
+        I18nBundleDTO data = i18nMessageAppService.getBundle(locale);
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
+    }
+
+    @Override
+    public Response<I18nBundleDTO> changesSince(String locale, Long version) {
+        I18nBundleDTO data = i18nMessageAppService.changesSince(locale, version);
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
+    }
+
     /**
      * 翻译
      *
      * @param translateCommand 翻译参数
      * @return 翻译结果
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:translate')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:translate')")
     @PostMapping("/translate")
     @Override
     public Response<TranslateDTO> translate(@RequestBody @Validated TranslateCommand translateCommand) throws ExecutionException, InterruptedException {
@@ -97,7 +112,7 @@ public class I18nMessageController implements I18nMessageFacade {
      * @param upsertI18NCommand 保存参数
      * @return 保存结果
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nSave')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nSave')")
     @PostMapping("/i18nSave")
     public Response<Boolean> i18nSave(@RequestBody @Validated(UpsertI18NCommand.Save.class) UpsertI18NCommand upsertI18NCommand) {
         Boolean data = i18nMessageAppService.i18nSave(upsertI18NCommand);
@@ -110,7 +125,7 @@ public class I18nMessageController implements I18nMessageFacade {
      * @param upsertI18NCommand 保存参数
      * @return 保存结果
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nUpdate')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nUpdate')")
     @PostMapping("/i18nUpdate")
     public Response<Boolean> i18nUpdate(@RequestBody @Validated(UpsertI18NCommand.Update.class) UpsertI18NCommand upsertI18NCommand) {
         Boolean data = i18nMessageAppService.i18nUpdate(upsertI18NCommand);
@@ -123,7 +138,7 @@ public class I18nMessageController implements I18nMessageFacade {
      * @param ids 要删除的id
      * @return 删除结果
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nDelete')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nDelete')")
     @PostMapping("/i18nDelete")
     public Response<Boolean> i18nDelete(@RequestBody @NotEmpty(message = "{delete.data.notEmpty}") List<Long> ids) {
         Boolean data = i18nMessageAppService.i18nDelete(ids);
@@ -135,7 +150,7 @@ public class I18nMessageController implements I18nMessageFacade {
      *
      * @param response 响应
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nExportExcel')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nExportExcel')")
     @PostMapping(value = "/i18nExportExcel")
     public void i18nExportExcel(HttpServletResponse response,@RequestBody I18nMessageQuery i18nMessageQuery) {
         i18nMessageAppService.i18nExportExcel(response,i18nMessageQuery);
@@ -146,7 +161,7 @@ public class I18nMessageController implements I18nMessageFacade {
      *
      * @param response 响应
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nExportExcelTemplate')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nExportExcelTemplate')")
     @PostMapping(value = "/i18nExportExcelTemplate")
     public void i18nExportExcelTemplate(HttpServletResponse response) {
         i18nMessageAppService.i18nExportExcelTemplate(response);
@@ -158,12 +173,22 @@ public class I18nMessageController implements I18nMessageFacade {
      * @param response 响应
      * @param file     文件
      */
-    @PreAuthorize("hasAuthority('sys:i18nMessage:i18nImportExcel')")
+    @PreAuthorize("@perm.has('sys:i18nMessage:i18nImportExcel')")
     @PostMapping(value = "/i18nImportExcel")
     public void i18nImportExcel(HttpServletResponse response, @RequestParam(value = "file") MultipartFile file) throws IOException {
         i18nMessageAppService.i18nImportExcel(response,file);
     }
 
+    /**
+     * 本实例近端缓存统计（条数、请求数、命中率、淘汰数）
+     */
+    @PreAuthorize("@perm.has('sys:i18nMessage:nearCacheStats')")
+    @PostMapping("/nearCacheStats")
+    public Response<Map<String, Object>> nearCacheStats() {
+        Map<String, Object> data = i18nMessageAppService.nearCacheStats();
+        return Response.ok(ResultCodeEnum.SUCCESS_LANG.getCode(), winterI18nTemplate.message(ResultCodeEnum.SUCCESS_LANG.getMessage()), data);
+    }
+
 
 
     @Override
@@ -196,5 +221,10 @@ public class I18nMessageController implements I18nMessageFacade {
         return i18nMessageAppService.getMessage(messageKey, args, defaultMessage,locale);
     }
 
+    @Override
+    public Map<String, String> getMessages(Collection<String> messageKeys, String locale) {
+        return i18nMessageAppService.getMessages(messageKeys, locale);
+    }
+
 
 }